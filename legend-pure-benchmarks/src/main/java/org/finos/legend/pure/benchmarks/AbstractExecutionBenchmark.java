@@ -0,0 +1,111 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.execution.FunctionExecution;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execution of the collection-heavy functions from
+ * {@link BenchmarkSources#generateCollectionFunctions}. Subclasses provide the function execution.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public abstract class AbstractExecutionBenchmark
+{
+    @Param({"100", "10000"})
+    public int size;
+
+    private PureRuntime runtime;
+    private FunctionExecution functionExecution;
+    private CoreInstance mapFilterFold;
+    private CoreInstance newInstances;
+    private CoreInstance nestedMap;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        this.functionExecution = newFunctionExecution();
+        this.runtime = BenchmarkRuntimes.newLoadedRuntime(this.functionExecution);
+        this.runtime.createInMemoryAndCompile(Lists.immutable.with(Tuples.pair(BenchmarkSources.COLLECTIONS_SOURCE_ID, BenchmarkSources.generateCollectionFunctions(this.size))));
+        this.mapFilterFold = getFunction("mapFilterFold__Integer_1_");
+        this.newInstances = getFunction("newInstances__Integer_1_");
+        this.nestedMap = getFunction("nestedMap__Integer_1_");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        this.runtime.reset();
+    }
+
+    @Benchmark
+    public CoreInstance mapFilterFold()
+    {
+        return execute(this.mapFilterFold);
+    }
+
+    @Benchmark
+    public CoreInstance newInstances()
+    {
+        return execute(this.newInstances);
+    }
+
+    @Benchmark
+    public CoreInstance nestedMap()
+    {
+        return execute(this.nestedMap);
+    }
+
+    protected abstract FunctionExecution newFunctionExecution();
+
+    private CoreInstance execute(CoreInstance function)
+    {
+        return this.functionExecution.start(function, Lists.immutable.empty());
+    }
+
+    private CoreInstance getFunction(String name)
+    {
+        String path = BenchmarkSources.COLLECTIONS_PACKAGE + "::" + name;
+        CoreInstance function = this.runtime.getFunction(path);
+        if (function == null)
+        {
+            throw new IllegalStateException("Cannot find function: " + path);
+        }
+        return function;
+    }
+}
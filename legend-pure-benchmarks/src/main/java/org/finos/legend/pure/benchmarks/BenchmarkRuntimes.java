@@ -0,0 +1,94 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.finos.legend.pure.m3.execution.FunctionExecution;
+import org.finos.legend.pure.m3.execution.VoidFunctionExecution;
+import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepositoryProviderHelper;
+import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepositorySet;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.classpath.ClassLoaderCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
+import org.finos.legend.pure.m3.serialization.runtime.GraphLoader;
+import org.finos.legend.pure.m3.serialization.runtime.Message;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntimeBuilder;
+import org.finos.legend.pure.m3.serialization.runtime.binary.PureRepositoryJarLibrary;
+import org.finos.legend.pure.m3.serialization.runtime.binary.SimplePureRepositoryJarLibrary;
+
+/**
+ * Helpers to build the Pure runtimes used by the benchmarks. Only the platform repository is
+ * used, so no repositories beyond those on the benchmark class path are needed.
+ */
+public class BenchmarkRuntimes
+{
+    public static final String PLATFORM = "platform";
+
+    private BenchmarkRuntimes()
+    {
+        // static utility class
+    }
+
+    /**
+     * Create a runtime with the platform repository from the class path. Nothing is loaded.
+     *
+     * @param functionExecution function execution (initialized with the runtime), or null
+     * @return new runtime
+     */
+    public static PureRuntime newRuntime(FunctionExecution functionExecution)
+    {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        CodeRepositorySet repositories = CodeRepositorySet.newBuilder()
+                .withCodeRepositories(CodeRepositoryProviderHelper.findCodeRepositories(classLoader, true))
+                .build()
+                .subset(PLATFORM);
+        PureRuntime runtime = new PureRuntimeBuilder(new CompositeCodeStorage(new ClassLoaderCodeStorage(classLoader, repositories.getRepositories()))).build();
+        ((functionExecution == null) ? VoidFunctionExecution.VOID_FUNCTION_EXECUTION : functionExecution).init(runtime, newMessage());
+        return runtime;
+    }
+
+    /**
+     * Create a runtime with the platform repository loaded from its PAR file, and the system
+     * sources compiled.
+     *
+     * @param functionExecution function execution (initialized with the runtime), or null
+     * @return new loaded runtime
+     */
+    public static PureRuntime newLoadedRuntime(FunctionExecution functionExecution)
+    {
+        PureRuntime runtime = newRuntime(functionExecution);
+        newGraphLoader(runtime).loadAll(newMessage());
+        runtime.loadAndCompileSystem();
+        return runtime;
+    }
+
+    /**
+     * Create a graph loader for the runtime, reading the platform PAR file from the class path.
+     *
+     * @param runtime runtime to load into
+     * @return graph loader
+     */
+    public static GraphLoader newGraphLoader(PureRuntime runtime)
+    {
+        Message message = newMessage();
+        PureRepositoryJarLibrary jarLibrary = SimplePureRepositoryJarLibrary.newLibrary(GraphLoader.findJars(Lists.mutable.with(PLATFORM), Thread.currentThread().getContextClassLoader(), message));
+        return new GraphLoader(runtime.getModelRepository(), runtime.getContext(), runtime.getIncrementalCompiler().getParserLibrary(), runtime.getIncrementalCompiler().getDslLibrary(), runtime.getSourceRegistry(), runtime.getURLPatternLibrary(), jarLibrary);
+    }
+
+    public static Message newMessage()
+    {
+        return new Message("");
+    }
+}
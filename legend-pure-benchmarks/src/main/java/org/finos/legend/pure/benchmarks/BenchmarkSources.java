@@ -0,0 +1,172 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generators for benchmark data. Everything is generated in memory from a seed, so the same
+ * parameters always produce the same data, and nothing needs to be downloaded.
+ */
+public class BenchmarkSources
+{
+    public static final long DEFAULT_SEED = 20240101L;
+
+    public static final String MODEL_PACKAGE = "benchmark::model";
+    public static final String MODEL_SOURCE_ID = "/benchmark/model.pure";
+    public static final String COLLECTIONS_PACKAGE = "benchmark::collections";
+    public static final String COLLECTIONS_SOURCE_ID = "/benchmark/collections.pure";
+
+    private BenchmarkSources()
+    {
+        // static utility class
+    }
+
+    /**
+     * Generate a model of classes, associations and functions, representative of a mid-size
+     * user repository. Each class has primitive properties, an optional reference to an earlier
+     * class and a qualified property; about half the classes take part in an association, and
+     * each class has a function navigating it.
+     *
+     * @param classCount number of classes
+     * @param seed       random seed
+     * @return Pure code
+     */
+    public static String generateModel(int classCount, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(classCount * 512);
+        for (int i = 0; i < classCount; i++)
+        {
+            builder.append("Class ").append(MODEL_PACKAGE).append("::C").append(i).append('\n');
+            builder.append("{\n");
+            builder.append("    name : String[1];\n");
+            builder.append("    value : Integer[1];\n");
+            builder.append("    weight : Float[0..1];\n");
+            builder.append("    tags : String[*];\n");
+            int extraProperties = random.nextInt(5);
+            for (int p = 0; p < extraProperties; p++)
+            {
+                builder.append("    extra").append(p).append(" : ").append(random.nextBoolean() ? "String" : "Integer").append(random.nextBoolean() ? "[1]" : "[*]").append(";\n");
+            }
+            if (i > 0)
+            {
+                builder.append("    ref : ").append(MODEL_PACKAGE).append("::C").append(random.nextInt(i)).append("[0..1];\n");
+            }
+            builder.append("    total(){$this.value + $this.tags->size()}:Integer[1];\n");
+            builder.append("}\n\n");
+        }
+        for (int i = 1; i < classCount; i++)
+        {
+            if (random.nextBoolean())
+            {
+                builder.append("Association ").append(MODEL_PACKAGE).append("::A").append(i).append('\n');
+                builder.append("{\n");
+                builder.append("    left").append(i).append(" : ").append(MODEL_PACKAGE).append("::C").append(i).append("[*];\n");
+                builder.append("    right").append(i).append(" : ").append(MODEL_PACKAGE).append("::C").append(random.nextInt(i)).append("[*];\n");
+                builder.append("}\n\n");
+            }
+        }
+        for (int i = 0; i < classCount; i++)
+        {
+            builder.append("function ").append(MODEL_PACKAGE).append("::f").append(i).append("(c:").append(MODEL_PACKAGE).append("::C").append(i).append("[1]):Integer[1]\n");
+            builder.append("{\n");
+            builder.append("    $c.tags->map(t | $t + '_").append(i).append("')->filter(t | $t != $c.name)->size() + $c.total()\n");
+            builder.append("}\n\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Generate collection-heavy functions over a range of the given size. All functions take no
+     * parameters and return an Integer:
+     * <ul>
+     * <li>{@code mapFilterFold}: map, filter and fold over integers</li>
+     * <li>{@code newInstances}: create instances of a class, filter on a property and sum another</li>
+     * <li>{@code nestedMap}: map over a range, each element mapping over a small range</li>
+     * </ul>
+     *
+     * @param size range size
+     * @return Pure code
+     */
+    public static String generateCollectionFunctions(int size)
+    {
+        return "Class " + COLLECTIONS_PACKAGE + "::Item\n" +
+                "{\n" +
+                "    id : Integer[1];\n" +
+                "    value : Integer[1];\n" +
+                "}\n" +
+                "\n" +
+                "function " + COLLECTIONS_PACKAGE + "::mapFilterFold():Integer[1]\n" +
+                "{\n" +
+                "    range(0, " + size + ", 1)->map(i | $i * 3)->filter(i | $i > 10)->fold({i, a | $a + $i}, 0)\n" +
+                "}\n" +
+                "\n" +
+                "function " + COLLECTIONS_PACKAGE + "::newInstances():Integer[1]\n" +
+                "{\n" +
+                "    range(0, " + size + ", 1)->map(i | ^" + COLLECTIONS_PACKAGE + "::Item(id=$i, value=$i * 2))->filter(i | $i.id >= 5)->map(i | $i.value)->fold({i, a | $a + $i}, 0)\n" +
+                "}\n" +
+                "\n" +
+                "function " + COLLECTIONS_PACKAGE + "::nestedMap():Integer[1]\n" +
+                "{\n" +
+                "    range(0, " + Math.max(1, size / 10) + ", 1)->map(i | range(0, 10, 1)->map(j | $i + $j)->size())->fold({i, a | $a + $i}, 0)\n" +
+                "}\n";
+    }
+
+    /**
+     * Generate CSV for a TDS with columns id (int), grp (string), name (string) and score (double).
+     * Rows are spread over the given number of groups, named g0, g1, ...
+     *
+     * @param rows   number of rows
+     * @param groups number of groups
+     * @param seed   random seed
+     * @return CSV
+     */
+    public static String generateTDS(int rows, int groups, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(rows * 32);
+        builder.append("id,grp,name,score\n");
+        for (int i = 0; i < rows; i++)
+        {
+            builder.append(i)
+                    .append(",g").append(random.nextInt(groups))
+                    .append(",n").append(random.nextInt(rows))
+                    .append(',').append(random.nextInt(100000) / 100.0)
+                    .append('\n');
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Generate CSV for a TDS with one row per group, to join with {@link #generateTDS}: columns
+     * rgrp (string, g0, g1, ...) and weight (int).
+     *
+     * @param groups number of groups
+     * @param seed   random seed
+     * @return CSV
+     */
+    public static String generateGroupTDS(int groups, long seed)
+    {
+        Random random = new Random(seed);
+        StringBuilder builder = new StringBuilder(groups * 16);
+        builder.append("rgrp,weight\n");
+        for (int i = 0; i < groups; i++)
+        {
+            builder.append('g').append(i).append(',').append(random.nextInt(1000)).append('\n');
+        }
+        return builder.toString();
+    }
+}
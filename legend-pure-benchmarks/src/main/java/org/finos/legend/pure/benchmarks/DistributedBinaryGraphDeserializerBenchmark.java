@@ -0,0 +1,104 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.BlockCompressionCodecs;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphDeserializer;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading instances from distributed binary metadata with
+ * {@link DistributedBinaryGraphDeserializer#getInstance}. The metadata is serialized in memory from
+ * the platform and a generated model, and a seeded random sample of its instances is read.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DistributedBinaryGraphDeserializerBenchmark
+{
+    private static final int SAMPLE_SIZE = 1000;
+
+    /**
+     * Block compression codec for the metadata files: "none", or a codec name for
+     * {@link BlockCompressionCodecs#getCodec}.
+     */
+    @Param({"none", BlockCompressionCodecs.DEFLATE})
+    public String compression;
+
+    private DistributedBinaryGraphDeserializer deserializer;
+    private String[] sampleClassifiers;
+    private String[] sampleIds;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        PureRuntime runtime = BenchmarkRuntimes.newLoadedRuntime(null);
+        runtime.createInMemoryAndCompile(Lists.immutable.with(Tuples.pair(BenchmarkSources.MODEL_SOURCE_ID, BenchmarkSources.generateModel(200, BenchmarkSources.DEFAULT_SEED))));
+
+        MutableMap<String, byte[]> fileBytes = Maps.mutable.empty();
+        DistributedBinaryGraphSerializer.newSerializer(runtime).serializeToInMemoryByteArrays(fileBytes, "none".equals(this.compression) ? null : BlockCompressionCodecs.getCodec(this.compression));
+        runtime.reset();
+
+        this.deserializer = DistributedBinaryGraphDeserializer.newBuilder(fileBytes).build();
+        MutableList<String[]> instances = Lists.mutable.empty();
+        this.deserializer.getClassifiers().toSortedList().forEach(classifier -> this.deserializer.getClassifierInstanceIds(classifier).toSortedList().forEach(id -> instances.add(new String[]{classifier, id})));
+        instances.shuffleThis(new Random(BenchmarkSources.DEFAULT_SEED));
+
+        int sampleSize = Math.min(SAMPLE_SIZE, instances.size());
+        this.sampleClassifiers = new String[sampleSize];
+        this.sampleIds = new String[sampleSize];
+        for (int i = 0; i < sampleSize; i++)
+        {
+            this.sampleClassifiers[i] = instances.get(i)[0];
+            this.sampleIds[i] = instances.get(i)[1];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLE_SIZE)
+    public void getInstance(Blackhole blackhole)
+    {
+        for (int i = 0; i < this.sampleIds.length; i++)
+        {
+            blackhole.consume(this.deserializer.getInstance(this.sampleClassifiers[i], this.sampleIds[i]));
+        }
+    }
+}
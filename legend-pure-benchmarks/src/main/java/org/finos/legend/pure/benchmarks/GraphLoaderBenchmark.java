@@ -0,0 +1,71 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.finos.legend.pure.m3.serialization.runtime.GraphLoader;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading the platform repository from its PAR file with {@link GraphLoader#loadAll}. Each
+ * iteration loads into a new, empty runtime, so this is measured as single shot time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GraphLoaderBenchmark
+{
+    private PureRuntime runtime;
+    private GraphLoader loader;
+
+    @Setup(Level.Iteration)
+    public void setUp()
+    {
+        this.runtime = BenchmarkRuntimes.newRuntime(null);
+        this.loader = BenchmarkRuntimes.newGraphLoader(this.runtime);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown()
+    {
+        this.runtime.reset();
+        this.runtime.getModelRepository().clear();
+        this.runtime = null;
+        this.loader = null;
+    }
+
+    @Benchmark
+    public PureRuntime loadAll()
+    {
+        this.loader.loadAll(BenchmarkRuntimes.newMessage());
+        return this.runtime;
+    }
+}
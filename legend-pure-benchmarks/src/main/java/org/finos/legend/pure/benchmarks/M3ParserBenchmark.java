@@ -0,0 +1,96 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3AntlrParser;
+import org.finos.legend.pure.m3.serialization.runtime.IncrementalCompiler.IncrementalCompilerTransaction;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.statelistener.VoidM3M4StateListener;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.transaction.framework.ThreadLocalTransactionContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of generated model code with {@link M3AntlrParser}, against a runtime with the platform
+ * loaded. Each invocation parses in a new compiler transaction, which is rolled back afterwards so
+ * the runtime is unchanged.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class M3ParserBenchmark
+{
+    @Param({"50", "500"})
+    public int classCount;
+
+    private PureRuntime runtime;
+    private String code;
+    private IncrementalCompilerTransaction transaction;
+    private ThreadLocalTransactionContext transactionContext;
+
+    @Setup(Level.Trial)
+    public void setUpRuntime()
+    {
+        this.runtime = BenchmarkRuntimes.newLoadedRuntime(null);
+        this.code = BenchmarkSources.generateModel(this.classCount, BenchmarkSources.DEFAULT_SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownRuntime()
+    {
+        this.runtime.reset();
+    }
+
+    @Setup(Level.Invocation)
+    public void openTransaction()
+    {
+        this.transaction = this.runtime.getIncrementalCompiler().newTransaction(true);
+        this.transactionContext = this.transaction.openInCurrentThread();
+    }
+
+    @TearDown(Level.Invocation)
+    public void rollBackTransaction()
+    {
+        this.transactionContext.close();
+        this.transaction.rollback();
+    }
+
+    @Benchmark
+    public MutableList<CoreInstance> parse()
+    {
+        MutableList<CoreInstance> results = Lists.mutable.empty();
+        new M3AntlrParser(this.runtime.getIncrementalCompiler().getDslLibrary()).parse(this.code, BenchmarkSources.MODEL_SOURCE_ID, true, 0, this.runtime.getModelRepository(), results, VoidM3M4StateListener.VOID_M3_M4_STATE_LISTENER, this.runtime.getContext(), 0, null);
+        return results;
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortDirection;
+import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortInfo;
+import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TestTDS} relation operators on generated data. The main TDS has the given number of rows
+ * spread over rows / 100 groups; joins are with a TDS with one row per group.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TestTDSBenchmark
+{
+    @Param({"1000", "100000"})
+    public int rows;
+
+    private String csv;
+    private TestTDS tds;
+    private TestTDS groupTDS;
+    private ListIterable<SortInfo> sortInfos;
+    private MutableList<String> distinctColumns;
+    private ListIterable<String> groupByColumns;
+    private ListIterable<Pair<String, String>> joinColumns;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        int groups = Math.max(1, this.rows / 100);
+        this.csv = BenchmarkSources.generateTDS(this.rows, groups, BenchmarkSources.DEFAULT_SEED);
+        this.tds = new TestTDS(this.csv);
+        this.groupTDS = new TestTDS(BenchmarkSources.generateGroupTDS(groups, BenchmarkSources.DEFAULT_SEED));
+        this.sortInfos = Lists.immutable.with(new SortInfo("grp", SortDirection.ASC), new SortInfo("score", SortDirection.DESC));
+        this.distinctColumns = Lists.mutable.with("grp");
+        this.groupByColumns = Lists.immutable.with("grp", "name");
+        this.joinColumns = Lists.immutable.with(Tuples.pair("grp", "rgrp"));
+    }
+
+    @Benchmark
+    public TestTDS readCsv()
+    {
+        return new TestTDS(this.csv);
+    }
+
+    @Benchmark
+    public TestTDS sort()
+    {
+        return this.tds.sort(this.sortInfos).getOne();
+    }
+
+    @Benchmark
+    public TestTDS distinct()
+    {
+        return this.tds.distinct(this.distinctColumns);
+    }
+
+    @Benchmark
+    public IntList groupBy()
+    {
+        return this.tds.groupBy(this.groupByColumns).getOne();
+    }
+
+    @Benchmark
+    public TestTDS join()
+    {
+        return this.tds.join(this.groupTDS, this.joinColumns, (joined, row) -> true);
+    }
+
+    @Benchmark
+    public TestTDS slice()
+    {
+        return this.tds.slice(this.rows / 4, this.rows / 2);
+    }
+
+    @Benchmark
+    public TestTDS concatenate()
+    {
+        return this.tds.concatenate(this.tds);
+    }
+}
@@ -0,0 +1,77 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.benchmarks;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
+import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestBenchmarkSources
+{
+    @Test
+    public void testGeneratedSourcesAreDeterministic()
+    {
+        Assert.assertEquals(BenchmarkSources.generateModel(20, 1L), BenchmarkSources.generateModel(20, 1L));
+        Assert.assertNotEquals(BenchmarkSources.generateModel(20, 1L), BenchmarkSources.generateModel(20, 2L));
+        Assert.assertEquals(BenchmarkSources.generateTDS(100, 5, 1L), BenchmarkSources.generateTDS(100, 5, 1L));
+    }
+
+    @Test
+    public void testGeneratedSourcesCompileAndExecute()
+    {
+        FunctionExecutionInterpreted functionExecution = new FunctionExecutionInterpreted();
+        PureRuntime runtime = BenchmarkRuntimes.newLoadedRuntime(functionExecution);
+        try
+        {
+            runtime.createInMemoryAndCompile(Lists.immutable.with(
+                    Tuples.pair(BenchmarkSources.MODEL_SOURCE_ID, BenchmarkSources.generateModel(50, BenchmarkSources.DEFAULT_SEED)),
+                    Tuples.pair(BenchmarkSources.COLLECTIONS_SOURCE_ID, BenchmarkSources.generateCollectionFunctions(100))));
+            Assert.assertNotNull(runtime.getFunction(BenchmarkSources.MODEL_PACKAGE + "::f49_C49_1__Integer_1_"));
+
+            assertExecutionResult(14832, runtime, functionExecution, "mapFilterFold__Integer_1_");
+            assertExecutionResult(9880, runtime, functionExecution, "newInstances__Integer_1_");
+            assertExecutionResult(100, runtime, functionExecution, "nestedMap__Integer_1_");
+        }
+        finally
+        {
+            runtime.reset();
+        }
+    }
+
+    @Test
+    public void testGeneratedTDS()
+    {
+        TestTDS tds = new TestTDS(BenchmarkSources.generateTDS(1000, 10, BenchmarkSources.DEFAULT_SEED));
+        TestTDS groupTDS = new TestTDS(BenchmarkSources.generateGroupTDS(10, BenchmarkSources.DEFAULT_SEED));
+        Assert.assertEquals(1000, tds.getRowCount());
+        Assert.assertEquals(Lists.mutable.with("id", "grp", "name", "score"), tds.getColumnNames());
+        Assert.assertEquals(10, tds.distinct(Lists.mutable.with("grp")).getRowCount());
+        Assert.assertEquals(1000, tds.join(groupTDS, Lists.immutable.with(Tuples.pair("grp", "rgrp")), (joined, row) -> true).getRowCount());
+    }
+
+    private static void assertExecutionResult(long expected, PureRuntime runtime, FunctionExecutionInterpreted functionExecution, String functionName)
+    {
+        CoreInstance function = runtime.getFunction(BenchmarkSources.COLLECTIONS_PACKAGE + "::" + functionName);
+        Assert.assertNotNull(functionName, function);
+        CoreInstance result = functionExecution.start(function, Lists.immutable.empty());
+        Assert.assertEquals(functionName, String.valueOf(expected), result.getValueForMetaPropertyToOne(M3Properties.values).getName());
+    }
+}
@@ -19,11 +19,11 @@ import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.api.set.ImmutableSet;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.set.SetIterable;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
@@ -36,6 +36,8 @@ import org.finos.legend.pure.m3.navigation.PrimitiveUtilities;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.tools.ConcurrentHashSet;
 
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 public class Context
@@ -48,7 +50,14 @@ public class Context
     private final ConcurrentMutableMap<CoreInstance, ImmutableList<String>> propertyPaths = ConcurrentHashMap.newMap();
     private final ConcurrentMutableMap<CoreInstance, MutableSet<CoreInstance>> instancesByClassifier = ConcurrentHashMap.newMap();
     private final ConcurrentMutableMap<String, MutableSet<CoreInstance>> functionsByName = ConcurrentHashMap.newMap();
-    private final ConcurrentMutableMap<CoreInstance, ImmutableSet<CoreInstance>> typeGeneralizationSets = ConcurrentHashMap.newMap();
+
+    // Type hierarchy index: each type in the hierarchy gets a dense id, and each type's generalizations
+    // (including itself) are encoded as a bit set of those ids. Ids are not reused while the index is in
+    // use, so once most of them belong to removed types, the index is dropped and the types re-numbered.
+    private final ConcurrentMutableMap<CoreInstance, Integer> typeIds = ConcurrentHashMap.newMap();
+    private final ConcurrentMutableMap<CoreInstance, BitSet> typeGeneralizationBits = ConcurrentHashMap.newMap();
+    private final AtomicInteger nextTypeId = new AtomicInteger();
+    private final AtomicInteger removedTypeIdCount = new AtomicInteger();
 
     private CoreInstance anyType;
     private CoreInstance nilType;
@@ -146,9 +155,89 @@ public class Context
         return function.isPersistent() ? this.functionTypes.getIfAbsentPutWithKey(function, generator) : generator.valueOf(function);
     }
 
-    public ImmutableSet<CoreInstance> getIfAbsentPutTypeGeneralizationSet(CoreInstance type, Function<CoreInstance, ? extends ImmutableSet<CoreInstance>> generator)
+    /**
+     * Return whether type has possibleSuperType among its generalizations,
+     * using the type hierarchy index. If the generalizations of type are not
+     * currently indexed, they are calculated by evaluating generator on type
+     * and added to the index. After that, the check takes constant time.
+     * Note that this does not handle the top and bottom types specially.
+     *
+     * @param type              type
+     * @param possibleSuperType possible super type
+     * @param generator         function to calculate the generalizations of a type, including the type itself
+     * @return whether possibleSuperType is a generalization of type
+     */
+    public boolean hasGeneralization(CoreInstance type, CoreInstance possibleSuperType, Function<? super CoreInstance, ? extends ListIterable<CoreInstance>> generator)
+    {
+        if (!type.isPersistent())
+        {
+            return generator.valueOf(type).contains(possibleSuperType);
+        }
+        BitSet generalizationBits = this.typeGeneralizationBits.getIfAbsentPutWithKey(type, t -> computeGeneralizationBits(generator.valueOf(t)));
+        // all the generalizations of type have ids, so a type without an id cannot be one of them
+        Integer superTypeId = (possibleSuperType == null) ? null : this.typeIds.get(possibleSuperType);
+        return (superTypeId != null) && generalizationBits.get(superTypeId);
+    }
+
+    /**
+     * Return whether the generalizations of type are in the type hierarchy
+     * index.
+     *
+     * @param type type
+     * @return whether type is indexed
+     */
+    public boolean isTypeHierarchyIndexed(CoreInstance type)
+    {
+        return this.typeGeneralizationBits.containsKey(type);
+    }
+
+    /**
+     * Get the number of ids allocated in the type hierarchy index, including
+     * those of types which have since been removed. This bounds the size of
+     * the bit sets in the index.
+     *
+     * @return number of allocated type ids
+     */
+    public int getTypeHierarchyIdCount()
+    {
+        return this.nextTypeId.get();
+    }
+
+    private BitSet computeGeneralizationBits(ListIterable<CoreInstance> generalizations)
+    {
+        BitSet bits = new BitSet();
+        generalizations.forEach(genl -> bits.set(this.typeIds.getIfAbsentPut(genl, this.nextTypeId::getAndIncrement)));
+        return bits;
+    }
+
+    /**
+     * Remove type and all of its specializations from the type hierarchy
+     * index, so that they are recomputed when next needed. If most of the
+     * allocated ids then belong to removed types, the whole index is cleared,
+     * so that the types are re-numbered as they are indexed again.
+     *
+     * @param type type
+     */
+    private synchronized void invalidateTypeHierarchy(CoreInstance type)
+    {
+        Integer typeId = this.typeIds.remove(type);
+        if (typeId != null)
+        {
+            int id = typeId;
+            this.typeGeneralizationBits.removeIf((t, bits) -> bits.get(id));
+            if (this.removedTypeIdCount.incrementAndGet() > this.typeIds.size())
+            {
+                clearTypeHierarchy();
+            }
+        }
+    }
+
+    private synchronized void clearTypeHierarchy()
     {
-        return type.isPersistent() ? this.typeGeneralizationSets.getIfAbsentPutWithKey(type, generator) : generator.valueOf(type);
+        this.typeGeneralizationBits.clear();
+        this.typeIds.clear();
+        this.nextTypeId.set(0);
+        this.removedTypeIdCount.set(0);
     }
 
     /**
@@ -314,13 +403,13 @@ public class Context
         this.coreInstanceByPath.remove(PackageableElement.getUserPathForPackageableElement(coreInstance));
         this.functionTypes.remove(coreInstance);
         this.accessLevels.remove(coreInstance);
+        invalidateTypeHierarchy(coreInstance);
         // If there is a change to the generalization hierarchy, then we have to invalidate everything depending on the hierarchy.
         if (this.generalizations.containsKey(coreInstance))
         {
             this.classPropertiesByName.clear();
             this.generalizations.clear();
             this.propertyPaths.clear();
-            this.typeGeneralizationSets.clear();
         }
         if (this.anyType == coreInstance)
         {
@@ -345,7 +434,7 @@ public class Context
         this.accessLevels.clear();
         this.propertyPaths.clear();
         this.instancesByClassifier.clear();
-        this.typeGeneralizationSets.clear();
+        clearTypeHierarchy();
         this.anyType = null;
         this.nilType = null;
     }
@@ -16,6 +16,7 @@ package org.finos.legend.pure.m3.compiler.postprocessing;
 
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.set.MutableSet;
 import org.finos.legend.pure.m3.SourceMutation;
@@ -42,13 +43,22 @@ import org.finos.legend.pure.m3.serialization.grammar.ParserLibrary;
 import org.finos.legend.pure.m3.serialization.grammar.m3parser.inlinedsl.InlineDSLLibrary;
 import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m3.serialization.runtime.pattern.URLPatternLibrary;
+import org.finos.legend.pure.m3.tools.ListHelper;
+import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m3.tools.matcher.Matcher;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.exception.PureCompilationException;
+import org.finos.legend.pure.m4.transaction.ModelRepositoryTransaction;
+import org.finos.legend.pure.m4.transaction.framework.ThreadLocalTransactionContext;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 public class PostProcessor
 {
+    private static final int PARALLEL_THRESHOLD = 100;
+
     public static SourceMutation process(Iterable<? extends CoreInstance> newInstancesConsolidated, ModelRepository modelRepository, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, RepositoryCodeStorage codeStorage, Context context, ProcessorSupport processorSupport, URLPatternLibrary URLPatternLibrary, Message message) throws PureCompilationException
     {
         return process(newInstancesConsolidated, modelRepository, parserLibrary, inlineDSLLibrary, codeStorage, context, processorSupport, URLPatternLibrary, message, null);
@@ -56,19 +66,27 @@ public class PostProcessor
 
     public static SourceMutation process(Iterable<? extends CoreInstance> newInstancesConsolidated, ModelRepository modelRepository, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, RepositoryCodeStorage codeStorage, Context context, ProcessorSupport processorSupport, URLPatternLibrary URLPatternLibrary, Message message, PostProcessorObserver observer) throws PureCompilationException
     {
+        return process(newInstancesConsolidated, modelRepository, parserLibrary, inlineDSLLibrary, codeStorage, context, processorSupport, URLPatternLibrary, message, observer, null);
+    }
+
+    public static SourceMutation process(Iterable<? extends CoreInstance> newInstancesConsolidated, ModelRepository modelRepository, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, RepositoryCodeStorage codeStorage, Context context, ProcessorSupport processorSupport, URLPatternLibrary URLPatternLibrary, Message message, PostProcessorObserver observer, ForkJoinPool forkJoinPool) throws PureCompilationException
+    {
+        ListIterable<? extends CoreInstance> newInstances = ListHelper.wrapListIterable(newInstancesConsolidated);
+
         CoreInstance concreteFunctionDefinition = processorSupport.package_getByUserPath(M3Paths.ConcreteFunctionDefinition);
         CoreInstance nativeFunction = processorSupport.package_getByUserPath(M3Paths.NativeFunction);
         MutableSet<CoreInstance> set = Sets.mutable.with(concreteFunctionDefinition, nativeFunction);
 
-        validatePackages(newInstancesConsolidated, processorSupport);
-        renameFunctions(newInstancesConsolidated, modelRepository, set, context, processorSupport);
+        forEach(forkJoinPool, newInstances, modelRepository, instance -> validatePackage(instance, processorSupport));
+        renameFunctions(newInstances, modelRepository, set, context, processorSupport);
 
-        populateSpecializations(newInstancesConsolidated, processorSupport);
+        // Specializations are added to the shared supertypes, so this must not run concurrently
+        newInstances.forEach(instance -> populateSpecializations(instance, processorSupport));
 
-        populateTemporalMilestonedProperties(newInstancesConsolidated, modelRepository, context, processorSupport);
+        populateTemporalMilestonedProperties(newInstances, modelRepository, context, processorSupport);
 
-        MutableList<CoreInstance> allInstancesConsolidated = Lists.mutable.withAll(newInstancesConsolidated);
-        allInstancesConsolidated.addAllIterable(populatePropertiesFromAssociations(newInstancesConsolidated, modelRepository, context, processorSupport));
+        MutableList<CoreInstance> allInstancesConsolidated = Lists.mutable.withAll(newInstances);
+        allInstancesConsolidated.addAllIterable(populatePropertiesFromAssociations(newInstances, modelRepository, context, processorSupport));
 
         // Post Process
         Matcher matcher = new Matcher(modelRepository, context, processorSupport);
@@ -83,38 +101,50 @@ public class PostProcessor
             processElement(matcher, coreInstance, state, processorSupport);
         });
 
-        state.getFunctionDefinitions().forEach(functionDef -> GenericTypeTraceability.addTraceForFunctionDefinition((FunctionDefinition<?>) functionDef, modelRepository, processorSupport));
+        forEach(forkJoinPool, state.getFunctionDefinitions().toList(), modelRepository, functionDef -> GenericTypeTraceability.addTraceForFunctionDefinition((FunctionDefinition<?>) functionDef, modelRepository, processorSupport));
 
         return state.getSourceMutation();
     }
 
+    private static <T> void forEach(ForkJoinPool forkJoinPool, ListIterable<T> list, ModelRepository modelRepository, Consumer<? super T> consumer)
+    {
+        if ((forkJoinPool == null) || (list.size() <= PARALLEL_THRESHOLD))
+        {
+            list.forEach(consumer);
+            return;
+        }
+
+        // The model repository transaction is thread local, so it must be opened in each worker thread
+        ModelRepositoryTransaction transaction = modelRepository.getTransaction();
+        ForkJoinTools.forEach(forkJoinPool, list, item ->
+        {
+            try (ThreadLocalTransactionContext ignore = (transaction == null) ? null : transaction.openInCurrentThread())
+            {
+                consumer.accept(item);
+            }
+        }, PARALLEL_THRESHOLD);
+    }
+
     private static void addMatchersComingFromParsers(ParserLibrary parserLibrary, Matcher matcher)
     {
         parserLibrary.getParsers().forEach(parser -> parser.getProcessors().forEach(matcher::addMatchIfTypeIsKnown));
     }
 
-    private static void validatePackages(Iterable<? extends CoreInstance> newInstancesConsolidated, ProcessorSupport processorSupport) throws PureCompilationException
+    private static void validatePackage(CoreInstance instance, ProcessorSupport processorSupport) throws PureCompilationException
     {
-        newInstancesConsolidated.forEach(instance ->
+        CoreInstance pkg = Instance.getValueForMetaPropertyToOneResolved(instance, M3Properties._package, processorSupport);
+        if ((pkg != null) && !(pkg instanceof Package))
         {
-            CoreInstance pkg = Instance.getValueForMetaPropertyToOneResolved(instance, M3Properties._package, processorSupport);
-            if ((pkg != null) && !(pkg instanceof Package))
-            {
-                throw new PureCompilationException(instance.getSourceInformation(), "'" + PackageableElement.getUserPathForPackageableElement(pkg, "::") + "' is a " + pkg.getClassifier().getName() + ", should be a Package");
-            }
-        });
+            throw new PureCompilationException(instance.getSourceInformation(), "'" + PackageableElement.getUserPathForPackageableElement(pkg, "::") + "' is a " + pkg.getClassifier().getName() + ", should be a Package");
+        }
     }
 
-    private static void populateSpecializations(Iterable<? extends CoreInstance> newInstancesConsolidated, ProcessorSupport processorSupport) throws PureCompilationException
+    private static void populateSpecializations(CoreInstance coreInstance, ProcessorSupport processorSupport) throws PureCompilationException
     {
-        // Specializations
-        newInstancesConsolidated.forEach(coreInstance ->
+        if (coreInstance instanceof org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type)
         {
-            if (coreInstance instanceof org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type)
-            {
-                SpecializationProcessor.process((org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type) coreInstance, processorSupport);
-            }
-        });
+            SpecializationProcessor.process((org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type) coreInstance, processorSupport);
+        }
     }
 
     private static Iterable<AbstractProperty<?>> populatePropertiesFromAssociations(Iterable<? extends CoreInstance> newInstancesConsolidated, ModelRepository modelRepository, Context context, final ProcessorSupport processorSupport) throws PureCompilationException
@@ -14,8 +14,11 @@
 
 package org.finos.legend.pure.m3.compiler.validation;
 
+import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.pure.m3.SourceMutation;
 import org.finos.legend.pure.m3.compiler.Context;
 import org.finos.legend.pure.m3.compiler.validation.validator.GenericTypeValidator;
@@ -30,14 +33,22 @@ import org.finos.legend.pure.m3.serialization.grammar.Parser;
 import org.finos.legend.pure.m3.serialization.grammar.ParserLibrary;
 import org.finos.legend.pure.m3.serialization.grammar.m3parser.inlinedsl.InlineDSL;
 import org.finos.legend.pure.m3.serialization.grammar.m3parser.inlinedsl.InlineDSLLibrary;
+import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m3.tools.matcher.MatchRunner;
 import org.finos.legend.pure.m3.tools.matcher.Matcher;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.exception.PureCompilationException;
+import org.finos.legend.pure.m4.transaction.ModelRepositoryTransaction;
+import org.finos.legend.pure.m4.transaction.framework.ThreadLocalTransactionContext;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public class Validator
 {
+    private static final int PARTITION_SIZE = 100;
+
     private Validator()
     {
     }
@@ -49,7 +60,66 @@ public class Validator
 
     public static void validateM3(Iterable<? extends CoreInstance> newInstancesConsolidated, ValidationType validationType, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, Iterable<? extends MatchRunner> additionalValidators, RepositoryCodeStorage codeStorage, ModelRepository modelRepository, Context context, ProcessorSupport processorSupport) throws PureCompilationException
     {
-        // Post Process
+        validateM3(newInstancesConsolidated, validationType, parserLibrary, inlineDSLLibrary, additionalValidators, codeStorage, modelRepository, context, processorSupport, null);
+    }
+
+    /**
+     * Validate new instances. If a fork join pool is supplied and there are enough instances, they
+     * are split into partitions which are validated in parallel, each with its own matcher and
+     * validator state. Each partition stops at its first error, and the error from the earliest
+     * failing partition is thrown, with those from later partitions added as suppressed exceptions.
+     * The error thrown is therefore the first in iteration order, as it is when validating serially.
+     */
+    public static void validateM3(Iterable<? extends CoreInstance> newInstancesConsolidated, ValidationType validationType, ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, Iterable<? extends MatchRunner> additionalValidators, RepositoryCodeStorage codeStorage, ModelRepository modelRepository, Context context, ProcessorSupport processorSupport, ForkJoinPool forkJoinPool) throws PureCompilationException
+    {
+        if ((forkJoinPool == null) || (Iterate.sizeOf(newInstancesConsolidated) <= PARTITION_SIZE))
+        {
+            // Post Process
+            Matcher matcher = newMatcher(parserLibrary, inlineDSLLibrary, additionalValidators, modelRepository, context, processorSupport);
+            ValidatorState validatorState = new ValidatorState(validationType, codeStorage, inlineDSLLibrary, processorSupport);
+            for (CoreInstance instance : newInstancesConsolidated)
+            {
+                validate(instance, validatorState, matcher, processorSupport);
+            }
+            return;
+        }
+
+        MutableList<RichIterable<CoreInstance>> partitions = Lists.mutable.<CoreInstance>withAll(newInstancesConsolidated).asLazy().chunk(PARTITION_SIZE).toList();
+
+        // The model repository transaction is thread local, so it must be opened in each worker thread
+        ModelRepositoryTransaction transaction = modelRepository.getTransaction();
+        ListIterable<RuntimeException> errorsByPartition = ForkJoinTools.collect(forkJoinPool, partitions, partition ->
+        {
+            try (ThreadLocalTransactionContext ignore = (transaction == null) ? null : transaction.openInCurrentThread())
+            {
+                Matcher matcher = newMatcher(parserLibrary, inlineDSLLibrary, additionalValidators, modelRepository, context, processorSupport);
+                ValidatorState validatorState = new ValidatorState(validationType, codeStorage, inlineDSLLibrary, processorSupport);
+                for (CoreInstance instance : partition)
+                {
+                    try
+                    {
+                        validate(instance, validatorState, matcher, processorSupport);
+                    }
+                    catch (RuntimeException e)
+                    {
+                        return e;
+                    }
+                }
+                return null;
+            }
+        }, 1);
+
+        MutableList<RuntimeException> errors = errorsByPartition.select(Objects::nonNull, Lists.mutable.empty());
+        if (errors.notEmpty())
+        {
+            RuntimeException first = errors.get(0);
+            errors.asLazy().drop(1).each(first::addSuppressed);
+            throw first;
+        }
+    }
+
+    private static Matcher newMatcher(ParserLibrary parserLibrary, InlineDSLLibrary inlineDSLLibrary, Iterable<? extends MatchRunner> additionalValidators, ModelRepository modelRepository, Context context, ProcessorSupport processorSupport)
+    {
         Matcher matcher = new Matcher(modelRepository, context, processorSupport);
 
         for (Parser parser : parserLibrary.getParsers())
@@ -70,12 +140,7 @@ public class Validator
         {
             matcher.addMatchIfTypeIsKnown(validator);
         }
-
-        ValidatorState validatorState = new ValidatorState(validationType, codeStorage, inlineDSLLibrary, processorSupport);
-        for (CoreInstance instance : newInstancesConsolidated)
-        {
-            validate(instance, validatorState, matcher, processorSupport);
-        }
+        return matcher;
     }
 
     public static void validate(CoreInstance coreInstance, ValidatorState validatorState, Matcher matcher, ProcessorSupport processorSupport) throws PureCompilationException
@@ -28,12 +28,26 @@ import org.finos.legend.pure.m4.coreinstance.simple.SimpleCoreInstanceFactory;
 public class CompositeCoreInstanceFactory extends BaseM3CoreInstanceFactory implements MultipassCoreInstanceFactory
 {
     public static final String IS_ENUM_TYPE_INFO = "Enum";
-    private static final CoreInstanceFactory DEFAULT_CORE_INSTANCE_FACTORY = new SimpleCoreInstanceFactory();
+    private static final MultipassCoreInstanceFactory DEFAULT_CORE_INSTANCE_FACTORY = new SimpleCoreInstanceFactory();
     private final CoreInstanceFactoryRegistry registry;
+    private final MultipassCoreInstanceFactory defaultFactory;
 
     public CompositeCoreInstanceFactory(CoreInstanceFactoryRegistry registry)
+    {
+        this(registry, null);
+    }
+
+    /**
+     * Composite factory which uses defaultFactory for classifiers with no registered factory. If
+     * defaultFactory is null, a {@link SimpleCoreInstanceFactory} is used.
+     *
+     * @param registry       factory registry
+     * @param defaultFactory default factory (may be null)
+     */
+    public CompositeCoreInstanceFactory(CoreInstanceFactoryRegistry registry, MultipassCoreInstanceFactory defaultFactory)
     {
         this.registry = registry;
+        this.defaultFactory = (defaultFactory == null) ? DEFAULT_CORE_INSTANCE_FACTORY : defaultFactory;
     }
 
     @Override
@@ -48,7 +62,7 @@ public class CompositeCoreInstanceFactory extends BaseM3CoreInstanceFactory impl
         CoreInstanceFactory factory = this.registry.getFactoryForPath(this.getClassifierPath(classifier));
         if (factory == null)
         {
-            factory = classifier instanceof Enumeration ? EnumInstance.FACTORY : DEFAULT_CORE_INSTANCE_FACTORY;
+            factory = classifier instanceof Enumeration ? EnumInstance.FACTORY : this.defaultFactory;
         }
         return factory.createCoreInstance(name, internalSyntheticId, sourceInformation, classifier, repository, persistent);
     }
@@ -62,12 +76,16 @@ public class CompositeCoreInstanceFactory extends BaseM3CoreInstanceFactory impl
     @Override
     public CoreInstance createCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, String classifierPath, String typeInfo, ModelRepository repository, boolean persistent)
     {
+        //Classifier is set as a second step
         CoreInstanceFactory factory = this.registry.getFactoryForPath(classifierPath);
         if (factory == null)
         {
-            factory = IS_ENUM_TYPE_INFO.equals(typeInfo) ? EnumInstance.FACTORY : DEFAULT_CORE_INSTANCE_FACTORY;
+            if (!IS_ENUM_TYPE_INFO.equals(typeInfo))
+            {
+                return this.defaultFactory.createCoreInstance(name, internalSyntheticId, sourceInformation, classifierPath, typeInfo, repository, persistent);
+            }
+            factory = EnumInstance.FACTORY;
         }
-        //Classifier is set as a second step
         return factory.createCoreInstance(name, internalSyntheticId, sourceInformation, null, repository, persistent);
     }
 
@@ -80,12 +98,12 @@ public class CompositeCoreInstanceFactory extends BaseM3CoreInstanceFactory impl
     @Override
     public CoreInstance createCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, int classifierSyntheticId, ModelRepository repository, boolean persistent)
     {
+        //Classifier is set as a second step
         CoreInstanceFactory factory = this.registry.getFactoryForId(classifierSyntheticId);
         if (factory == null)
         {
-            factory = DEFAULT_CORE_INSTANCE_FACTORY;
+            return this.defaultFactory.createCoreInstance(name, internalSyntheticId, sourceInformation, classifierSyntheticId, repository, persistent);
         }
-        //Classifier is set as a second step
         return factory.createCoreInstance(name, internalSyntheticId, sourceInformation, null, repository, persistent);
     }
 }
@@ -21,7 +21,8 @@ import java.io.PrintStream;
 
 public abstract class AbstractConsole implements Console
 {
-    private final MutableList<String> lines = Lists.mutable.empty();
+    private final MutableList<String> lines = Lists.mutable.<String>empty().asSynchronized();
+    private final ThreadLocal<PrintStream> currentThreadPrintStream = new ThreadLocal<>();
     private PrintStream printStream = System.out;
     private boolean isEnabled = true;
     private boolean isConsole = true;
@@ -49,7 +50,8 @@ public abstract class AbstractConsole implements Console
                 {
                     this.lines.add(line);
                 }
-                this.printStream.print(line);
+                PrintStream threadPrintStream = this.currentThreadPrintStream.get();
+                ((threadPrintStream == null) ? this.printStream : threadPrintStream).print(line);
             }
         }
     }
@@ -67,10 +69,29 @@ public abstract class AbstractConsole implements Console
         this.isConsole = false;
     }
 
+    @Override
+    public boolean supportsCurrentThreadPrintStream()
+    {
+        return true;
+    }
+
+    @Override
+    public void setCurrentThreadPrintStream(PrintStream printStream)
+    {
+        if (printStream == null)
+        {
+            this.currentThreadPrintStream.remove();
+        }
+        else
+        {
+            this.currentThreadPrintStream.set(printStream);
+        }
+    }
+
     @Override
     public boolean isConsole()
     {
-        return this.isConsole;
+        return this.isConsole && (this.currentThreadPrintStream.get() == null);
     }
 
     @Override
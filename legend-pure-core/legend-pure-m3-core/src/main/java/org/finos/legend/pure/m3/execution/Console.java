@@ -24,6 +24,29 @@ public interface Console
 
     void setPrintStream(PrintStream printStream);
 
+    /**
+     * Whether the console supports print streams per thread (see {@link #setCurrentThreadPrintStream}).
+     *
+     * @return whether print streams per thread are supported
+     */
+    default boolean supportsCurrentThreadPrintStream()
+    {
+        return false;
+    }
+
+    /**
+     * Set the print stream for content printed from the current thread, overriding the print
+     * stream set with {@link #setPrintStream}. While set, the console is not treated as a console
+     * for the current thread (as with {@link #setPrintStream}). Pass null to remove the override.
+     * Only supported if {@link #supportsCurrentThreadPrintStream} is true.
+     *
+     * @param printStream print stream for the current thread, or null
+     */
+    default void setCurrentThreadPrintStream(PrintStream printStream)
+    {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support print streams per thread");
+    }
+
     boolean isConsole();
 
     void setConsole(boolean b);
@@ -44,6 +44,18 @@ public interface FunctionExecution
 
     void start(CoreInstance func, ListIterable<? extends CoreInstance> arguments, OutputStream outputStream, OutputWriter writer);
 
+    /**
+     * Whether functions may be started concurrently from several threads. This requires
+     * each execution to have its own execution state, with any state shared between
+     * executions being thread-safe.
+     *
+     * @return whether concurrent executions are supported
+     */
+    default boolean supportsConcurrentExecution()
+    {
+        return false;
+    }
+
     /**
      * Get the function execution console.
      *
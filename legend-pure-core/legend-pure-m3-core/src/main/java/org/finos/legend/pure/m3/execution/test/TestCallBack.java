@@ -21,4 +21,12 @@ public interface TestCallBack
     void foundTests(Iterable<? extends CoreInstance> tests);
 
     void executedTest(CoreInstance function, String testParameterizationId, String consoleOutput, TestStatus status);
+
+    /**
+     * Called when an after function of a test collection fails, after the tests of the collection have
+     * been reported. Failures are ignored by default.
+     */
+    default void failedAfterFunction(CoreInstance function, String testParameterizationId, Throwable error)
+    {
+    }
 }
@@ -47,6 +47,7 @@ public class TestCollection
     private final MutableList<CoreInstance> toFixFunctions = Lists.mutable.with();
     private final MutableList<CoreInstance> alloyOnlyFunctions = Lists.mutable.with();
     private final MutableList<TestCollection> subCollections = Lists.mutable.with();
+    private final boolean threadSafe;
 
     private TestCollection(CoreInstance testPackage, ProcessorSupport processorSupport, Function<CoreInstance, TestCollection> pureTestCollectionGenerator, Predicate<? super CoreInstance> testFilter, boolean getBeforeAfterFromParents)
     {
@@ -58,12 +59,18 @@ public class TestCollection
             findBeforeAfterForParents(testPackage, processorSupport);
         }
         pruneBeforeAfters(processorSupport);
+        this.threadSafe = !(this.beforeFunctions.anySatisfy(f -> TestTools.hasNotThreadSafeStereotype(f, processorSupport)) ||
+                this.testFunctions.anySatisfy(f -> TestTools.hasNotThreadSafeStereotype(f, processorSupport)) ||
+                this.alloyOnlyFunctions.anySatisfy(f -> TestTools.hasNotThreadSafeStereotype(f, processorSupport)) ||
+                this.afterFunctions.anySatisfy(f -> TestTools.hasNotThreadSafeStereotype(f, processorSupport)));
     }
 
     private TestCollection(CoreInstance testPackage)
     {
         this.pkg = testPackage;
         this.testFilter = DEFAULT_FILTER_PREDICATE;
+        // collections from Pure test collection functions often share external state (such as a database)
+        this.threadSafe = false;
     }
 
     /**
@@ -248,6 +255,19 @@ public class TestCollection
         return this.subCollections.asUnmodifiable();
     }
 
+    /**
+     * Return whether the tests of this collection may run concurrently with other tests. A
+     * collection is not thread-safe if any of its before, test or after functions has the
+     * NotThreadSafe test stereotype, or if it comes from a Pure test collection function. This
+     * applies to the collection and all of its sub-collections.
+     *
+     * @return whether the collection is thread-safe
+     */
+    public boolean isThreadSafe()
+    {
+        return this.threadSafe;
+    }
+
     /**
      * Get id identifying the parameterization, in case test function params are provided
      *
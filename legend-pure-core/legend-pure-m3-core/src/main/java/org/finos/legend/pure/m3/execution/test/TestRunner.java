@@ -17,8 +17,14 @@ package org.finos.legend.pure.m3.execution.test;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.list.ListIterable;
@@ -37,6 +43,19 @@ import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.exception.PureException;
 
+/**
+ * Runs the tests of a {@link TestCollection}, reporting results to a {@link TestCallBack}.
+ * <p>
+ * By default, tests run serially in the calling thread. If a fork join pool is given, independent
+ * sub-collections run concurrently in the pool: the before functions of a collection run before any
+ * of its tests or sub-collections, and its after functions once they have all finished. The tests of
+ * a single collection still run one after another. Collections which are not thread-safe (see
+ * {@link TestCollection#isThreadSafe()}) run serially, with no other test running at the same time.
+ * All workers share the function execution, so tests only run concurrently if it supports concurrent
+ * execution (see {@link FunctionExecution#supportsConcurrentExecution()}) and its console supports print
+ * streams per thread (see {@link Console#supportsCurrentThreadPrintStream()}); otherwise they run
+ * serially, as without a pool. Call backs are never called concurrently.
+ */
 public class TestRunner implements Runnable
 {
     private static final Function<TestCollection, Comparable> TEST_COLLECTION_SORT_KEY = new Function<TestCollection, Comparable>()
@@ -62,7 +81,9 @@ public class TestRunner implements Runnable
     private final FunctionExecution functionExecution;
     private final TestCallBack testCallBack;
     private final boolean shuffle;
+    private final ForkJoinPool pool;
     private final AtomicBoolean stopped = new AtomicBoolean(false);
+    private final ReadWriteLock threadSafetyLock = new ReentrantReadWriteLock();
     protected UnifiedSet<String> passedTests;
     protected UnifiedSet<String> failedTests;
 
@@ -72,12 +93,21 @@ public class TestRunner implements Runnable
     }
 
     public TestRunner(TestCollection tests, boolean includeAlloyOnlyTests, FunctionExecution functionExecution, TestCallBack callBack, boolean shuffle)
+    {
+        this(tests, includeAlloyOnlyTests, functionExecution, callBack, shuffle, null);
+    }
+
+    /**
+     * @param pool pool to run independent sub-collections concurrently, or null to run all tests serially
+     */
+    public TestRunner(TestCollection tests, boolean includeAlloyOnlyTests, FunctionExecution functionExecution, TestCallBack callBack, boolean shuffle, ForkJoinPool pool)
     {
         this.tests = tests;
         this.includeAlloyOnlyTests = includeAlloyOnlyTests;
         this.functionExecution = functionExecution;
         this.testCallBack = callBack;
         this.shuffle = shuffle;
+        this.pool = pool;
         callBack.foundTests(this.tests.getAllTestFunctions(includeAlloyOnlyTests));
         this.passedTests = new UnifiedSet<>();
         this.failedTests = new UnifiedSet<>();
@@ -115,7 +145,14 @@ public class TestRunner implements Runnable
         {
             Console console = this.functionExecution.getConsole();
             console.setConsole(true);
-            runTestsFromCollection(this.tests, console);
+            if (!canRunInParallel(console))
+            {
+                runTestsFromCollection(this.tests, console);
+            }
+            else
+            {
+                this.pool.invoke(new CollectionTask(this.tests, console));
+            }
         }
         catch (IOException e)
         {
@@ -123,6 +160,14 @@ public class TestRunner implements Runnable
         }
     }
 
+    private boolean canRunInParallel(Console console)
+    {
+        return (this.pool != null) &&
+                (this.pool.getParallelism() > 1) &&
+                this.functionExecution.supportsConcurrentExecution() &&
+                console.supportsCurrentThreadPrintStream();
+    }
+
     public void stop()
     {
         this.stopped.set(true);
@@ -135,85 +180,181 @@ public class TestRunner implements Runnable
 
     private void runTestsFromCollection(TestCollection testCollection, Console console) throws IOException
     {
-        // Execute before functions
-        for (CoreInstance before : testCollection.getBeforeFunctions())
+        // the write lock is uncontended when running serially, and already held when a collection which is not
+        // thread-safe runs in the pool
+        Lock lock = this.threadSafetyLock.writeLock();
+        if (!runBeforeFunctions(testCollection, console, lock))
+        {
+            return;
+        }
+
+        // Execute tests for subcollections
+        for (TestCollection subCollection : getSubCollections(testCollection))
         {
             if (this.stopped.get())
             {
                 return;
             }
+            runTestsFromCollection(subCollection, console);
+        }
+
+        if (runTests(testCollection, console, lock, PrintStreamStrategy.SHARED))
+        {
+            runAfterFunctions(testCollection, lock);
+        }
+    }
+
+    private void runTestsFromCollectionInParallel(TestCollection testCollection, Console console) throws IOException
+    {
+        if (!testCollection.isThreadSafe())
+        {
+            // run the whole collection serially, with no other test running at the same time
+            Lock lock = this.threadSafetyLock.writeLock();
+            lock.lock();
             try
             {
-                executeTestFunc(before, testCollection.getTestFunctionParam(), testCollection.getTestFunctionParamCustomizer());
+                runTestsFromCollection(testCollection, console);
             }
-            catch (Throwable t)
+            finally
             {
-                // One of the set-up functions failed, so we fail all the tests in this collection and sub-collections
-                failTestsFromCollectionWithErrorStatus(testCollection, console, new ErrorTestStatus(t));
-                return;
+                lock.unlock();
             }
+            return;
         }
 
-        // Execute tests for subcollections
-        for (TestCollection subCollection : getSubCollections(testCollection))
+        Lock lock = this.threadSafetyLock.readLock();
+        if (!runBeforeFunctions(testCollection, console, lock))
+        {
+            return;
+        }
+
+        // Execute tests for subcollections concurrently
+        MutableList<CollectionTask> subCollectionTasks = Lists.mutable.empty();
+        getSubCollections(testCollection).forEach(subCollection -> subCollectionTasks.add(new CollectionTask(subCollection, console)));
+        RecursiveAction.invokeAll(subCollectionTasks);
+
+        if (runTests(testCollection, console, lock, PrintStreamStrategy.CURRENT_THREAD))
+        {
+            runAfterFunctions(testCollection, lock);
+        }
+    }
+
+    /**
+     * Execute the before functions of a collection, each while holding the lock. If one fails, all the
+     * tests in the collection and its sub-collections are failed.
+     *
+     * @return whether the rest of the collection should run
+     */
+    private boolean runBeforeFunctions(TestCollection testCollection, Console console, Lock lock) throws IOException
+    {
+        for (CoreInstance before : testCollection.getBeforeFunctions())
         {
             if (this.stopped.get())
             {
-                return;
+                return false;
+            }
+            lock.lock();
+            try
+            {
+                executeTestFunc(before, testCollection.getTestFunctionParam(), testCollection.getTestFunctionParamCustomizer());
+            }
+            catch (Throwable t)
+            {
+                // One of the set-up functions failed, so we fail all the tests in this collection and sub-collections
+                failTestsFromCollectionWithErrorStatus(testCollection, console, new ErrorTestStatus(t));
+                return false;
+            }
+            finally
+            {
+                lock.unlock();
             }
-            runTestsFromCollection(subCollection, console);
         }
+        return !this.stopped.get();
+    }
 
-        // Execute tests
+    /**
+     * Execute the tests of a collection (but not of its sub-collections), each while holding the lock and
+     * with its console output captured separately.
+     *
+     * @return whether all the tests ran (false if the runner was stopped)
+     */
+    private boolean runTests(TestCollection testCollection, Console console, Lock lock, PrintStreamStrategy printStreamStrategy)
+    {
         for (CoreInstance test : getTests(testCollection))
         {
             if (this.stopped.get())
             {
-                return;
+                return false;
             }
             ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            PrintStream ps = new PrintStream(stream);
-            console.setPrintStream(ps);
+            printStreamStrategy.setPrintStream(console, new PrintStream(stream));
+            lock.lock();
             try
             {
-                executeTestFunc(test, testCollection.getTestFunctionParam(), testCollection.getTestFunctionParamCustomizer());
-                this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(), stream.toString(), TestStatus.SUCCESS);
-                this.passedTests.add(PackageableElement.getUserPathForPackageableElement(test) + (testCollection.getTestParameterizationId() == null ? "" : "[" + testCollection.getTestParameterizationId() + "]"));
+                runTest(test, testCollection, stream);
             }
-            catch (Throwable t)
+            finally
             {
-                PureException exception = PureException.findPureException(t);
-                if ((exception != null) && (exception instanceof PureAssertFailException))
-                {
-                    this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(), stream.toString(), new AssertFailTestStatus((PureAssertFailException)exception));
-                }
-                else
-                {
-                    this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(), stream.toString(), new ErrorTestStatus(t));
-                }
-                this.failedTests.add(PackageableElement.getUserPathForPackageableElement(test) + (testCollection.getTestParameterizationId() == null ? "" : "[" + testCollection.getTestParameterizationId() + "]"));
+                lock.unlock();
+                printStreamStrategy.resetPrintStream(console);
             }
-            stream.flush();
         }
+        return true;
+    }
 
-        // Execute after functions
+    /**
+     * Execute the after functions of a collection, each while holding the lock. The tests of the collection
+     * have already been reported, so failures are reported to the call back separately and the remaining
+     * after functions still run.
+     */
+    private void runAfterFunctions(TestCollection testCollection, Lock lock)
+    {
         for (CoreInstance after : testCollection.getAfterFunctions())
         {
             if (this.stopped.get())
             {
                 return;
             }
+            lock.lock();
             try
             {
                 executeTestFunc(after, testCollection.getTestFunctionParam(), testCollection.getTestFunctionParamCustomizer());
             }
             catch (Throwable t)
             {
-                // TODO what should we do with this
+                synchronized (this.testCallBack)
+                {
+                    this.testCallBack.failedAfterFunction(after, testCollection.getTestParameterizationId(), t);
+                }
+            }
+            finally
+            {
+                lock.unlock();
             }
         }
     }
 
+    private void runTest(CoreInstance test, TestCollection testCollection, ByteArrayOutputStream stream)
+    {
+        String testId = PackageableElement.getUserPathForPackageableElement(test) + (testCollection.getTestParameterizationId() == null ? "" : "[" + testCollection.getTestParameterizationId() + "]");
+        TestStatus status;
+        try
+        {
+            executeTestFunc(test, testCollection.getTestFunctionParam(), testCollection.getTestFunctionParamCustomizer());
+            status = TestStatus.SUCCESS;
+        }
+        catch (Throwable t)
+        {
+            PureException exception = PureException.findPureException(t);
+            status = (exception instanceof PureAssertFailException) ? new AssertFailTestStatus((PureAssertFailException) exception) : new ErrorTestStatus(t);
+        }
+        synchronized (this.testCallBack)
+        {
+            this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(), stream.toString(), status);
+            (status == TestStatus.SUCCESS ? this.passedTests : this.failedTests).add(testId);
+        }
+    }
+
     private void executeTestFunc(CoreInstance testFunc, Object testFunctionParam, CoreInstance testFunctionParamCustomizer)
     {
         ListIterable<? extends CoreInstance> args = Lists.mutable.empty();
@@ -257,7 +398,10 @@ public class TestRunner implements Runnable
             {
                 return;
             }
-            this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(),"", status);
+            synchronized (this.testCallBack)
+            {
+                this.testCallBack.executedTest(test, testCollection.getTestParameterizationId(), "", status);
+            }
         }
     }
 
@@ -288,4 +432,69 @@ public class TestRunner implements Runnable
         }
         return testFunctions;
     }
+
+    /**
+     * How the console output of each test is captured: either through the print stream shared by all
+     * threads, or through a print stream for the current thread only.
+     */
+    private enum PrintStreamStrategy
+    {
+        SHARED
+        {
+            @Override
+            void setPrintStream(Console console, PrintStream printStream)
+            {
+                console.setPrintStream(printStream);
+            }
+
+            @Override
+            void resetPrintStream(Console console)
+            {
+                // the next test replaces the shared print stream
+            }
+        },
+        CURRENT_THREAD
+        {
+            @Override
+            void setPrintStream(Console console, PrintStream printStream)
+            {
+                console.setCurrentThreadPrintStream(printStream);
+            }
+
+            @Override
+            void resetPrintStream(Console console)
+            {
+                console.setCurrentThreadPrintStream(null);
+            }
+        };
+
+        abstract void setPrintStream(Console console, PrintStream printStream);
+
+        abstract void resetPrintStream(Console console);
+    }
+
+    private class CollectionTask extends RecursiveAction
+    {
+        private final TestCollection testCollection;
+        private final Console console;
+
+        private CollectionTask(TestCollection testCollection, Console console)
+        {
+            this.testCollection = testCollection;
+            this.console = console;
+        }
+
+        @Override
+        protected void compute()
+        {
+            try
+            {
+                runTestsFromCollectionInParallel(this.testCollection, this.console);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
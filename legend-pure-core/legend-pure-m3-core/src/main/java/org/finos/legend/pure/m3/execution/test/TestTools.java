@@ -32,6 +32,7 @@ public class TestTools
     public static final String AFTER_PACKAGE_STEREOTYPE = "AfterPackage";
     public static final String TO_FIX_STEREOTYPE = "ToFix";
     public  static  final String ALLOY_ONLY_STEROTYPE = "AlloyOnly";
+    public static final String NOT_THREAD_SAFE_STEREOTYPE = "NotThreadSafe";
 
     public static final String PLATFORM_EXCLUSION_TAG = "excludePlatform";
 
@@ -84,6 +85,11 @@ public class TestTools
         return hasTestStereotypeWithValue(node, AFTER_PACKAGE_STEREOTYPE, processorSupport);
     }
 
+    public static boolean hasNotThreadSafeStereotype(CoreInstance node, ProcessorSupport processorSupport)
+    {
+        return hasTestStereotypeWithValue(node, NOT_THREAD_SAFE_STEREOTYPE, processorSupport);
+    }
+
     public static boolean hasAnyTestStereotype(CoreInstance node, ProcessorSupport processorSupport)
     {
         ListIterable<? extends CoreInstance> stereotypes = Instance.getValueForMetaPropertyToManyResolved(node, M3Properties.stereotypes, processorSupport);
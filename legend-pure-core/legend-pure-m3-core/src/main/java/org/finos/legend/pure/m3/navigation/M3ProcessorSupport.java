@@ -15,7 +15,6 @@
 package org.finos.legend.pure.m3.navigation;
 
 import org.eclipse.collections.api.RichIterable;
-import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.MapIterable;
@@ -199,7 +198,7 @@ public class M3ProcessorSupport implements ProcessorSupport
         return (type == possibleSuperType) ||
                 (type == type_BottomType()) ||
                 (possibleSuperType == type_TopType()) ||
-                this.context.getIfAbsentPutTypeGeneralizationSet(type, t -> Sets.immutable.withAll(Type.getGeneralizationResolutionOrder(t, this))).contains(possibleSuperType);
+                this.context.hasGeneralization(type, possibleSuperType, t -> Type.getGeneralizationResolutionOrder(t, this));
     }
 
     @Override
@@ -0,0 +1,139 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.navigation.relation;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+
+/**
+ * Finds the column equalities implied by a relation join predicate, such as {x, y | $x.id == $y.id2},
+ * so that the join can be executed as a hash join.
+ */
+public class EquiJoinColumns
+{
+    private static final String AND = "and_Boolean_1__Boolean_1__Boolean_1_";
+    private static final String EQUAL = "equal_Any_MANY__Any_MANY__Boolean_1_";
+    private static final String EQ = "eq_Any_1__Any_1__Boolean_1_";
+
+    private EquiJoinColumns()
+    {
+    }
+
+    /**
+     * Get the (left column, right column) pairs which are equal whenever the join function returns
+     * true. These are the column equalities among the top level conjuncts of the function body. The
+     * function may have other conjuncts as well, so it must still be evaluated on each pair of rows
+     * with equal columns. Returns an empty list if there are none.
+     *
+     * @param joinFunction     join function, taking a left and a right row
+     * @param processorSupport processor support
+     * @return (left column, right column) pairs
+     */
+    public static ListIterable<Pair<String, String>> getEquiJoinColumns(CoreInstance joinFunction, ProcessorSupport processorSupport)
+    {
+        if ((joinFunction == null) || !Instance.instanceOf(joinFunction, M3Paths.LambdaFunction, processorSupport))
+        {
+            return Lists.immutable.empty();
+        }
+
+        ListIterable<? extends CoreInstance> parameters = Instance.getValueForMetaPropertyToManyResolved(processorSupport.function_getFunctionType(joinFunction), M3Properties.parameters, processorSupport);
+        ListIterable<? extends CoreInstance> expressions = Instance.getValueForMetaPropertyToManyResolved(joinFunction, M3Properties.expressionSequence, processorSupport);
+        if ((parameters.size() != 2) || (expressions.size() != 1))
+        {
+            return Lists.immutable.empty();
+        }
+
+        String leftName = getName(parameters.get(0), processorSupport);
+        String rightName = getName(parameters.get(1), processorSupport);
+        if ((leftName == null) || (rightName == null))
+        {
+            return Lists.immutable.empty();
+        }
+
+        MutableList<Pair<String, String>> result = Lists.mutable.empty();
+        collectEquiJoinColumns(expressions.get(0), leftName, rightName, result, processorSupport);
+        return result;
+    }
+
+    private static void collectEquiJoinColumns(CoreInstance expression, String leftName, String rightName, MutableList<Pair<String, String>> result, ProcessorSupport processorSupport)
+    {
+        if (!Instance.instanceOf(expression, M3Paths.FunctionExpression, processorSupport))
+        {
+            return;
+        }
+
+        String functionName = getName(Instance.getValueForMetaPropertyToOneResolved(expression, M3Properties.func, processorSupport), processorSupport);
+        ListIterable<? extends CoreInstance> parameterValues = Instance.getValueForMetaPropertyToManyResolved(expression, M3Properties.parametersValues, processorSupport);
+        if (AND.equals(functionName))
+        {
+            parameterValues.forEach(p -> collectEquiJoinColumns(p, leftName, rightName, result, processorSupport));
+        }
+        else if ((EQUAL.equals(functionName) || EQ.equals(functionName)) && (parameterValues.size() == 2))
+        {
+            Pair<String, String> first = getColumnAccess(parameterValues.get(0), processorSupport);
+            Pair<String, String> second = getColumnAccess(parameterValues.get(1), processorSupport);
+            if ((first != null) && (second != null))
+            {
+                if (leftName.equals(first.getOne()) && rightName.equals(second.getOne()))
+                {
+                    result.add(Tuples.pair(first.getTwo(), second.getTwo()));
+                }
+                else if (rightName.equals(first.getOne()) && leftName.equals(second.getOne()))
+                {
+                    result.add(Tuples.pair(second.getTwo(), first.getTwo()));
+                }
+            }
+        }
+    }
+
+    /**
+     * If the expression is a column access on a variable ($x.col), return the pair (variable name,
+     * column name); otherwise, return null.
+     */
+    private static Pair<String, String> getColumnAccess(CoreInstance expression, ProcessorSupport processorSupport)
+    {
+        if (!Instance.instanceOf(expression, M3Paths.FunctionExpression, processorSupport))
+        {
+            return null;
+        }
+        CoreInstance column = Instance.getValueForMetaPropertyToOneResolved(expression, M3Properties.func, processorSupport);
+        if ((column == null) || !Instance.instanceOf(column, M3Paths.Column, processorSupport))
+        {
+            return null;
+        }
+        ListIterable<? extends CoreInstance> parameterValues = Instance.getValueForMetaPropertyToManyResolved(expression, M3Properties.parametersValues, processorSupport);
+        if ((parameterValues.size() != 1) || !Instance.instanceOf(parameterValues.get(0), M3Paths.VariableExpression, processorSupport))
+        {
+            return null;
+        }
+        String variableName = getName(parameterValues.get(0), processorSupport);
+        String columnName = getName(column, processorSupport);
+        return ((variableName == null) || (columnName == null)) ? null : Tuples.pair(variableName, columnName);
+    }
+
+    private static String getName(CoreInstance instance, ProcessorSupport processorSupport)
+    {
+        CoreInstance name = (instance == null) ? null : Instance.getValueForMetaPropertyToOneResolved(instance, M3Properties.name, processorSupport);
+        return (name == null) ? null : name.getName();
+    }
+}
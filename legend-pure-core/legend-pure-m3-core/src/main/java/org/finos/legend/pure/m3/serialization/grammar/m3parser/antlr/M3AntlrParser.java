@@ -16,7 +16,7 @@ package org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr;
 
 import org.antlr.v4.runtime.ANTLRInputStream;
 import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.RecognitionException;
+import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.atn.PredictionMode;
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.factory.Lists;
@@ -61,10 +61,12 @@ import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrDescriptiveErrorListener;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrSourceInformation;
+import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrTwoStageParsing;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureAntlrErrorStrategy;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureParserException;
 
 import java.lang.reflect.Field;
+import java.util.function.Function;
 
 public class M3AntlrParser implements Parser
 {
@@ -112,25 +114,10 @@ public class M3AntlrParser implements Parser
 
     private void parseDefinition(boolean useFastParser, String code, String sourceName, ModelRepository repository, MutableList<CoreInstance> coreInstancesResult, M3M4StateListener listener, Context context, int count, boolean addLines, SourceState oldState)
     {
-        try
-        {
-            AntlrSourceInformation sourceInformation = new AntlrSourceInformation(this.offsetLine, 0, sourceName, addLines);
-            org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
-            final M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, coreInstancesResult, listener, context, null, count, this.useImportStubsInInstanceParser, addLines, oldState);
-            visitor.visit(parser.definition());
-        }
-        catch (Exception e)
-        {
-            if (isAntlrRecognitionExceptionUsingFastParser(useFastParser, e))
-            {
-                //System.err.println("Error using fast Antlr Parser: " + ExceptionUtils.getStackTrace(e));
-                this.parseDefinition(false, code, sourceName, repository, coreInstancesResult, listener, context, count, addLines, oldState);
-            }
-            else
-            {
-                throw e;
-            }
-        }
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(this.offsetLine, 0, sourceName, addLines);
+        org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
+        M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, coreInstancesResult, listener, context, null, count, this.useImportStubsInInstanceParser, addLines, oldState);
+        visitor.visit(parse(useFastParser, parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::definition));
     }
 
     public CoreInstance parseType(String code, String fileName, int offsetLine, int offsetColumn, ImportGroup importId, ModelRepository repository, Context context) throws PureParserException
@@ -140,48 +127,18 @@ public class M3AntlrParser implements Parser
 
     public CoreInstance parseType(boolean useFastParser, String code, String fileName, int offsetLine, int offsetColumn, ImportGroup importId, ModelRepository repository, Context context) throws PureParserException
     {
-        try
-        {
-            AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
-            org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
-            M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
-            return visitor.visit(parser.type());
-        }
-        catch (Exception e)
-        {
-            if (isAntlrRecognitionExceptionUsingFastParser(useFastParser, e))
-            {
-                //System.err.println("Error using fast Antlr Parser: " + ExceptionUtils.getStackTrace(e));
-                return this.parseType(false, code, fileName, offsetLine, offsetColumn, importId, repository, context);
-            }
-            else
-            {
-                throw e;
-            }
-        }
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
+        org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
+        M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
+        return visitor.visit(parse(useFastParser, parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::type));
     }
 
     public CoreInstance parseInstance(boolean useFastParser, String code, String fileName, int offsetLine, int offsetColumn, ImportGroup importId, ModelRepository repository, Context context) throws PureParserException
     {
-        try
-        {
-            AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
-            org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
-            M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
-            return visitor.visit(parser.instance());
-        }
-        catch (Exception e)
-        {
-            if (isAntlrRecognitionExceptionUsingFastParser(useFastParser, e))
-            {
-                //System.err.println("Error using fast Antlr Parser: " + ExceptionUtils.getStackTrace(e));
-                return this.parseInstance(false, code, fileName, offsetLine, offsetColumn, importId, repository, context);
-            }
-            else
-            {
-                throw e;
-            }
-        }
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
+        org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
+        M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
+        return visitor.visit(parse(useFastParser, parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::instance));
     }
 
     public void parseProperties(String code, String fileName, MutableList<Property<? extends CoreInstance, ?>> properties, MutableList<QualifiedProperty<? extends CoreInstance>> qualifiedProperties, ImportStub typeOwner, ImportGroup importId, boolean addLines, ModelRepository repository, Context context, int startingQualifiedPropertyIndex) throws PureParserException
@@ -191,48 +148,18 @@ public class M3AntlrParser implements Parser
 
     private void parseProperties(boolean useFastParser, String code, String fileName, MutableList<Property<? extends CoreInstance, ?>> properties, MutableList<QualifiedProperty<? extends CoreInstance>> qualifiedProperties, ImportStub typeOwner, ImportGroup importId, boolean addLines, ModelRepository repository, Context context, int startingQualifiedPropertyIndex) throws PureParserException
     {
-        try
-        {
-            AntlrSourceInformation sourceInformation = new AntlrSourceInformation(this.offsetLine, 0, fileName, addLines);
-            org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
-            M3AntlrPropertiesWalker visitor = new M3AntlrPropertiesWalker(sourceInformation, this.inlineDSLLibrary, repository, context, importId, properties, qualifiedProperties, typeOwner, startingQualifiedPropertyIndex);
-            visitor.visit(parser.properties());
-        }
-        catch (Exception e)
-        {
-            if (isAntlrRecognitionExceptionUsingFastParser(useFastParser, e))
-            {
-                //System.err.println("Error using fast Antlr Parser: " + ExceptionUtils.getStackTrace(e));
-                this.parseProperties(false, code, fileName, properties, qualifiedProperties, typeOwner, importId, addLines, repository, context, startingQualifiedPropertyIndex);
-            }
-            else
-            {
-                throw e;
-            }
-        }
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(this.offsetLine, 0, fileName, addLines);
+        org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
+        M3AntlrPropertiesWalker visitor = new M3AntlrPropertiesWalker(sourceInformation, this.inlineDSLLibrary, repository, context, importId, properties, qualifiedProperties, typeOwner, startingQualifiedPropertyIndex);
+        visitor.visit(parse(useFastParser, parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::properties));
     }
 
     private CoreInstance parseTreePath(boolean useFastParser, String code, String fileName, int offsetLine, int offsetColumn, ImportGroup importId, ModelRepository repository, Context context) throws PureParserException
     {
-        try
-        {
-            AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
-            org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
-            M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
-            return visitor.visit(parser.treePath());
-        }
-        catch (Exception e)
-        {
-            if (isAntlrRecognitionExceptionUsingFastParser(useFastParser, e))
-            {
-                //System.err.println("Error using fast Antlr Parser: " + ExceptionUtils.getStackTrace(e));
-                return this.parseTreePath(false, code, fileName, offsetLine, offsetColumn, importId, repository, context);
-            }
-            else
-            {
-                throw e;
-            }
-        }
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(offsetLine - 1, offsetColumn - 1, fileName, true);
+        org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(useFastParser, code, sourceInformation);
+        M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(sourceInformation, this.inlineDSLLibrary, repository, null, null, context, importId, 0, null);
+        return visitor.visit(parse(useFastParser, parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::treePath));
     }
 
     public CoreInstance parseTreePath(String code, String fileName, int offsetLine, int offsetColumn, ImportGroup importId, ModelRepository repository, Context context) throws PureParserException
@@ -246,7 +173,7 @@ public class M3AntlrParser implements Parser
         org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(true, content, sourceInformation);
         ImportGroup grp = (ImportGroup) processorSupport.package_getByUserPath("system::imports::" + importId);
         M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(classPath, sourceInformation, this.inlineDSLLibrary, repository, null, null, context, grp, 0, null);
-        return visitor.walkMapping(parser.mapping(), lambdaContext);
+        return visitor.walkMapping(AntlrTwoStageParsing.parse(parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::mapping), lambdaContext);
     }
 
     @Override
@@ -288,7 +215,7 @@ public class M3AntlrParser implements Parser
         org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(true, content, sourceInformation);
         ImportGroup grp = (ImportGroup) processorSupport.package_getByUserPath("system::imports::" + importId);
         M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(null, sourceInformation, this.inlineDSLLibrary, repository, null, null, context, grp, 0, null);
-        return visitor.walkAggregateSpecification(parser.aggregateSpecification(), lambdaContext, index);
+        return visitor.walkAggregateSpecification(AntlrTwoStageParsing.parse(parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::aggregateSpecification), lambdaContext, index);
     }
 
     public TemporaryPureMergeOperationFunctionSpecification parseMergeSpecification(String content, AntlrContextToM3CoreInstance.LambdaContext lambdaContext, String sourceName, int offset, String importId, ModelRepository repository, ProcessorSupport processorSupport, Context context)
@@ -297,7 +224,7 @@ public class M3AntlrParser implements Parser
         org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser = initAntlrParser(true, content, sourceInformation);
         ImportGroup grp = (ImportGroup) processorSupport.package_getByUserPath("system::imports::" + importId);
         M3AntlrTreeWalker visitor = new M3AntlrTreeWalker(null, sourceInformation, this.inlineDSLLibrary, repository, null, null, context, grp, 0, null);
-        return visitor.walkMergeOperationSpecification(parser.combinedExpression(), lambdaContext);
+        return visitor.walkMergeOperationSpecification(AntlrTwoStageParsing.parse(parser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser::combinedExpression), lambdaContext);
     }
 
     @Deprecated
@@ -535,9 +462,9 @@ public class M3AntlrParser implements Parser
         return parser;
     }
 
-    private static boolean isAntlrRecognitionExceptionUsingFastParser(boolean parseFast, Exception e)
+    private static <T extends ParserRuleContext> T parse(boolean useFastParser, org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser parser, Function<org.finos.legend.pure.m3.serialization.grammar.m3parser.antlr.M3Parser, T> rule)
     {
-        return parseFast && e instanceof PureParserException && e.getCause() instanceof RecognitionException;
+        return useFastParser ? AntlrTwoStageParsing.parse(parser, rule) : rule.apply(parser);
     }
 
 }
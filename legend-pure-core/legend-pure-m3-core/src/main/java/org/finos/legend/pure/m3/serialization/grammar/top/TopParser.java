@@ -30,6 +30,7 @@ import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrDescriptiveErrorListener;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrSourceInformation;
+import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrTwoStageParsing;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureAntlrErrorStrategy;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureParserException;
 
@@ -45,7 +46,7 @@ public class TopParser
         TopAntlrParser parser = this.initAntlrParser(useFastParser, "\u005cn###Pure\u005cn" + code, sourceName);
 
         TopGraphBuilder visitor = new TopGraphBuilder(sourceName, repository, listener, context, parserLibrary, oldState);
-        TopAntlrParser.DefinitionContext c = parser.definition();
+        TopAntlrParser.DefinitionContext c = useFastParser ? AntlrTwoStageParsing.parse(parser, TopAntlrParser::definition) : parser.definition();
         return visitor.visitDefinition(c);
     }
 
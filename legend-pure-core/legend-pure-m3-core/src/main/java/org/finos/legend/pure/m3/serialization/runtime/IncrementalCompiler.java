@@ -57,6 +57,7 @@ import org.finos.legend.pure.m3.tools.matcher.MatchRunner;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.finos.legend.pure.m4.coreinstance.factory.MultipassCoreInstanceFactory;
 import org.finos.legend.pure.m4.exception.PureCompilationException;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureParserException;
 import org.finos.legend.pure.m4.tools.ConcurrentHashSet;
@@ -105,7 +106,7 @@ public abstract class IncrementalCompiler implements SourceEventHandler
     final Message message;
     final URLPatternLibrary urlPatternLibrary;
 
-    IncrementalCompiler(RichIterable<? extends Parser> parsers, RichIterable<? extends InlineDSL> inlineDSLs, RepositoryCodeStorage codeStorage, URLPatternLibrary urlPatternLibrary, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, ForkJoinPool forkJoinPool, boolean isTransactionalByDefault)
+    IncrementalCompiler(RichIterable<? extends Parser> parsers, RichIterable<? extends InlineDSL> inlineDSLs, RepositoryCodeStorage codeStorage, URLPatternLibrary urlPatternLibrary, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, MultipassCoreInstanceFactory defaultCoreInstanceFactory, ForkJoinPool forkJoinPool, boolean isTransactionalByDefault)
     {
         this.message = message;
         this.urlPatternLibrary = urlPatternLibrary;
@@ -122,7 +123,7 @@ public abstract class IncrementalCompiler implements SourceEventHandler
                 CoreInstanceFactoryRegistry::combine
         );
 
-        this.modelRepository = new ModelRepository(new CompositeCoreInstanceFactory(registry));
+        this.modelRepository = new ModelRepository(new CompositeCoreInstanceFactory(registry, defaultCoreInstanceFactory));
         this.processorSupport = new M3ProcessorSupport(this.context, this.modelRepository);
         this.library = new ParserLibrary(allParsers);
         try
@@ -233,7 +234,7 @@ public abstract class IncrementalCompiler implements SourceEventHandler
             newInstancesConsolidated.forEach(this::registerInstanceInContext);
         }
 
-        SourceMutation sourceMutation = PostProcessor.process(newInstancesConsolidated, this.modelRepository, this.library, this.dslLibrary, this.codeStorage, this.context, this.processorSupport, this.urlPatternLibrary, this.message, postProcessorObserver);
+        SourceMutation sourceMutation = PostProcessor.process(newInstancesConsolidated, this.modelRepository, this.library, this.dslLibrary, this.codeStorage, this.context, this.processorSupport, this.urlPatternLibrary, this.message, postProcessorObserver, this.forkJoinPool);
 
         if (validationType == ValidationType.DEEP)
         {
@@ -243,7 +244,7 @@ public abstract class IncrementalCompiler implements SourceEventHandler
         newInstancesConsolidated.removeIf(SourceMutation::isMarkedForDeletion);
 
         this.message.setMessage("Validating " + repoName + "...");
-        Validator.validateM3(newInstancesConsolidated, validationType, this.library, this.dslLibrary, this.additionalValidators.asUnmodifiable(), this.codeStorage, this.modelRepository, this.context, this.processorSupport);
+        Validator.validateM3(newInstancesConsolidated, validationType, this.library, this.dslLibrary, this.additionalValidators.asUnmodifiable(), this.codeStorage, this.modelRepository, this.context, this.processorSupport, this.forkJoinPool);
 
         rebuildExclusionSet(this.modelRepository, this.processorSupport);
 
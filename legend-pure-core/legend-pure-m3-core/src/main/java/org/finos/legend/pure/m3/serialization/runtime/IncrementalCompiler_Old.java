@@ -43,6 +43,7 @@ import org.finos.legend.pure.m3.tools.forkjoin.ForkJoinTools;
 import org.finos.legend.pure.m3.tools.matcher.Matcher;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.finos.legend.pure.m4.coreinstance.factory.MultipassCoreInstanceFactory;
 import org.finos.legend.pure.m4.exception.PureCompilationException;
 import org.finos.legend.pure.m4.exception.PureException;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureParserException;
@@ -53,9 +54,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class IncrementalCompiler_Old extends IncrementalCompiler
 {
-    IncrementalCompiler_Old(RichIterable<? extends Parser> parsers, RichIterable<? extends InlineDSL> inlineDSLs, RepositoryCodeStorage codeStorage, URLPatternLibrary urlPatternLibrary, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, ForkJoinPool forkJoinPool, boolean isTransactionalByDefault)
+    IncrementalCompiler_Old(RichIterable<? extends Parser> parsers, RichIterable<? extends InlineDSL> inlineDSLs, RepositoryCodeStorage codeStorage, URLPatternLibrary urlPatternLibrary, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, MultipassCoreInstanceFactory defaultCoreInstanceFactory, ForkJoinPool forkJoinPool, boolean isTransactionalByDefault)
     {
-        super(parsers, inlineDSLs, codeStorage, urlPatternLibrary, message, factoryRegistryOverride, forkJoinPool, isTransactionalByDefault);
+        super(parsers, inlineDSLs, codeStorage, urlPatternLibrary, message, factoryRegistryOverride, defaultCoreInstanceFactory, forkJoinPool, isTransactionalByDefault);
     }
 
     //----------
@@ -52,6 +52,7 @@ import org.finos.legend.pure.m3.serialization.runtime.pattern.URLPatternLibrary;
 import org.finos.legend.pure.m3.statelistener.VoidM3M4StateListener;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.factory.MultipassCoreInstanceFactory;
 import org.finos.legend.pure.m4.exception.PureCompilationException;
 import org.finos.legend.pure.m4.exception.PureException;
 import org.finos.legend.pure.m4.serialization.binary.BinaryRepositorySerializer;
@@ -87,7 +88,7 @@ public class PureRuntime
     public final ExecutedTestTracker executedTestTracker;
 
     PureRuntime(MutableRepositoryCodeStorage codeStorage, PureGraphCache cache,
-                PureRuntimeStatus pureRuntimeStatus, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, ForkJoinPool incrementalCompilerForkJoinPool,
+                PureRuntimeStatus pureRuntimeStatus, Message message, CoreInstanceFactoryRegistry factoryRegistryOverride, MultipassCoreInstanceFactory defaultCoreInstanceFactory, ForkJoinPool incrementalCompilerForkJoinPool,
                 boolean isTransactionByDefault, boolean useFastCompiler, ExecutedTestTracker executedTestTracker, RuntimeOptions options)
     {
         this.pureRuntimeStatus = pureRuntimeStatus;
@@ -100,8 +101,8 @@ public class PureRuntime
 
         this.incrementalCompiler =
                 useFastCompiler ?
-                        new IncrementalCompiler_New(parsers, inlineDSLs, codeStorage, this.patternLibrary, message, factoryRegistryOverride, incrementalCompilerForkJoinPool, isTransactionByDefault) :
-                        new IncrementalCompiler_Old(parsers, inlineDSLs, codeStorage, this.patternLibrary, message, factoryRegistryOverride, incrementalCompilerForkJoinPool, isTransactionByDefault);
+                        new IncrementalCompiler_New(parsers, inlineDSLs, codeStorage, this.patternLibrary, message, factoryRegistryOverride, defaultCoreInstanceFactory, incrementalCompilerForkJoinPool, isTransactionByDefault) :
+                        new IncrementalCompiler_Old(parsers, inlineDSLs, codeStorage, this.patternLibrary, message, factoryRegistryOverride, defaultCoreInstanceFactory, incrementalCompilerForkJoinPool, isTransactionByDefault);
 
         this.sourceRegistry = new SourceRegistry(codeStorage, this.incrementalCompiler.getParserLibrary(), Lists.fixedSize.<SourceEventHandler>of(this.incrementalCompiler));
 
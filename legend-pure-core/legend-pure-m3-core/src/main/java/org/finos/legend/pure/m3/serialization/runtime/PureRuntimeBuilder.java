@@ -20,6 +20,7 @@ import org.finos.legend.pure.m3.coreinstance.CoreInstanceFactoryRegistry;
 import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.MutableRepositoryCodeStorage;
 import org.finos.legend.pure.m3.serialization.runtime.cache.PureGraphCache;
 import org.finos.legend.pure.m3.serialization.runtime.cache.VoidPureGraphCache;
+import org.finos.legend.pure.m4.coreinstance.factory.MultipassCoreInstanceFactory;
 
 import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
@@ -35,6 +36,7 @@ public class PureRuntimeBuilder
     private Message message = new Message("");
     private final MutableList<Function<PureRuntime, CompilerEventHandler>> compilerEventHandlerFactoryFunctions = Lists.mutable.empty();
     private CoreInstanceFactoryRegistry factoryRegistryOverride;
+    private MultipassCoreInstanceFactory defaultCoreInstanceFactory;
     private ForkJoinPool incrementalCompilerForkJoinPool;
     private boolean isTransactionalByDefault = true;
     private boolean useFastCompiler = true;
@@ -76,6 +78,17 @@ public class PureRuntimeBuilder
         return this;
     }
 
+    /**
+     * Factory for instances of classifiers which have no specific factory registered. For example,
+     * a {@link org.finos.legend.pure.m4.coreinstance.simple.ShapedCoreInstanceFactory} reduces the
+     * memory used by large models.
+     */
+    public PureRuntimeBuilder withDefaultCoreInstanceFactory(MultipassCoreInstanceFactory defaultCoreInstanceFactory)
+    {
+        this.defaultCoreInstanceFactory = defaultCoreInstanceFactory;
+        return this;
+    }
+
     public PureRuntimeBuilder withIncrementalCompilerForkJoinPool(ForkJoinPool forkJoinPool)
     {
         this.incrementalCompilerForkJoinPool = forkJoinPool;
@@ -109,7 +122,7 @@ public class PureRuntimeBuilder
 
     public PureRuntime build()
     {
-        PureRuntime runtime = new PureRuntime(this.codeStorage, this.cache, this.pureRuntimeStatus, this.message, this.factoryRegistryOverride, this.incrementalCompilerForkJoinPool, this.isTransactionalByDefault, this.useFastCompiler, this.executedTestTracker, this.options);
+        PureRuntime runtime = new PureRuntime(this.codeStorage, this.cache, this.pureRuntimeStatus, this.message, this.factoryRegistryOverride, this.defaultCoreInstanceFactory, this.incrementalCompilerForkJoinPool, this.isTransactionalByDefault, this.useFastCompiler, this.executedTestTracker, this.options);
         this.compilerEventHandlerFactoryFunctions.forEach(factory -> runtime.getIncrementalCompiler().addCompilerEventHandler(factory.apply(runtime)));
         return runtime;
     }
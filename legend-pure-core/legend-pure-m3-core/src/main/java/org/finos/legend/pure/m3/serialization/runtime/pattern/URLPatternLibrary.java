@@ -86,7 +86,7 @@ public class URLPatternLibrary
                 // validate the function return
                 GenericType returnGenericType = functionType._returnType();
                 Type returnType = (Type) ImportStub.withImportStubByPass(returnGenericType._rawTypeCoreInstance(), processorSupport);
-                if (!org.finos.legend.pure.m3.navigation.type.Type.subTypeOf(returnType, processorSupport.package_getByUserPath(M3Paths.ServiceResult), processorSupport) && returnType != stringType)
+                if (!processorSupport.type_subTypeOf(returnType, processorSupport.package_getByUserPath(M3Paths.ServiceResult)) && returnType != stringType)
                 {
                     throw new PureCompilationException(returnGenericType.getSourceInformation(), "Return type issue. A service function has to return a 'String' or a subtype of 'ServiceResult'.");
                 }
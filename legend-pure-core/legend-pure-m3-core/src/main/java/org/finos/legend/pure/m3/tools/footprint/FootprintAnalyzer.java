@@ -0,0 +1,187 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tools.footprint;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
+import org.finos.legend.pure.m4.ModelRepository;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Analyses the heap footprint of a graph of instances, such as the instances of a
+ * {@link ModelRepository} or of compiled metadata.
+ * <p>
+ * Instances are visited breadth first from the starting instances. The retained size of an instance
+ * is the estimated size of the instance and of every object reachable from it without passing through
+ * another instance. Objects reachable from more than one instance are counted once, for the first
+ * instance to reach them. Sizes are estimated from the class layouts (see {@link ObjectSizeEstimator})
+ * rather than measured, so they are approximate; they are intended to compare classifiers,
+ * repositories and sources, and to compare before and after a change.
+ * <p>
+ * Instances without source information are attributed to the source of the instance from which
+ * they were first reached. The analysis does not modify the graph, but it does require memory
+ * proportional to the number of objects in it.
+ */
+public class FootprintAnalyzer
+{
+    private static final String UNKNOWN = "<unknown>";
+
+    private final Function<? super CoreInstance, String> classifierPathFunction;
+    private final Predicate<Object> isBoundary;
+
+    /**
+     * @param classifierPathFunction function from an instance to the path of its classifier
+     * @param isBoundary             objects (in addition to instances, model repositories, classes and
+     *                               class loaders) at which to stop, as they are not owned by any instance
+     *                               (may be null)
+     */
+    public FootprintAnalyzer(Function<? super CoreInstance, String> classifierPathFunction, Predicate<Object> isBoundary)
+    {
+        this.classifierPathFunction = classifierPathFunction;
+        this.isBoundary = isBoundary;
+    }
+
+    public FootprintAnalyzer(ProcessorSupport processorSupport)
+    {
+        this(instance -> PackageableElement.getUserPathForPackageableElement(processorSupport.getClassifier(instance)), o -> o instanceof ProcessorSupport);
+    }
+
+    public static FootprintReport analyze(ModelRepository repository, ProcessorSupport processorSupport)
+    {
+        return new FootprintAnalyzer(processorSupport).analyze(repository.getTopLevels());
+    }
+
+    public FootprintReport analyze(Iterable<? extends CoreInstance> startingInstances)
+    {
+        ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+        FootprintReport report = new FootprintReport();
+        MutableSet<Object> visited = UnifiedSetWithHashingStrategy.newSet(HashingStrategies.identityStrategy());
+        MutableMap<String, String> strings = Maps.mutable.empty();
+
+        Deque<Pair<CoreInstance, String>> instances = new ArrayDeque<>();
+        startingInstances.forEach(i -> instances.add(Tuples.pair(i, null)));
+
+        Deque<Object> objects = new ArrayDeque<>();
+        while (!instances.isEmpty())
+        {
+            Pair<CoreInstance, String> pair = instances.pollFirst();
+            CoreInstance instance = pair.getOne();
+            if (!visited.add(instance))
+            {
+                continue;
+            }
+
+            String source = getSourceId(instance, pair.getTwo());
+            long retainedSize = 0;
+            int duplicateStringCount = 0;
+            long duplicateStringSize = 0;
+
+            // walk the objects owned by the instance, collecting the other instances it references
+            estimator.forEachReference(instance, objects::add);
+            retainedSize += estimator.getSize(instance);
+            while (!objects.isEmpty())
+            {
+                Object object = objects.pollFirst();
+                if (object instanceof CoreInstance)
+                {
+                    if (!visited.contains(object))
+                    {
+                        instances.add(Tuples.pair((CoreInstance) object, source));
+                    }
+                }
+                else if (!isBoundary(object) && visited.add(object))
+                {
+                    long size = estimator.getSize(object);
+                    retainedSize += size;
+                    if (object instanceof String)
+                    {
+                        String string = (String) object;
+                        if (strings.getIfAbsentPut(string, string) != string)
+                        {
+                            duplicateStringCount++;
+                            duplicateStringSize += size;
+                        }
+                    }
+                    else
+                    {
+                        estimator.forEachReference(object, objects::add);
+                    }
+                }
+            }
+
+            String repository = (source == null) ? null : CompositeCodeStorage.getSourceRepoName(source);
+            report.addInstance(getClassifierPath(instance), (repository == null) ? UNKNOWN : repository, (source == null) ? UNKNOWN : source, getValueHolderCount(instance, estimator), retainedSize, duplicateStringCount, duplicateStringSize);
+        }
+        return report;
+    }
+
+    private boolean isBoundary(Object object)
+    {
+        return (object instanceof ModelRepository) || (object instanceof Class) || (object instanceof ClassLoader) || (object instanceof Thread) || ((this.isBoundary != null) && this.isBoundary.test(object));
+    }
+
+    private String getClassifierPath(CoreInstance instance)
+    {
+        try
+        {
+            String path = this.classifierPathFunction.apply(instance);
+            return (path == null) ? UNKNOWN : path;
+        }
+        catch (RuntimeException e)
+        {
+            return UNKNOWN;
+        }
+    }
+
+    private static String getSourceId(CoreInstance instance, String defaultSourceId)
+    {
+        try
+        {
+            SourceInformation sourceInfo = instance.getSourceInformation();
+            return (sourceInfo == null) ? defaultSourceId : sourceInfo.getSourceId();
+        }
+        catch (RuntimeException e)
+        {
+            return defaultSourceId;
+        }
+    }
+
+    private static int getValueHolderCount(CoreInstance instance, ObjectSizeEstimator estimator)
+    {
+        try
+        {
+            return instance.getKeys().size();
+        }
+        catch (RuntimeException e)
+        {
+            // compiled instances do not support getKeys
+            return estimator.countPropertyFields(instance);
+        }
+    }
+}
@@ -0,0 +1,257 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tools.footprint;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.json.simple.JSONValue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+
+/**
+ * Heap footprint of a graph of instances, aggregated by classifier, by repository and by source.
+ * Sizes are estimates: see {@link FootprintAnalyzer}.
+ */
+public class FootprintReport
+{
+    private static final Comparator<Entry> LARGEST_FIRST = Comparator.comparingLong(Entry::getRetainedSize).reversed().thenComparing(Entry::getKey);
+
+    private final Entry total = new Entry("total");
+    private final MutableMap<String, Entry> byClassifier = Maps.mutable.empty();
+    private final MutableMap<String, Entry> byRepository = Maps.mutable.empty();
+    private final MutableMap<String, Entry> bySource = Maps.mutable.empty();
+
+    FootprintReport()
+    {
+    }
+
+    void addInstance(String classifierPath, String repository, String source, int valueHolderCount, long retainedSize, int duplicateStringCount, long duplicateStringSize)
+    {
+        this.total.add(valueHolderCount, retainedSize, duplicateStringCount, duplicateStringSize);
+        this.byClassifier.getIfAbsentPutWithKey(classifierPath, Entry::new).add(valueHolderCount, retainedSize, duplicateStringCount, duplicateStringSize);
+        this.byRepository.getIfAbsentPutWithKey(repository, Entry::new).add(valueHolderCount, retainedSize, duplicateStringCount, duplicateStringSize);
+        this.bySource.getIfAbsentPutWithKey(source, Entry::new).add(valueHolderCount, retainedSize, duplicateStringCount, duplicateStringSize);
+    }
+
+    public Entry getTotal()
+    {
+        return this.total;
+    }
+
+    /**
+     * Entries by classifier path, largest first.
+     */
+    public ListIterable<Entry> getByClassifier()
+    {
+        return sorted(this.byClassifier);
+    }
+
+    /**
+     * Entries by repository, largest first.
+     */
+    public ListIterable<Entry> getByRepository()
+    {
+        return sorted(this.byRepository);
+    }
+
+    /**
+     * Entries by source id, largest first.
+     */
+    public ListIterable<Entry> getBySource()
+    {
+        return sorted(this.bySource);
+    }
+
+    /**
+     * Write the report as CSV, with one row per entry. The first column is the grouping of the entry:
+     * total, classifier, repository or source.
+     *
+     * @param appendable appendable to write to
+     */
+    public void writeCSV(Appendable appendable)
+    {
+        try
+        {
+            appendable.append("grouping,key,instances,valueHolders,retainedBytes,duplicateStrings,duplicateStringBytes\n");
+            writeCSV(appendable, "total", this.total);
+            getByClassifier().forEach(e -> writeCSV(appendable, "classifier", e));
+            getByRepository().forEach(e -> writeCSV(appendable, "repository", e));
+            getBySource().forEach(e -> writeCSV(appendable, "source", e));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write the report as a JSON object, with the total and an array of entries for each grouping.
+     *
+     * @param appendable appendable to write to
+     */
+    public void writeJSON(Appendable appendable)
+    {
+        try
+        {
+            appendable.append("{\"total\":");
+            writeJSON(appendable, this.total);
+            writeJSON(appendable, "byClassifier", getByClassifier());
+            writeJSON(appendable, "byRepository", getByRepository());
+            writeJSON(appendable, "bySource", getBySource());
+            appendable.append('}');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ListIterable<Entry> sorted(MutableMap<String, Entry> entries)
+    {
+        return entries.valuesView().toSortedList(LARGEST_FIRST);
+    }
+
+    private static void writeCSV(Appendable appendable, String grouping, Entry entry)
+    {
+        try
+        {
+            appendable.append(grouping).append(',');
+            String key = entry.getKey();
+            if ((key.indexOf(',') == -1) && (key.indexOf('"') == -1) && (key.indexOf('\n') == -1))
+            {
+                appendable.append(key);
+            }
+            else
+            {
+                appendable.append('"').append(key.replace("\"", "\"\"")).append('"');
+            }
+            appendable.append(',').append(Integer.toString(entry.getInstanceCount()))
+                    .append(',').append(Long.toString(entry.getValueHolderCount()))
+                    .append(',').append(Long.toString(entry.getRetainedSize()))
+                    .append(',').append(Long.toString(entry.getDuplicateStringCount()))
+                    .append(',').append(Long.toString(entry.getDuplicateStringSize()))
+                    .append('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJSON(Appendable appendable, String name, ListIterable<Entry> entries) throws IOException
+    {
+        appendable.append(",\"").append(name).append("\":[");
+        boolean first = true;
+        for (Entry entry : entries)
+        {
+            if (first)
+            {
+                first = false;
+            }
+            else
+            {
+                appendable.append(',');
+            }
+            writeJSON(appendable, entry);
+        }
+        appendable.append(']');
+    }
+
+    private static void writeJSON(Appendable appendable, Entry entry) throws IOException
+    {
+        appendable.append("{\"key\":\"").append(JSONValue.escape(entry.getKey()))
+                .append("\",\"instances\":").append(Integer.toString(entry.getInstanceCount()))
+                .append(",\"valueHolders\":").append(Long.toString(entry.getValueHolderCount()))
+                .append(",\"retainedBytes\":").append(Long.toString(entry.getRetainedSize()))
+                .append(",\"duplicateStrings\":").append(Long.toString(entry.getDuplicateStringCount()))
+                .append(",\"duplicateStringBytes\":").append(Long.toString(entry.getDuplicateStringSize()))
+                .append('}');
+    }
+
+    public static class Entry
+    {
+        private final String key;
+        private int instanceCount = 0;
+        private long valueHolderCount = 0;
+        private long retainedSize = 0;
+        private long duplicateStringCount = 0;
+        private long duplicateStringSize = 0;
+
+        private Entry(String key)
+        {
+            this.key = key;
+        }
+
+        private void add(int valueHolderCount, long retainedSize, int duplicateStringCount, long duplicateStringSize)
+        {
+            this.instanceCount++;
+            this.valueHolderCount += valueHolderCount;
+            this.retainedSize += retainedSize;
+            this.duplicateStringCount += duplicateStringCount;
+            this.duplicateStringSize += duplicateStringSize;
+        }
+
+        public String getKey()
+        {
+            return this.key;
+        }
+
+        public int getInstanceCount()
+        {
+            return this.instanceCount;
+        }
+
+        /**
+         * Number of properties with values.
+         */
+        public long getValueHolderCount()
+        {
+            return this.valueHolderCount;
+        }
+
+        /**
+         * Estimated size in bytes of the instances and the objects they own.
+         */
+        public long getRetainedSize()
+        {
+            return this.retainedSize;
+        }
+
+        /**
+         * Number of strings owned by the instances which are copies of a string seen before.
+         */
+        public long getDuplicateStringCount()
+        {
+            return this.duplicateStringCount;
+        }
+
+        /**
+         * Estimated size in bytes of the duplicate strings, which could be saved by interning them.
+         */
+        public long getDuplicateStringSize()
+        {
+            return this.duplicateStringSize;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "<" + this.key + " instances=" + this.instanceCount + " valueHolders=" + this.valueHolderCount + " retainedBytes=" + this.retainedSize + " duplicateStringBytes=" + this.duplicateStringSize + ">";
+        }
+    }
+}
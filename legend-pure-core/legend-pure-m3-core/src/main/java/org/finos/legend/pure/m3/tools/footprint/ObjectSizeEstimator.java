@@ -0,0 +1,284 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tools.footprint;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Estimates the heap size of objects without instrumentation, assuming a 64-bit HotSpot JVM with
+ * compressed references (12 byte object headers, 16 byte array headers, 4 byte references and 8
+ * byte alignment). Objects of JDK classes are not reflected into (which may not be permitted);
+ * strings, collections and maps have their internal storage estimated from their size instead.
+ */
+class ObjectSizeEstimator
+{
+    static final int OBJECT_HEADER_SIZE = 12;
+    static final int ARRAY_HEADER_SIZE = 16;
+    static final int REFERENCE_SIZE = 4;
+    static final int ALIGNMENT = 8;
+
+    // approximate size of the node object of a hash map entry
+    private static final int MAP_ENTRY_SIZE = 32;
+
+    private final MutableMap<Class<?>, ClassLayout> layouts = Maps.mutable.empty();
+
+    /**
+     * Estimated size of the object itself, including the internal storage of strings, collections
+     * and maps from the JDK, but not including any other objects it references.
+     */
+    long getSize(Object object)
+    {
+        Class<?> cls = object.getClass();
+        if (cls.isArray())
+        {
+            int length = Array.getLength(object);
+            Class<?> componentType = cls.getComponentType();
+            return align(ARRAY_HEADER_SIZE + ((long) length * (componentType.isPrimitive() ? getPrimitiveSize(componentType) : REFERENCE_SIZE)));
+        }
+
+        long size = getLayout(cls).size;
+        if (object instanceof String)
+        {
+            String string = (String) object;
+            size += align(ARRAY_HEADER_SIZE + ((long) string.length() * (isLatin1(string) ? 1 : 2)));
+        }
+        else if (isJDKClass(cls))
+        {
+            if (object instanceof Map)
+            {
+                int mapSize = ((Map<?, ?>) object).size();
+                size += getHashTableSize(mapSize) + ((long) mapSize * MAP_ENTRY_SIZE);
+            }
+            else if (object instanceof Collection)
+            {
+                size += align(ARRAY_HEADER_SIZE + ((long) ((Collection<?>) object).size() * REFERENCE_SIZE));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Apply the consumer to each (non-null) object referenced by the given object.
+     */
+    void forEachReference(Object object, Consumer<Object> consumer)
+    {
+        Class<?> cls = object.getClass();
+        if (cls.isArray())
+        {
+            if (!cls.getComponentType().isPrimitive())
+            {
+                for (Object element : (Object[]) object)
+                {
+                    if (element != null)
+                    {
+                        consumer.accept(element);
+                    }
+                }
+            }
+            return;
+        }
+
+        if (isJDKClass(cls))
+        {
+            if (object instanceof Map)
+            {
+                ((Map<?, ?>) object).forEach((key, value) ->
+                {
+                    if (key != null)
+                    {
+                        consumer.accept(key);
+                    }
+                    if (value != null)
+                    {
+                        consumer.accept(value);
+                    }
+                });
+                return;
+            }
+            if (object instanceof Collection)
+            {
+                for (Object element : (Collection<?>) object)
+                {
+                    if (element != null)
+                    {
+                        consumer.accept(element);
+                    }
+                }
+                return;
+            }
+        }
+
+        for (Field field : getLayout(cls).referenceFields)
+        {
+            Object value;
+            try
+            {
+                value = field.get(object);
+            }
+            catch (IllegalAccessException e)
+            {
+                continue;
+            }
+            if (value != null)
+            {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Number of non-null fields whose name starts with an underscore: the naming convention for
+     * property fields of generated classes.
+     */
+    int countPropertyFields(Object object)
+    {
+        int count = 0;
+        for (Field field : getLayout(object.getClass()).referenceFields)
+        {
+            if (field.getName().startsWith("_"))
+            {
+                try
+                {
+                    Object value = field.get(object);
+                    if ((value != null) && !((value instanceof Iterable) && !((Iterable<?>) value).iterator().hasNext()))
+                    {
+                        count++;
+                    }
+                }
+                catch (IllegalAccessException ignore)
+                {
+                    // skip inaccessible fields
+                }
+            }
+        }
+        return count;
+    }
+
+    private ClassLayout getLayout(Class<?> cls)
+    {
+        return this.layouts.getIfAbsentPutWith(cls, ClassLayout::new, cls);
+    }
+
+    static long align(long size)
+    {
+        return ((size + ALIGNMENT - 1) / ALIGNMENT) * ALIGNMENT;
+    }
+
+    private static long getHashTableSize(int size)
+    {
+        int capacity = 16;
+        while (capacity * 0.75 < size)
+        {
+            capacity <<= 1;
+        }
+        return align(ARRAY_HEADER_SIZE + ((long) capacity * REFERENCE_SIZE));
+    }
+
+    private static boolean isLatin1(String string)
+    {
+        for (int i = 0; i < string.length(); i++)
+        {
+            if (string.charAt(i) > 0xFF)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isJDKClass(Class<?> cls)
+    {
+        String name = cls.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static int getPrimitiveSize(Class<?> type)
+    {
+        if ((type == long.class) || (type == double.class))
+        {
+            return 8;
+        }
+        if ((type == int.class) || (type == float.class))
+        {
+            return 4;
+        }
+        if ((type == short.class) || (type == char.class))
+        {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static class ClassLayout
+    {
+        private final long size;
+        private final Field[] referenceFields;
+
+        private ClassLayout(Class<?> cls)
+        {
+            boolean reflect = !isJDKClass(cls);
+            long fieldsSize = 0;
+            MutableList<Field> fields = Lists.mutable.empty();
+            for (Class<?> c = cls; c != null; c = c.getSuperclass())
+            {
+                for (Field field : c.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(field.getModifiers()))
+                    {
+                        Class<?> type = field.getType();
+                        if (type.isPrimitive())
+                        {
+                            fieldsSize += getPrimitiveSize(type);
+                        }
+                        else
+                        {
+                            fieldsSize += REFERENCE_SIZE;
+                            if (reflect && trySetAccessible(field))
+                            {
+                                fields.add(field);
+                            }
+                        }
+                    }
+                }
+            }
+            this.size = align(OBJECT_HEADER_SIZE + fieldsSize);
+            this.referenceFields = fields.toArray(new Field[fields.size()]);
+        }
+
+        private static boolean trySetAccessible(Field field)
+        {
+            try
+            {
+                field.setAccessible(true);
+                return true;
+            }
+            catch (RuntimeException e)
+            {
+                // the field is not accessible (e.g., it is in a module which is not open)
+                return false;
+            }
+        }
+    }
+}
@@ -69,6 +69,7 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class AbstractCompiledStateIntegrityTest
 {
@@ -87,9 +88,15 @@ public abstract class AbstractCompiledStateIntegrityTest
     }
 
     protected static void initialize(MutableRepositoryCodeStorage codeStorage)
+    {
+        initialize(codeStorage, null);
+    }
+
+    protected static void initialize(MutableRepositoryCodeStorage codeStorage, ForkJoinPool forkJoinPool)
     {
         runtime = new PureRuntimeBuilder(codeStorage)
                 .withRuntimeStatus(new PrintPureRuntimeStatus(System.out))
+                .withIncrementalCompilerForkJoinPool(forkJoinPool)
                 .setTransactionalByDefault(false)
                 .buildAndInitialize();
 
@@ -0,0 +1,47 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tests;
+
+import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepositoryProviderHelper;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.MutableRepositoryCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.classpath.ClassLoaderCodeStorage;
+import org.finos.legend.pure.m3.serialization.filesystem.usercodestorage.composite.CompositeCodeStorage;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class TestM3CoreCompiledStateIntegrity_MultiThreaded extends AbstractCompiledStateIntegrityTest
+{
+    private static ForkJoinPool forkJoinPool;
+
+    @BeforeClass
+    public static void initialize()
+    {
+        MutableRepositoryCodeStorage codeStorage = new CompositeCodeStorage(new ClassLoaderCodeStorage(CodeRepositoryProviderHelper.findPlatformCodeRepository()));
+        forkJoinPool = new ForkJoinPool();
+        initialize(codeStorage, forkJoinPool);
+    }
+
+    @AfterClass
+    public static void shutDownForkJoinPool()
+    {
+        if (forkJoinPool != null)
+        {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
+        }
+    }
+}
@@ -31,4 +31,28 @@ public abstract class AbstractTestParseJson extends AbstractPureTestWithCoreComp
         this.execute("test():Boolean[1]");
     }
 
+    @Test
+    public void testParseJsonStructure()
+    {
+        compileTestSource(
+                "import meta::json::*;\n" +
+                        "function test():Boolean[1]\n" +
+                        "{\n" +
+                        "   let json = parseJSON('{\"a\":[1,{\"b\":\"x\",\"b\":\"y\"},[true,null],[]],\"c\":2.5,\"d\":{}}')->cast(@JSONObject);\n" +
+                        "   assertEquals(['a', 'c', 'd'], $json.keyValuePairs.key.value->sort());\n" +
+                        "   let a = $json.keyValuePairs->filter(kv | $kv.key.value == 'a').value->toOne()->cast(@JSONArray).values;\n" +
+                        "   assertEquals(4, $a->size());\n" +
+                        "   assertEquals(1, $a->at(0)->cast(@JSONNumber).value);\n" +
+                        "   let b = $a->at(1)->cast(@JSONObject).keyValuePairs;\n" +
+                        "   assertEquals('b', $b.key.value->toOne());\n" +
+                        "   assertEquals('y', $b.value->toOne()->cast(@JSONString).value);\n" +
+                        "   let nested = $a->at(2)->cast(@JSONArray).values;\n" +
+                        "   assertEquals(true, $nested->at(0)->cast(@JSONBoolean).value);\n" +
+                        "   assert($nested->at(1)->instanceOf(JSONNull), |'');\n" +
+                        "   assert($a->at(3)->cast(@JSONArray).values->isEmpty(), |'');\n" +
+                        "   assertEquals(2.5, $json.keyValuePairs->filter(kv | $kv.key.value == 'c').value->toOne()->cast(@JSONNumber).value);\n" +
+                        "   assert($json.keyValuePairs->filter(kv | $kv.key.value == 'd').value->toOne()->cast(@JSONObject).keyValuePairs->isEmpty(), |'');\n" +
+                        "}");
+        this.execute("test():Boolean[1]");
+    }
 }
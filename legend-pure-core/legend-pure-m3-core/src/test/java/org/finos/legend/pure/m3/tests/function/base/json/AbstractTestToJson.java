@@ -344,6 +344,33 @@ public abstract class AbstractTestToJson extends AbstractPureTestWithCoreCompile
         assertJsonEquals("\"pkg::Mass~Kilogram\"", json);
     }
 
+    @Test
+    public void testSerializationWithDifferentConfigs()
+    {
+        // conversions may be shared between calls, so each call must only see its own configuration
+        compileTestSource("fromString.pure",
+                "Class Person\n" +
+                        "{\n" +
+                        "   name : String[1];\n" +
+                        "   greeting() {'Hello ' + $this.name}: String[1];\n" +
+                        "}\n" +
+                        "function testToJsonWithDifferentConfigs():Any[*]\n" +
+                        "{\n" +
+                        "   let p = ^Person(name='Ann');\n" +
+                        "   [\n" +
+                        "      $p->meta::json::toJsonBeta(^meta::json::JSONSerializationConfig(typeKeyName='__TYPE', includeType=false, serializeQualifiedProperties=false)),\n" +
+                        "      $p->meta::json::toJsonBeta(^meta::json::JSONSerializationConfig(typeKeyName='@type', includeType=true, serializeQualifiedProperties=true)),\n" +
+                        "      $p->meta::json::toJsonBeta(^meta::json::JSONSerializationConfig(typeKeyName='__TYPE', includeType=true, serializeQualifiedProperties=false))\n" +
+                        "   ];\n" +
+                        "}\n");
+        CoreInstance result = execute("testToJsonWithDifferentConfigs():Any[*]");
+        MutableList<String> json = result.getValueForMetaPropertyToMany(M3Properties.values).collect(PrimitiveUtilities::getStringValue, Lists.mutable.empty());
+        Assert.assertEquals(3, json.size());
+        assertJsonEquals("{\"name\":\"Ann\"}", json.get(0));
+        assertJsonEquals("{\"@type\":\"Person\",\"name\":\"Ann\",\"greeting\":\"Hello Ann\"}", json.get(1));
+        assertJsonEquals("{\"__TYPE\":\"Person\",\"name\":\"Ann\"}", json.get(2));
+    }
+
     private void assertJsonEquals(String expectedJson, String actualJson)
     {
         Object expected;
@@ -0,0 +1,176 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tests.navigation;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.finos.legend.pure.m3.compiler.Context;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.type.Type;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiledPlatform;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTypeSubTypeOf extends AbstractPureTestWithCoreCompiledPlatform
+{
+    @Before
+    public void setUp()
+    {
+        setUpRuntime(getExtra());
+    }
+
+    @After
+    public void tearDown()
+    {
+        tearDownRuntime();
+    }
+
+    @Test
+    public void testSubTypeOf()
+    {
+        compileTestSource("/test/hierarchy.pure",
+                "Class test::A {}\n" +
+                        "Class test::B extends test::A {}\n" +
+                        "Class test::C extends test::A {}\n" +
+                        "Class test::D extends test::B, test::C {}\n" +
+                        "Class test::E {}\n");
+
+        CoreInstance a = runtime.getCoreInstance("test::A");
+        CoreInstance b = runtime.getCoreInstance("test::B");
+        CoreInstance c = runtime.getCoreInstance("test::C");
+        CoreInstance d = runtime.getCoreInstance("test::D");
+        CoreInstance e = runtime.getCoreInstance("test::E");
+        CoreInstance any = runtime.getCoreInstance(M3Paths.Any);
+        CoreInstance nil = runtime.getCoreInstance(M3Paths.Nil);
+
+        assertSubTypeOf(d, a);
+        assertSubTypeOf(d, b);
+        assertSubTypeOf(d, c);
+        assertSubTypeOf(d, d);
+        assertSubTypeOf(b, a);
+        assertSubTypeOf(e, any);
+        assertSubTypeOf(nil, e);
+
+        assertNotSubTypeOf(a, d);
+        assertNotSubTypeOf(b, c);
+        assertNotSubTypeOf(c, b);
+        assertNotSubTypeOf(d, e);
+        assertNotSubTypeOf(e, a);
+        assertNotSubTypeOf(any, e);
+    }
+
+    @Test
+    public void testSubTypeOfAfterHierarchyChange()
+    {
+        compileTestSource("/test/hierarchy.pure",
+                "Class test::A {}\n" +
+                        "Class test::B extends test::A {}\n" +
+                        "Class test::C extends test::B {}\n" +
+                        "Class test::E {}\n");
+        assertSubTypeOf(runtime.getCoreInstance("test::C"), runtime.getCoreInstance("test::A"));
+        assertNotSubTypeOf(runtime.getCoreInstance("test::C"), runtime.getCoreInstance("test::E"));
+
+        // move B under E
+        runtime.modify("/test/hierarchy.pure",
+                "Class test::A {}\n" +
+                        "Class test::B extends test::E {}\n" +
+                        "Class test::C extends test::B {}\n" +
+                        "Class test::E {}\n");
+        runtime.compile();
+        assertNotSubTypeOf(runtime.getCoreInstance("test::C"), runtime.getCoreInstance("test::A"));
+        assertSubTypeOf(runtime.getCoreInstance("test::C"), runtime.getCoreInstance("test::E"));
+        assertSubTypeOf(runtime.getCoreInstance("test::B"), runtime.getCoreInstance("test::E"));
+    }
+
+    @Test
+    public void testCompilerUsesTypeHierarchyIndex()
+    {
+        compileTestSource("/test/hierarchy.pure",
+                "Class test::A {}\n" +
+                        "Class test::C extends test::A {}\n" +
+                        "Class test::Box<T> { value : T[1]; }\n");
+        CoreInstance c = runtime.getCoreInstance("test::C");
+        context.update(c);
+        Assert.assertFalse(context.isTypeHierarchyIndexed(c));
+
+        // validating the call checks the Box type argument C against A through the processor support
+        compileTestSource("/test/functions.pure",
+                "function test::unbox(box:test::Box<test::A>[1]):test::A[1]\n" +
+                        "{\n" +
+                        "    $box.value\n" +
+                        "}\n" +
+                        "function test::test():test::A[1]\n" +
+                        "{\n" +
+                        "    test::unbox(^test::Box<test::C>(value=^test::C()))\n" +
+                        "}\n");
+        Assert.assertTrue(context.isTypeHierarchyIndexed(c));
+    }
+
+    @Test
+    public void testTypeHierarchyIdsAreRenumbered()
+    {
+        Context typeContext = new Context();
+        CoreInstance classClass = runtime.getCoreInstance(M3Paths.Class);
+        CoreInstance root = repository.newAnonymousCoreInstance(null, classClass, true);
+        MutableMap<CoreInstance, ListIterable<CoreInstance>> generalizations = Maps.mutable.with(root, Lists.immutable.with(root));
+        MutableList<CoreInstance> types = Lists.mutable.empty();
+        for (int i = 0; i < 10; i++)
+        {
+            CoreInstance type = repository.newAnonymousCoreInstance(null, classClass, true);
+            generalizations.put(type, Lists.immutable.with(type, root));
+            types.add(type);
+        }
+        types.forEach(type -> Assert.assertTrue(typeContext.hasGeneralization(type, root, generalizations::get)));
+        int idCount = typeContext.getTypeHierarchyIdCount();
+        Assert.assertEquals(11, idCount);
+
+        // replace the types repeatedly, as incremental recompiles do: the ids of removed types must not accumulate
+        for (int round = 0; round < 100; round++)
+        {
+            for (int i = 0; i < types.size(); i++)
+            {
+                typeContext.update(types.get(i));
+                generalizations.remove(types.get(i));
+                CoreInstance type = repository.newAnonymousCoreInstance(null, classClass, true);
+                generalizations.put(type, Lists.immutable.with(type, root));
+                types.set(i, type);
+                Assert.assertTrue(typeContext.hasGeneralization(type, root, generalizations::get));
+                Assert.assertFalse(typeContext.hasGeneralization(type, types.get((i + 1) % types.size()), generalizations::get));
+                Assert.assertFalse(typeContext.hasGeneralization(root, type, generalizations::get));
+                Assert.assertTrue(typeContext.getTypeHierarchyIdCount() <= 2 * idCount);
+            }
+        }
+        types.forEach(type -> Assert.assertTrue(typeContext.hasGeneralization(type, root, generalizations::get)));
+    }
+
+    // check both the navigation helper and the processor support, which answers from the Context type hierarchy index
+    private static void assertSubTypeOf(CoreInstance type, CoreInstance possibleSuperType)
+    {
+        Assert.assertTrue(Type.subTypeOf(type, possibleSuperType, processorSupport));
+        Assert.assertTrue(processorSupport.type_subTypeOf(type, possibleSuperType));
+    }
+
+    private static void assertNotSubTypeOf(CoreInstance type, CoreInstance possibleSuperType)
+    {
+        Assert.assertFalse(Type.subTypeOf(type, possibleSuperType, processorSupport));
+        Assert.assertFalse(processorSupport.type_subTypeOf(type, possibleSuperType));
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tests.tools.footprint;
+
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiledPlatform;
+import org.finos.legend.pure.m3.tools.footprint.FootprintAnalyzer;
+import org.finos.legend.pure.m3.tools.footprint.FootprintReport;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFootprintAnalyzer extends AbstractPureTestWithCoreCompiledPlatform
+{
+    @Before
+    public void setUp()
+    {
+        setUpRuntime(getExtra());
+    }
+
+    @After
+    public void tearDown()
+    {
+        tearDownRuntime();
+    }
+
+    @Test
+    public void testModelRepositoryFootprint()
+    {
+        compileTestSource("/test/footprint.pure",
+                "Class test::A\n" +
+                        "{\n" +
+                        "    name : String[1];\n" +
+                        "    other : test::B[*];\n" +
+                        "}\n" +
+                        "Class test::B {}\n");
+
+        FootprintReport report = FootprintAnalyzer.analyze(runtime.getModelRepository(), processorSupport);
+
+        FootprintReport.Entry total = report.getTotal();
+        Assert.assertTrue(total.getInstanceCount() > 0);
+        Assert.assertTrue(total.getValueHolderCount() > 0);
+        Assert.assertTrue(total.getRetainedSize() > total.getInstanceCount());
+
+        // the totals of each grouping agree with the overall total
+        Assert.assertEquals(total.getInstanceCount(), report.getByClassifier().sumOfInt(FootprintReport.Entry::getInstanceCount));
+        Assert.assertEquals(total.getRetainedSize(), report.getByRepository().sumOfLong(FootprintReport.Entry::getRetainedSize));
+        Assert.assertEquals(total.getDuplicateStringSize(), report.getBySource().sumOfLong(FootprintReport.Entry::getDuplicateStringSize));
+
+        FootprintReport.Entry classEntry = report.getByClassifier().detect(e -> M3Paths.Class.equals(e.getKey()));
+        Assert.assertNotNull(classEntry);
+        Assert.assertTrue(classEntry.getInstanceCount() >= 2);
+
+        FootprintReport.Entry testRepository = report.getByRepository().detect(e -> "test".equals(e.getKey()));
+        Assert.assertNotNull(testRepository);
+        Assert.assertTrue(testRepository.getRetainedSize() > 0);
+        Assert.assertNotNull(report.getBySource().detect(e -> "/test/footprint.pure".equals(e.getKey())));
+
+        // largest first
+        Assert.assertTrue(report.getByClassifier().getFirst().getRetainedSize() >= report.getByClassifier().getLast().getRetainedSize());
+    }
+
+    @Test
+    public void testExport()
+    {
+        compileTestSource("/test/footprint.pure", "Class test::A {}\n");
+        FootprintReport report = FootprintAnalyzer.analyze(runtime.getModelRepository(), processorSupport);
+
+        StringBuilder csv = new StringBuilder();
+        report.writeCSV(csv);
+        String[] lines = csv.toString().split("\n");
+        Assert.assertEquals("grouping,key,instances,valueHolders,retainedBytes,duplicateStrings,duplicateStringBytes", lines[0]);
+        Assert.assertTrue(lines[1], lines[1].startsWith("total,total," + report.getTotal().getInstanceCount() + ","));
+        Assert.assertEquals(1 + 1 + report.getByClassifier().size() + report.getByRepository().size() + report.getBySource().size(), lines.length);
+
+        StringBuilder json = new StringBuilder();
+        report.writeJSON(json);
+        JSONObject parsed = (JSONObject) JSONValue.parse(json.toString());
+        Assert.assertEquals((long) report.getTotal().getInstanceCount(), ((JSONObject) parsed.get("total")).get("instances"));
+        Assert.assertEquals(report.getByClassifier().size(), ((JSONArray) parsed.get("byClassifier")).size());
+        Assert.assertEquals(report.getByRepository().size(), ((JSONArray) parsed.get("byRepository")).size());
+        Assert.assertEquals(report.getBySource().size(), ((JSONArray) parsed.get("bySource")).size());
+    }
+}
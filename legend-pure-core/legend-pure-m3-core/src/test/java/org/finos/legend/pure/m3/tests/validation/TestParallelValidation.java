@@ -0,0 +1,114 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m3.tests.validation;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.finos.legend.pure.m3.compiler.Context;
+import org.finos.legend.pure.m3.compiler.validation.ValidationType;
+import org.finos.legend.pure.m3.compiler.validation.Validator;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiledPlatform;
+import org.finos.legend.pure.m3.tools.matcher.MatchRunner;
+import org.finos.legend.pure.m3.tools.matcher.Matcher;
+import org.finos.legend.pure.m3.tools.matcher.MatcherState;
+import org.finos.legend.pure.m4.ModelRepository;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.finos.legend.pure.m4.exception.PureCompilationException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+public class TestParallelValidation extends AbstractPureTestWithCoreCompiledPlatform
+{
+    private static final int INSTANCE_COUNT = 350;
+    private static final ImmutableSet<String> INVALID = Sets.immutable.with("foo_30", "foo_150", "foo_260");
+
+    @BeforeClass
+    public static void setUp()
+    {
+        setUpRuntime();
+    }
+
+    @After
+    public void cleanRuntime()
+    {
+        runtime.delete("fromString.pure");
+    }
+
+    @Test
+    public void testSameErrorWithAndWithoutPool()
+    {
+        compileTestSource("fromString.pure", "Class test::Foo\n{\n}\n");
+
+        PureCompilationException serial = Assert.assertThrows(PureCompilationException.class, () -> validate(newInstances(), null));
+        Assert.assertEquals("invalid foo_30", serial.getInfo());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            PureCompilationException parallel = Assert.assertThrows(PureCompilationException.class, () -> validate(newInstances(), pool));
+            Assert.assertEquals(serial.getInfo(), parallel.getInfo());
+            Assert.assertEquals(serial.getSourceInformation(), parallel.getSourceInformation());
+            Assert.assertEquals(2, parallel.getSuppressed().length);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    private MutableList<CoreInstance> newInstances()
+    {
+        // later instances get earlier source information, so that iteration order and source order disagree
+        CoreInstance fooClass = runtime.getCoreInstance("test::Foo");
+        MutableList<CoreInstance> instances = Lists.mutable.empty();
+        for (int i = 0; i < INSTANCE_COUNT; i++)
+        {
+            int line = INSTANCE_COUNT - i;
+            instances.add(repository.newEphemeralCoreInstance("foo_" + i, fooClass, new SourceInformation("fromString.pure", line, 1, line, 1, line, 10)));
+        }
+        return instances;
+    }
+
+    private void validate(MutableList<CoreInstance> instances, ForkJoinPool pool)
+    {
+        Validator.validateM3(instances, ValidationType.SHALLOW, runtime.getIncrementalCompiler().getParserLibrary(), runtime.getIncrementalCompiler().getDslLibrary(),
+                Lists.immutable.with(new FailingValidator()), runtime.getCodeStorage(), repository, context, processorSupport, pool);
+    }
+
+    private static class FailingValidator implements MatchRunner<CoreInstance>
+    {
+        @Override
+        public String getClassName()
+        {
+            return "test::Foo";
+        }
+
+        @Override
+        public void run(CoreInstance instance, MatcherState state, Matcher matcher, ModelRepository modelRepository, Context context) throws PureCompilationException
+        {
+            if (INVALID.contains(instance.getName()))
+            {
+                throw new PureCompilationException(instance.getSourceInformation(), "invalid " + instance.getName());
+            }
+        }
+    }
+}
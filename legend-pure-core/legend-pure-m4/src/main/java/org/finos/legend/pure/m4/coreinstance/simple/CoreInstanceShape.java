@@ -0,0 +1,104 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.coreinstance.simple;
+
+import org.eclipse.collections.api.map.primitive.ImmutableObjectIntMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.factory.primitive.ObjectIntMaps;
+
+import java.util.Arrays;
+
+/**
+ * Shape shared by the instances of a classifier: a mapping from key name to slot, so that each
+ * instance can store its value holders in an array rather than a map. Slots are only ever added,
+ * up to {@link #MAX_SLOTS}; key names beyond that are not part of the shape.
+ */
+final class CoreInstanceShape
+{
+    static final int MAX_SLOTS = 64;
+
+    private volatile String[] names = new String[0];
+    private volatile ImmutableObjectIntMap<String> slotsByName = ObjectIntMaps.immutable.empty();
+
+    /**
+     * Number of slots in the shape.
+     *
+     * @return slot count
+     */
+    int size()
+    {
+        return this.names.length;
+    }
+
+    /**
+     * Key name for a slot.
+     *
+     * @param slot slot
+     * @return key name
+     */
+    String getName(int slot)
+    {
+        return this.names[slot];
+    }
+
+    /**
+     * Slot for the key name, or -1 if the key name is not part of the shape.
+     *
+     * @param name key name
+     * @return slot or -1
+     */
+    int getSlot(String name)
+    {
+        return this.slotsByName.getIfAbsent(name, -1);
+    }
+
+    /**
+     * Slot for the key name, adding it to the shape if necessary. Returns -1 if the key name is not
+     * part of the shape and the shape is full.
+     *
+     * @param name key name
+     * @return slot or -1
+     */
+    int getOrAddSlot(String name)
+    {
+        int slot = getSlot(name);
+        return (slot == -1) ? addSlot(name) : slot;
+    }
+
+    private synchronized int addSlot(String name)
+    {
+        int slot = getSlot(name);
+        if (slot != -1)
+        {
+            return slot;
+        }
+
+        int size = this.names.length;
+        if (size >= MAX_SLOTS)
+        {
+            return -1;
+        }
+
+        String[] newNames = Arrays.copyOf(this.names, size + 1);
+        newNames[size] = name;
+        MutableObjectIntMap<String> newSlotsByName = ObjectIntMaps.mutable.ofInitialCapacity(size + 1);
+        newSlotsByName.putAll(this.slotsByName);
+        newSlotsByName.put(name, size);
+        // names must be published before the slot, so that any slot that can be found has a name
+        this.names = newNames;
+        this.slotsByName = newSlotsByName.toImmutable();
+        return size;
+    }
+}
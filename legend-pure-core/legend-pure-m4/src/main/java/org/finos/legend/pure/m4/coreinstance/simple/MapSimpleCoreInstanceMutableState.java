@@ -0,0 +1,60 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.coreinstance.simple;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.MutableMap;
+
+/**
+ * Mutable state which stores value holders in a map keyed by name. This is the default for
+ * {@link SimpleCoreInstance}.
+ */
+class MapSimpleCoreInstanceMutableState extends SimpleCoreInstanceMutableState
+{
+    private final MutableMap<String, ValueHolder> state = Maps.mutable.empty();
+
+    @Override
+    RichIterable<String> getKeyNames()
+    {
+        return this.state.keysView();
+    }
+
+    @Override
+    ValueHolder getValueHolder(String keyName)
+    {
+        return this.state.get(keyName);
+    }
+
+    @Override
+    ValueHolder getOrCreateValueHolder(String keyName)
+    {
+        return this.state.getIfAbsentPut(keyName, SimpleCoreInstanceMutableState::newValueHolder);
+    }
+
+    @Override
+    void removeValueHolder(String keyName)
+    {
+        this.state.remove(keyName);
+    }
+
+    @Override
+    SimpleCoreInstanceMutableState copyValueHolders()
+    {
+        MapSimpleCoreInstanceMutableState copy = new MapSimpleCoreInstanceMutableState();
+        this.state.forEachKeyValue((key, value) -> copy.state.put(key, value.copy()));
+        return copy;
+    }
+}
@@ -0,0 +1,100 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.coreinstance.simple;
+
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.pure.m4.ModelRepository;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.coreinstance.SourceInformation;
+import org.finos.legend.pure.m4.coreinstance.factory.MultipassCoreInstanceFactory;
+
+/**
+ * Factory for {@link SimpleCoreInstance}s which store their property values in an array indexed by
+ * a shape shared by all instances of the same classifier, rather than in a map per instance. This
+ * uses less memory for large graphs of instances. Each factory has its own shapes, so a factory
+ * should be used for a single model repository.
+ */
+public class ShapedCoreInstanceFactory implements MultipassCoreInstanceFactory
+{
+    private static final String NO_CLASSIFIER = "";
+
+    // Shapes are keyed by classifier name (or synthetic id, if that is all that is known) rather than
+    // by the classifier itself, so that they do not keep classifiers alive after they are unloaded. A
+    // shape shared by different classifiers with the same name is still correct, just larger.
+    private final ConcurrentMutableMap<Object, CoreInstanceShape> shapes = ConcurrentHashMap.newMap();
+
+    @Override
+    public boolean supports(CoreInstance classifier)
+    {
+        return true;
+    }
+
+    @Override
+    public CoreInstance createCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, CoreInstance classifier, ModelRepository repository, boolean persistent)
+    {
+        return newCoreInstance(name, internalSyntheticId, sourceInformation, classifier, repository, persistent, (classifier == null) ? NO_CLASSIFIER : classifier.getName());
+    }
+
+    @Override
+    public boolean supports(String classifierPath)
+    {
+        return true;
+    }
+
+    @Override
+    public CoreInstance createCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, String classifierPath, String typeInfo, ModelRepository repository, boolean persistent)
+    {
+        return newCoreInstance(name, internalSyntheticId, sourceInformation, null, repository, persistent, getClassifierName(classifierPath));
+    }
+
+    @Override
+    public boolean supports(int classifierSyntheticId)
+    {
+        return true;
+    }
+
+    @Override
+    public CoreInstance createCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, int classifierSyntheticId, ModelRepository repository, boolean persistent)
+    {
+        return newCoreInstance(name, internalSyntheticId, sourceInformation, null, repository, persistent, classifierSyntheticId);
+    }
+
+    /**
+     * Number of distinct shapes created by this factory.
+     *
+     * @return shape count
+     */
+    public int getShapeCount()
+    {
+        return this.shapes.size();
+    }
+
+    private CoreInstance newCoreInstance(String name, int internalSyntheticId, SourceInformation sourceInformation, CoreInstance classifier, ModelRepository repository, boolean persistent, Object shapeKey)
+    {
+        CoreInstanceShape shape = this.shapes.getIfAbsentPut(shapeKey, CoreInstanceShape::new);
+        return new SimpleCoreInstance(name, sourceInformation, classifier, internalSyntheticId, repository, persistent, new ShapedSimpleCoreInstanceMutableState(shape));
+    }
+
+    private static String getClassifierName(String classifierPath)
+    {
+        if (classifierPath == null)
+        {
+            return NO_CLASSIFIER;
+        }
+        int index = classifierPath.lastIndexOf("::");
+        return (index == -1) ? classifierPath : classifierPath.substring(index + 2);
+    }
+}
@@ -0,0 +1,143 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.coreinstance.simple;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+
+import java.util.Arrays;
+
+/**
+ * Mutable state which stores value holders in an array, indexed by a {@link CoreInstanceShape}
+ * shared with other instances of the same classifier. Key names which are not part of the shape
+ * (because it is full) are stored in a map.
+ */
+class ShapedSimpleCoreInstanceMutableState extends SimpleCoreInstanceMutableState
+{
+    private static final ValueHolder[] NO_VALUE_HOLDERS = new ValueHolder[0];
+
+    private final CoreInstanceShape shape;
+    private ValueHolder[] valueHolders;
+    private MutableMap<String, ValueHolder> otherValueHolders;
+
+    private ShapedSimpleCoreInstanceMutableState(CoreInstanceShape shape, ValueHolder[] valueHolders, MutableMap<String, ValueHolder> otherValueHolders)
+    {
+        this.shape = shape;
+        this.valueHolders = valueHolders;
+        this.otherValueHolders = otherValueHolders;
+    }
+
+    ShapedSimpleCoreInstanceMutableState(CoreInstanceShape shape)
+    {
+        this(shape, NO_VALUE_HOLDERS, null);
+    }
+
+    @Override
+    RichIterable<String> getKeyNames()
+    {
+        MutableList<String> keyNames = Lists.mutable.empty();
+        for (int i = 0; i < this.valueHolders.length; i++)
+        {
+            if (this.valueHolders[i] != null)
+            {
+                keyNames.add(this.shape.getName(i));
+            }
+        }
+        if (this.otherValueHolders != null)
+        {
+            keyNames.addAllIterable(this.otherValueHolders.keysView());
+        }
+        return keyNames;
+    }
+
+    @Override
+    ValueHolder getValueHolder(String keyName)
+    {
+        int slot = this.shape.getSlot(keyName);
+        if (slot != -1)
+        {
+            return (slot < this.valueHolders.length) ? this.valueHolders[slot] : null;
+        }
+        return (this.otherValueHolders == null) ? null : this.otherValueHolders.get(keyName);
+    }
+
+    @Override
+    ValueHolder getOrCreateValueHolder(String keyName)
+    {
+        int slot = this.shape.getOrAddSlot(keyName);
+        if (slot == -1)
+        {
+            if (this.otherValueHolders == null)
+            {
+                this.otherValueHolders = Maps.mutable.empty();
+            }
+            return this.otherValueHolders.getIfAbsentPut(keyName, SimpleCoreInstanceMutableState::newValueHolder);
+        }
+
+        if (slot >= this.valueHolders.length)
+        {
+            // grow to the current size of the shape, as other instances have likely added the slots in between
+            this.valueHolders = Arrays.copyOf(this.valueHolders, Math.max(slot + 1, this.shape.size()));
+        }
+        ValueHolder valueHolder = this.valueHolders[slot];
+        if (valueHolder == null)
+        {
+            this.valueHolders[slot] = valueHolder = newValueHolder();
+        }
+        return valueHolder;
+    }
+
+    @Override
+    void removeValueHolder(String keyName)
+    {
+        int slot = this.shape.getSlot(keyName);
+        if (slot != -1)
+        {
+            if (slot < this.valueHolders.length)
+            {
+                this.valueHolders[slot] = null;
+            }
+        }
+        else if (this.otherValueHolders != null)
+        {
+            this.otherValueHolders.remove(keyName);
+        }
+    }
+
+    @Override
+    SimpleCoreInstanceMutableState copyValueHolders()
+    {
+        ValueHolder[] valueHoldersCopy = (this.valueHolders.length == 0) ? NO_VALUE_HOLDERS : new ValueHolder[this.valueHolders.length];
+        for (int i = 0; i < this.valueHolders.length; i++)
+        {
+            ValueHolder valueHolder = this.valueHolders[i];
+            if (valueHolder != null)
+            {
+                valueHoldersCopy[i] = valueHolder.copy();
+            }
+        }
+        MutableMap<String, ValueHolder> otherValueHoldersCopy = null;
+        if ((this.otherValueHolders != null) && this.otherValueHolders.notEmpty())
+        {
+            MutableMap<String, ValueHolder> copy = Maps.mutable.ofInitialCapacity(this.otherValueHolders.size());
+            this.otherValueHolders.forEachKeyValue((key, value) -> copy.put(key, value.copy()));
+            otherValueHoldersCopy = copy;
+        }
+        return new ShapedSimpleCoreInstanceMutableState(this.shape, valueHoldersCopy, otherValueHoldersCopy);
+    }
+}
@@ -49,17 +49,22 @@ public class SimpleCoreInstance extends AbstractCoreInstance
 
     private SimpleCoreInstanceMutableState state;
 
-    protected SimpleCoreInstance(String name, SourceInformation sourceInformation, CoreInstance classifier, int internalSyntheticId, ModelRepository repository, boolean persistent)
+    SimpleCoreInstance(String name, SourceInformation sourceInformation, CoreInstance classifier, int internalSyntheticId, ModelRepository repository, boolean persistent, SimpleCoreInstanceMutableState state)
     {
         this.name = name;
         this.classifier = classifier;
         this.repository = repository;
         this.internalSyntheticId = internalSyntheticId;
         this.sourceInformation = sourceInformation;
-        this.state = new SimpleCoreInstanceMutableState();
+        this.state = state;
         this.persistent = persistent;
     }
 
+    protected SimpleCoreInstance(String name, SourceInformation sourceInformation, CoreInstance classifier, int internalSyntheticId, ModelRepository repository, boolean persistent)
+    {
+        this(name, sourceInformation, classifier, internalSyntheticId, repository, persistent, new MapSimpleCoreInstanceMutableState());
+    }
+
     @Override
     public void commit(ModelRepositoryTransaction transaction)
     {
@@ -15,35 +15,34 @@
 package org.finos.legend.pure.m4.coreinstance.simple;
 
 import org.eclipse.collections.api.RichIterable;
-import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.api.list.ListIterable;
-import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.SynchronizedRichIterable;
 import org.finos.legend.pure.m4.coreinstance.AbstractCoreInstanceMutableState;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.indexing.IDConflictException;
 import org.finos.legend.pure.m4.coreinstance.indexing.IndexSpecification;
 
-class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
+/**
+ * Mutable state of a {@link SimpleCoreInstance}. Subclasses decide how the value holders are stored;
+ * all access to them is synchronized on the state.
+ */
+abstract class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 {
-    private final MutableMap<String, ValueHolder> state = Maps.mutable.empty();
-
     RichIterable<String> getKeys()
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            return SynchronizedRichIterable.of(this.state.keysView(), this.state);
+            return SynchronizedRichIterable.of(getKeyNames(), this);
         }
     }
 
     CoreInstance getKeyByName(String name, SimpleCoreInstance owner)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(name);
+            ValueHolder valueHolder = getValueHolder(name);
             if (valueHolder == null)
             {
                 throw new RuntimeException("No real key can be found for '" + name + "' in\n" + owner.getName() + " (" + owner + ")");
@@ -66,54 +65,54 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 
     ImmutableList<String> getRealKeyByName(String keyName)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder == null) ? null : valueHolder.getRealKey();
         }
     }
 
     boolean hasValuesDefined(String keyName)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder != null) && valueHolder.hasValuesDefined();
         }
     }
 
     CoreInstance getOneValue(String keyName) throws OneValueException
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder == null) ? null : valueHolder.getOneValue();
         }
     }
 
     ListIterable<CoreInstance> getValues(String keyName)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder == null) ? null : valueHolder.getValues();
         }
     }
 
     public <K> CoreInstance getValueInValueForMetaPropertyToManyByIDIndex(String keyName, IndexSpecification<K> indexSpec, K keyInIndex) throws IDConflictException
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder == null) ? null : valueHolder.getValueByIDIndex(indexSpec, keyInIndex);
         }
     }
 
     public <K> ListIterable<CoreInstance> getValueInValueForMetaPropertyToManyByIndex(String keyName, IndexSpecification<K> indexSpec, K keyInIndex)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             return (valueHolder == null) ? Lists.immutable.<CoreInstance>empty() : valueHolder.getValuesByIndex(indexSpec, keyInIndex);
         }
     }
@@ -121,9 +120,9 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
     void setValues(ListIterable<String> key, CoreInstance value)
     {
         String name = key.getLast();
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.getIfAbsentPut(name, SimpleCoreInstanceMutableState::newValueHolder);
+            ValueHolder valueHolder = getOrCreateValueHolder(name);
             valueHolder.possiblySetRealKey(key);
             valueHolder.setValues(value);
         }
@@ -132,9 +131,9 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
     void setValues(ListIterable<String> key, ListIterable<? extends CoreInstance> values)
     {
         String name = key.getLast();
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.getIfAbsentPut(name, SimpleCoreInstanceMutableState::newValueHolder);
+            ValueHolder valueHolder = getOrCreateValueHolder(name);
             valueHolder.possiblySetRealKey(key);
             valueHolder.setValues(values);
         }
@@ -152,9 +151,9 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 
     private void addValue(String keyName, ListIterable<String> key, CoreInstance value)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.getIfAbsentPut(keyName, SimpleCoreInstanceMutableState::newValueHolder);
+            ValueHolder valueHolder = getOrCreateValueHolder(keyName);
             valueHolder.possiblySetRealKey(key);
             valueHolder.addValue(value);
         }
@@ -167,9 +166,9 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 
     void modifyValues(String keyName, int offset, CoreInstance value)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             if ((valueHolder == null) || !valueHolder.hasValuesDefined())
             {
                 throw new RuntimeException("No values for key: " + keyName);
@@ -180,9 +179,9 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 
     void removeValue(String keyName, CoreInstance value)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            ValueHolder valueHolder = this.state.get(keyName);
+            ValueHolder valueHolder = getValueHolder(keyName);
             if (valueHolder != null)
             {
                 valueHolder.removeValue(value);
@@ -192,31 +191,51 @@ class SimpleCoreInstanceMutableState extends AbstractCoreInstanceMutableState
 
     void removeKey(String key)
     {
-        synchronized (this.state)
+        synchronized (this)
         {
-            this.state.remove(key);
+            removeValueHolder(key);
         }
     }
 
     SimpleCoreInstanceMutableState copy()
     {
-        final SimpleCoreInstanceMutableState copy = new SimpleCoreInstanceMutableState();
-        synchronized (this.state)
+        synchronized (this)
         {
-            this.state.forEachKeyValue(new Procedure2<String, ValueHolder>()
-            {
-                @Override
-                public void value(String key, ValueHolder value)
-                {
-                    copy.state.put(key, value.copy());
-                }
-            });
+            SimpleCoreInstanceMutableState copy = copyValueHolders();
             copy.setCompileStateBitSet(getCompileStateBitSet());
+            return copy;
         }
-        return copy;
     }
 
-    private static ValueHolder newValueHolder()
+    /**
+     * Names of the keys with value holders. Called while synchronized on the state.
+     */
+    abstract RichIterable<String> getKeyNames();
+
+    /**
+     * Value holder for the key name, or null if there is none. Called while synchronized on the state.
+     */
+    abstract ValueHolder getValueHolder(String keyName);
+
+    /**
+     * Value holder for the key name, creating an empty one if there is none. Called while
+     * synchronized on the state.
+     */
+    abstract ValueHolder getOrCreateValueHolder(String keyName);
+
+    /**
+     * Remove the value holder for the key name, if there is one. Called while synchronized on the
+     * state.
+     */
+    abstract void removeValueHolder(String keyName);
+
+    /**
+     * New state of the same kind with copies of all the value holders. Called while synchronized on
+     * the state.
+     */
+    abstract SimpleCoreInstanceMutableState copyValueHolders();
+
+    static ValueHolder newValueHolder()
     {
         return new ValueHolder(null, null, null);
     }
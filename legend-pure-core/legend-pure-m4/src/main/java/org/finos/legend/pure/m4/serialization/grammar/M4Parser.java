@@ -22,6 +22,7 @@ import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrDescriptiveErrorListener;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrSourceInformation;
+import org.finos.legend.pure.m4.serialization.grammar.antlr.AntlrTwoStageParsing;
 import org.finos.legend.pure.m4.serialization.grammar.antlr.PureAntlrErrorStrategy;
 import org.finos.legend.pure.m4.statelistener.M4StateListener;
 
@@ -48,7 +49,7 @@ public class M4Parser
         M4AntlrParser parser = this.initAntlrParser(useFastParser, code, sourceName);
 
         M4GraphBuilder visitor = new M4GraphBuilder(sourceName, repository, addLines);
-        M4AntlrParser.DefinitionContext c = parser.definition();
+        M4AntlrParser.DefinitionContext c = useFastParser ? AntlrTwoStageParsing.parse(parser, M4AntlrParser::definition) : parser.definition();
 
         return visitor.visitDefinition(c);
     }
@@ -0,0 +1,75 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.serialization.grammar.antlr;
+
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+
+import java.util.function.Function;
+
+/**
+ * Two-stage parsing with ANTLR. The first stage uses SLL prediction, which is much faster, and bails
+ * out at the first syntax error without reporting it. Only if the first stage fails is the same
+ * token stream re-parsed with full LL prediction and the parser's own error strategy, so errors for
+ * invalid code are reported exactly as they would be by a pure LL parse.
+ * <p>
+ * The DFA used for prediction is held statically by each generated parser class, so it is shared by
+ * all parser instances and threads, and it is kept warm by the first stage.
+ */
+public class AntlrTwoStageParsing
+{
+    private AntlrTwoStageParsing()
+    {
+        // Utility class
+    }
+
+    /**
+     * Parse a rule in two stages: SLL with bail-out, then full LL with the parser's current error
+     * strategy if the first stage fails. Lexer errors are not affected, and are reported by the
+     * lexer's error listeners during the first stage.
+     *
+     * @param parser parser, configured with its reporting error strategy
+     * @param rule   rule to parse
+     * @param <P>    parser type
+     * @param <T>    rule context type
+     * @return parse tree for the rule
+     */
+    public static <P extends Parser, T extends ParserRuleContext> T parse(P parser, Function<? super P, ? extends T> rule)
+    {
+        ANTLRErrorStrategy errorStrategy = parser.getErrorHandler();
+        parser.setErrorHandler(new BailErrorStrategy());
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        try
+        {
+            T result = rule.apply(parser);
+            parser.setErrorHandler(errorStrategy);
+            return result;
+        }
+        catch (ParseCancellationException e)
+        {
+            // Fall through to the second stage
+        }
+
+        // Second stage: rewind the token stream and re-parse with full LL
+        parser.reset();
+        parser.setErrorHandler(errorStrategy);
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        return rule.apply(parser);
+    }
+}
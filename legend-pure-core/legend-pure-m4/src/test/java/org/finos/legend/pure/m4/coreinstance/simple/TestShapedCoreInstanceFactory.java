@@ -0,0 +1,144 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.coreinstance.simple;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.set.MutableSet;
+import org.finos.legend.pure.m4.ModelRepository;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.m4.serialization.grammar.M4Parser;
+import org.finos.legend.pure.m4.statelistener.VoidM4StateListener;
+import org.finos.legend.pure.m4.transaction.ModelRepositoryTransaction;
+import org.finos.legend.pure.m4.transaction.framework.ThreadLocalTransactionContext;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestShapedCoreInstanceFactory
+{
+    private ShapedCoreInstanceFactory factory;
+    private ModelRepository repository;
+
+    @Before
+    public void setUp()
+    {
+        this.factory = new ShapedCoreInstanceFactory();
+        this.repository = new ModelRepository(this.factory);
+        new M4Parser().parse("^Class Class\n" +
+                "{\n" +
+                "    Class.properties[properties] :\n" +
+                "        [\n" +
+                "            ^Property properties\n" +
+                "                {\n" +
+                "                    Property.properties[type] : Property\n" +
+                "                }\n" +
+                "        ]\n" +
+                "}\n" +
+                "\n" +
+                "^Class Property\n" +
+                "{\n" +
+                "    Class.properties[properties] :\n" +
+                "        [\n" +
+                "            ^Property type\n" +
+                "                {\n" +
+                "                    Property.properties[type] : Class\n" +
+                "                }\n" +
+                "        ]\n" +
+                "}", this.repository, new VoidM4StateListener());
+        this.repository.validate(new VoidM4StateListener());
+    }
+
+    @Test
+    public void testParsedInstances()
+    {
+        CoreInstance classClass = this.repository.getTopLevel("Class");
+        CoreInstance propertyClass = this.repository.getTopLevel("Property");
+        Assert.assertSame(classClass, propertyClass.getClassifier());
+
+        CoreInstance typeProperty = propertyClass.getValueForMetaPropertyToMany("properties").getOnly();
+        Assert.assertEquals("type", typeProperty.getName());
+        Assert.assertSame(propertyClass, typeProperty.getClassifier());
+        Assert.assertSame(classClass, typeProperty.getValueForMetaPropertyToOne("type"));
+    }
+
+    @Test
+    public void testManyKeys()
+    {
+        CoreInstance classClass = this.repository.getTopLevel("Class");
+        CoreInstance first = this.repository.newCoreInstance("first", classClass, null);
+        int shapeCount = this.factory.getShapeCount();
+        CoreInstance second = this.repository.newCoreInstance("second", classClass, null);
+
+        // instances of the same classifier share a shape
+        Assert.assertEquals(shapeCount, this.factory.getShapeCount());
+
+        // more keys than fit in a shape
+        int keyCount = CoreInstanceShape.MAX_SLOTS + 10;
+        MutableSet<String> expectedKeys = Sets.mutable.empty();
+        for (int i = 0; i < keyCount; i++)
+        {
+            String key = "key" + i;
+            expectedKeys.add(key);
+            first.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", key), this.repository.newStringCoreInstance(key));
+        }
+        Assert.assertEquals(expectedKeys, first.getKeys().toSet());
+        for (int i = 0; i < keyCount; i++)
+        {
+            String key = "key" + i;
+            Assert.assertEquals(key, first.getValueForMetaPropertyToOne(key).getName());
+            Assert.assertEquals(Lists.immutable.with("Root", "children", "Class", "properties", key), first.getRealKeyByName(key));
+        }
+
+        // keys set on one instance are not visible on another instance with the same shape
+        Assert.assertTrue(second.getKeys().isEmpty());
+        second.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", "key3"), this.repository.newStringCoreInstance("other"));
+        second.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", "key70"), this.repository.newStringCoreInstance("other"));
+        Assert.assertEquals(Sets.mutable.with("key3", "key70"), second.getKeys().toSet());
+        Assert.assertEquals("other", second.getValueForMetaPropertyToOne("key3").getName());
+        Assert.assertEquals("key3", first.getValueForMetaPropertyToOne("key3").getName());
+        Assert.assertNull(second.getValueForMetaPropertyToOne("key4"));
+
+        first.removeProperty("key3");
+        first.removeProperty("key70");
+        Assert.assertNull(first.getValueForMetaPropertyToOne("key3"));
+        Assert.assertNull(first.getValueForMetaPropertyToOne("key70"));
+        Assert.assertEquals(expectedKeys.without("key3").without("key70"), first.getKeys().toSet());
+        Assert.assertEquals(Sets.mutable.with("key3", "key70"), second.getKeys().toSet());
+    }
+
+    @Test
+    public void testTransactionRollBack()
+    {
+        CoreInstance classClass = this.repository.getTopLevel("Class");
+        CoreInstance instance = this.repository.newCoreInstance("instance", classClass, null);
+        instance.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", "a"), this.repository.newStringCoreInstance("a"));
+
+        ModelRepositoryTransaction transaction = this.repository.newTransaction(true);
+        try (ThreadLocalTransactionContext ignore = transaction.openInCurrentThread())
+        {
+            instance.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", "a"), this.repository.newStringCoreInstance("a2"));
+            instance.addKeyValue(Lists.immutable.with("Root", "children", "Class", "properties", "b"), this.repository.newStringCoreInstance("b"));
+            Assert.assertEquals(Lists.mutable.with("a", "a2"), instance.getValueForMetaPropertyToMany("a").collect(CoreInstance::getName));
+            Assert.assertEquals(Sets.mutable.with("a", "b"), instance.getKeys().toSet());
+        }
+        Assert.assertEquals(Lists.mutable.with("a"), instance.getValueForMetaPropertyToMany("a").collect(CoreInstance::getName));
+        Assert.assertEquals(Sets.mutable.with("a"), instance.getKeys().toSet());
+
+        transaction.rollback();
+        Assert.assertEquals(Lists.mutable.with("a"), instance.getValueForMetaPropertyToMany("a").collect(CoreInstance::getName));
+        Assert.assertEquals(Sets.mutable.with("a"), instance.getKeys().toSet());
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.m4.serialization.grammar.antlr;
+
+import org.antlr.v4.runtime.ANTLRErrorStrategy;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+import org.finos.legend.pure.m4.serialization.grammar.M4AntlrLexer;
+import org.finos.legend.pure.m4.serialization.grammar.M4AntlrParser;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestAntlrTwoStageParsing
+{
+    private static final String VALID_CODE = "^Class Class\n" +
+            "{\n" +
+            "    Element.properties[name] : 'Class'\n" +
+            "}\n" +
+            "^Class String\n" +
+            "{\n" +
+            "}\n";
+
+    private static final String INVALID_CODE = "^Class Class\n" +
+            "{\n" +
+            "    Element.properties[name] : 'Class'\n" +
+            "\n" +
+            "^Class String\n" +
+            "{\n" +
+            "}\n";
+
+    @Test
+    public void testValidCode()
+    {
+        M4AntlrParser parser = newParser(VALID_CODE);
+        ANTLRErrorStrategy errorStrategy = parser.getErrorHandler();
+        M4AntlrParser.DefinitionContext definition = AntlrTwoStageParsing.parse(parser, M4AntlrParser::definition);
+        Assert.assertNotNull(definition);
+        Assert.assertNull(definition.exception);
+        Assert.assertSame(errorStrategy, parser.getErrorHandler());
+        Assert.assertEquals(PredictionMode.SLL, parser.getInterpreter().getPredictionMode());
+    }
+
+    @Test
+    public void testInvalidCodeReportsLLError()
+    {
+        M4AntlrParser llParser = newParser(INVALID_CODE);
+        llParser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        PureParserException expected = Assert.assertThrows(PureParserException.class, llParser::definition);
+
+        M4AntlrParser parser = newParser(INVALID_CODE);
+        PureParserException actual = Assert.assertThrows(PureParserException.class, () -> AntlrTwoStageParsing.parse(parser, M4AntlrParser::definition));
+        Assert.assertEquals(expected.getInfo(), actual.getInfo());
+        Assert.assertEquals(expected.getSourceInformation(), actual.getSourceInformation());
+        Assert.assertEquals(PredictionMode.LL, parser.getInterpreter().getPredictionMode());
+    }
+
+    private static M4AntlrParser newParser(String code)
+    {
+        AntlrSourceInformation sourceInformation = new AntlrSourceInformation(0, 0, "test.pure");
+        AntlrDescriptiveErrorListener errorListener = new AntlrDescriptiveErrorListener(sourceInformation);
+
+        M4AntlrLexer lexer = new M4AntlrLexer(CharStreams.fromString(code));
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(errorListener);
+
+        M4AntlrParser parser = new M4AntlrParser(new CommonTokenStream(lexer));
+        parser.removeErrorListeners();
+        parser.addErrorListener(errorListener);
+        parser.setErrorHandler(new PureAntlrErrorStrategy(sourceInformation));
+        return parser;
+    }
+}
@@ -49,10 +49,16 @@ public class PathExtensionInterpreted extends BaseInterpretedExtension
         return new PathExtensionInterpreted();
     }
 
+    @Override
+    public boolean hasExtraFunctionExecution(Function<CoreInstance> function, ProcessorSupport processorSupport)
+    {
+        return Instance.instanceOf(function, M2PathPaths.Path, processorSupport);
+    }
+
     @Override
     public CoreInstance getExtraFunctionExecution(Function<CoreInstance> function, ListIterable<? extends CoreInstance> params, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, FunctionExecutionInterpreted interpreted)
     {
-        if (Instance.instanceOf(function, M2PathPaths.Path, processorSupport))
+        if (hasExtraFunctionExecution(function, processorSupport))
         {
             boolean executable = ValueSpecification.isExecutable(params.get(0), processorSupport);
             CoreInstance value = params.get(0).getValueForMetaPropertyToOne(M3Properties.values);
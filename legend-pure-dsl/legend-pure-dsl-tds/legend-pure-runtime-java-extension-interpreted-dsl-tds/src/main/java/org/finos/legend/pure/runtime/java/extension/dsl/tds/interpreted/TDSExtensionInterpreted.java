@@ -25,8 +25,8 @@ public class TDSExtensionInterpreted extends BaseInterpretedExtension
     public TDSExtensionInterpreted()
     {
         super(Lists.mutable.with(
-                Tuples.pair("stringToTDS_String_1__TDS_1_", StringToTDS::new))
-        );
+                Tuples.pair("stringToTDS_String_1__TDS_1_", StringToTDS::new)
+        ), false);
     }
 
     public static InterpretedExtension extension()
@@ -25,12 +25,12 @@ import org.eclipse.collections.api.block.HashingStrategy;
 import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.api.block.procedure.Procedure;
 import org.eclipse.collections.api.factory.Lists;
-import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.ordered.ReversibleIterable;
 import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
 import org.eclipse.collections.impl.lazy.AbstractLazyIterable;
 import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
 import org.eclipse.collections.impl.utility.Iterate;
@@ -70,6 +70,7 @@ import org.finos.legend.pure.runtime.java.extension.functions.shared.cipher.AESC
 import org.finos.legend.pure.runtime.java.shared.hash.HashType;
 import org.finos.legend.pure.runtime.java.shared.hash.HashingUtil;
 import org.finos.legend.pure.runtime.java.shared.identity.IdentityManager;
+import org.finos.legend.pure.runtime.java.shared.map.PersistentMutableMap;
 
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
@@ -1007,8 +1008,7 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap putAllPairs(PureMap pureMap, RichIterable<? extends org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?>> pairs)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = (map instanceof UnifiedMapWithHashingStrategy) ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy) map).hashingStrategy(), map) : Maps.mutable.withMap(map);
+        MutableMap<Object, Object> newOne = copyMap(pureMap.getMap());
         pairs.forEach(p -> newOne.put(p._first(), p._second()));
         return new PureMap(newOne);
     }
@@ -1016,8 +1016,7 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap putAllPairs(PureMap pureMap, org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?> pair)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = (map instanceof UnifiedMapWithHashingStrategy) ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy) map).hashingStrategy(), map) : Maps.mutable.withMap(map);
+        MutableMap<Object, Object> newOne = copyMap(pureMap.getMap());
         newOne.put(pair._first(), pair._second());
         return new PureMap(newOne);
     }
@@ -1025,8 +1024,7 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap putAllMaps(PureMap pureMap, PureMap other)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = (map instanceof UnifiedMapWithHashingStrategy) ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy) map).hashingStrategy(), map) : Maps.mutable.withMap(map);
+        MutableMap<Object, Object> newOne = copyMap(pureMap.getMap());
         newOne.putAll(other.getMap());
         return new PureMap(newOne);
     }
@@ -1034,8 +1032,7 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap replaceAll(PureMap pureMap, RichIterable<? extends org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?>> pairs)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = map instanceof UnifiedMapWithHashingStrategy ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy) map).hashingStrategy()) : Maps.mutable.empty();
+        MutableMap<Object, Object> newOne = PersistentMutableMap.newMap(getHashingStrategy(pureMap.getMap()));
         pairs.forEach(p -> newOne.put(p._first(), p._second()));
         return new PureMap(newOne);
     }
@@ -1043,12 +1040,36 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap replaceAll(PureMap pureMap, org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?> pair)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = map instanceof UnifiedMapWithHashingStrategy ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy) map).hashingStrategy()) : Maps.mutable.empty();
+        MutableMap<Object, Object> newOne = PersistentMutableMap.newMap(getHashingStrategy(pureMap.getMap()));
         newOne.put(pair._first(), pair._second());
         return new PureMap(newOne);
     }
 
+    /**
+     * Copy of a Pure map for use as the basis of an updated map. Persistent maps are copied in constant time
+     * by sharing structure; any other map is converted to a persistent map, so a chain of updates only pays
+     * for the conversion once.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static MutableMap<Object, Object> copyMap(Map map)
+    {
+        if (map instanceof PersistentMutableMap)
+        {
+            return ((PersistentMutableMap<Object, Object>) map).clone();
+        }
+        return PersistentMutableMap.newMap(getHashingStrategy(map), map);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static HashingStrategy<Object> getHashingStrategy(Map map)
+    {
+        if (map instanceof PersistentMutableMap)
+        {
+            return (HashingStrategy<Object>) ((PersistentMutableMap) map).toPersistentMap().getHashingStrategy();
+        }
+        return (map instanceof UnifiedMapWithHashingStrategy) ? ((UnifiedMapWithHashingStrategy) map).hashingStrategy() : HashingStrategies.defaultStrategy();
+    }
+
     public static Object get(RichIterable<?> list, String id)
     {
         return list.detect(e -> id.equals(((CoreInstance) e).getName()));
@@ -1056,14 +1077,14 @@ public class FunctionsHelper
 
     public static PureMap newMap(RichIterable<? extends org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?>> pairs, ExecutionSupport es)
     {
-        MutableMap<Object, Object> map = PureEqualsHashingStrategy.newMutableMap();
+        MutableMap<Object, Object> map = PureEqualsHashingStrategy.newPersistentMutableMap();
         pairs.forEach(p -> map.put(p._first(), p._second()));
         return new PureMap(map);
     }
 
     public static PureMap newMap(org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?> p, ExecutionSupport es)
     {
-        MutableMap<Object, Object> map = PureEqualsHashingStrategy.newMutableMap();
+        MutableMap<Object, Object> map = PureEqualsHashingStrategy.newPersistentMutableMap();
         if (p != null)
         {
             map.put(p._first(), p._second());
@@ -1114,14 +1135,14 @@ public class FunctionsHelper
 
     public static PureMap newMap(RichIterable<? extends org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?>> pairs, Property<?, ?> property, ExecutionSupport es)
     {
-        MutableMap<Object, Object> map = UnifiedMapWithHashingStrategy.newMap(new PropertyHashingStrategy(property, es));
+        MutableMap<Object, Object> map = PersistentMutableMap.newMap(new PropertyHashingStrategy(property, es));
         pairs.forEach(p -> map.put(p._first(), p._second()));
         return new PureMap(map);
     }
 
     public static PureMap newMap(org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?> pair, Property<?, ?> property, ExecutionSupport es)
     {
-        MutableMap<Object, Object> map = UnifiedMapWithHashingStrategy.newMap(new PropertyHashingStrategy(property, es));
+        MutableMap<Object, Object> map = PersistentMutableMap.newMap(new PropertyHashingStrategy(property, es));
         if (pair != null)
         {
             map.put(pair._first(), pair._second());
@@ -1131,7 +1152,7 @@ public class FunctionsHelper
 
     public static PureMap newMap(RichIterable<? extends org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.Pair<?, ?>> pairs, RichIterable<? extends Property<?, ?>> properties, Bridge bridge, ExecutionSupport es)
     {
-        MutableMap<Object, Object> map = UnifiedMapWithHashingStrategy.newMap(new PropertyHashingStrategy(properties, bridge, es));
+        MutableMap<Object, Object> map = PersistentMutableMap.newMap(new PropertyHashingStrategy(properties, bridge, es));
         pairs.forEach(p -> map.put(p._first(), p._second()));
         return new PureMap(map);
     }
@@ -1481,8 +1502,7 @@ public class FunctionsHelper
     @SuppressWarnings({"rawtypes", "unchecked"})
     public static PureMap put(PureMap pureMap, Object key, Object val)
     {
-        Map map = pureMap.getMap();
-        MutableMap<Object, Object> newOne = map instanceof UnifiedMapWithHashingStrategy ? new UnifiedMapWithHashingStrategy<>(((UnifiedMapWithHashingStrategy<?, ?>) map).hashingStrategy(), map) : Maps.mutable.withMap(map);
+        MutableMap<Object, Object> newOne = copyMap(pureMap.getMap());
         newOne.put(key, val);
         return new PureMap(newOne);
     }
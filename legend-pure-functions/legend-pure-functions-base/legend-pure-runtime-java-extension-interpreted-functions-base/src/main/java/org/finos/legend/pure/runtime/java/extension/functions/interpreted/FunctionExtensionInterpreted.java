@@ -332,7 +332,7 @@ public class FunctionExtensionInterpreted extends BaseInterpretedExtension
 
                 Tuples.pair("replaceTreeNode_TreeNode_1__TreeNode_1__TreeNode_1__TreeNode_1_", ReplaceTreeNode::new)
 
-        ));
+        ), false);
     }
 
     public static FunctionExtensionInterpreted extension()
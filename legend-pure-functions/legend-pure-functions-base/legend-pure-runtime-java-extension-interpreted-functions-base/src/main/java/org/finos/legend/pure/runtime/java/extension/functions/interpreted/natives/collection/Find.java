@@ -18,7 +18,6 @@ import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.factory.Lists;
 import org.finos.legend.pure.m3.compiler.Context;
-import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunctionCoreInstanceWrapper;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.navigation.*;
 import org.finos.legend.pure.m3.navigation.valuespecification.ValueSpecification;
@@ -26,6 +25,7 @@ import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.finos.legend.pure.runtime.java.interpreted.LambdaInvoker;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
@@ -58,8 +58,8 @@ public class Find extends NativeFunction
             {
                 CoreInstance predicate = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
                 CoreInstance instance = collection.get(0);
-                VariableContext evalVariableContext = getParentOrEmptyVariableContextForLambda(variableContext, predicate);
-                if (accept(predicate, instance, isExecutable, resolvedTypeParameters, resolvedMultiplicityParameters, evalVariableContext, functionExpressionToUseInStack, profiler, processorSupport, instantiationContext, executionSupport))
+                LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(predicate, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+                if (accept(invoker, instance, processorSupport))
                 {
                     return collectionParam;
                 }
@@ -71,18 +71,16 @@ public class Find extends NativeFunction
             default:
             {
                 CoreInstance predicate = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
-                VariableContext evalVariableContext = getParentOrEmptyVariableContextForLambda(variableContext, predicate);
-                CoreInstance result = collection.detect(instance -> accept(predicate, instance, isExecutable, resolvedTypeParameters, resolvedMultiplicityParameters, evalVariableContext, functionExpressionToUseInStack, profiler, processorSupport, instantiationContext, executionSupport));
+                LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(predicate, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+                CoreInstance result = collection.detect(instance -> accept(invoker, instance, processorSupport));
                 return ValueSpecificationBootstrap.wrapValueSpecification(result, isExecutable, processorSupport);
             }
         }
     }
 
-    private boolean accept(CoreInstance predicate, CoreInstance instance, boolean isExecutable, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, ProcessorSupport processorSupport, InstantiationContext instantiationContext, ExecutionSupport executionSupport) throws PureExecutionException
+    private static boolean accept(LambdaInvoker predicate, CoreInstance instance, ProcessorSupport processorSupport) throws PureExecutionException
     {
-        ListIterable<CoreInstance> args = Lists.immutable.with(ValueSpecificationBootstrap.wrapValueSpecification(instance, isExecutable, processorSupport));
-        CoreInstance result = this.functionExecution.executeFunction(false, LambdaFunctionCoreInstanceWrapper.toLambdaFunction(predicate),
-                args, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+        CoreInstance result = predicate.invoke(instance);
         return PrimitiveUtilities.getBooleanValue(Instance.getValueForMetaPropertyToOneResolved(result, M3Properties.values, processorSupport));
     }
 }
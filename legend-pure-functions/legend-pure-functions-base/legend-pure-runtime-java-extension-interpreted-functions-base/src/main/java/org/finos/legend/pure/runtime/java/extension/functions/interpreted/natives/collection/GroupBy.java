@@ -14,7 +14,6 @@
 
 package org.finos.legend.pure.runtime.java.extension.functions.interpreted.natives.collection;
 
-import org.eclipse.collections.api.list.FixedSizeList;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.factory.Lists;
@@ -26,13 +25,13 @@ import org.finos.legend.pure.m3.navigation.Instance;
 import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
 import org.finos.legend.pure.m3.navigation.valuespecification.ValueSpecification;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.functions.collection.List;
-import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunctionCoreInstanceWrapper;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.ModelRepository;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.finos.legend.pure.runtime.java.interpreted.LambdaInvoker;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
@@ -66,13 +65,11 @@ public class GroupBy extends NativeFunction
         {
             CoreInstance keyFn = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
 
-            VariableContext evalVarContext = this.getParentOrEmptyVariableContextForLambda(variableContext, keyFn);
-            FixedSizeList<CoreInstance> parameters = Lists.fixedSize.with((CoreInstance)null);
+            LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(keyFn, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
 
             for (CoreInstance instance : collection)
             {
-                parameters.set(0, ValueSpecificationBootstrap.wrapValueSpecification(instance, isExecutable, processorSupport));
-                CoreInstance keyInstanceValue = this.functionExecution.executeFunction(false, LambdaFunctionCoreInstanceWrapper.toLambdaFunction(keyFn), parameters, resolvedTypeParameters, resolvedMultiplicityParameters, evalVarContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+                CoreInstance keyInstanceValue = invoker.invoke(instance);
                 CoreInstance key = Instance.getValueForMetaPropertyToOneResolved(keyInstanceValue, M3Properties.values, processorSupport);
                 List<CoreInstance> list = (List) results.getMap().getIfAbsentPut(key, newListInstance(listClassifierGenericType, this.functionExecution.getRuntime().getModelRepository(), functionExpressionToUseInStack.getSourceInformation(), processorSupport));
                 list._valuesAdd(instance);
@@ -57,11 +57,12 @@ public class JsonExtensionCompiled implements CompiledExtension
                         "import org.finos.legend.pure.runtime.java.compiled.generation.processors.support.Pure;\n" +
                         "import org.finos.legend.pure.runtime.java.compiled.generation.processors.type.measureUnit.UnitProcessor;\n" +
                         "import org.finos.legend.pure.runtime.java.extension.external.json.compiled.natives.JsonParserHelper;\n" +
-                        "import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonDeserializationCache;\n" +
                         "import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonDeserializationContext;\n" +
                         "import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonDeserializer;\n" +
                         "import org.finos.legend.pure.runtime.java.extension.external.shared.conversion.ObjectFactory;\n" +
                         "\n" +
+                        "import java.io.StringWriter;\n" +
+                        "import java.io.Writer;\n" +
                         "import java.lang.reflect.Method;\n" +
                         "import java.util.HashMap;\n" +
                         "import java.util.Map;\n" +
@@ -78,10 +79,17 @@ public class JsonExtensionCompiled implements CompiledExtension
                         "\n" +
                         "    public static String toJson(Object pureObject, Root_meta_json_JSONSerializationConfig jsonConfig, final SourceInformation si, final ExecutionSupport es)\n" +
                         "    {\n" +
-                        "        return toJson(CompiledSupport.toPureCollection(pureObject), jsonConfig, si, es);\n" +
+                        "        StringWriter writer = new StringWriter();\n" +
+                        "        toJson(pureObject, jsonConfig, writer, si, es);\n" +
+                        "        return writer.toString();\n" +
                         "    }\n" +
                         "\n" +
-                        "    private static String toJson(RichIterable<?> pureObject, Root_meta_json_JSONSerializationConfig jsonConfig, final SourceInformation si, final ExecutionSupport es)\n" +
+                        "    public static void toJson(Object pureObject, Root_meta_json_JSONSerializationConfig jsonConfig, Writer writer, final SourceInformation si, final ExecutionSupport es)\n" +
+                        "    {\n" +
+                        "        toJson(CompiledSupport.toPureCollection(pureObject), jsonConfig, writer, si, es);\n" +
+                        "    }\n" +
+                        "\n" +
+                        "    private static void toJson(RichIterable<?> pureObject, Root_meta_json_JSONSerializationConfig jsonConfig, Writer writer, final SourceInformation si, final ExecutionSupport es)\n" +
                         "    {\n" +
                         "        String typeKeyName = jsonConfig._typeKeyName();\n" +
                         "        boolean includeType = jsonConfig._includeType() != null ? jsonConfig._includeType() : false;\n" +
@@ -96,7 +104,7 @@ public class JsonExtensionCompiled implements CompiledExtension
                         "        RichIterable<? extends CoreInstance> encryptionStereotypes = jsonConfig._encryptionStereotypes();\n" +
                         "        RichIterable<? extends CoreInstance> decryptionStereotypes = jsonConfig._decryptionStereotypes();\n" +
                         "\n" +
-                        "        return org.finos.legend.pure.runtime.java.extension.external.json.compiled.JsonNativeImplementation._toJson(pureObject, si, es, typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, decryptionKey, encryptionStereotypes, decryptionStereotypes);\n" +
+                        "        org.finos.legend.pure.runtime.java.extension.external.json.compiled.JsonNativeImplementation._toJson(pureObject, writer, si, es, typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, decryptionKey, encryptionStereotypes, decryptionStereotypes);\n" +
                         "    }\n" +
                         "\n" +
                         "    public static <T> T fromJson(String json, org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Class<T> clazz, Root_meta_json_JSONDeserializationConfig config, final SourceInformation si, final ExecutionSupport es)\n" +
@@ -127,7 +135,7 @@ public class JsonExtensionCompiled implements CompiledExtension
                         "            typeLookup.put(pair._first(), ((CompiledExecutionSupport) es).getMetadataAccessor().getClass(\"Root::\" + pair._second()));\n" +
                         "        }\n" +
                         "\n" +
-                        "        return (T) JsonDeserializer.fromJson(json, (org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Class<? extends Any>) clazz, new JsonDeserializationContext(new JsonDeserializationCache(), si, ((CompiledExecutionSupport) es).getProcessorSupport(), _typeKeyName, typeLookup, _failOnUnknownProperties, new ObjectFactory()\n" +
+                        "        return (T) JsonDeserializer.fromJson(json, (org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Class<? extends Any>) clazz, new JsonDeserializationContext(org.finos.legend.pure.runtime.java.extension.external.json.compiled.JsonNativeImplementation.getDeserializationCache(es), si, ((CompiledExecutionSupport) es).getProcessorSupport(), _typeKeyName, typeLookup, _failOnUnknownProperties, new ObjectFactory()\n" +
                         "        {\n" +
                         "            public <U extends Any> U newObject(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Class<U> clazz, Map<String, RichIterable<?>> properties)\n" +
                         "            {\n" +
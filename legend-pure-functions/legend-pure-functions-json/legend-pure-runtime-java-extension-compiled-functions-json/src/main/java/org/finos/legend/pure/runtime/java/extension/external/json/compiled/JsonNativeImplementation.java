@@ -27,10 +27,13 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledExecutionSupport;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.support.map.PureMap;
+import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonDeserializationCache;
 import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonSerializationCache;
 import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonSerializationContext;
 import org.finos.legend.pure.runtime.java.extension.external.json.shared.JsonSerializer;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.Stack;
 
@@ -38,7 +41,37 @@ public class JsonNativeImplementation
 {
     public static String _toJson(RichIterable<?> pureObject, SourceInformation si, ExecutionSupport es, String typeKeyName, boolean includeType, boolean fullyQualifiedTypePath, boolean serializeQualifiedProperties, String dateTimeFormat, boolean serializePackageableElementName, boolean removePropertiesWithEmptyValues, boolean serializeMultiplicityAsNumber, String encryptionKey, String decryptionKey, RichIterable<? extends CoreInstance> encryptionStereotypes, RichIterable<? extends CoreInstance> decryptionStereotypes)
     {
-        return JsonSerializer.toJson(pureObject, ((CompiledExecutionSupport)es).getProcessorSupport(), new JsonSerializationContext<Any, Object>(new JsonSerializationCache(), si, ((CompiledExecutionSupport)es).getProcessorSupport(), new Stack(), typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, encryptionStereotypes, decryptionKey, decryptionStereotypes)
+        return JsonSerializer.toJson(pureObject, ((CompiledExecutionSupport) es).getProcessorSupport(), newSerializationContext(si, es, typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, decryptionKey, encryptionStereotypes, decryptionStereotypes), si);
+    }
+
+    public static void _toJson(RichIterable<?> pureObject, Writer writer, SourceInformation si, ExecutionSupport es, String typeKeyName, boolean includeType, boolean fullyQualifiedTypePath, boolean serializeQualifiedProperties, String dateTimeFormat, boolean serializePackageableElementName, boolean removePropertiesWithEmptyValues, boolean serializeMultiplicityAsNumber, String encryptionKey, String decryptionKey, RichIterable<? extends CoreInstance> encryptionStereotypes, RichIterable<? extends CoreInstance> decryptionStereotypes)
+    {
+        try
+        {
+            JsonSerializer.toJson(pureObject, ((CompiledExecutionSupport) es).getProcessorSupport(), newSerializationContext(si, es, typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, decryptionKey, encryptionStereotypes, decryptionStereotypes), si, writer);
+        }
+        catch (IOException e)
+        {
+            throw new PureExecutionException(si, "Error writing JSON", e);
+        }
+    }
+
+    /**
+     * Conversions depend only on the compiled graph, so they are shared between calls until the graph is recompiled.
+     */
+    public static JsonSerializationCache getSerializationCache(ExecutionSupport es)
+    {
+        return ((CompiledExecutionSupport) es).getFunctionCache().getIfAbsentPutExtensionCache(JsonSerializationCache.class, JsonSerializationCache::new);
+    }
+
+    public static JsonDeserializationCache getDeserializationCache(ExecutionSupport es)
+    {
+        return ((CompiledExecutionSupport) es).getFunctionCache().getIfAbsentPutExtensionCache(JsonDeserializationCache.class, JsonDeserializationCache::new);
+    }
+
+    private static JsonSerializationContext<Any, Object> newSerializationContext(SourceInformation si, ExecutionSupport es, String typeKeyName, boolean includeType, boolean fullyQualifiedTypePath, boolean serializeQualifiedProperties, String dateTimeFormat, boolean serializePackageableElementName, boolean removePropertiesWithEmptyValues, boolean serializeMultiplicityAsNumber, String encryptionKey, String decryptionKey, RichIterable<? extends CoreInstance> encryptionStereotypes, RichIterable<? extends CoreInstance> decryptionStereotypes)
+    {
+        return new JsonSerializationContext<Any, Object>(getSerializationCache(es), si, ((CompiledExecutionSupport)es).getProcessorSupport(), new Stack(), typeKeyName, includeType, fullyQualifiedTypePath, serializeQualifiedProperties, dateTimeFormat, serializePackageableElementName, removePropertiesWithEmptyValues, serializeMultiplicityAsNumber, encryptionKey, encryptionStereotypes, decryptionKey, decryptionStereotypes)
         {
             @Override
             protected Object extractPrimitiveValue(Object potentiallyWrappedPrimitive)
@@ -97,6 +130,6 @@ public class JsonNativeImplementation
                     throw new PureExecutionException(si, "Error serializing property: " + propertyName, e);
                 }
             }
-        }, si);
+        };
     }
 }
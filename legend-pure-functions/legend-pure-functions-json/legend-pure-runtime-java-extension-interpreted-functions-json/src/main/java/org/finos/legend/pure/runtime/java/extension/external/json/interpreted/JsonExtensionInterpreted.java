@@ -36,7 +36,7 @@ public class JsonExtensionInterpreted extends BaseInterpretedExtension
                 Tuples.pair("fromJson_String_1__Class_1__JSONDeserializationConfig_1__T_1_", FromJson::new),
                 Tuples.pair("fromJsonDeprecated_String_1__Class_1__JSONDeserializationConfig_1__T_1_", FromJsonDeprecated::new),
                 Tuples.pair("toJsonBeta_Any_MANY__JSONSerializationConfig_1__String_1_", ToJson::new)
-        ));
+        ), false);
     }
 
     public static InterpretedExtension extension()
@@ -24,31 +24,50 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Cache of conversions by type. A cache may be shared between threads and between calls with different contexts, so
+ * conversions must not hold any state that depends on the context they were created with.
+ * <p>
+ * Lookups of fully initialised conversions are lock free. New conversions are created under a lock, and class
+ * conversions (which may refer to themselves, directly or indirectly) are only published to other threads once the
+ * outermost {@link ClassConversion#completeInitialisation} has finished.
+ */
 public abstract class ConversionCache
 {
     protected final Map<Type, Conversion<?, ?>> cache;
+    private final Map<Type, Conversion<?, ?>> initialising = new HashMap<>();
     private final Map<PrimitiveConversion.PurePrimitive, PrimitiveConversion<?,?>> primitiveConversionMap;
 
     public ConversionCache()
     {
-        this.cache = new HashMap<>();
+        this.cache = new ConcurrentHashMap<>();
         this.primitiveConversionMap = this.constructPrimitiveConversions();
     }
 
     public Conversion<?, ?> getConversion(Type type, ConversionContext context)
     {
-        if (this.cache.containsKey(type))
+        if (type != null)
         {
-            return this.cache.get(type);
+            Conversion<?, ?> conversion = this.cache.get(type);
+            if (conversion != null)
+            {
+                return conversion;
+            }
         }
         return this.newConversion(type, context);
     }
 
-    private Conversion<?, ?> newConversion(Type type, ConversionContext context)
+    private synchronized Conversion<?, ?> newConversion(Type type, ConversionContext context)
     {
         if (type instanceof Class)
         {
+            Conversion<?, ?> existing = this.getExisting(type);
+            if (existing != null)
+            {
+                return existing;
+            }
             if (type.getName().equals("Map")) // Maps do not contain properties, need to handle separately for entries' conversions
             {
                 MapConversion<?, ?> mapConversion = this.newMapConversion(context);
@@ -64,19 +83,44 @@ public abstract class ConversionCache
             else
             {
                 ClassConversion<?, ?> classConversion = this.newClassConversion((Class)type, context);
-                this.cache.put(type, classConversion);
-                classConversion.completeInitialisation(context); // reasoning for this is explained at completeInitialisation's definition
+                boolean outermost = this.initialising.isEmpty();
+                this.initialising.put(type, classConversion);
+                try
+                {
+                    classConversion.completeInitialisation(context); // reasoning for this is explained at completeInitialisation's definition
+                    if (outermost)
+                    {
+                        this.cache.putAll(this.initialising);
+                    }
+                }
+                finally
+                {
+                    if (outermost)
+                    {
+                        this.initialising.clear();
+                    }
+                }
                 return classConversion;
             }
         }
         if (type instanceof Enumeration)
         {
+            Conversion<?, ?> existing = this.getExisting(type);
+            if (existing != null)
+            {
+                return existing;
+            }
             EnumerationConversion<?,?> enumerationConversion = this.newEnumerationConversion((Enumeration)type, context);
             this.cache.put(type, enumerationConversion);
             return enumerationConversion;
         }
         if (type instanceof Unit || type instanceof Measure)
         {
+            Conversion<?, ?> existing = this.getExisting(type);
+            if (existing != null)
+            {
+                return existing;
+            }
             UnitConversion<?, ?> unitConversion = this.newUnitConversion(type, context);
             this.cache.put(type, unitConversion);
             return unitConversion;
@@ -92,6 +136,12 @@ public abstract class ConversionCache
         throw new IllegalArgumentException("Unknown type.");
     }
 
+    private Conversion<?, ?> getExisting(Type type)
+    {
+        Conversion<?, ?> conversion = this.cache.get(type);
+        return (conversion == null) ? this.initialising.get(type) : conversion;
+    }
+
     private Conversion<?, ?> newPrimitiveConversion(PrimitiveType type, ConversionContext context)
     {
         return this.primitiveConversionMap.get(PrimitiveConversion.PurePrimitive.valueOf(type.getName()));
@@ -16,7 +16,6 @@ package org.finos.legend.pure.runtime.java.extension.external.json.shared;
 
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.block.function.Function;
-import org.eclipse.collections.api.block.predicate.Predicate;
 import org.eclipse.collections.impl.utility.LazyIterate;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
@@ -40,7 +39,7 @@ import java.util.Set;
 
 public class JsonClassDeserialization<T extends Any> extends ClassConversion<Object, T>
 {
-    private Predicate<String> isUnknownJsonProperty;
+    private Set<String> knownJsonProperties;
 
     private static final Function<Property, String> PROPERTY_NAME_FUNC = new Function<Property, String>()
     {
@@ -54,28 +53,14 @@ public class JsonClassDeserialization<T extends Any> extends ClassConversion<Obj
     public JsonClassDeserialization(Class<T> clazz)
     {
         super(clazz);
-        this.isUnknownJsonProperty = null;
+        this.knownJsonProperties = null;
     }
 
     @Override
     protected void completeInitialisation(ConversionContext context)
     {
         super.completeInitialisation(context);
-        this.isUnknownJsonProperty = this.createUnknownJsonPropertyTest((JsonDeserializationContext)context);
-    }
-
-    private Predicate<String> createUnknownJsonPropertyTest(JsonDeserializationContext context)
-    {
-        final Set<String> knownJsonProperties = this.getProperties(context.getProcessorSupport()).collect(PROPERTY_NAME_FUNC).toSet();
-        knownJsonProperties.add(context.getTypeKeyName());
-        return new Predicate<String>()
-        {
-            @Override
-            public boolean accept(String name)
-            {
-                return !knownJsonProperties.contains(name);
-            }
-        };
+        this.knownJsonProperties = this.getProperties(context.getProcessorSupport()).collect(PROPERTY_NAME_FUNC).toSet();
     }
 
     @Override
@@ -141,11 +126,12 @@ public class JsonClassDeserialization<T extends Any> extends ClassConversion<Obj
     private Map<String, RichIterable<?>> keyValueProperties(JSONObject jsonObject, JsonDeserializationContext context)
     {
         this.failOnUnknownProperties(jsonObject, context);
+        boolean release = JsonTreeBuilder.isReleasable(jsonObject);
         Map<String, RichIterable<?>> keyValues = new HashMap<>();
         for (Conversion<?, ?> propertyConversion : this.propertyConversions)
         {
             JsonPropertyDeserialization<?> jsonPropertyDeserialization = (JsonPropertyDeserialization)propertyConversion;
-            Object jsonValue = jsonObject.get(jsonPropertyDeserialization.getName());
+            Object jsonValue = release ? jsonObject.remove(jsonPropertyDeserialization.getName()) : jsonObject.get(jsonPropertyDeserialization.getName());
             try
             {
                 RichIterable<?> values = jsonPropertyDeserialization.apply(jsonValue, context);
@@ -176,7 +162,8 @@ public class JsonClassDeserialization<T extends Any> extends ClassConversion<Obj
     {
         if (context.isFailOnUnknownProperties())
         {
-            RichIterable<String> unknownProperties = LazyIterate.select((Set<String>)jsonValue.keySet(), this.isUnknownJsonProperty);
+            String typeKeyName = context.getTypeKeyName();
+            RichIterable<String> unknownProperties = LazyIterate.reject((Set<String>)jsonValue.keySet(), name -> name.equals(typeKeyName) || this.knownJsonProperties.contains(name));
             if (!unknownProperties.isEmpty())
             {
                 StringBuilder errorMsg = new StringBuilder();
@@ -36,7 +36,7 @@ import org.json.simple.JSONObject;
 
 public class JsonClassSerialization<T extends CoreInstance> extends ClassConversion<T, Object>
 {
-    protected RichIterable<JsonQualifiedPropertySerialization<?>> qualifiedPropertySerializations;
+    protected volatile RichIterable<JsonQualifiedPropertySerialization<?>> qualifiedPropertySerializations;
 
     public JsonClassSerialization(Class<?> clazz)
     {
@@ -77,12 +77,26 @@ public class JsonClassSerialization<T extends CoreInstance> extends ClassConvers
     protected void completeInitialisation(ConversionContext context)
     {
         super.completeInitialisation(context);
-        if (((JsonSerializationContext) context).isSerializeQualifiedProperties())
+        if (MetamodelSerializationOverrides.applyMetamodelPropertyFilter(this.clazz))
         {
-            this.qualifiedPropertySerializations = this.computeQualifiedPropertyConverters((JsonSerializationContext) context);
+            this.propertyConversions = this.propertyConversions.select(MetamodelSerializationOverrides.computeMetamodelPropertyFilter(this.pureTypeAsString()));
         }
     }
 
+    /**
+     * Qualified property conversions are only needed when the context asks for them, so they are computed on first use
+     * rather than in {@link #completeInitialisation} (the same conversion may be used with different contexts).
+     */
+    private RichIterable<JsonQualifiedPropertySerialization<?>> getQualifiedPropertySerializations(JsonSerializationContext context)
+    {
+        RichIterable<JsonQualifiedPropertySerialization<?>> result = this.qualifiedPropertySerializations;
+        if (result == null)
+        {
+            this.qualifiedPropertySerializations = result = this.computeQualifiedPropertyConverters(context);
+        }
+        return result;
+    }
+
     private RichIterable<JsonQualifiedPropertySerialization<?>> computeQualifiedPropertyConverters(JsonSerializationContext context)
     {
         MutableList<JsonQualifiedPropertySerialization<?>> qualifiedPropertyConversions = Lists.mutable.empty();
@@ -150,11 +164,6 @@ public class JsonClassSerialization<T extends CoreInstance> extends ClassConvers
         {
             json.put(jsonSerializationContext.getTypeKeyName(), this.pureTypeAsString());
         }
-        boolean shouldApplyMetamodelPropertyFilter = MetamodelSerializationOverrides.applyMetamodelPropertyFilter(this.clazz);
-        if (shouldApplyMetamodelPropertyFilter)
-        {
-            this.propertyConversions = this.propertyConversions.select(MetamodelSerializationOverrides.computeMetamodelPropertyFilter(this.pureTypeAsString()));
-        }
         for (PropertyConversion propertyConversion : this.propertyConversions)
         {
             Object values = jsonSerializationContext.getValueForProperty(pureObject, (Property) propertyConversion.getProperty(), this.clazz._name());
@@ -166,7 +175,7 @@ public class JsonClassSerialization<T extends CoreInstance> extends ClassConvers
         }
         if (jsonSerializationContext.isSerializeQualifiedProperties())
         {
-            for (JsonQualifiedPropertySerialization jsonQualifiedPropertySerialization : this.qualifiedPropertySerializations)
+            for (JsonQualifiedPropertySerialization jsonQualifiedPropertySerialization : this.getQualifiedPropertySerializations(jsonSerializationContext))
             {
                 json.put(jsonQualifiedPropertySerialization.getName(), jsonQualifiedPropertySerialization.apply(pureObject, jsonSerializationContext));
             }
@@ -24,10 +24,14 @@ import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.extension.external.shared.conversion.ConversionCache;
+import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Map;
@@ -86,42 +90,53 @@ public class JsonDeserializer
         throw new PureExecutionException(si, String.format("Could not find a sub-type of \"%s\" with name \"%s\".", PackageableElement.getUserPathForPackageableElement(classFromPropertyDefinition), specifiedType));
     }
 
+    public static <T extends Any> T fromJson(String json, Class<T> clazz, JsonDeserializationContext context)
+    {
+        try
+        {
+            return fromJson(new StringReader(json), clazz, context);
+        }
+        catch (IOException e)
+        {
+            // not expected when reading from a string
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deserialize JSON read from the given reader. The JSON is parsed in a single pass over its tokens, and each part
+     * of the parsed tree is released as soon as it has been converted.
+     */
     @SuppressWarnings("unchecked")
     // as resolvedType is a Class (because all root JSON structures must be a PURE class), only ClassConverters, or in case of a Map, MapConverters, can be returned by the ConverterCache
-    public static <T extends Any> T fromJson(String json, Class<T> clazz, JsonDeserializationContext context)
+    public static <T extends Any> T fromJson(Reader json, Class<T> clazz, JsonDeserializationContext context) throws IOException
     {
+        Object parsed;
         try
         {
-            ConversionCache cache = new JsonDeserializationCache();
-            JSONObject jsonObject = (JSONObject) new JSONParser().parse(json);
-            Class<?> resolvedType = (Class<?>) resolveType(clazz, jsonObject, context.getTypeKeyName(), context.getTypeLookup(), context.getSourceInformation());
-            if (resolvedType.getName().equals("Map"))
-            {
-                JsonMapDeserialization<T> conversion = (JsonMapDeserialization<T>) cache.getConversion(resolvedType, context); // Map is of Class type but has no properties, thus using a separate deserialization strategy
-                return conversion.apply(jsonObject, context);
-            }
-            else
-            {
-                JsonClassDeserialization<T> conversion = (JsonClassDeserialization<T>) cache.getConversion(resolvedType, context);
-                return conversion.apply(jsonObject, context);
-            }
+            parsed = JsonTreeBuilder.parse(json);
         }
         catch (ParseException e)
         {
             throw new IllegalArgumentException("Illegal JSON.");
         }
-        catch (ClassCastException e)
+        if (parsed instanceof JSONArray)
         {
-            String java11runtime = "class org.json.simple.JSONArray cannot be cast to class org.json.simple.JSONObject (org.json.simple.JSONArray and org.json.simple.JSONObject are in unnamed module of loader 'app')";
-            String java7runtime = "org.json.simple.JSONArray cannot be cast to org.json.simple.JSONObject";
-            if (java7runtime.equals(e.getMessage()) || java11runtime.equals(e.getMessage()))
-            {
-                throw new PureExecutionException(context.getSourceInformation(), "Can only deserialize root-level JSONObjects i.e. serialized single instances of PURE classes. Cannot deserialize collections of multiple PURE objects.");
-            }
-            else
-            {
-                throw e;
-            }
+            throw new PureExecutionException(context.getSourceInformation(), "Can only deserialize root-level JSONObjects i.e. serialized single instances of PURE classes. Cannot deserialize collections of multiple PURE objects.");
+        }
+
+        ConversionCache cache = context.getConversionCache();
+        JSONObject jsonObject = (JSONObject) parsed;
+        Class<?> resolvedType = (Class<?>) resolveType(clazz, jsonObject, context.getTypeKeyName(), context.getTypeLookup(), context.getSourceInformation());
+        if (resolvedType.getName().equals("Map"))
+        {
+            JsonMapDeserialization<T> conversion = (JsonMapDeserialization<T>) cache.getConversion(resolvedType, context); // Map is of Class type but has no properties, thus using a separate deserialization strategy
+            return conversion.apply(jsonObject, context);
+        }
+        else
+        {
+            JsonClassDeserialization<T> conversion = (JsonClassDeserialization<T>) cache.getConversion(resolvedType, context);
+            return conversion.apply(jsonObject, context);
         }
     }
 }
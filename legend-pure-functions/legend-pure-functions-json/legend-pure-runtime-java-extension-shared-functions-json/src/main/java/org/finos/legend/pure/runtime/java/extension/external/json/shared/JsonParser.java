@@ -24,6 +24,7 @@ import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.navigation.Instance;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.json.simple.parser.ContentHandler;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
@@ -31,6 +32,9 @@ import java.io.IOException;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -59,10 +63,11 @@ public final class JsonParser
 
     public CoreInstance toPureJson(String input)
     {
+        PureJsonBuilder builder = new PureJsonBuilder();
         try
         {
-            Object object = new JSONParser().parse(input);
-            return this.createJsonElement(object);
+            new JSONParser().parse(input, builder);
+            return builder.getResult();
         }
         catch (ParseException e)
         {
@@ -72,10 +77,11 @@ public final class JsonParser
 
     public CoreInstance toPureJson(Reader input) throws IOException
     {
+        PureJsonBuilder builder = new PureJsonBuilder();
         try
         {
-            Object object = new JSONParser().parse(input);
-            return this.createJsonElement(object);
+            new JSONParser().parse(input, builder);
+            return builder.getResult();
         }
         catch (ParseException e)
         {
@@ -124,6 +130,11 @@ public final class JsonParser
             results.add(this.createJsonElement(val));
         }
 
+        return this.createJsonArray(results);
+    }
+
+    private CoreInstance createJsonArray(ListIterable<CoreInstance> results)
+    {
         CoreInstance instance = this.createCoreInstance(JSONArray);
         Instance.setValuesForProperty(instance, values, results, this.processorSupport);
         return instance;
@@ -131,15 +142,25 @@ public final class JsonParser
 
     private CoreInstance createJsonObject(org.json.simple.JSONObject jsonObject)
     {
-        MutableList<CoreInstance> results = Lists.mutable.of();
+        Map<String, CoreInstance> entries = new HashMap<>();
 
         for (Map.Entry entry : ((Set<Map.Entry>)jsonObject.entrySet()))
         {
-            String entryKey = (String)entry.getKey();
+            entries.put((String)entry.getKey(), this.createJsonElement(entry.getValue()));
+        }
+
+        return this.createJsonObject(entries);
+    }
+
+    private CoreInstance createJsonObject(Map<String, CoreInstance> entries)
+    {
+        MutableList<CoreInstance> results = Lists.mutable.of();
 
+        for (Map.Entry<String, CoreInstance> entry : entries.entrySet())
+        {
             CoreInstance jsonKeyValue = this.createCoreInstance(JSONKeyValue);
-            Instance.setValuesForProperty(jsonKeyValue, key, Lists.immutable.of(this.createJsonString(entryKey)), this.processorSupport);
-            Instance.setValuesForProperty(jsonKeyValue, value, Lists.immutable.of(this.createJsonElement(entry.getValue())), this.processorSupport);
+            Instance.setValuesForProperty(jsonKeyValue, key, Lists.immutable.of(this.createJsonString(entry.getKey())), this.processorSupport);
+            Instance.setValuesForProperty(jsonKeyValue, value, Lists.immutable.of(entry.getValue()), this.processorSupport);
             results.add(jsonKeyValue);
         }
 
@@ -203,4 +224,103 @@ public final class JsonParser
         return processorSupport.newEphemeralAnonymousCoreInstance(type);
     }
 
+    /**
+     * Builds Pure JSON elements directly from the parser's tokens, so no intermediate json-simple tree is created. Each
+     * open object is tracked as a map of its entries (a HashMap, as with JSONObject, so entries are ordered as before)
+     * and each open array as a list of its elements.
+     */
+    private class PureJsonBuilder implements ContentHandler
+    {
+        private final Deque<Object> open = new ArrayDeque<>();
+        private final Deque<String> keys = new ArrayDeque<>();
+        private CoreInstance result;
+
+        CoreInstance getResult()
+        {
+            return this.result;
+        }
+
+        @Override
+        public void startJSON()
+        {
+            this.open.clear();
+            this.keys.clear();
+            this.result = null;
+        }
+
+        @Override
+        public void endJSON()
+        {
+        }
+
+        @Override
+        public boolean startObject()
+        {
+            this.open.push(new HashMap<String, CoreInstance>());
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean endObject()
+        {
+            this.addValue(createJsonObject((Map<String, CoreInstance>) this.open.pop()));
+            return true;
+        }
+
+        @Override
+        public boolean startObjectEntry(String key)
+        {
+            this.keys.push(key);
+            return true;
+        }
+
+        @Override
+        public boolean endObjectEntry()
+        {
+            this.keys.pop();
+            return true;
+        }
+
+        @Override
+        public boolean startArray()
+        {
+            this.open.push(Lists.mutable.<CoreInstance>empty());
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean endArray()
+        {
+            this.addValue(createJsonArray((MutableList<CoreInstance>) this.open.pop()));
+            return true;
+        }
+
+        @Override
+        public boolean primitive(Object value)
+        {
+            this.addValue(createJsonElement(value));
+            return true;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addValue(CoreInstance value)
+        {
+            Object container = this.open.peek();
+            if (container == null)
+            {
+                this.result = value;
+            }
+            else if (container instanceof Map)
+            {
+                ((Map<String, CoreInstance>) container).put(this.keys.peek(), value);
+            }
+            else
+            {
+                ((MutableList<CoreInstance>) container).add(value);
+            }
+        }
+    }
+
 }
@@ -16,6 +16,7 @@ package org.finos.legend.pure.runtime.java.extension.external.json.shared;
 
 import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.property.AbstractProperty;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Type;
@@ -31,10 +32,19 @@ public abstract class JsonPropertyDeserialization<T> extends PropertyDeserializa
         super(property, isFromAssociation, conversion, type);
     }
 
-    @SuppressWarnings("unchecked")
     protected RichIterable<T> applyConversion(JSONArray jsonValue, JsonDeserializationContext context)
     {
-        return Iterate.flatCollect(jsonValue, v -> applyConversion(v, context), Lists.mutable.empty());
+        if (!JsonTreeBuilder.isReleasable(jsonValue))
+        {
+            return Iterate.flatCollect(jsonValue, v -> applyConversion(v, context), Lists.mutable.empty());
+        }
+        // release each element once it has been converted
+        MutableList<T> result = Lists.mutable.ofInitialCapacity(jsonValue.size());
+        for (int i = 0; i < jsonValue.size(); i++)
+        {
+            result.addAllIterable(applyConversion(jsonValue.set(i, null), context));
+        }
+        return result;
     }
 
     protected RichIterable<T> applyConversion(Object jsonValue, JsonDeserializationContext context)
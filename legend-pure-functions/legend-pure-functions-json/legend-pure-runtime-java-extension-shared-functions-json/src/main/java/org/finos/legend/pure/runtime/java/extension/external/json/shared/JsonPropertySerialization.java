@@ -34,8 +34,8 @@ public abstract class JsonPropertySerialization<T> extends PropertySerialization
 {
     static final Object CYCLE_DETECTED = new Object();
 
-    private Boolean hasCipherStereotype;
-    private Boolean hasDecipherStereotype;
+    private volatile Boolean hasCipherStereotype;
+    private volatile Boolean hasDecipherStereotype;
 
     public JsonPropertySerialization(AbstractProperty property, boolean isFromAssociation, Conversion<T, Object> conversion, Type type)
     {
@@ -127,22 +127,33 @@ public abstract class JsonPropertySerialization<T> extends PropertySerialization
         return serialized;
     }
 
-    private boolean hasEncryptStereotype(final RichIterable<? extends CoreInstance> encryptionStereotypes)
+    // only the default stereotype checks are cached, as conversions are shared between calls with different configurations
+    private boolean hasEncryptStereotype(RichIterable<? extends CoreInstance> encryptionStereotypes)
     {
-        if (this.hasCipherStereotype == null)
+        if (!encryptionStereotypes.isEmpty())
         {
-            this.hasCipherStereotype = this.property._stereotypes().anySatisfy(stereotype -> encryptionStereotypes.isEmpty() ? "Cipher".equals(stereotype._value()) : encryptionStereotypes.anySatisfy(st -> stereotypesEqual(st, stereotype)));
+            return this.property._stereotypes().anySatisfy(stereotype -> encryptionStereotypes.anySatisfy(st -> stereotypesEqual(st, stereotype)));
         }
-        return this.hasCipherStereotype;
+        Boolean result = this.hasCipherStereotype;
+        if (result == null)
+        {
+            this.hasCipherStereotype = result = this.property._stereotypes().anySatisfy(stereotype -> "Cipher".equals(stereotype._value()));
+        }
+        return result;
     }
 
-    private boolean hasDecryptStereotype(final RichIterable<? extends CoreInstance> decryptionStereotypes)
+    private boolean hasDecryptStereotype(RichIterable<? extends CoreInstance> decryptionStereotypes)
     {
-        if (this.hasDecipherStereotype == null)
+        if (!decryptionStereotypes.isEmpty())
+        {
+            return this.property._stereotypes().anySatisfy(stereotype -> decryptionStereotypes.anySatisfy(st -> stereotypesEqual(st, stereotype)));
+        }
+        Boolean result = this.hasDecipherStereotype;
+        if (result == null)
         {
-            this.hasDecipherStereotype = this.property._stereotypes().anySatisfy(stereotype -> decryptionStereotypes.isEmpty() ? "Decipher".equals(stereotype._value()) : decryptionStereotypes.anySatisfy(st -> stereotypesEqual(st, stereotype)));
+            this.hasDecipherStereotype = result = this.property._stereotypes().anySatisfy(stereotype -> "Decipher".equals(stereotype._value()));
         }
-        return this.hasDecipherStereotype;
+        return result;
     }
 
     private static boolean stereotypesEqual(CoreInstance each, Stereotype stereotype)
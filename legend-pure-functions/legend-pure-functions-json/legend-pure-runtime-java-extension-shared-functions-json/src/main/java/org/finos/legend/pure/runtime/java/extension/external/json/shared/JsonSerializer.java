@@ -25,9 +25,16 @@ import org.finos.legend.pure.m3.navigation.measure.Measure;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.runtime.java.extension.external.shared.conversion.Conversion;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONValue;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Iterator;
 
 public class JsonSerializer
@@ -38,26 +45,61 @@ public class JsonSerializer
 
     public static String toJson(RichIterable<?> pureObjectCollection, ProcessorSupport processorSupport, JsonSerializationContext jsonSerializationContext, SourceInformation sourceInformation)
     {
-        if (pureObjectCollection.isEmpty())
+        StringWriter writer = new StringWriter();
+        try
         {
-            return new JSONArray().toString();
+            toJson(pureObjectCollection, processorSupport, jsonSerializationContext, sourceInformation, writer);
         }
+        catch (IOException e)
+        {
+            // StringWriter does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Serialize to JSON, writing to the given stream as UTF-8. The stream is flushed but not closed.
+     *
+     * @see #toJson(RichIterable, ProcessorSupport, JsonSerializationContext, SourceInformation, Writer)
+     */
+    public static void toJson(RichIterable<?> pureObjectCollection, ProcessorSupport processorSupport, JsonSerializationContext jsonSerializationContext, SourceInformation sourceInformation, OutputStream stream) throws IOException
+    {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        toJson(pureObjectCollection, processorSupport, jsonSerializationContext, sourceInformation, writer);
+        writer.flush();
+    }
+
+    /**
+     * Serialize to JSON, writing to the given writer. Each instance in the collection is converted and
+     * written before the next is read, so memory use is bounded by the largest instance rather than by
+     * the size of the collection. A single instance is written as a JSON value; otherwise the instances
+     * are written as a JSON array.
+     */
+    public static void toJson(RichIterable<?> pureObjectCollection, ProcessorSupport processorSupport, JsonSerializationContext jsonSerializationContext, SourceInformation sourceInformation, Writer writer) throws IOException
+    {
         //Using iterator to avoid asserting collection size which would break DB stream if we try to serialize result streamed from DB to json
         Iterator<?> collectionIterator = pureObjectCollection.iterator();
-        Object firstInstance = collectionIterator.next();
-        Object serializedFirstInstance = toJson(firstInstance, processorSupport, jsonSerializationContext, sourceInformation);
         if (!collectionIterator.hasNext())
         {
-            return JSONValue.toJSONString(serializedFirstInstance);
+            writer.write("[]");
+            return;
+        }
+        Object serializedFirstInstance = toJson(collectionIterator.next(), processorSupport, jsonSerializationContext, sourceInformation);
+        if (!collectionIterator.hasNext())
+        {
+            JSONValue.writeJSONString(serializedFirstInstance, writer);
+            return;
         }
 
-        JSONArray jsonArray = new JSONArray();
-        jsonArray.add(serializedFirstInstance);
+        writer.write('[');
+        JSONValue.writeJSONString(serializedFirstInstance, writer);
         while (collectionIterator.hasNext())
         {
-            jsonArray.add(toJson(collectionIterator.next(), processorSupport, jsonSerializationContext, sourceInformation));
+            writer.write(',');
+            JSONValue.writeJSONString(toJson(collectionIterator.next(), processorSupport, jsonSerializationContext, sourceInformation), writer);
         }
-        return jsonArray.toString();
+        writer.write(']');
     }
 
     private static Object toJson(Object pureObject, ProcessorSupport processorSupport, JsonSerializationContext jsonSerializationContext, SourceInformation sourceInformation)
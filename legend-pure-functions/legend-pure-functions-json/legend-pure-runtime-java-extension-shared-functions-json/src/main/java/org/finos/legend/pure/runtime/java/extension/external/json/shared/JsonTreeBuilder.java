@@ -0,0 +1,145 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.external.json.shared;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Builds a JSON tree from the parser's tokens for deserialization. The tree belongs to the deserializer, so parts of it
+ * can be released as soon as they have been converted (see {@link #isReleasable}). This keeps the peak footprint close
+ * to that of the larger of the tree and the resulting objects, rather than their sum.
+ */
+final class JsonTreeBuilder implements ContentHandler
+{
+    private final Deque<Object> open = new ArrayDeque<>();
+    private final Deque<String> keys = new ArrayDeque<>();
+    private Object result;
+
+    private JsonTreeBuilder()
+    {
+    }
+
+    static Object parse(Reader reader) throws IOException, ParseException
+    {
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        new JSONParser().parse(reader, builder);
+        return builder.result;
+    }
+
+    /**
+     * Whether values in the given JSON object or array may be removed once they have been converted.
+     */
+    static boolean isReleasable(Object json)
+    {
+        return (json instanceof ReleasableJSONObject) || (json instanceof ReleasableJSONArray);
+    }
+
+    @Override
+    public void startJSON()
+    {
+        this.open.clear();
+        this.keys.clear();
+        this.result = null;
+    }
+
+    @Override
+    public void endJSON()
+    {
+    }
+
+    @Override
+    public boolean startObject()
+    {
+        this.open.push(new ReleasableJSONObject());
+        return true;
+    }
+
+    @Override
+    public boolean endObject()
+    {
+        this.addValue(this.open.pop());
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key)
+    {
+        this.keys.push(key);
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry()
+    {
+        this.keys.pop();
+        return true;
+    }
+
+    @Override
+    public boolean startArray()
+    {
+        this.open.push(new ReleasableJSONArray());
+        return true;
+    }
+
+    @Override
+    public boolean endArray()
+    {
+        this.addValue(this.open.pop());
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value)
+    {
+        this.addValue(value);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addValue(Object value)
+    {
+        Object container = this.open.peek();
+        if (container == null)
+        {
+            this.result = value;
+        }
+        else if (container instanceof JSONObject)
+        {
+            ((JSONObject) container).put(this.keys.peek(), value);
+        }
+        else
+        {
+            ((JSONArray) container).add(value);
+        }
+    }
+
+    private static class ReleasableJSONObject extends JSONObject
+    {
+    }
+
+    private static class ReleasableJSONArray extends JSONArray
+    {
+    }
+}
@@ -0,0 +1,60 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.external.json.shared;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.list.Interval;
+import org.eclipse.collections.impl.utility.LazyIterate;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+public class TestJsonSerializer
+{
+    @Test
+    public void testToJsonString()
+    {
+        Assert.assertEquals("[]", JsonSerializer.toJson(Lists.immutable.empty(), null, null, null));
+        Assert.assertEquals("\"a\"", JsonSerializer.toJson(Lists.immutable.with("a"), null, null, null));
+        Assert.assertEquals("[\"a\",1,true,null]", JsonSerializer.toJson(Lists.mutable.with("a", 1L, true, null), null, null, null));
+    }
+
+    @Test
+    public void testToJsonOutputStream() throws IOException
+    {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonSerializer.toJson(Lists.immutable.with("caf\u00e9", "\"quoted\""), null, null, null, stream);
+        Assert.assertEquals("[\"caf\u00e9\",\"\\\"quoted\\\"\"]", new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testToJsonWritesIncrementally() throws IOException
+    {
+        StringWriter writer = new StringWriter();
+        MutableList<String> writtenBeforeEachElement = Lists.mutable.empty();
+        JsonSerializer.toJson(LazyIterate.adapt(Interval.oneTo(4)).collect(i ->
+        {
+            writtenBeforeEachElement.add(writer.toString());
+            return i;
+        }), null, null, null, writer);
+        Assert.assertEquals("[1,2,3,4]", writer.toString());
+        Assert.assertEquals(Lists.mutable.with("", "[1,", "[1,2,", "[1,2,3,"), writtenBeforeEachElement);
+    }
+}
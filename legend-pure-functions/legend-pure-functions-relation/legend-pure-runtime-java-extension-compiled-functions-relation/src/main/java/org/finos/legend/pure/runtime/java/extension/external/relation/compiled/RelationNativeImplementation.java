@@ -22,10 +22,13 @@ import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.relation.*;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Enum;
 import org.finos.legend.pure.m3.execution.ExecutionSupport;
@@ -35,11 +38,11 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledExecutionSupport;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.support.CompiledSupport;
 import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.RowContainer;
+import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel;
 import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.TDSContainer;
 import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.TestTDSCompiled;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortDirection;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortInfo;
-import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
 
 import static org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS.readCsv;
 
@@ -138,6 +141,32 @@ public class RelationNativeImplementation
         return new TDSContainer((TestTDSCompiled) tds.drop(list), ps);
     }
 
+    /**
+     * Filter a relation, using the given kernel to evaluate the filter function one column at a time
+     * where possible.
+     */
+    public static <T> Relation<? extends T> filter(Relation<? extends T> rel, ColumnKernel kernel, Function2 pureFunction, ExecutionSupport es)
+    {
+        TestTDSCompiled tds = RelationNativeImplementation.getTDS(rel);
+        Object selected = kernel.evaluate(tds);
+        if (!(selected instanceof boolean[]))
+        {
+            return filter(rel, pureFunction, es);
+        }
+
+        ProcessorSupport ps = ((CompiledExecutionSupport) es).getProcessorSupport();
+        MutableIntList rows = new IntArrayList();
+        boolean[] selection = (boolean[]) selected;
+        for (int i = 0; i < selection.length; i++)
+        {
+            if (selection[i])
+            {
+                rows.add(i);
+            }
+        }
+        return new TDSContainer((TestTDSCompiled) tds.selectRows(rows), ps);
+    }
+
     public static class ColFuncSpecTrans
     {
         public String newColName;
@@ -160,6 +189,51 @@ public class RelationNativeImplementation
         return new TDSContainer(t, ps);
     }
 
+    /**
+     * Extend a relation, using the given kernels (one per column spec, or null) to compute the new
+     * columns one column at a time where possible.
+     */
+    public static <T> Relation<? extends Object> extend(Relation<? extends T> rel, MutableList<ColFuncSpecTrans> colFuncSpecTrans, ListIterable<ColumnKernel> kernels, ExecutionSupport es)
+    {
+        if (kernels.size() != colFuncSpecTrans.size())
+        {
+            return extend(rel, colFuncSpecTrans, es);
+        }
+        ProcessorSupport ps = ((CompiledExecutionSupport) es).getProcessorSupport();
+        TestTDSCompiled tds = RelationNativeImplementation.getTDS(rel);
+        for (int i = 0; i < colFuncSpecTrans.size(); i++)
+        {
+            TestTDSCompiled extended = (kernels.get(i) == null) ? null : performExtend(colFuncSpecTrans.get(i), kernels.get(i), tds);
+            tds = (extended == null) ? performExtend(colFuncSpecTrans.get(i), es, tds, ps) : extended;
+        }
+        return new TDSContainer(tds, ps);
+    }
+
+    static TestTDSCompiled performExtend(ColFuncSpecTrans colFuncSpecTrans, ColumnKernel kernel, TestTDSCompiled tds)
+    {
+        Object values = kernel.evaluate(tds);
+        switch (colFuncSpecTrans.columnType)
+        {
+            case "String":
+                return (values instanceof String[]) ? (TestTDSCompiled) tds.addColumn(colFuncSpecTrans.newColName, DataType.STRING, values) : null;
+            case "Integer":
+                if (values instanceof long[])
+                {
+                    long[] longs = (long[]) values;
+                    int[] resultInt = new int[longs.length];
+                    for (int i = 0; i < longs.length; i++)
+                    {
+                        resultInt[i] = (int) longs[i];
+                    }
+                    return (TestTDSCompiled) tds.addColumn(colFuncSpecTrans.newColName, DataType.INT, resultInt);
+                }
+                return null;
+            case "Float":
+                return (values instanceof double[]) ? (TestTDSCompiled) tds.addColumn(colFuncSpecTrans.newColName, DataType.DOUBLE, values) : null;
+        }
+        return null;
+    }
+
     private static TestTDSCompiled performExtend(ColFuncSpecTrans colFuncSpecTrans, ExecutionSupport es, TestTDSCompiled tds, ProcessorSupport ps)
     {
         switch (colFuncSpecTrans.columnType)
@@ -190,22 +264,27 @@ public class RelationNativeImplementation
     }
 
     public static <T, V> Relation<? extends Object> join(Relation<? extends T> rel1, Relation<? extends V> rel2, Enum joinKind, Function3 pureFunction, ExecutionSupport es)
+    {
+        return join(rel1, rel2, joinKind, Lists.immutable.empty(), pureFunction, es);
+    }
+
+    /**
+     * Join two relations. The equi-join columns are (left column, right column) pairs which must be
+     * equal for the join function to return true: they are used to hash join the relations, and the
+     * join function is then evaluated on the matching rows only.
+     */
+    public static <T, V> Relation<? extends Object> join(Relation<? extends T> rel1, Relation<? extends V> rel2, Enum joinKind, ListIterable<? extends Pair<String, String>> equiJoinColumns, Function3 pureFunction, ExecutionSupport es)
     {
         ProcessorSupport ps = ((CompiledExecutionSupport) es).getProcessorSupport();
 
         TestTDSCompiled tds1 = RelationNativeImplementation.getTDS(rel1);
         TestTDSCompiled tds2 = RelationNativeImplementation.getTDS(rel2);
-        TestTDSCompiled tds = (TestTDSCompiled) tds1.join(tds2);
 
-        MutableIntSet list = new IntHashSet();
-        for (int i = 0; i < tds.getRowCount(); i++)
+        TestTDSCompiled filtered = (TestTDSCompiled) tds1.join(tds2, equiJoinColumns, (tds, i) ->
         {
-            if (!(boolean) pureFunction.value(new RowContainer(tds, i), new RowContainer(tds, i), es))
-            {
-                list.add(i);
-            }
-        }
-        TestTDSCompiled filtered = (TestTDSCompiled) tds.drop(list);
+            RowContainer row = new RowContainer((TestTDSCompiled) tds, i);
+            return (boolean) pureFunction.value(row, row, es);
+        });
         if (joinKind.getName().equals("LEFT"))
         {
             filtered = (TestTDSCompiled) tds1.compensateLeft(filtered);
@@ -252,14 +331,14 @@ public class RelationNativeImplementation
         ProcessorSupport ps = ((CompiledExecutionSupport) es).getProcessorSupport();
         TestTDSCompiled tds = RelationNativeImplementation.getTDS(rel);
 
-        Pair<TestTDS, MutableList<Pair<Integer, Integer>>> sortRes = tds.sort(cols.collect(name -> new SortInfo(name, SortDirection.ASC)).toList());
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> groups = tds.groupBy(cols);
 
-        int size = sortRes.getTwo().size();
+        int size = groups.getTwo().size();
 
         MutableSet<String> columnsToRemove = tds.getColumnNames().clone().toSet();
         columnsToRemove.removeAll(cols.toSet());
 
-        TestTDSCompiled finalTDS = (TestTDSCompiled) sortRes.getOne()._distinct(sortRes.getTwo()).removeColumns(columnsToRemove);
+        TestTDSCompiled finalTDS = (TestTDSCompiled) tds._distinct(groups.getOne(), groups.getTwo()).removeColumns(columnsToRemove);
 
         for (AggColSpecTrans aggColSpecTrans : aggColSpecTransAll)
         {
@@ -267,17 +346,17 @@ public class RelationNativeImplementation
             {
                 case "String":
                     String[] finalRes = new String[size];
-                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, size, sortRes, (o, j) -> finalRes[j] = (String) o);
+                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, tds, groups, (o, j) -> finalRes[j] = (String) o);
                     finalTDS.addColumn(aggColSpecTrans.newColName, DataType.STRING, finalRes);
                     break;
                 case "Integer":
                     int[] finalResInt = new int[size];
-                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, size, sortRes, (o, j) -> finalResInt[j] = (int) (long) o);
+                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, tds, groups, (o, j) -> finalResInt[j] = (int) (long) o);
                     finalTDS.addColumn(aggColSpecTrans.newColName, DataType.INT, finalResInt);
                     break;
                 case "Float":
                     double[] finalResDouble = new double[size];
-                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, size, sortRes, (o, j) -> finalResDouble[j] = (double) o);
+                    performMapReduce(aggColSpecTrans.map, aggColSpecTrans.reduce, es, tds, groups, (o, j) -> finalResDouble[j] = (double) o);
                     finalTDS.addColumn(aggColSpecTrans.newColName, DataType.FLOAT, finalResDouble);
                     break;
             }
@@ -286,15 +365,16 @@ public class RelationNativeImplementation
         return new TDSContainer(finalTDS, ps);
     }
 
-    private static void performMapReduce(Function2 map, Function2 reduce, ExecutionSupport es, int size, Pair<TestTDS, MutableList<Pair<Integer, Integer>>> sortRes, Function2<Object, Integer, Object> val)
+    private static void performMapReduce(Function2 map, Function2 reduce, ExecutionSupport es, TestTDSCompiled tds, Pair<IntList, MutableList<Pair<Integer, Integer>>> groups, Function2<Object, Integer, Object> val)
     {
-        for (int j = 0; j < size; j++)
+        IntList rows = groups.getOne();
+        for (int j = 0; j < groups.getTwo().size(); j++)
         {
-            Pair<Integer, Integer> r = sortRes.getTwo().get(j);
-            MutableList<Object> subList = org.eclipse.collections.impl.factory.Lists.mutable.empty();
+            Pair<Integer, Integer> r = groups.getTwo().get(j);
+            MutableList<Object> subList = org.eclipse.collections.impl.factory.Lists.mutable.ofInitialCapacity(r.getTwo() - r.getOne());
             for (int i = r.getOne(); i < r.getTwo(); i++)
             {
-                subList.add(map.value(new RowContainer((TestTDSCompiled) sortRes.getOne(), i), es));
+                subList.add(map.value(new RowContainer(tds, rows.get(i)), es));
             }
             val.apply(reduce.value(subList, es), j);
         }
@@ -0,0 +1,254 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+
+/**
+ * Generates Java code building a ColumnKernel for a relation row function, if its body only
+ * consists of column accesses, literals and operations supported by ColumnKernel.
+ */
+class ColumnKernelGenerator
+{
+    private static final String COLUMN_KERNEL = "org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel";
+
+    private static final String BOOLEAN_PACKAGE = "meta::pure::functions::boolean";
+    private static final String MATH_PACKAGE = "meta::pure::functions::math";
+    private static final String MULTIPLICITY_PACKAGE = "meta::pure::functions::multiplicity";
+    private static final String STRING_PACKAGE = "meta::pure::functions::string";
+
+    private ColumnKernelGenerator()
+    {
+    }
+
+    /**
+     * Generate the Java code for a kernel for the given function (or instance value holding the
+     * function). Returns null if there can be no kernel for the function.
+     *
+     * @param function         row function
+     * @param processorSupport processor support
+     * @return Java code or null
+     */
+    static String generateKernel(CoreInstance function, ProcessorSupport processorSupport)
+    {
+        if ((function != null) && Instance.instanceOf(function, M3Paths.InstanceValue, processorSupport))
+        {
+            function = Instance.getValueForMetaPropertyToOneResolved(function, M3Properties.values, processorSupport);
+        }
+        if ((function == null) || !Instance.instanceOf(function, M3Paths.LambdaFunction, processorSupport))
+        {
+            return null;
+        }
+
+        ListIterable<? extends CoreInstance> parameters = Instance.getValueForMetaPropertyToManyResolved(processorSupport.function_getFunctionType(function), M3Properties.parameters, processorSupport);
+        ListIterable<? extends CoreInstance> expressions = Instance.getValueForMetaPropertyToManyResolved(function, M3Properties.expressionSequence, processorSupport);
+        if ((parameters.size() != 1) || (expressions.size() != 1))
+        {
+            return null;
+        }
+        String parameterName = getName(parameters.get(0), processorSupport);
+        return (parameterName == null) ? null : generate(expressions.get(0), parameterName, processorSupport);
+    }
+
+    private static String generate(CoreInstance expression, String parameterName, ProcessorSupport processorSupport)
+    {
+        if (Instance.instanceOf(expression, M3Paths.InstanceValue, processorSupport))
+        {
+            ListIterable<? extends CoreInstance> values = Instance.getValueForMetaPropertyToManyResolved(expression, M3Properties.values, processorSupport);
+            return (values.size() == 1) ? generateValue(values.get(0), parameterName, processorSupport) : null;
+        }
+        if (!Instance.instanceOf(expression, M3Paths.FunctionExpression, processorSupport))
+        {
+            return null;
+        }
+
+        CoreInstance function = Instance.getValueForMetaPropertyToOneResolved(expression, M3Properties.func, processorSupport);
+        ListIterable<? extends CoreInstance> parameterValues = Instance.getValueForMetaPropertyToManyResolved(expression, M3Properties.parametersValues, processorSupport);
+        if ((function == null) || (parameterValues.size() > 2))
+        {
+            return null;
+        }
+        if (Instance.instanceOf(function, M3Paths.Column, processorSupport))
+        {
+            if ((parameterValues.size() != 1) || !Instance.instanceOf(parameterValues.get(0), M3Paths.VariableExpression, processorSupport) || !parameterName.equals(getName(parameterValues.get(0), processorSupport)))
+            {
+                return null;
+            }
+            String columnName = getName(function, processorSupport);
+            return (columnName == null) ? null : COLUMN_KERNEL + ".column(" + toJavaString(columnName) + ")";
+        }
+
+        String functionName = getValue(function, M3Properties.functionName, processorSupport);
+        CoreInstance pkg = Instance.getValueForMetaPropertyToOneResolved(function, M3Properties._package, processorSupport);
+        if ((functionName == null) || (pkg == null))
+        {
+            return null;
+        }
+        String packagePath = PackageableElement.getUserPathForPackageableElement(pkg);
+        if (MATH_PACKAGE.equals(packagePath) || STRING_PACKAGE.equals(packagePath))
+        {
+            switch (functionName)
+            {
+                case "plus":
+                {
+                    return generateVariadic("plus", parameterValues, parameterName, processorSupport);
+                }
+                case "minus":
+                case "times":
+                {
+                    return MATH_PACKAGE.equals(packagePath) ? generateVariadic(functionName, parameterValues, parameterName, processorSupport) : null;
+                }
+                default:
+                {
+                    return null;
+                }
+            }
+        }
+        if (MULTIPLICITY_PACKAGE.equals(packagePath) && "toOne".equals(functionName))
+        {
+            // kernels only apply to columns without null values, so toOne always succeeds
+            return (parameterValues.size() == 1) ? generate(parameterValues.get(0), parameterName, processorSupport) : null;
+        }
+        if (BOOLEAN_PACKAGE.equals(packagePath))
+        {
+            switch (functionName)
+            {
+                case "lessThan":
+                case "lessThanEqual":
+                case "greaterThan":
+                case "greaterThanEqual":
+                case "and":
+                case "or":
+                case "equal":
+                {
+                    return generateCall(functionName, parameterValues, 2, parameterName, processorSupport);
+                }
+                case "eq":
+                {
+                    return generateCall("equal", parameterValues, 2, parameterName, processorSupport);
+                }
+                case "not":
+                {
+                    return generateCall("not", parameterValues, 1, parameterName, processorSupport);
+                }
+                default:
+                {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String generateCall(String kernelFunction, ListIterable<? extends CoreInstance> parameterValues, int parameterCount, String parameterName, ProcessorSupport processorSupport)
+    {
+        if (parameterValues.size() != parameterCount)
+        {
+            return null;
+        }
+        MutableList<String> operands = Lists.mutable.ofInitialCapacity(parameterCount);
+        for (CoreInstance parameterValue : parameterValues)
+        {
+            String operand = generate(parameterValue, parameterName, processorSupport);
+            if (operand == null)
+            {
+                return null;
+            }
+            operands.add(operand);
+        }
+        return operands.makeString(COLUMN_KERNEL + "." + kernelFunction + "(", ", ", ")");
+    }
+
+    // plus, minus and times take a single collection, such as [$x.a, $x.b, 1]
+    private static String generateVariadic(String kernelFunction, ListIterable<? extends CoreInstance> parameterValues, String parameterName, ProcessorSupport processorSupport)
+    {
+        if ((parameterValues.size() != 1) || !Instance.instanceOf(parameterValues.get(0), M3Paths.InstanceValue, processorSupport))
+        {
+            return null;
+        }
+        ListIterable<? extends CoreInstance> values = Instance.getValueForMetaPropertyToManyResolved(parameterValues.get(0), M3Properties.values, processorSupport);
+        if (values.isEmpty())
+        {
+            return null;
+        }
+        MutableList<String> operands = Lists.mutable.ofInitialCapacity(values.size());
+        for (CoreInstance value : values)
+        {
+            String operand = generateValue(value, parameterName, processorSupport);
+            if (operand == null)
+            {
+                return null;
+            }
+            operands.add(operand);
+        }
+        return operands.makeString(COLUMN_KERNEL + "." + kernelFunction + "(", ", ", ")");
+    }
+
+    private static String generateValue(CoreInstance value, String parameterName, ProcessorSupport processorSupport)
+    {
+        if (Instance.instanceOf(value, M3Paths.ValueSpecification, processorSupport))
+        {
+            return generate(value, parameterName, processorSupport);
+        }
+        try
+        {
+            if (Instance.instanceOf(value, M3Paths.Integer, processorSupport))
+            {
+                return COLUMN_KERNEL + ".literal(" + Long.parseLong(value.getName()) + "L)";
+            }
+            if (Instance.instanceOf(value, M3Paths.Float, processorSupport))
+            {
+                double d = Double.parseDouble(value.getName());
+                return Double.isFinite(d) ? (COLUMN_KERNEL + ".literal(" + d + "d)") : null;
+            }
+        }
+        catch (NumberFormatException e)
+        {
+            // e.g., an integer literal which does not fit in a long
+            return null;
+        }
+        if (Instance.instanceOf(value, M3Paths.String, processorSupport))
+        {
+            return COLUMN_KERNEL + ".literal(" + toJavaString(value.getName()) + ")";
+        }
+        return null;
+    }
+
+    private static String toJavaString(String string)
+    {
+        StringBuilder builder = new StringBuilder(string.length() + 2);
+        Join.appendStringLiteral(builder, string);
+        return builder.toString();
+    }
+
+    private static String getName(CoreInstance instance, ProcessorSupport processorSupport)
+    {
+        return getValue(instance, M3Properties.name, processorSupport);
+    }
+
+    private static String getValue(CoreInstance instance, String property, ProcessorSupport processorSupport)
+    {
+        CoreInstance value = Instance.getValueForMetaPropertyToOneResolved(instance, property, processorSupport);
+        return (value == null) ? null : value.getName();
+    }
+}
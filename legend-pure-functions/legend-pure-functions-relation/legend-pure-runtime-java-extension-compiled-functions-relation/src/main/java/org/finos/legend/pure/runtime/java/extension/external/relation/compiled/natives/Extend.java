@@ -16,6 +16,10 @@ package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.
 
 import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.compiled.generation.ProcessorContext;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.natives.AbstractNative;
@@ -31,20 +35,42 @@ public class Extend extends AbstractNative implements Native
     @Override
     public String build(CoreInstance topLevelElement, CoreInstance functionExpression, ListIterable<String> transformedParams, ProcessorContext processorContext)
     {
-        StringBuilder result = buildCode(transformedParams, s -> "Lists.mutable.with(" + transformedParams.get(1) + ")");
+        ProcessorSupport processorSupport = processorContext.getSupport();
+        CoreInstance funcColSpec = Instance.getValueForMetaPropertyToManyResolved(functionExpression, M3Properties.parametersValues, processorSupport).get(1);
+        ListIterable<? extends CoreInstance> funcColSpecs = Instance.instanceOf(funcColSpec, M3Paths.InstanceValue, processorSupport) ?
+                Instance.getValueForMetaPropertyToManyResolved(funcColSpec, M3Properties.values, processorSupport) :
+                null;
+        StringBuilder result = buildCode(transformedParams, s -> "Lists.mutable.with(" + transformedParams.get(1) + ")", funcColSpecs, processorSupport);
         return result.toString();
     }
 
-    static StringBuilder buildCode(ListIterable<String> transformedParams, Function<String, String> collection)
+    static StringBuilder buildCode(ListIterable<String> transformedParams, Function<String, String> collection, ListIterable<? extends CoreInstance> funcColSpecs, ProcessorSupport processorSupport)
     {
         StringBuilder result = new StringBuilder("org.finos.legend.pure.runtime.java.extension.external.relation.compiled.RelationNativeImplementation.extend(");
         result.append(transformedParams.get(0) + ", ");
         result.append(collection.valueOf(transformedParams.get(1)));
         buildCollectFuncSpec(result);
+        buildKernels(result, funcColSpecs, processorSupport);
         result.append(", es)");
         return result;
     }
 
+    // Kernels for the functions of the column specs (if any of them has one), in the same order
+    private static void buildKernels(StringBuilder result, ListIterable<? extends CoreInstance> funcColSpecs, ProcessorSupport processorSupport)
+    {
+        if (funcColSpecs == null)
+        {
+            return;
+        }
+        ListIterable<String> kernels = funcColSpecs.collect(spec -> ColumnKernelGenerator.generateKernel(Instance.getValueForMetaPropertyToOneResolved(spec, M3Properties.function, processorSupport), processorSupport));
+        if (kernels.anySatisfy(k -> k != null))
+        {
+            result.append(", org.eclipse.collections.api.factory.Lists.mutable.<org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel>with(");
+            result.append(kernels.collect(k -> (k == null) ? "null" : k).makeString(", "));
+            result.append(')');
+        }
+    }
+
     static void buildCollectFuncSpec(StringBuilder result)
     {
         result.append(".collect(");
@@ -15,6 +15,10 @@
 package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives;
 
 import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.compiled.generation.ProcessorContext;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.natives.AbstractNative;
@@ -32,7 +36,12 @@ public class ExtendArray extends AbstractNative implements Native
     @Override
     public String build(CoreInstance topLevelElement, CoreInstance functionExpression, ListIterable<String> transformedParams, ProcessorContext processorContext)
     {
-        StringBuilder result = buildCode(transformedParams, s -> "Lists.mutable.withAll(" + transformedParams.get(1) + "._funcSpecs())");
+        ProcessorSupport processorSupport = processorContext.getSupport();
+        CoreInstance funcColSpecArray = Instance.getValueForMetaPropertyToManyResolved(functionExpression, M3Properties.parametersValues, processorSupport).get(1);
+        ListIterable<? extends CoreInstance> funcColSpecs = Instance.instanceOf(funcColSpecArray, M3Paths.InstanceValue, processorSupport) ?
+                Instance.getValueForMetaPropertyToManyResolved(Instance.getValueForMetaPropertyToOneResolved(funcColSpecArray, M3Properties.values, processorSupport), "funcSpecs", processorSupport) :
+                null;
+        StringBuilder result = buildCode(transformedParams, s -> "Lists.mutable.withAll(" + transformedParams.get(1) + "._funcSpecs())", funcColSpecs, processorSupport);
         return result.toString();
     }
 }
@@ -15,6 +15,9 @@
 package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives;
 
 import org.eclipse.collections.api.list.ListIterable;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.compiled.generation.ProcessorContext;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.natives.AbstractNative;
@@ -30,9 +33,17 @@ public class Filter extends AbstractNative implements Native
     @Override
     public String build(CoreInstance topLevelElement, CoreInstance functionExpression, ListIterable<String> transformedParams, ProcessorContext processorContext)
     {
+        ProcessorSupport processorSupport = processorContext.getSupport();
+        String kernel = ColumnKernelGenerator.generateKernel(Instance.getValueForMetaPropertyToManyResolved(functionExpression, M3Properties.parametersValues, processorSupport).get(1), processorSupport);
+
         StringBuilder result = new StringBuilder("org.finos.legend.pure.runtime.java.extension.external.relation.compiled.RelationNativeImplementation.filter");
         result.append('(');
         result.append(transformedParams.get(0));
+        if (kernel != null)
+        {
+            result.append(", ");
+            result.append(kernel);
+        }
         result.append(", (org.eclipse.collections.api.block.function.Function2");
         result.append(")(PureCompiledLambda.getPureFunction(");
         result.append(transformedParams.get(1));
@@ -14,8 +14,13 @@
 
 package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives;
 
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.tuple.Pair;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.navigation.relation.EquiJoinColumns;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.compiled.generation.ProcessorContext;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.natives.AbstractNative;
@@ -31,6 +36,10 @@ public class Join extends AbstractNative implements Native
     @Override
     public String build(CoreInstance topLevelElement, CoreInstance functionExpression, ListIterable<String> transformedParams, ProcessorContext processorContext)
     {
+        ProcessorSupport processorSupport = processorContext.getSupport();
+        CoreInstance joinFunction = Instance.getValueForMetaPropertyToOneResolved(Instance.getValueForMetaPropertyToManyResolved(functionExpression, M3Properties.parametersValues, processorSupport).get(3), M3Properties.values, processorSupport);
+        ListIterable<Pair<String, String>> equiJoinColumns = EquiJoinColumns.getEquiJoinColumns(joinFunction, processorSupport);
+
         StringBuilder result = new StringBuilder("org.finos.legend.pure.runtime.java.extension.external.relation.compiled.RelationNativeImplementation.join");
         result.append('(');
         result.append(transformedParams.get(0));
@@ -39,9 +48,28 @@ public class Join extends AbstractNative implements Native
         result.append(", ");
         result.append(transformedParams.get(2));
         result.append(", ");
+        result.append("org.eclipse.collections.api.factory.Lists.immutable.<org.eclipse.collections.api.tuple.Pair<String, String>>with(");
+        equiJoinColumns.forEachWithIndex((columns, i) ->
+        {
+            if (i > 0)
+            {
+                result.append(", ");
+            }
+            result.append("org.eclipse.collections.impl.tuple.Tuples.pair(");
+            appendStringLiteral(result, columns.getOne());
+            result.append(", ");
+            appendStringLiteral(result, columns.getTwo());
+            result.append(')');
+        });
+        result.append("), ");
         result.append("(org.eclipse.collections.api.block.function.Function3)PureCompiledLambda.getPureFunction(");
         result.append(transformedParams.get(3));
         result.append(",es), es)\n");
         return result.toString();
     }
+
+    static void appendStringLiteral(StringBuilder builder, String string)
+    {
+        builder.append('"').append(StringEscapeUtils.escapeJava(string)).append('"');
+    }
 }
@@ -0,0 +1,597 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared;
+
+import java.util.Arrays;
+
+/**
+ * Evaluation of a simple row function (column accesses, literals, arithmetic, comparisons and
+ * boolean operators) one column at a time over the arrays of a TDS, rather than calling the
+ * function on each row. Kernels are created by the code generated for relation natives such as
+ * filter and extend.
+ * <p>
+ * Intermediate values are long[] (Integer), double[] (Float), String[] or boolean[] (Boolean)
+ * arrays with one element per row. Evaluation returns null if the kernel cannot be applied to a
+ * TDS, e.g., because a column has null values or the operand types are not supported; callers
+ * must then fall back to calling the function on each row.
+ */
+public abstract class ColumnKernel
+{
+    private ColumnKernel()
+    {
+    }
+
+    /**
+     * Evaluate the kernel for every row of the TDS.
+     *
+     * @param tds TDS
+     * @return one value per row (long[], double[], String[] or boolean[]), or null if the kernel cannot be applied
+     */
+    public abstract Object evaluate(TestTDSCompiled tds);
+
+    // Factory methods, used by generated code
+
+    public static ColumnKernel column(String name)
+    {
+        return new ColumnAccess(name);
+    }
+
+    public static ColumnKernel literal(long value)
+    {
+        return new Literal(value);
+    }
+
+    public static ColumnKernel literal(double value)
+    {
+        return new Literal(value);
+    }
+
+    public static ColumnKernel literal(String value)
+    {
+        return new Literal(value);
+    }
+
+    public static ColumnKernel plus(ColumnKernel... operands)
+    {
+        return new Arithmetic(Arithmetic.PLUS, operands);
+    }
+
+    public static ColumnKernel minus(ColumnKernel... operands)
+    {
+        return new Arithmetic(Arithmetic.MINUS, operands);
+    }
+
+    public static ColumnKernel times(ColumnKernel... operands)
+    {
+        return new Arithmetic(Arithmetic.TIMES, operands);
+    }
+
+    public static ColumnKernel lessThan(ColumnKernel left, ColumnKernel right)
+    {
+        return new Comparison(Comparison.LESS_THAN, left, right);
+    }
+
+    public static ColumnKernel lessThanEqual(ColumnKernel left, ColumnKernel right)
+    {
+        return new Comparison(Comparison.LESS_THAN_EQUAL, left, right);
+    }
+
+    public static ColumnKernel greaterThan(ColumnKernel left, ColumnKernel right)
+    {
+        return new Comparison(Comparison.GREATER_THAN, left, right);
+    }
+
+    public static ColumnKernel greaterThanEqual(ColumnKernel left, ColumnKernel right)
+    {
+        return new Comparison(Comparison.GREATER_THAN_EQUAL, left, right);
+    }
+
+    public static ColumnKernel equal(ColumnKernel left, ColumnKernel right)
+    {
+        return new Equal(left, right);
+    }
+
+    public static ColumnKernel and(ColumnKernel left, ColumnKernel right)
+    {
+        return new Logical(true, left, right);
+    }
+
+    public static ColumnKernel or(ColumnKernel left, ColumnKernel right)
+    {
+        return new Logical(false, left, right);
+    }
+
+    public static ColumnKernel not(ColumnKernel operand)
+    {
+        return new Not(operand);
+    }
+
+    private static double[] toDoubles(Object values)
+    {
+        if (values instanceof double[])
+        {
+            return (double[]) values;
+        }
+        long[] longs = (long[]) values;
+        double[] result = new double[longs.length];
+        for (int i = 0; i < longs.length; i++)
+        {
+            result[i] = longs[i];
+        }
+        return result;
+    }
+
+    private static boolean isNumeric(Object values)
+    {
+        return (values instanceof long[]) || (values instanceof double[]);
+    }
+
+    private static class ColumnAccess extends ColumnKernel
+    {
+        private final String name;
+
+        private ColumnAccess(String name)
+        {
+            this.name = name;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            if ((tds.getColumnType(this.name) == null) || tds.hasNullValues(this.name))
+            {
+                return null;
+            }
+            int rows = (int) tds.getRowCount();
+            Object data = tds.getColumnData(this.name);
+            switch (tds.getColumnType(this.name))
+            {
+                case INT:
+                {
+                    int[] src = (int[]) data;
+                    long[] result = new long[rows];
+                    for (int i = 0; i < rows; i++)
+                    {
+                        result[i] = src[i];
+                    }
+                    return result;
+                }
+                case DOUBLE:
+                {
+                    return Arrays.copyOf((double[]) data, rows);
+                }
+                case STRING:
+                {
+                    return Arrays.copyOf((String[]) data, rows);
+                }
+                default:
+                {
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static class Literal extends ColumnKernel
+    {
+        private final Object value;
+
+        private Literal(Object value)
+        {
+            this.value = value;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            int rows = (int) tds.getRowCount();
+            if (this.value instanceof Long)
+            {
+                long[] result = new long[rows];
+                Arrays.fill(result, (Long) this.value);
+                return result;
+            }
+            if (this.value instanceof Double)
+            {
+                double[] result = new double[rows];
+                Arrays.fill(result, (Double) this.value);
+                return result;
+            }
+            String[] result = new String[rows];
+            Arrays.fill(result, this.value);
+            return result;
+        }
+    }
+
+    private static class Arithmetic extends ColumnKernel
+    {
+        private static final int PLUS = 0;
+        private static final int MINUS = 1;
+        private static final int TIMES = 2;
+
+        private final int operation;
+        private final ColumnKernel[] operands;
+
+        private Arithmetic(int operation, ColumnKernel[] operands)
+        {
+            this.operation = operation;
+            this.operands = operands;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            if (this.operands.length == 0)
+            {
+                return null;
+            }
+            Object[] values = new Object[this.operands.length];
+            boolean allLong = true;
+            boolean allNumeric = true;
+            boolean allString = true;
+            for (int j = 0; j < values.length; j++)
+            {
+                Object value = this.operands[j].evaluate(tds);
+                if (value == null)
+                {
+                    return null;
+                }
+                allLong &= value instanceof long[];
+                allNumeric &= isNumeric(value);
+                allString &= value instanceof String[];
+                values[j] = value;
+            }
+            if (allString)
+            {
+                return (this.operation == PLUS) ? concatenate(values) : null;
+            }
+            if (!allNumeric)
+            {
+                return null;
+            }
+            return allLong ? evaluateLong(values) : evaluateDouble(values);
+        }
+
+        private Object concatenate(Object[] values)
+        {
+            String[] result = (String[]) values[0];
+            for (int j = 1; j < values.length; j++)
+            {
+                String[] next = (String[]) values[j];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = result[i].concat(next[i]);
+                }
+            }
+            return result;
+        }
+
+        private long[] evaluateLong(Object[] values)
+        {
+            // operand arrays are never shared, so the first one can be reused for the result
+            long[] result = (long[]) values[0];
+            if ((values.length == 1) && (this.operation == MINUS))
+            {
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = -result[i];
+                }
+                return result;
+            }
+            for (int j = 1; j < values.length; j++)
+            {
+                long[] next = (long[]) values[j];
+                switch (this.operation)
+                {
+                    case PLUS:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] += next[i];
+                        }
+                        break;
+                    }
+                    case MINUS:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] -= next[i];
+                        }
+                        break;
+                    }
+                    default:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] *= next[i];
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private double[] evaluateDouble(Object[] values)
+        {
+            double[] result = toDoubles(values[0]);
+            if ((values.length == 1) && (this.operation == MINUS))
+            {
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = -result[i];
+                }
+                return result;
+            }
+            for (int j = 1; j < values.length; j++)
+            {
+                double[] next = toDoubles(values[j]);
+                switch (this.operation)
+                {
+                    case PLUS:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] += next[i];
+                        }
+                        break;
+                    }
+                    case MINUS:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] -= next[i];
+                        }
+                        break;
+                    }
+                    default:
+                    {
+                        for (int i = 0; i < result.length; i++)
+                        {
+                            result[i] *= next[i];
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class Comparison extends ColumnKernel
+    {
+        private static final int LESS_THAN = 0;
+        private static final int LESS_THAN_EQUAL = 1;
+        private static final int GREATER_THAN = 2;
+        private static final int GREATER_THAN_EQUAL = 3;
+
+        private final int operation;
+        private final ColumnKernel left;
+        private final ColumnKernel right;
+
+        private Comparison(int operation, ColumnKernel left, ColumnKernel right)
+        {
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            Object leftValues = this.left.evaluate(tds);
+            Object rightValues = (leftValues == null) ? null : this.right.evaluate(tds);
+            if (rightValues == null)
+            {
+                return null;
+            }
+            if ((leftValues instanceof long[]) && (rightValues instanceof long[]))
+            {
+                long[] l = (long[]) leftValues;
+                long[] r = (long[]) rightValues;
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = test(Long.compare(l[i], r[i]));
+                }
+                return result;
+            }
+            if (isNumeric(leftValues) && isNumeric(rightValues))
+            {
+                double[] l = toDoubles(leftValues);
+                double[] r = toDoubles(rightValues);
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = test(l[i], r[i]);
+                }
+                return result;
+            }
+            if ((leftValues instanceof String[]) && (rightValues instanceof String[]))
+            {
+                String[] l = (String[]) leftValues;
+                String[] r = (String[]) rightValues;
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = test(l[i].compareTo(r[i]));
+                }
+                return result;
+            }
+            return null;
+        }
+
+        private boolean test(double left, double right)
+        {
+            switch (this.operation)
+            {
+                case LESS_THAN:
+                {
+                    return left < right;
+                }
+                case LESS_THAN_EQUAL:
+                {
+                    return left <= right;
+                }
+                case GREATER_THAN:
+                {
+                    return left > right;
+                }
+                default:
+                {
+                    return left >= right;
+                }
+            }
+        }
+
+        private boolean test(int comparison)
+        {
+            switch (this.operation)
+            {
+                case LESS_THAN:
+                {
+                    return comparison < 0;
+                }
+                case LESS_THAN_EQUAL:
+                {
+                    return comparison <= 0;
+                }
+                case GREATER_THAN:
+                {
+                    return comparison > 0;
+                }
+                default:
+                {
+                    return comparison >= 0;
+                }
+            }
+        }
+    }
+
+    private static class Equal extends ColumnKernel
+    {
+        private final ColumnKernel left;
+        private final ColumnKernel right;
+
+        private Equal(ColumnKernel left, ColumnKernel right)
+        {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            Object leftValues = this.left.evaluate(tds);
+            Object rightValues = (leftValues == null) ? null : this.right.evaluate(tds);
+            if (rightValues == null)
+            {
+                return null;
+            }
+            if ((leftValues instanceof long[]) && (rightValues instanceof long[]))
+            {
+                long[] l = (long[]) leftValues;
+                long[] r = (long[]) rightValues;
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = l[i] == r[i];
+                }
+                return result;
+            }
+            if ((leftValues instanceof double[]) && (rightValues instanceof double[]))
+            {
+                double[] l = (double[]) leftValues;
+                double[] r = (double[]) rightValues;
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    // Double.equals semantics, as for Pure equality: NaN equals NaN, but -0.0 does not equal 0.0
+                    result[i] = Double.compare(l[i], r[i]) == 0;
+                }
+                return result;
+            }
+            if ((leftValues instanceof String[]) && (rightValues instanceof String[]))
+            {
+                String[] l = (String[]) leftValues;
+                String[] r = (String[]) rightValues;
+                boolean[] result = new boolean[l.length];
+                for (int i = 0; i < result.length; i++)
+                {
+                    result[i] = l[i].equals(r[i]);
+                }
+                return result;
+            }
+            // values of different types (e.g., Integer and Float) are handled by the row function
+            return null;
+        }
+    }
+
+    private static class Logical extends ColumnKernel
+    {
+        private final boolean and;
+        private final ColumnKernel left;
+        private final ColumnKernel right;
+
+        private Logical(boolean and, ColumnKernel left, ColumnKernel right)
+        {
+            this.and = and;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            Object leftValues = this.left.evaluate(tds);
+            Object rightValues = (leftValues instanceof boolean[]) ? this.right.evaluate(tds) : null;
+            if (!(rightValues instanceof boolean[]))
+            {
+                return null;
+            }
+            boolean[] result = (boolean[]) leftValues;
+            boolean[] r = (boolean[]) rightValues;
+            for (int i = 0; i < result.length; i++)
+            {
+                result[i] = this.and ? (result[i] & r[i]) : (result[i] | r[i]);
+            }
+            return result;
+        }
+    }
+
+    private static class Not extends ColumnKernel
+    {
+        private final ColumnKernel operand;
+
+        private Not(ColumnKernel operand)
+        {
+            this.operand = operand;
+        }
+
+        @Override
+        public Object evaluate(TestTDSCompiled tds)
+        {
+            Object values = this.operand.evaluate(tds);
+            if (!(values instanceof boolean[]))
+            {
+                return null;
+            }
+            boolean[] result = (boolean[]) values;
+            for (int i = 0; i < result.length; i++)
+            {
+                result[i] = !result[i];
+            }
+            return result;
+        }
+    }
+}
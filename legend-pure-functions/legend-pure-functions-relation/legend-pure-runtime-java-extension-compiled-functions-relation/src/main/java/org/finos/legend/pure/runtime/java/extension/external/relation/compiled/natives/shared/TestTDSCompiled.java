@@ -18,6 +18,7 @@ import io.deephaven.csv.parsers.DataType;
 import io.deephaven.csv.reading.CsvReader;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.finos.legend.pure.m2.inlinedsl.tds.M2TDSPaths;
 import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.type.Class;
@@ -107,6 +108,42 @@ public class TestTDSCompiled extends TestTDS
         return result;
     }
 
+    public DataType getColumnType(String columnName)
+    {
+        return columnType.get(columnName);
+    }
+
+    public Object getColumnData(String columnName)
+    {
+        return dataByColumnName.get(columnName);
+    }
+
+    public boolean hasNullValues(String columnName)
+    {
+        // the arrays may be longer than the TDS, e.g., after drop
+        if (columnType.get(columnName) == DataType.STRING)
+        {
+            String[] data = (String[]) dataByColumnName.get(columnName);
+            for (int i = 0; i < rowCount; i++)
+            {
+                if (data[i] == null)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        boolean[] isNull = (boolean[]) isNullByColumn.get(columnName);
+        for (int i = 0; i < rowCount; i++)
+        {
+            if (isNull[i])
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public GenericType getClassifierGenericType()
     {
         return (GenericType) classifierGenericType;
@@ -120,6 +157,14 @@ public class TestTDSCompiled extends TestTDS
         return res;
     }
 
+    @Override
+    public TestTDS selectRows(IntList rows)
+    {
+        TestTDSCompiled res = (TestTDSCompiled) super.selectRows(rows);
+        res.classifierGenericType = this.classifierGenericType;
+        return res;
+    }
+
     @Override
     public TestTDS concatenate(TestTDS tds2)
     {
@@ -0,0 +1,246 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.external.relation.compiled;
+
+import io.deephaven.csv.parsers.DataType;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.RelationNativeImplementation.ColFuncSpecTrans;
+import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel;
+import org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.TestTDSCompiled;
+import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.and;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.column;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.equal;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.greaterThan;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.greaterThanEqual;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.lessThan;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.lessThanEqual;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.literal;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.minus;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.not;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.or;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.plus;
+import static org.finos.legend.pure.runtime.java.extension.external.relation.compiled.natives.shared.ColumnKernel.times;
+
+public class TestColumnKernel
+{
+    private static final String CSV = "id,name,score,code\n" +
+            "1,Pierre,1.5,a\n" +
+            "2,Neema,-2.0,b\n" +
+            "3,Bla,3.0,c";
+
+    @Test
+    public void testExtendInteger()
+    {
+        TestTDSCompiled tds = performExtend("next", "Integer", plus(times(column("id"), literal(10L)), literal(1L)));
+        Assert.assertNotNull(tds);
+        Assert.assertEquals(DataType.INT, tds.getColumnType("next"));
+        Assert.assertArrayEquals(new int[]{11, 21, 31}, (int[]) tds.getColumnData("next"));
+        Assert.assertFalse(tds.hasNullValues("next"));
+    }
+
+    @Test
+    public void testExtendFloat()
+    {
+        TestTDSCompiled tds = performExtend("next", "Float", minus(column("score"), column("id")));
+        Assert.assertNotNull(tds);
+        Assert.assertEquals(DataType.DOUBLE, tds.getColumnType("next"));
+        Assert.assertArrayEquals(new double[]{0.5, -4.0, 0.0}, (double[]) tds.getColumnData("next"), 0.0);
+    }
+
+    @Test
+    public void testExtendString()
+    {
+        TestTDSCompiled tds = performExtend("next", "String", plus(column("name"), literal("_"), column("name")));
+        Assert.assertNotNull(tds);
+        Assert.assertEquals(DataType.STRING, tds.getColumnType("next"));
+        Assert.assertArrayEquals(new String[]{"Pierre_Pierre", "Neema_Neema", "Bla_Bla"}, (String[]) tds.getColumnData("next"));
+        // the source column is not modified
+        Assert.assertArrayEquals(new String[]{"Pierre", "Neema", "Bla"}, Arrays.copyOf((String[]) tds.getColumnData("name"), 3));
+    }
+
+    @Test
+    public void testExtendFallback()
+    {
+        // the kernel result does not match the column type
+        Assert.assertNull(performExtend("next", "Integer", column("score")));
+        Assert.assertNull(performExtend("next", "Float", column("id")));
+        Assert.assertNull(performExtend("next", "Boolean", lessThan(column("id"), literal(2L))));
+        // the kernel cannot be applied
+        Assert.assertNull(performExtend("next", "String", column("code")));
+    }
+
+    @Test
+    public void testNullFallback()
+    {
+        TestTDSCompiled tds = new TestTDSCompiled(Lists.mutable.with("id", "name", "score"), Maps.mutable.with("id", DataType.INT, "name", DataType.STRING, "score", DataType.DOUBLE), 2);
+        Assert.assertTrue(tds.hasNullValues("id"));
+        Assert.assertTrue(tds.hasNullValues("name"));
+        Assert.assertTrue(tds.hasNullValues("score"));
+        Assert.assertNull(column("id").evaluate(tds));
+        Assert.assertNull(column("name").evaluate(tds));
+        Assert.assertNull(column("score").evaluate(tds));
+        Assert.assertNull(plus(column("id"), literal(1L)).evaluate(tds));
+        Assert.assertNull(lessThan(literal(1L), column("id")).evaluate(tds));
+        Assert.assertNull(equal(column("name"), literal("Bla")).evaluate(tds));
+    }
+
+    @Test
+    public void testNoNullValues()
+    {
+        TestTDSCompiled tds = newTDS();
+        Assert.assertFalse(tds.hasNullValues("id"));
+        Assert.assertFalse(tds.hasNullValues("name"));
+        Assert.assertFalse(tds.hasNullValues("score"));
+    }
+
+    @Test
+    public void testCharFallback()
+    {
+        TestTDSCompiled tds = newTDS();
+        Assert.assertEquals(DataType.CHAR, tds.getColumnType("code"));
+        Assert.assertNull(column("code").evaluate(tds));
+        Assert.assertNull(equal(column("code"), literal("a")).evaluate(tds));
+        Assert.assertNull(not(equal(column("code"), literal("a"))).evaluate(tds));
+    }
+
+    @Test
+    public void testUnknownColumnFallback()
+    {
+        Assert.assertNull(column("unknown").evaluate(newTDS()));
+    }
+
+    @Test
+    public void testMixedTypeFallback()
+    {
+        TestTDSCompiled tds = newTDS();
+        Assert.assertNull(equal(column("id"), literal(1.0)).evaluate(tds));
+        Assert.assertNull(equal(column("id"), column("name")).evaluate(tds));
+        Assert.assertNull(lessThan(column("id"), column("name")).evaluate(tds));
+        Assert.assertNull(plus(column("id"), column("name")).evaluate(tds));
+        Assert.assertNull(minus(column("name"), literal("a")).evaluate(tds));
+        Assert.assertNull(and(column("id"), lessThan(column("id"), literal(2L))).evaluate(tds));
+        Assert.assertNull(not(column("id")).evaluate(tds));
+        Assert.assertNull(plus().evaluate(tds));
+    }
+
+    @Test
+    public void testUnaryMinus()
+    {
+        TestTDSCompiled tds = newTDS();
+        Assert.assertArrayEquals(new long[]{-1, -2, -3}, (long[]) minus(column("id")).evaluate(tds));
+        Assert.assertArrayEquals(new double[]{-1.5, 2.0, -3.0}, (double[]) minus(column("score")).evaluate(tds), 0.0);
+        Assert.assertArrayEquals(new long[]{1, 2, 3}, (long[]) minus(minus(column("id"))).evaluate(tds));
+    }
+
+    @Test
+    public void testArithmeticPromotion()
+    {
+        TestTDSCompiled tds = newTDS();
+        Assert.assertArrayEquals(new long[]{2, 8, 18}, (long[]) times(column("id"), column("id"), literal(2L)).evaluate(tds));
+        Assert.assertArrayEquals(new double[]{2.5, 0.0, 6.0}, (double[]) plus(column("id"), column("score")).evaluate(tds), 0.0);
+        Assert.assertArrayEquals(new double[]{0.5, 1.0, 1.5}, (double[]) times(column("id"), literal(0.5)).evaluate(tds), 0.0);
+    }
+
+    @Test
+    public void testLessThan()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, lessThan(column("id"), literal(2L)), true, false, false);
+        assertSelection(tds, lessThan(column("score"), literal(1.5)), false, true, false);
+        assertSelection(tds, lessThan(column("id"), column("score")), true, false, false);
+        assertSelection(tds, lessThan(column("name"), literal("Neema")), false, false, true);
+    }
+
+    @Test
+    public void testLessThanEqual()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, lessThanEqual(column("id"), literal(2L)), true, true, false);
+        assertSelection(tds, lessThanEqual(column("score"), literal(1.5)), true, true, false);
+        assertSelection(tds, lessThanEqual(column("id"), column("score")), true, false, true);
+        assertSelection(tds, lessThanEqual(column("name"), literal("Neema")), false, true, true);
+    }
+
+    @Test
+    public void testGreaterThan()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, greaterThan(column("id"), literal(2L)), false, false, true);
+        assertSelection(tds, greaterThan(column("score"), literal(1.5)), false, false, true);
+        assertSelection(tds, greaterThan(column("score"), column("id")), true, false, false);
+        assertSelection(tds, greaterThan(column("name"), literal("Neema")), true, false, false);
+    }
+
+    @Test
+    public void testGreaterThanEqual()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, greaterThanEqual(column("id"), literal(2L)), false, true, true);
+        assertSelection(tds, greaterThanEqual(column("score"), literal(1.5)), true, false, true);
+        assertSelection(tds, greaterThanEqual(column("score"), column("id")), true, false, true);
+        assertSelection(tds, greaterThanEqual(column("name"), literal("Neema")), true, true, false);
+    }
+
+    @Test
+    public void testEqual()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, equal(column("id"), literal(2L)), false, true, false);
+        assertSelection(tds, equal(column("score"), literal(3.0)), false, false, true);
+        assertSelection(tds, equal(column("name"), literal("Bla")), false, false, true);
+        assertSelection(tds, not(equal(column("name"), literal("Bla"))), true, true, false);
+    }
+
+    @Test
+    public void testFloatEqualityFollowsPureEquality()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, equal(literal(-0.0), literal(0.0)), false, false, false);
+        assertSelection(tds, equal(literal(0.0), literal(0.0)), true, true, true);
+        assertSelection(tds, equal(literal(Double.NaN), literal(Double.NaN)), true, true, true);
+    }
+
+    @Test
+    public void testLogical()
+    {
+        TestTDSCompiled tds = newTDS();
+        assertSelection(tds, and(greaterThan(column("id"), literal(1L)), lessThan(column("score"), literal(0.0))), false, true, false);
+        assertSelection(tds, or(equal(column("id"), literal(1L)), equal(column("name"), literal("Bla"))), true, false, true);
+    }
+
+    private static TestTDSCompiled newTDS()
+    {
+        return new TestTDSCompiled(TestTDS.readCsv(CSV));
+    }
+
+    private static TestTDSCompiled performExtend(String columnName, String columnType, ColumnKernel kernel)
+    {
+        return RelationNativeImplementation.performExtend(new ColFuncSpecTrans(columnName, null, columnType), kernel, newTDS());
+    }
+
+    private static void assertSelection(TestTDSCompiled tds, ColumnKernel kernel, boolean... expected)
+    {
+        Object result = kernel.evaluate(tds);
+        Assert.assertTrue(String.valueOf(result), result instanceof boolean[]);
+        Assert.assertArrayEquals(expected, (boolean[]) result);
+    }
+}
@@ -67,10 +67,16 @@ public class RelationExtensionInterpreted extends BaseInterpretedExtension
         return new RelationExtensionInterpreted();
     }
 
+    @Override
+    public boolean hasExtraFunctionExecution(Function<CoreInstance> function, ProcessorSupport processorSupport)
+    {
+        return Instance.instanceOf(function, M3Paths.Column, processorSupport);
+    }
+
     @Override
     public CoreInstance getExtraFunctionExecution(Function<CoreInstance> function, ListIterable<? extends CoreInstance> params, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, FunctionExecutionInterpreted interpreted)
     {
-        if (Instance.instanceOf(function, M3Paths.Column, processorSupport))
+        if (hasExtraFunctionExecution(function, processorSupport))
         {
             return ((TDSWithCursorCoreInstance) params.get(0).getValueForMetaPropertyToOne("values")).getValue(function._name());
         }
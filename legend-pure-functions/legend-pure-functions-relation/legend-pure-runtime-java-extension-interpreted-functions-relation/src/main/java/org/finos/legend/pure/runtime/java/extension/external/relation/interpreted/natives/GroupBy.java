@@ -19,6 +19,7 @@ import org.eclipse.collections.api.block.procedure.Procedure2;
 import org.eclipse.collections.api.list.FixedSizeList;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.factory.Lists;
@@ -36,8 +37,6 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.extension.external.relation.interpreted.natives.shared.Shared;
 import org.finos.legend.pure.runtime.java.extension.external.relation.interpreted.natives.shared.TDSCoreInstance;
 import org.finos.legend.pure.runtime.java.extension.external.relation.interpreted.natives.shared.TDSWithCursorCoreInstance;
-import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortDirection;
-import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortInfo;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
@@ -78,15 +77,17 @@ public class GroupBy extends Shared
             throw new RuntimeException("Not Possible");
         }
 
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> groups = tds.groupBy(ids);
+
         CoreInstance aggColSpec = Instance.getValueForMetaPropertyToOneResolved(params.get(2), M3Properties.values, processorSupport);
         TestTDS result;
         if (aggColSpec instanceof AggColSpec)
         {
-            result = processOneAggColSpec(tds, null, ids, aggColSpec, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType);
+            result = processOneAggColSpec(tds, groups, null, aggColSpec, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType);
         }
         else if (aggColSpec instanceof AggColSpecArray)
         {
-            result = ((AggColSpecArray<?, ?, ?>) aggColSpec)._aggSpecs().injectInto(null, (a, b) -> processOneAggColSpec(tds, a, ids, b, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType));
+            result = ((AggColSpecArray<?, ?, ?>) aggColSpec)._aggSpecs().injectInto(null, (a, b) -> processOneAggColSpec(tds, groups, a, b, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType));
         }
         else
         {
@@ -96,7 +97,7 @@ public class GroupBy extends Shared
         return ValueSpecificationBootstrap.wrapValueSpecification(new TDSCoreInstance(result, returnGenericType, repository, processorSupport), false, processorSupport);
     }
 
-    private TestTDS processOneAggColSpec(TestTDS tds, TestTDS existing, ListIterable<String> ids, CoreInstance aggColSpec, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, RelationType<?> relationType)
+    private TestTDS processOneAggColSpec(TestTDS tds, Pair<IntList, MutableList<Pair<Integer, Integer>>> groups, TestTDS existing, CoreInstance aggColSpec, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, RelationType<?> relationType)
     {
         String name = aggColSpec.getValueForMetaPropertyToOne("name").getName();
         LambdaFunction<CoreInstance> mapF = (LambdaFunction<CoreInstance>) LambdaFunctionCoreInstanceWrapper.toLambdaFunction(aggColSpec.getValueForMetaPropertyToOne("map"));
@@ -107,17 +108,15 @@ public class GroupBy extends Shared
 
         Type type = ((FunctionType) reduceF._classifierGenericType()._typeArguments().getFirst()._rawType())._returnType()._rawType();
 
-        Pair<TestTDS, MutableList<Pair<Integer, Integer>>> res = tds.sort(ids.collect(c -> new SortInfo(c, SortDirection.ASC)));
-
         FixedSizeList<CoreInstance> parameters = Lists.fixedSize.with((CoreInstance) null);
 
-        int size = res.getTwo().size();
+        int size = groups.getTwo().size();
         DataType resType = null;
         Object _finalRes = null;
         if (type == _Package.getByUserPath("String", processorSupport))
         {
             String[] finalRes = new String[size];
-            performAggregation(res, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getStringValue(val), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
+            performAggregation(tds, groups, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getStringValue(val), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
             resType = DataType.STRING;
             _finalRes = finalRes;
         }
@@ -125,7 +124,7 @@ public class GroupBy extends Shared
         if (type == _Package.getByUserPath("Integer", processorSupport))
         {
             int[] finalRes = new int[size];
-            performAggregation(res, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getIntegerValue(val).intValue(), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
+            performAggregation(tds, groups, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getIntegerValue(val).intValue(), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
             resType = DataType.INT;
             _finalRes = finalRes;
         }
@@ -133,22 +132,22 @@ public class GroupBy extends Shared
         if (type == _Package.getByUserPath("Float", processorSupport))
         {
             double[] finalRes = new double[size];
-            performAggregation(res, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getFloatValue(val).doubleValue(), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
+            performAggregation(tds, groups, mapF, reduceF, (j, val) -> finalRes[j] = PrimitiveUtilities.getFloatValue(val).doubleValue(), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, relationType, size, parameters, mapFVarContext, reduceFVarContext);
             resType = DataType.FLOAT;
             _finalRes = finalRes;
         }
-        return existing == null ? res.getOne()._distinct(res.getTwo()).addColumn(name, resType, _finalRes) : existing.addColumn(name, resType, _finalRes);
+        return existing == null ? tds._distinct(groups.getOne(), groups.getTwo()).addColumn(name, resType, _finalRes) : existing.addColumn(name, resType, _finalRes);
     }
 
-    private void performAggregation(Pair<TestTDS, MutableList<Pair<Integer, Integer>>> res, LambdaFunction<CoreInstance> mapF, LambdaFunction<CoreInstance> reduceF, Procedure2<Integer, CoreInstance> setter, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, RelationType<?> relationType, int size, FixedSizeList<CoreInstance> parameters, VariableContext mapFVarContext, VariableContext reduceFVarContext)
+    private void performAggregation(TestTDS tds, Pair<IntList, MutableList<Pair<Integer, Integer>>> groups, LambdaFunction<CoreInstance> mapF, LambdaFunction<CoreInstance> reduceF, Procedure2<Integer, CoreInstance> setter, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, RelationType<?> relationType, int size, FixedSizeList<CoreInstance> parameters, VariableContext mapFVarContext, VariableContext reduceFVarContext)
     {
         for (int j = 0; j < size; j++)
         {
-            Pair<Integer, Integer> r = res.getTwo().get(j);
-            MutableList<CoreInstance> subList = Lists.mutable.empty();
+            Pair<Integer, Integer> r = groups.getTwo().get(j);
+            MutableList<CoreInstance> subList = Lists.mutable.ofInitialCapacity(r.getTwo() - r.getOne());
             for (int i = r.getOne(); i < r.getTwo(); i++)
             {
-                parameters.set(0, ValueSpecificationBootstrap.wrapValueSpecification(new TDSWithCursorCoreInstance(res.getOne(), i, "", null, relationType, -1, repository, false), true, processorSupport));
+                parameters.set(0, ValueSpecificationBootstrap.wrapValueSpecification(new TDSWithCursorCoreInstance(tds, groups.getOne().get(i), "", null, relationType, -1, repository, false), true, processorSupport));
                 subList.add(this.functionExecution.executeFunction(false, mapF, parameters, resolvedTypeParameters, resolvedMultiplicityParameters, mapFVarContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport).getValueForMetaPropertyToOne("values"));
             }
             parameters.set(0, ValueSpecificationBootstrap.wrapValueSpecification(subList, true, processorSupport));
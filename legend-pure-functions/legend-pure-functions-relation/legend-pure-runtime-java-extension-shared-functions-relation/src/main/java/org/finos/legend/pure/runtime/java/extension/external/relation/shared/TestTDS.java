@@ -19,16 +19,24 @@ import io.deephaven.csv.parsers.DataType;
 import io.deephaven.csv.reading.CsvReader;
 import io.deephaven.csv.sinks.SinkFactory;
 import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.predicate.primitive.ObjectIntPredicate;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.api.set.primitive.IntSet;
 import org.eclipse.collections.api.set.primitive.MutableIntSet;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.CharIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
 import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.ArrayIterate;
@@ -47,6 +55,8 @@ public class TestTDS
     protected MutableList<String> columnsOrdered = Lists.mutable.empty();
     protected long rowCount;
 
+    private static final int JOIN_BLOCK_SIZE = 8192;
+
     public TestTDS()
     {
     }
@@ -240,6 +250,176 @@ public class TestTDS
         return res;
     }
 
+    /**
+     * Join with otherTDS, keeping the pairs of rows accepted by the predicate. The predicate is
+     * called with a TDS holding the candidate pairs (with the columns of both TDSs) and a row of it.
+     * <p>
+     * If equiJoinColumns is not empty, candidate pairs are found with a hash join on those (left
+     * column, right column) pairs, so the predicate is only called for pairs with equal keys;
+     * otherwise, every pair is a candidate. Candidates are materialized in blocks of at most
+     * JOIN_BLOCK_SIZE rows, so the full cross product is never held in memory. Rows are returned
+     * in the same order as filtering the cross product.
+     *
+     * @param otherTDS        right hand side of the join
+     * @param equiJoinColumns (left column, right column) pairs known to be equal for all accepted pairs
+     * @param predicate       join predicate
+     * @return joined TDS
+     */
+    public TestTDS join(TestTDS otherTDS, ListIterable<? extends Pair<String, String>> equiJoinColumns, ObjectIntPredicate<? super TestTDS> predicate)
+    {
+        ListIterable<String> keyColumns = equiJoinColumns.collect(Pair::getOne);
+        MutableMap<Object, MutableIntList> otherRowsByKey = equiJoinColumns.isEmpty() ? null : otherTDS.rowsByJoinKey(equiJoinColumns.collect(Pair::getTwo), this, keyColumns);
+        MutableIntList allOtherRows = null;
+        if (otherRowsByKey == null)
+        {
+            allOtherRows = new IntArrayList((int) otherTDS.rowCount);
+            for (int j = 0; j < otherTDS.rowCount; j++)
+            {
+                allOtherRows.add(j);
+            }
+        }
+
+        MutableIntList resultRows = new IntArrayList();
+        MutableIntList resultOtherRows = new IntArrayList();
+        MutableIntList candidateRows = new IntArrayList();
+        MutableIntList candidateOtherRows = new IntArrayList();
+        for (int i = 0; i < this.rowCount; i++)
+        {
+            IntList otherRows = (otherRowsByKey == null) ? allOtherRows : otherRowsByKey.get(this.getJoinKey(keyColumns, i));
+            if (otherRows != null)
+            {
+                for (int k = 0; k < otherRows.size(); k++)
+                {
+                    candidateRows.add(i);
+                    candidateOtherRows.add(otherRows.get(k));
+                    if (candidateRows.size() == JOIN_BLOCK_SIZE)
+                    {
+                        this.acceptJoinCandidates(otherTDS, candidateRows, candidateOtherRows, predicate, resultRows, resultOtherRows);
+                    }
+                }
+            }
+        }
+        this.acceptJoinCandidates(otherTDS, candidateRows, candidateOtherRows, predicate, resultRows, resultOtherRows);
+        return this.join(otherTDS, resultRows, resultOtherRows);
+    }
+
+    /**
+     * Join with otherTDS, producing one row for each pair (rows[k], otherRows[k]).
+     *
+     * @param otherTDS  right hand side of the join
+     * @param rows      rows of this TDS
+     * @param otherRows rows of otherTDS
+     * @return joined TDS
+     */
+    public TestTDS join(TestTDS otherTDS, IntList rows, IntList otherRows)
+    {
+        MutableMap<String, DataType> columnTypes = Maps.mutable.empty();
+        columnTypes.putAll(this.columnType);
+        columnTypes.putAll(otherTDS.columnType);
+        MutableList<String> columnOrdered = Lists.mutable.empty();
+        columnOrdered.addAll(this.columnsOrdered);
+        columnOrdered.addAll(otherTDS.columnsOrdered);
+        TestTDS res = newTDS(columnOrdered, columnTypes, rows.size());
+
+        for (int k = 0; k < rows.size(); k++)
+        {
+            for (String column : this.dataByColumnName.keysView())
+            {
+                res.setValue(column, k, this, rows.get(k));
+            }
+            for (String column : otherTDS.dataByColumnName.keysView())
+            {
+                res.setValue(column, k, otherTDS, otherRows.get(k));
+            }
+        }
+        return res;
+    }
+
+    private void acceptJoinCandidates(TestTDS otherTDS, MutableIntList candidateRows, MutableIntList candidateOtherRows, ObjectIntPredicate<? super TestTDS> predicate, MutableIntList resultRows, MutableIntList resultOtherRows)
+    {
+        if (candidateRows.notEmpty())
+        {
+            TestTDS candidates = this.join(otherTDS, candidateRows, candidateOtherRows);
+            for (int k = 0; k < candidateRows.size(); k++)
+            {
+                if (predicate.accept(candidates, k))
+                {
+                    resultRows.add(candidateRows.get(k));
+                    resultOtherRows.add(candidateOtherRows.get(k));
+                }
+            }
+            candidateRows.clear();
+            candidateOtherRows.clear();
+        }
+    }
+
+    /**
+     * Index the rows of this TDS by the values of the given columns, in row order. Returns null if
+     * the columns cannot be compared by hashing with the corresponding columns of otherTDS (e.g.,
+     * because their types differ).
+     */
+    private MutableMap<Object, MutableIntList> rowsByJoinKey(ListIterable<String> columns, TestTDS otherTDS, ListIterable<String> otherColumns)
+    {
+        for (int c = 0; c < columns.size(); c++)
+        {
+            DataType type = this.columnType.get(columns.get(c));
+            if ((type == null) || (type != otherTDS.columnType.get(otherColumns.get(c))))
+            {
+                return null;
+            }
+        }
+
+        MutableMap<Object, MutableIntList> rowsByKey = Maps.mutable.empty();
+        for (int j = 0; j < this.rowCount; j++)
+        {
+            rowsByKey.getIfAbsentPut(this.getJoinKey(columns, j), IntArrayList::new).add(j);
+        }
+        return rowsByKey;
+    }
+
+    private Object getJoinKey(ListIterable<String> columns, int row)
+    {
+        if (columns.size() == 1)
+        {
+            return this.getJoinKeyValue(columns.get(0), row);
+        }
+        MutableList<Object> key = Lists.mutable.ofInitialCapacity(columns.size());
+        columns.forEach(c -> key.add(this.getJoinKeyValue(c, row)));
+        return key;
+    }
+
+    private Object getJoinKeyValue(String columnName, int row)
+    {
+        Object dataAsObject = this.dataByColumnName.get(columnName);
+        switch (this.columnType.get(columnName))
+        {
+            case INT:
+            {
+                return ((boolean[]) this.isNullByColumn.get(columnName))[row] ? null : ((int[]) dataAsObject)[row];
+            }
+            case CHAR:
+            {
+                return ((boolean[]) this.isNullByColumn.get(columnName))[row] ? null : ((char[]) dataAsObject)[row];
+            }
+            case STRING:
+            {
+                return ((String[]) dataAsObject)[row];
+            }
+            case DOUBLE:
+            {
+                if (((boolean[]) this.isNullByColumn.get(columnName))[row])
+                {
+                    return null;
+                }
+                double value = ((double[]) dataAsObject)[row];
+                // 0.0 and -0.0 are equal, but their boxed values are not
+                return (value == 0.0d) ? 0.0d : value;
+            }
+            default:
+                throw new RuntimeException("ERROR " + this.columnType.get(columnName) + " not supported in join!");
+        }
+    }
+
     public void setValue(String columnName, int row, TestTDS srcTDS, int srcRow)
     {
         Object dataAsObject = dataByColumnName.get(columnName);
@@ -595,8 +775,8 @@ public class TestTDS
 
     public TestTDS distinct(MutableList<String> columns)
     {
-        Pair<TestTDS, MutableList<Pair<Integer, Integer>>> res = this.sort(columns.collect(c -> new SortInfo(c, SortDirection.ASC)));
-        return res.getOne()._distinct(res.getTwo());
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> groups = this.groupBy(columns);
+        return this._distinct(groups.getOne(), groups.getTwo());
     }
 
     public TestTDS _distinct(MutableList<Pair<Integer, Integer>> ranges)
@@ -612,6 +792,234 @@ public class TestTDS
         return this.drop(drop);
     }
 
+    /**
+     * Keep the first row of each group, as returned by groupBy.
+     *
+     * @param rows   rows ordered by group
+     * @param ranges range of each group in rows
+     * @return TDS with one row per group
+     */
+    public TestTDS _distinct(IntList rows, ListIterable<Pair<Integer, Integer>> ranges)
+    {
+        return this.selectRows(ranges.collectInt(r -> rows.get(r.getOne()), new IntArrayList(ranges.size())));
+    }
+
+    /**
+     * Group the rows of this TDS by the values of the given columns. Rows are grouped with a single
+     * hashing pass over each column's data and null flags, without copying the TDS; only the first
+     * row of each group is then sorted, so that groups come in ascending order of their values (as
+     * with sort). Rows within a group keep their original order.
+     *
+     * @param columns grouping columns
+     * @return rows ordered by group, and the (start, end) range of each group in them
+     */
+    public Pair<IntList, MutableList<Pair<Integer, Integer>>> groupBy(ListIterable<String> columns)
+    {
+        int rows = (int) this.rowCount;
+        int[] groupByRow = new int[rows];
+        for (int c = 0; c < columns.size(); c++)
+        {
+            int[] valueIds = this.getValueIds(columns.get(c));
+            if (c == 0)
+            {
+                groupByRow = valueIds;
+            }
+            else
+            {
+                LongIntHashMap groupIds = new LongIntHashMap();
+                for (int i = 0; i < rows; i++)
+                {
+                    groupByRow[i] = groupIds.getIfAbsentPut(((long) groupByRow[i] << 32) | valueIds[i], groupIds.size());
+                }
+            }
+        }
+
+        // group ids are allocated in order of first occurrence
+        MutableIntList firstRows = new IntArrayList();
+        for (int i = 0; i < rows; i++)
+        {
+            if (groupByRow[i] == firstRows.size())
+            {
+                firstRows.add(i);
+            }
+        }
+        int groupCount = firstRows.size();
+        MutableList<Integer> sortedGroups = Lists.mutable.ofInitialCapacity(groupCount);
+        for (int g = 0; g < groupCount; g++)
+        {
+            sortedGroups.add(g);
+        }
+        sortedGroups.sortThis((g1, g2) -> this.compareRows(columns, firstRows.get(g1), firstRows.get(g2)));
+
+        int[] positionByGroup = new int[groupCount];
+        for (int k = 0; k < groupCount; k++)
+        {
+            positionByGroup[sortedGroups.get(k)] = k;
+        }
+        int[] starts = new int[groupCount + 1];
+        for (int i = 0; i < rows; i++)
+        {
+            starts[positionByGroup[groupByRow[i]] + 1]++;
+        }
+        MutableList<Pair<Integer, Integer>> ranges = Lists.mutable.ofInitialCapacity(groupCount);
+        for (int k = 0; k < groupCount; k++)
+        {
+            starts[k + 1] += starts[k];
+            ranges.add(Tuples.pair(starts[k], starts[k + 1]));
+        }
+        int[] orderedRows = new int[rows];
+        for (int i = 0; i < rows; i++)
+        {
+            orderedRows[starts[positionByGroup[groupByRow[i]]]++] = i;
+        }
+        return Tuples.pair(IntArrayList.newListWith(orderedRows), ranges);
+    }
+
+    /**
+     * Select the given rows of this TDS, in the given order.
+     *
+     * @param rows rows to select
+     * @return TDS with the selected rows
+     */
+    public TestTDS selectRows(IntList rows)
+    {
+        TestTDS res = newTDS(this.columnsOrdered.clone(), this.columnType.clone(), rows.size());
+        for (String column : this.dataByColumnName.keysView())
+        {
+            for (int k = 0; k < rows.size(); k++)
+            {
+                res.setValue(column, k, this, rows.get(k));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Number the distinct values of a column, in order of first occurrence: rows with equal values
+     * (or which are both null) get the same id.
+     */
+    private int[] getValueIds(String columnName)
+    {
+        int rows = (int) this.rowCount;
+        int[] ids = new int[rows];
+        Object dataAsObject = this.dataByColumnName.get(columnName);
+        boolean[] isNull = (boolean[]) this.isNullByColumn.get(columnName);
+        int count = 0;
+        int nullId = -1;
+        switch (this.columnType.get(columnName))
+        {
+            case INT:
+            {
+                int[] src = (int[]) dataAsObject;
+                IntIntHashMap idByValue = new IntIntHashMap();
+                for (int i = 0; i < rows; i++)
+                {
+                    int id = isNull[i] ? ((nullId < 0) ? (nullId = count) : nullId) : idByValue.getIfAbsentPut(src[i], count);
+                    ids[i] = id;
+                    if (id == count)
+                    {
+                        count++;
+                    }
+                }
+                break;
+            }
+            case CHAR:
+            {
+                char[] src = (char[]) dataAsObject;
+                CharIntHashMap idByValue = new CharIntHashMap();
+                for (int i = 0; i < rows; i++)
+                {
+                    int id = isNull[i] ? ((nullId < 0) ? (nullId = count) : nullId) : idByValue.getIfAbsentPut(src[i], count);
+                    ids[i] = id;
+                    if (id == count)
+                    {
+                        count++;
+                    }
+                }
+                break;
+            }
+            case STRING:
+            {
+                String[] src = (String[]) dataAsObject;
+                ObjectIntHashMap<String> idByValue = new ObjectIntHashMap<>();
+                for (int i = 0; i < rows; i++)
+                {
+                    int id = idByValue.getIfAbsentPut(src[i], count);
+                    ids[i] = id;
+                    if (id == count)
+                    {
+                        count++;
+                    }
+                }
+                break;
+            }
+            case DOUBLE:
+            {
+                double[] src = (double[]) dataAsObject;
+                LongIntHashMap idByValue = new LongIntHashMap();
+                for (int i = 0; i < rows; i++)
+                {
+                    // 0.0 and -0.0 are equal, but have different bits
+                    int id = isNull[i] ? ((nullId < 0) ? (nullId = count) : nullId) : idByValue.getIfAbsentPut(Double.doubleToLongBits((src[i] == 0.0d) ? 0.0d : src[i]), count);
+                    ids[i] = id;
+                    if (id == count)
+                    {
+                        count++;
+                    }
+                }
+                break;
+            }
+            default:
+                throw new RuntimeException("ERROR " + this.columnType.get(columnName) + " not supported in groupBy!");
+        }
+        return ids;
+    }
+
+    private int compareRows(ListIterable<String> columns, int row1, int row2)
+    {
+        for (int c = 0; c < columns.size(); c++)
+        {
+            int cmp = this.compareValues(columns.get(c), row1, row2);
+            if (cmp != 0)
+            {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    // nulls come first
+    private int compareValues(String columnName, int row1, int row2)
+    {
+        Object dataAsObject = this.dataByColumnName.get(columnName);
+        boolean[] isNull = (boolean[]) this.isNullByColumn.get(columnName);
+        switch (this.columnType.get(columnName))
+        {
+            case INT:
+            {
+                int[] src = (int[]) dataAsObject;
+                return (isNull[row1] || isNull[row2]) ? Boolean.compare(isNull[row2], isNull[row1]) : Integer.compare(src[row1], src[row2]);
+            }
+            case CHAR:
+            {
+                char[] src = (char[]) dataAsObject;
+                return (isNull[row1] || isNull[row2]) ? Boolean.compare(isNull[row2], isNull[row1]) : Character.compare(src[row1], src[row2]);
+            }
+            case STRING:
+            {
+                String[] src = (String[]) dataAsObject;
+                return ((src[row1] == null) || (src[row2] == null)) ? Boolean.compare(src[row2] == null, src[row1] == null) : src[row1].compareTo(src[row2]);
+            }
+            case DOUBLE:
+            {
+                double[] src = (double[]) dataAsObject;
+                return (isNull[row1] || isNull[row2]) ? Boolean.compare(isNull[row2], isNull[row1]) : Double.compare(src[row1], src[row2]);
+            }
+            default:
+                throw new RuntimeException("ERROR " + this.columnType.get(columnName) + " not supported in groupBy!");
+        }
+    }
+
 
     private void sort(TestTDS copy, ListIterable<SortInfo> sortInfos, int start, int end, MutableList<Pair<Integer, Integer>> ranges)
     {
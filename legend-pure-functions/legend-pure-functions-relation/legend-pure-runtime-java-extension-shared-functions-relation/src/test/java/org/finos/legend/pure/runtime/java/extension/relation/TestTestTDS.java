@@ -15,6 +15,10 @@
 package org.finos.legend.pure.runtime.java.extension.relation;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortDirection;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.SortInfo;
 import org.finos.legend.pure.runtime.java.extension.external.relation.shared.TestTDS;
@@ -377,6 +381,79 @@ public class TestTestTDS
     }
 
 
+    @org.junit.Test
+    public void testGroupBy()
+    {
+        String initialTDS = "id, name\n" +
+                "3, A\n" +
+                "1, B\n" +
+                "3, C\n" +
+                "2, D\n" +
+                "1, E";
+        TestTDS tds = new TestTDS(initialTDS);
+
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> groups = tds.groupBy(Lists.mutable.with("id"));
+        Assert.assertEquals("[1, 4, 3, 0, 2]", groups.getOne().toString());
+        Assert.assertEquals("[0:2, 2:3, 3:5]", groups.getTwo().toString());
+
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> all = tds.groupBy(Lists.mutable.with("id", "name"));
+        Assert.assertEquals("[1, 4, 3, 0, 2]", all.getOne().toString());
+        Assert.assertEquals("[0:1, 1:2, 2:3, 3:4, 4:5]", all.getTwo().toString());
+
+        Assert.assertEquals(initialTDS, tds.toString());
+    }
+
+    @org.junit.Test
+    public void testGroupByNull()
+    {
+        TestTDS tds = new TestTDS("id\n" +
+                "0\n" +
+                "-2147483648\n" +
+                "0\n" +
+                "-2147483648");
+
+        Pair<IntList, MutableList<Pair<Integer, Integer>>> groups = tds.groupBy(Lists.mutable.with("id"));
+        Assert.assertEquals("[1, 3, 0, 2]", groups.getOne().toString());
+        Assert.assertEquals("[0:2, 2:4]", groups.getTwo().toString());
+        Assert.assertEquals("id\n" +
+                "NULL\n" +
+                "0", tds.distinct(Lists.mutable.with("id")).toString());
+    }
+
+    @org.junit.Test
+    public void testHashJoin()
+    {
+        String leftTDS = "id, name\n" +
+                "1, George\n" +
+                "4, David\n" +
+                "2, Pierre\n" +
+                "1, Other";
+
+        String rightTDS = "id2, extra\n" +
+                "1, More George 1\n" +
+                "3, More Sachin\n" +
+                "4, More David\n" +
+                "1, More George 2";
+
+        TestTDS left = new TestTDS(leftTDS);
+        TestTDS right = new TestTDS(rightTDS);
+
+        TestTDS t = left.join(right, Lists.mutable.with(Tuples.pair("id", "id2")), (tds, i) -> true);
+        Assert.assertEquals(new TestTDS("id, name, id2, extra\n" +
+                "1, George, 1, More George 1\n" +
+                "1, George, 1, More George 2\n" +
+                "4, David, 4, More David\n" +
+                "1, Other, 1, More George 1\n" +
+                "1, Other, 1, More George 2").toString(), t.toString());
+
+        Assert.assertEquals(left.join(right).toString(), left.join(right, Lists.mutable.empty(), (tds, i) -> true).toString());
+        Assert.assertEquals(0, left.join(right, Lists.mutable.with(Tuples.pair("id", "id2")), (tds, i) -> false).getRowCount());
+        Assert.assertEquals(0, left.join(right, Lists.mutable.with(Tuples.pair("name", "extra")), (tds, i) -> true).getRowCount());
+
+        Assert.assertEquals(leftTDS, left.toString());
+        Assert.assertEquals(rightTDS, right.toString());
+    }
+
     @org.junit.Test
     public void testSentinel()
     {
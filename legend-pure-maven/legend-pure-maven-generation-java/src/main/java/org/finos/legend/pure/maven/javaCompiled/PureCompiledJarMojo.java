@@ -79,6 +79,15 @@ public class PureCompiledJarMojo extends AbstractMojo
     @Parameter(defaultValue = "false")
     private boolean preventJavaCompilation;
 
+    @Parameter(defaultValue = "false")
+    private boolean useJavaCompilationCache;
+
+    @Parameter(defaultValue = "1")
+    private int javaCompilationParallelism;
+
+    @Parameter
+    private String metadataCompression;
+
     @Override
     public void execute() throws MojoExecutionException
     {
@@ -114,7 +123,7 @@ public class PureCompiledJarMojo extends AbstractMojo
         try
         {
             Thread.currentThread().setContextClassLoader(buildClassLoader(this.project, savedClassLoader, log));
-            JavaCodeGeneration.doIt(repositories, excludedRepositories, extraRepositories, generationType, skip, addExternalAPI, externalAPIPackage, generateMetadata, useSingleDir, generateSources, false, preventJavaCompilation, classesDirectory, targetDirectory, log);
+            JavaCodeGeneration.doIt(repositories, excludedRepositories, extraRepositories, generationType, skip, addExternalAPI, externalAPIPackage, generateMetadata, useSingleDir, generateSources, false, preventJavaCompilation, useJavaCompilationCache, javaCompilationParallelism, metadataCompression, classesDirectory, targetDirectory, log);
         }
         catch (Exception e)
         {
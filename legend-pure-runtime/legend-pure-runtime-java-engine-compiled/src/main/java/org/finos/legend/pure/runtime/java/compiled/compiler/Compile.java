@@ -14,23 +14,45 @@
 
 package org.finos.legend.pure.runtime.java.compiled.compiler;
 
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.api.set.SetIterable;
 import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
 import org.finos.legend.pure.runtime.java.compiled.generation.orchestrator.Log;
 import org.finos.legend.pure.runtime.java.compiled.statelistener.JavaCompilerEventObserver;
 import org.finos.legend.pure.runtime.java.compiled.statelistener.VoidJavaCompilerEventObserver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
 public class Compile
 {
     private final JavaCompilerEventObserver observer;
     private final PureJavaCompiler pureJavaCompiler;
+    private final JavaCompilationBuildCache buildCache;
+    private String lastBuildCacheKey;
 
-    public Compile(PureJavaCompiler pureJavaCompiler, JavaCompilerEventObserver observer)
+    public Compile(PureJavaCompiler pureJavaCompiler, JavaCompilerEventObserver observer, JavaCompilationBuildCache buildCache)
     {
         this.observer = (observer == null) ? VoidJavaCompilerEventObserver.VOID_JAVA_COMPILER_EVENT_OBSERVER : observer;
         this.pureJavaCompiler = pureJavaCompiler;
+        this.buildCache = buildCache;
+    }
+
+    public Compile(PureJavaCompiler pureJavaCompiler, JavaCompilerEventObserver observer)
+    {
+        this(pureJavaCompiler, observer, null);
     }
 
     public Compile(PureJavaCompiler pureJavaCompiler)
@@ -47,28 +69,238 @@ public class Compile
         }
     }
 
-    public void compile(String compileGroup, Iterable<? extends StringJavaSource> javaSources, Log log) throws PureJavaCompileException
+    /**
+     * Compile Java sources by compile group, compiling groups which do not depend on each other concurrently. Each
+     * group is compiled against the core classes and the classes of the groups it depends on (directly or
+     * indirectly), so the dependencies of each group must be complete. Once all groups are compiled, their classes are
+     * added to the compiler in compile group order. If parallelism is 1 or less, or if no group dependency function is
+     * supplied, the groups are compiled sequentially as in {@link #compileJavaCodeForSources(Iterable, Log)}. The
+     * observer must be thread safe if groups are compiled concurrently.
+     *
+     * @param javaSourcesByCompileGroup Java sources by compile group
+     * @param groupDependencies         function from a compile group to the compile groups it directly depends on
+     * @param parallelism               maximum number of groups to compile concurrently
+     * @param log                       log
+     * @throws PureJavaCompileException if compilation of any group fails
+     */
+    public void compileJavaCodeForSources(Iterable<? extends Pair<? extends String, ? extends Iterable<? extends StringJavaSource>>> javaSourcesByCompileGroup, Function<? super String, ? extends Iterable<? extends String>> groupDependencies, int parallelism, Log log) throws PureJavaCompileException
     {
-        this.observer.startCompilingJavaFiles(compileGroup);
-        MutableMap<String, StringJavaSource> javaSourcesByName = Maps.mutable.empty();
-        javaSources.forEach(javaSource ->
+        if ((parallelism <= 1) || (groupDependencies == null))
         {
-            StringJavaSource oldSource = javaSourcesByName.put(javaSource.getName(), javaSource);
-            if ((oldSource != null) && !oldSource.getCode().equals(javaSource.getCode()))
+            compileJavaCodeForSources(javaSourcesByCompileGroup, log);
+            return;
+        }
+
+        MutableMap<String, MutableMap<String, StringJavaSource>> javaSourcesByGroup = Maps.mutable.empty();
+        MutableList<String> groups = Lists.mutable.empty();
+        javaSourcesByCompileGroup.forEach(javaSources ->
+        {
+            if (javaSourcesByGroup.put(javaSources.getOne(), indexJavaSourcesByName(javaSources.getTwo())) != null)
             {
-                throw new RuntimeException("Java source " + javaSource.getName() + " defined more than once with different code.\n\nSOURCE 1:\n" + oldSource.getCode() + "\n\n\n==================\nSOURCE 2:\n" + javaSource.getCode());
+                throw new IllegalArgumentException("Compile group " + javaSources.getOne() + " specified more than once");
             }
+            groups.add(javaSources.getOne());
         });
+        MutableMap<String, SetIterable<String>> allDependencies = Maps.mutable.empty();
+        groups.forEach(group -> collectAllDependencies(group, groupDependencies, allDependencies, Sets.mutable.empty()));
+
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            MutableMap<String, CompletableFuture<Pair<MemoryFileManager, String>>> futures = Maps.mutable.empty();
+            groups.forEach(group ->
+            {
+                ListIterable<CompletableFuture<Pair<MemoryFileManager, String>>> dependencyFutures = groups.select(allDependencies.get(group)::contains).collect(dependency ->
+                {
+                    CompletableFuture<Pair<MemoryFileManager, String>> dependencyFuture = futures.get(dependency);
+                    if (dependencyFuture == null)
+                    {
+                        throw new IllegalArgumentException("Compile group " + group + " depends on compile group " + dependency + ", which comes after it");
+                    }
+                    return dependencyFuture;
+                });
+                CompletableFuture<Pair<MemoryFileManager, String>> future = CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[dependencyFutures.size()])).thenApplyAsync(ignore ->
+                {
+                    Thread currentThread = Thread.currentThread();
+                    ClassLoader savedClassLoader = currentThread.getContextClassLoader();
+                    currentThread.setContextClassLoader(contextClassLoader);
+                    try
+                    {
+                        ListIterable<Pair<MemoryFileManager, String>> dependencyResults = dependencyFutures.collect(CompletableFuture::join);
+                        return compileInIsolation(group, javaSourcesByGroup.get(group), dependencyResults, log);
+                    }
+                    catch (PureJavaCompileException e)
+                    {
+                        throw new CompletionException(e);
+                    }
+                    finally
+                    {
+                        currentThread.setContextClassLoader(savedClassLoader);
+                    }
+                }, pool);
+                futures.put(group, future);
+            });
+
+            // wait for all groups, then add their classes in compile group order
+            MutableList<MemoryFileManager> fileManagers = Lists.mutable.ofInitialCapacity(groups.size());
+            for (String group : groups)
+            {
+                try
+                {
+                    fileManagers.add(futures.get(group).join().getOne());
+                }
+                catch (CompletionException e)
+                {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof PureJavaCompileException)
+                    {
+                        throw (PureJavaCompileException) cause;
+                    }
+                    if (cause instanceof RuntimeException)
+                    {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error)
+                    {
+                        throw (Error) cause;
+                    }
+                    throw e;
+                }
+            }
+            fileManagers.forEach(this.pureJavaCompiler::addClasses);
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    private Pair<MemoryFileManager, String> compileInIsolation(String compileGroup, MutableMap<String, StringJavaSource> javaSourcesByName, ListIterable<Pair<MemoryFileManager, String>> dependencies, Log log) throws PureJavaCompileException
+    {
+        this.observer.startCompilingJavaFiles(compileGroup);
+        long start = System.currentTimeMillis();
+        log.info("    Compiling group " + compileGroup + " (" + javaSourcesByName.size() + " sources)");
+        MemoryFileManager fileManager = this.pureJavaCompiler.newFileManager(dependencies.collect(Pair::getOne));
+        String buildCacheKey = null;
+        if (javaSourcesByName.notEmpty())
+        {
+            if (this.buildCache == null)
+            {
+                this.pureJavaCompiler.compile(javaSourcesByName.valuesView(), fileManager);
+            }
+            else
+            {
+                buildCacheKey = this.buildCache.computeKey(compileGroup, javaSourcesByName.valuesView(), dependencies.collect(Pair::getTwo).makeString(","));
+                try
+                {
+                    if (this.buildCache.loadClasses(compileGroup, buildCacheKey, fileManager))
+                    {
+                        log.info("      reused cached classes for group " + compileGroup + " from " + this.buildCache.getDirectory());
+                    }
+                    else
+                    {
+                        this.pureJavaCompiler.compile(javaSourcesByName.valuesView(), fileManager);
+                        this.buildCache.storeClasses(compileGroup, buildCacheKey, fileManager.getAllClassJavaSources(false));
+                    }
+                }
+                catch (IOException e)
+                {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+        log.info("      finished group " + compileGroup + " in " + ((float) (System.currentTimeMillis() - start) / 1000) + "s");
+        this.observer.endCompilingJavaFiles(compileGroup);
+        return Tuples.pair(fileManager, buildCacheKey);
+    }
+
+    private static SetIterable<String> collectAllDependencies(String group, Function<? super String, ? extends Iterable<? extends String>> groupDependencies, MutableMap<String, SetIterable<String>> allDependencies, MutableSet<String> inProgress)
+    {
+        SetIterable<String> cached = allDependencies.get(group);
+        if (cached != null)
+        {
+            return cached;
+        }
+        if (!inProgress.add(group))
+        {
+            throw new IllegalArgumentException("Dependency cycle involving compile group " + group);
+        }
+        MutableSet<String> dependencies = Sets.mutable.empty();
+        Iterable<? extends String> directDependencies = groupDependencies.apply(group);
+        if (directDependencies != null)
+        {
+            directDependencies.forEach(dependency ->
+            {
+                if (!Objects.equals(group, dependency) && dependencies.add(dependency))
+                {
+                    dependencies.addAllIterable(collectAllDependencies(dependency, groupDependencies, allDependencies, inProgress));
+                }
+            });
+        }
+        inProgress.remove(group);
+        allDependencies.put(group, dependencies);
+        return dependencies;
+    }
+
+    public void compile(String compileGroup, Iterable<? extends StringJavaSource> javaSources, Log log) throws PureJavaCompileException
+    {
+        this.observer.startCompilingJavaFiles(compileGroup);
+        MutableMap<String, StringJavaSource> javaSourcesByName = indexJavaSourcesByName(javaSources);
         long start = System.currentTimeMillis();
         log.info("      compiling " + javaSourcesByName.valuesView().size() + " sources");
         if (javaSourcesByName.notEmpty())
         {
-            this.pureJavaCompiler.compile(javaSourcesByName.valuesView());
+            if (this.buildCache == null)
+            {
+                this.pureJavaCompiler.compile(javaSourcesByName.valuesView());
+            }
+            else
+            {
+                compileWithBuildCache(compileGroup, javaSourcesByName, log);
+            }
         }
         log.info("      finished in " + ((float) (System.currentTimeMillis() - start) / 1000) + "s");
         this.observer.endCompilingJavaFiles(compileGroup);
     }
 
+    private void compileWithBuildCache(String compileGroup, MutableMap<String, StringJavaSource> javaSourcesByName, Log log) throws PureJavaCompileException
+    {
+        MemoryFileManager fileManager = this.pureJavaCompiler.getFileManager();
+        String key = this.buildCache.computeKey(compileGroup, javaSourcesByName.valuesView(), this.lastBuildCacheKey);
+        this.lastBuildCacheKey = key;
+        try
+        {
+            if (this.buildCache.loadClasses(compileGroup, key, fileManager))
+            {
+                log.info("      reused cached classes from " + this.buildCache.getDirectory());
+                return;
+            }
+
+            MutableSet<String> previousClasses = fileManager.getAllClassJavaSources(false).collect(ClassJavaSource::getName, Sets.mutable.empty());
+            this.pureJavaCompiler.compile(javaSourcesByName.valuesView());
+            this.buildCache.storeClasses(compileGroup, key, fileManager.getAllClassJavaSources(false).reject(s -> previousClasses.contains(s.getName())));
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MutableMap<String, StringJavaSource> indexJavaSourcesByName(Iterable<? extends StringJavaSource> javaSources)
+    {
+        MutableMap<String, StringJavaSource> javaSourcesByName = Maps.mutable.empty();
+        javaSources.forEach(javaSource ->
+        {
+            StringJavaSource oldSource = javaSourcesByName.put(javaSource.getName(), javaSource);
+            if ((oldSource != null) && !oldSource.getCode().equals(javaSource.getCode()))
+            {
+                throw new RuntimeException("Java source " + javaSource.getName() + " defined more than once with different code.\n\nSOURCE 1:\n" + oldSource.getCode() + "\n\n\n==================\nSOURCE 2:\n" + javaSource.getCode());
+            }
+        });
+        return javaSourcesByName;
+    }
+
     public void compileExternalizableAPI(ListIterable<? extends StringJavaSource> externalizableSources) throws PureJavaCompileException
     {
         this.pureJavaCompiler.compile(externalizableSources);
@@ -0,0 +1,194 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.compiler;
+
+import org.eclipse.collections.api.factory.Lists;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of Java classes compiled at execution time, e.g. when reactivating a value
+ * specification which cannot be reactivated without Java compilation. Classes are keyed by their
+ * generated source (which captures both the structure of the value specification and the types of
+ * its open variables) and by the class loader they were compiled against. The least recently used
+ * class is evicted when the cache is full.
+ */
+public class DynamicJavaCompilationCache
+{
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+    private final LinkedHashMap<CacheKey, Class<?>> classes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public DynamicJavaCompilationCache(int maxSize)
+    {
+        if (maxSize < 0)
+        {
+            throw new IllegalArgumentException("Invalid max size: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.classes = new LinkedHashMap<CacheKey, Class<?>>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Class<?>> eldest)
+            {
+                if (size() > DynamicJavaCompilationCache.this.maxSize)
+                {
+                    DynamicJavaCompilationCache.this.evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public DynamicJavaCompilationCache()
+    {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Get the class compiled from the given source, compiling and loading it if it is not already
+     * in the cache.
+     *
+     * @param javaPackage       package of the class
+     * @param className         simple name of the class
+     * @param source            Java source of the class
+     * @param parentFileManager file manager used to resolve classes referenced by the source (may be null)
+     * @param parentClassLoader class loader used to resolve classes referenced by the source
+     * @return compiled class
+     * @throws PureJavaCompileException if the source cannot be compiled
+     * @throws ClassNotFoundException   if the compiled class cannot be loaded
+     */
+    public Class<?> getIfAbsentCompile(String javaPackage, String className, String source, MemoryFileManager parentFileManager, ClassLoader parentClassLoader) throws PureJavaCompileException, ClassNotFoundException
+    {
+        CacheKey key = new CacheKey(javaPackage, className, source, parentClassLoader);
+        Class<?> cached;
+        synchronized (this.classes)
+        {
+            cached = this.classes.get(key);
+        }
+        if (cached != null)
+        {
+            this.hitCount.incrementAndGet();
+            return cached;
+        }
+
+        this.missCount.incrementAndGet();
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        MemoryFileManager manager = new MemoryFileManager(compiler, parentFileManager, null);
+        PureJavaCompiler.compile(compiler, Lists.immutable.with(StringJavaSource.newStringJavaSource(javaPackage, className, source)), manager);
+        Class<?> compiled = new MemoryClassLoader(manager, parentClassLoader).loadClass(javaPackage + "." + className);
+        if (this.maxSize > 0)
+        {
+            synchronized (this.classes)
+            {
+                Class<?> concurrent = this.classes.putIfAbsent(key, compiled);
+                if (concurrent != null)
+                {
+                    return concurrent;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    public int size()
+    {
+        synchronized (this.classes)
+        {
+            return this.classes.size();
+        }
+    }
+
+    public int getMaxSize()
+    {
+        return this.maxSize;
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.get();
+    }
+
+    public long getEvictionCount()
+    {
+        return this.evictionCount.get();
+    }
+
+    public void clear()
+    {
+        synchronized (this.classes)
+        {
+            this.classes.clear();
+        }
+    }
+
+    private static class CacheKey
+    {
+        private final String javaPackage;
+        private final String className;
+        private final String source;
+        private final ClassLoader parentClassLoader;
+        private final int hashCode;
+
+        private CacheKey(String javaPackage, String className, String source, ClassLoader parentClassLoader)
+        {
+            this.javaPackage = javaPackage;
+            this.className = className;
+            this.source = source;
+            this.parentClassLoader = parentClassLoader;
+            this.hashCode = (31 * ((31 * ((31 * javaPackage.hashCode()) + className.hashCode())) + source.hashCode())) + System.identityHashCode(parentClassLoader);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof CacheKey))
+            {
+                return false;
+            }
+            CacheKey that = (CacheKey) other;
+            return (this.hashCode == that.hashCode) &&
+                    (this.parentClassLoader == that.parentClassLoader) &&
+                    this.javaPackage.equals(that.javaPackage) &&
+                    this.className.equals(that.className) &&
+                    this.source.equals(that.source);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.compiler;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.finos.legend.pure.runtime.java.compiled.generation.JavaPackageAndImportBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Persistent cache of the class files produced by compiling a compile group of generated Java
+ * sources. Each compile group is keyed by a content hash of its sources, the compiler options
+ * (including the size and modification time of each classpath file and of each class file in a
+ * classpath directory) and the key of the previously
+ * compiled group, so a change to a group invalidates that group and every group compiled after it.
+ * Only the most recent entry for each compile group is kept.
+ */
+public class JavaCompilationBuildCache
+{
+    private static final String COMPLETE_MARKER = ".complete";
+
+    private final Path directory;
+    private final Path outputDirectory;
+    private String compilerSignature;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public JavaCompilationBuildCache(Path directory)
+    {
+        this(directory, null);
+    }
+
+    /**
+     * @param directory       cache directory
+     * @param outputDirectory directory the generated classes are written to (may be null); generated
+     *                        classes found there on the classpath are not part of the cache key
+     */
+    public JavaCompilationBuildCache(Path directory, Path outputDirectory)
+    {
+        this.directory = directory;
+        this.outputDirectory = (outputDirectory == null) ? null : outputDirectory.toAbsolutePath().normalize();
+    }
+
+    public Path getDirectory()
+    {
+        return this.directory;
+    }
+
+    public long getHitCount()
+    {
+        return this.hitCount.get();
+    }
+
+    public long getMissCount()
+    {
+        return this.missCount.get();
+    }
+
+    /**
+     * Compute the cache key for a compile group.
+     *
+     * @param compileGroup compile group name
+     * @param javaSources  sources of the compile group
+     * @param previousKey  key of the previously compiled group (may be null)
+     * @return cache key
+     */
+    String computeKey(String compileGroup, Iterable<? extends StringJavaSource> javaSources, String previousKey)
+    {
+        MessageDigest digest = newDigest();
+        update(digest, getCompilerSignature());
+        update(digest, String.valueOf(compileGroup));
+        update(digest, (previousKey == null) ? "" : previousKey);
+        MutableList<StringJavaSource> sortedSources = Lists.mutable.<StringJavaSource>withAll(javaSources).sortThisBy(StringJavaSource::getName);
+        sortedSources.forEach(source ->
+        {
+            update(digest, source.getName());
+            update(digest, source.getCode());
+        });
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Load the cached class files for the given compile group and key into the file manager.
+     *
+     * @return whether there was a cache entry for the group and key
+     */
+    boolean loadClasses(String compileGroup, String key, MemoryFileManager fileManager) throws IOException
+    {
+        Path entryDirectory = getEntryDirectory(compileGroup, key);
+        if (!Files.exists(entryDirectory.resolve(COMPLETE_MARKER)))
+        {
+            this.missCount.incrementAndGet();
+            return false;
+        }
+        fileManager.loadClassesFromDirectory(entryDirectory);
+        this.hitCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Store the class files for the given compile group and key, replacing any previous entry for
+     * the group.
+     */
+    void storeClasses(String compileGroup, String key, Iterable<? extends ClassJavaSource> classJavaSources) throws IOException
+    {
+        Path groupDirectory = getGroupDirectory(compileGroup);
+        if (Files.isDirectory(groupDirectory))
+        {
+            try (DirectoryStream<Path> dirStream = Files.newDirectoryStream(groupDirectory))
+            {
+                for (Path entry : dirStream)
+                {
+                    deleteRecursively(entry);
+                }
+            }
+        }
+
+        Path tmpDirectory = groupDirectory.resolve(key + ".tmp");
+        for (ClassJavaSource source : classJavaSources)
+        {
+            Path path = tmpDirectory.resolve(source.getName().substring(1));
+            Files.createDirectories(path.getParent());
+            Files.write(path, source.getBytes());
+        }
+        Files.createDirectories(tmpDirectory);
+        Files.createFile(tmpDirectory.resolve(COMPLETE_MARKER));
+        Files.move(tmpDirectory, getEntryDirectory(compileGroup, key), StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path getGroupDirectory(String compileGroup)
+    {
+        // the hash suffix keeps groups whose sanitised names collide apart
+        String name = String.valueOf(compileGroup);
+        MessageDigest digest = newDigest();
+        update(digest, name);
+        return this.directory.resolve(name.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + toHex(digest.digest()).substring(0, 12));
+    }
+
+    private Path getEntryDirectory(String compileGroup, String key)
+    {
+        return getGroupDirectory(compileGroup).resolve(key);
+    }
+
+    private synchronized String getCompilerSignature()
+    {
+        if (this.compilerSignature == null)
+        {
+            this.compilerSignature = computeCompilerSignature(PureJavaCompiler.getDefaultCompileOptions(), this.outputDirectory);
+        }
+        return this.compilerSignature;
+    }
+
+    static String computeCompilerSignature(ListIterable<String> compileOptions, Path outputDirectory)
+    {
+        StringBuilder builder = new StringBuilder(System.getProperty("java.vendor")).append(' ').append(System.getProperty("java.version"));
+        for (int i = 0; i < compileOptions.size(); i++)
+        {
+            String option = compileOptions.get(i);
+            builder.append('\n').append(option);
+            if ("-classpath".equals(option) && (i + 1 < compileOptions.size()))
+            {
+                for (String classPathEntry : compileOptions.get(++i).split(File.pathSeparator))
+                {
+                    builder.append('\n').append(classPathEntry);
+                    Path path = Paths.get(classPathEntry);
+                    try
+                    {
+                        if (Files.isRegularFile(path))
+                        {
+                            builder.append(' ').append(Files.size(path)).append(' ').append(Files.getLastModifiedTime(path).toMillis());
+                        }
+                        else if (Files.isDirectory(path))
+                        {
+                            builder.append(' ').append(computeClassDirectorySignature(path, outputDirectory));
+                        }
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Hash the relative path, size and modification time of each class file in a classpath directory.
+     * If the directory is the output directory of this build, the generated classes written there are
+     * skipped, as they are the result of the compilation rather than an input to it.
+     */
+    private static String computeClassDirectorySignature(Path classDirectory, Path outputDirectory) throws IOException
+    {
+        Path directory = classDirectory.toAbsolutePath().normalize();
+        Path excluded = directory.equals(outputDirectory) ? directory.resolve(JavaPackageAndImportBuilder.platformJavaPackage().replace('.', File.separatorChar)) : null;
+        MutableList<Path> classFiles = Lists.mutable.empty();
+        try (Stream<Path> stream = Files.walk(directory))
+        {
+            stream.filter(p -> p.getFileName().toString().endsWith(".class") && ((excluded == null) || !p.startsWith(excluded)) && Files.isRegularFile(p))
+                    .forEach(classFiles::add);
+        }
+        classFiles.sortThis();
+
+        MessageDigest digest = newDigest();
+        for (Path classFile : classFiles)
+        {
+            update(digest, directory.relativize(classFile).toString().replace(File.separatorChar, '/'));
+            update(digest, Files.size(classFile) + " " + Files.getLastModifiedTime(classFile).toMillis());
+        }
+        return toHex(digest.digest());
+    }
+
+    private static void deleteRecursively(Path path) throws IOException
+    {
+        if (Files.isDirectory(path))
+        {
+            try (Stream<Path> stream = Files.walk(path))
+            {
+                for (Path p : (Iterable<Path>) stream.sorted(Comparator.reverseOrder())::iterator)
+                {
+                    Files.delete(p);
+                }
+            }
+        }
+        else
+        {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static MessageDigest newDigest()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+
+    private static String toHex(byte[] bytes)
+    {
+        StringBuilder builder = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+        {
+            builder.append(Character.forDigit((b >>> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString();
+    }
+}
@@ -140,6 +140,21 @@ public class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFil
         return source;
     }
 
+    void addClassJavaSources(Iterable<? extends ClassJavaSource> sources)
+    {
+        sources.forEach(source ->
+        {
+            String className = source.inferBinaryName();
+            ClassJavaSource oldSource = this.codeByName.put(className, source);
+            MutableList<ClassJavaSource> packageSources = this.codeByPackage.getIfAbsentPut(getPackageFromClassName(className), Lists.mutable::empty);
+            if (oldSource != null)
+            {
+                packageSources.remove(oldSource);
+            }
+            packageSources.add(source);
+        });
+    }
+
     ClassJavaSource getClassJavaSourceByName(String name)
     {
         return getClassJavaSourceByName(name, false);
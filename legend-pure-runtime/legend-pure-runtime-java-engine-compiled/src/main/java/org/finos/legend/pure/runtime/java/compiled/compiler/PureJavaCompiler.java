@@ -65,6 +65,48 @@ public class PureJavaCompiler
         return this.globalClassLoader;
     }
 
+    /**
+     * Create a new file manager for compiling sources in isolation from this compiler's other classes. The new file
+     * manager sees the core classes and the classes of the given file managers (but not their parents), and its
+     * classes are not visible to this compiler until they are added with {@link #addClasses}.
+     *
+     * @param dependencies file managers whose classes should be visible
+     * @return new file manager
+     */
+    public MemoryFileManager newFileManager(Iterable<? extends MemoryFileManager> dependencies)
+    {
+        MemoryFileManager dependencyManager = new MemoryFileManager(this.compiler, this.coreManager, null);
+        dependencies.forEach(d -> dependencyManager.addClassJavaSources(d.getAllClassJavaSources(false)));
+        return new MemoryFileManager(this.compiler, dependencyManager, null);
+    }
+
+    /**
+     * Compile sources into a file manager created by {@link #newFileManager}. This may be called concurrently for
+     * different file managers.
+     *
+     * @param javaSources sources to compile
+     * @param fileManager file manager to compile into
+     * @throws PureJavaCompileException if compilation fails
+     */
+    public void compile(Iterable<? extends StringJavaSource> javaSources, MemoryFileManager fileManager) throws PureJavaCompileException
+    {
+        compile(this.compiler, javaSources, fileManager);
+    }
+
+    /**
+     * Add the classes of a file manager created by {@link #newFileManager} to this compiler. Classes with the same
+     * name as an existing class replace it.
+     *
+     * @param fileManager file manager whose classes should be added
+     * @return new class loader
+     */
+    public synchronized MemoryClassLoader addClasses(MemoryFileManager fileManager)
+    {
+        this.dynamicManager.addClassJavaSources(fileManager.getAllClassJavaSources(false));
+        this.globalClassLoader = new MemoryClassLoader(this.dynamicManager, this.coreClassLoader);
+        return this.globalClassLoader;
+    }
+
     public MemoryClassLoader getCoreClassLoader()
     {
         return this.coreClassLoader;
@@ -118,6 +160,11 @@ public class PureJavaCompiler
         }
     }
 
+    static MutableList<String> getDefaultCompileOptions()
+    {
+        return buildCompileOptions(getClassPath(), null);
+    }
+
     private static MutableList<String> buildCompileOptions(String classPath, Integer sourceVersion)
     {
         MutableList<String> options = Lists.mutable.empty();
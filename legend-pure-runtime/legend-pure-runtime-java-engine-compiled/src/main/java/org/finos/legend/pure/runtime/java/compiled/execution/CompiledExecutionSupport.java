@@ -27,6 +27,7 @@ import org.finos.legend.pure.m3.serialization.runtime.SourceRegistry;
 import org.finos.legend.pure.m3.statelistener.ExecutionActivityListener;
 import org.finos.legend.pure.m3.statelistener.VoidExecutionActivityListener;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.compiled.compiler.DynamicJavaCompilationCache;
 import org.finos.legend.pure.runtime.java.compiled.compiler.JavaCompilerState;
 import org.finos.legend.pure.runtime.java.compiled.compiler.MemoryFileManager;
 import org.finos.legend.pure.runtime.java.compiled.delta.MetadataProvider;
@@ -55,6 +56,7 @@ public class CompiledExecutionSupport implements ExecutionSupport
 
     private final FunctionCache functionCache;
     private final ClassCache classCache;
+    private final DynamicJavaCompilationCache dynamicJavaCompilationCache;
 
     private final MetadataAccessor metadataAccessor;
     private final MetadataProvider metadataProvider;
@@ -71,6 +73,11 @@ public class CompiledExecutionSupport implements ExecutionSupport
     }
 
     public CompiledExecutionSupport(JavaCompilerState javaCompilerState, CompiledProcessorSupport processorSupport, SourceRegistry sourceRegistry, RepositoryCodeStorage codeStorage, IncrementalCompiler incrementalCompiler, ExecutionActivityListener executionActivityListener, ConsoleCompiled console, FunctionCache functionCache, ClassCache classCache, MetadataProvider metadataProvider, MutableSet<String> extraSupportedTypes, MutableList<CompiledExtension> compiledExtensions, RuntimeOptions options)
+    {
+        this(javaCompilerState, processorSupport, sourceRegistry, codeStorage, incrementalCompiler, executionActivityListener, console, functionCache, classCache, null, metadataProvider, extraSupportedTypes, compiledExtensions, options);
+    }
+
+    public CompiledExecutionSupport(JavaCompilerState javaCompilerState, CompiledProcessorSupport processorSupport, SourceRegistry sourceRegistry, RepositoryCodeStorage codeStorage, IncrementalCompiler incrementalCompiler, ExecutionActivityListener executionActivityListener, ConsoleCompiled console, FunctionCache functionCache, ClassCache classCache, DynamicJavaCompilationCache dynamicJavaCompilationCache, MetadataProvider metadataProvider, MutableSet<String> extraSupportedTypes, MutableList<CompiledExtension> compiledExtensions, RuntimeOptions options)
     {
         this.javaCompilerState = javaCompilerState;
         this.sourceRegistry = sourceRegistry;
@@ -78,6 +85,7 @@ public class CompiledExecutionSupport implements ExecutionSupport
         this.incrementalCompiler = incrementalCompiler;
         this.functionCache = functionCache;
         this.classCache = (classCache == null) ? new ClassCache(javaCompilerState.getClassLoader()) : ClassCache.reconcileWithClassLoader(classCache, javaCompilerState.getClassLoader());
+        this.dynamicJavaCompilationCache = (dynamicJavaCompilationCache == null) ? new DynamicJavaCompilationCache() : dynamicJavaCompilationCache;
         this.metadataProvider = metadataProvider;
         this.executionActivityListener = (executionActivityListener == null) ? VoidExecutionActivityListener.VOID_EXECUTION_ACTIVITY_LISTENER : executionActivityListener;
         this.console = console;
@@ -176,6 +184,16 @@ public class CompiledExecutionSupport implements ExecutionSupport
         return this.classCache;
     }
 
+    /**
+     * Cache of classes compiled when reactivating value specifications and lambdas which cannot be
+     * reactivated without Java compilation. Its hit, miss and eviction counts show how often
+     * execution falls back to the Java compiler.
+     */
+    public DynamicJavaCompilationCache getDynamicJavaCompilationCache()
+    {
+        return this.dynamicJavaCompilationCache;
+    }
+
     public void registerExecutionEndListener(ExecutionEndListener executionEndListener)
     {
         this.executionListeners.registerExecutionEndListener(executionEndListener);
@@ -493,8 +493,10 @@ public class CompiledProcessorSupport implements ProcessorSupport
     @Override
     public boolean type_subTypeOf(CoreInstance type, CoreInstance possibleSuperType)
     {
-        //todo - optimize
-        return Type.subTypeOf(type, possibleSuperType, this);
+        return (type == possibleSuperType) ||
+                (type == type_BottomType()) ||
+                (possibleSuperType == type_TopType()) ||
+                this.context.hasGeneralization(type, possibleSuperType, t -> Type.getGeneralizationResolutionOrder(t, this));
     }
 
     @Override
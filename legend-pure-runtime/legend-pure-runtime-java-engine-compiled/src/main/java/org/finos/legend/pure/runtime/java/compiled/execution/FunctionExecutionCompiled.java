@@ -147,6 +147,13 @@ public class FunctionExecutionCompiled implements FunctionExecution, PureRuntime
         return this.runtime != null && this.runtime.isFullyInitialized();
     }
 
+    @Override
+    public boolean supportsConcurrentExecution()
+    {
+        // each execution has its own execution support; the function, class and metadata caches are thread-safe
+        return true;
+    }
+
     @Override
     public Console getConsole()
     {
@@ -170,6 +177,7 @@ public class FunctionExecutionCompiled implements FunctionExecution, PureRuntime
                 this.consoleCompiled,
                 this.javaCompilerEventHandler.getFunctionCache(),
                 this.javaCompilerEventHandler.getClassCache(),
+                this.javaCompilerEventHandler.getDynamicJavaCompilationCache(),
                 this.metadataCompilerEventHandler,
                 this.extraSupportedTypes,
                 this.extensions,
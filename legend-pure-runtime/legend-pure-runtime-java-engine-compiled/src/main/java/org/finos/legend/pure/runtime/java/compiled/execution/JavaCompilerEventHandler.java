@@ -23,6 +23,7 @@ import org.finos.legend.pure.m3.serialization.runtime.Message;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
 import org.finos.legend.pure.m3.serialization.runtime.Source;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.compiled.compiler.DynamicJavaCompilationCache;
 import org.finos.legend.pure.runtime.java.compiled.compiler.JavaCompilerState;
 import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompiler;
 import org.finos.legend.pure.runtime.java.compiled.extension.CompiledExtension;
@@ -50,6 +51,7 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
     //Lifecycle of the compiled graph - clear each time we recompile
     private FunctionCache sharedFunctionCache = new FunctionCache();
     private ClassCache classCache;
+    private DynamicJavaCompilationCache dynamicJavaCompilationCache;
 
     private final JavaCompilerEventObserver observer;
 
@@ -65,6 +67,7 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
         this.observer = observer;
         this.generateAndCompile = new GenerateAndCompile(this.message, this.observer);
         this.classCache = new ClassCache(this.generateAndCompile.getPureJavaCompiler().getClassLoader());
+        this.dynamicJavaCompilationCache = new DynamicJavaCompilationCache();
         this.includePureStackTrace = includePureStackTrace;
         this.extensions = extensions;
     }
@@ -95,6 +98,7 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
     {
         consolidatedCoreInstances.asLazy().selectInstancesOf(Type.class).forEach(this.classCache::remove);
         this.sharedFunctionCache = new FunctionCache();
+        this.dynamicJavaCompilationCache = new DynamicJavaCompilationCache();
     }
 
     public void generateAndCompileJavaCode(SortedMap<String, ? extends RichIterable<? extends Source>> compiledSourcesByRepo)
@@ -104,6 +108,7 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
 
         this.sharedFunctionCache = new FunctionCache();
         this.classCache = new ClassCache(getJavaCompiler().getClassLoader());
+        this.dynamicJavaCompilationCache = new DynamicJavaCompilationCache();
     }
 
     @Override
@@ -113,6 +118,7 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
         this.generateAndCompile = new GenerateAndCompile(this.message, this.observer);
         this.sharedFunctionCache = new FunctionCache();
         this.classCache = new ClassCache(getJavaCompiler().getClassLoader());
+        this.dynamicJavaCompilationCache = new DynamicJavaCompilationCache();
     }
 
 
@@ -144,6 +150,11 @@ public class JavaCompilerEventHandler implements CompilerEventHandler
         return this.classCache;
     }
 
+    public DynamicJavaCompilationCache getDynamicJavaCompilationCache()
+    {
+        return this.dynamicJavaCompilationCache;
+    }
+
 
     private JavaSourceCodeGenerator getJavaSourceCodeGenerator()
     {
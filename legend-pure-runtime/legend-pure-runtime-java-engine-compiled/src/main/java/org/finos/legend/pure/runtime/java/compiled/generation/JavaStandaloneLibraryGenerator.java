@@ -29,6 +29,7 @@ import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
 import org.finos.legend.pure.m3.serialization.runtime.RepositoryComparator;
 import org.finos.legend.pure.m3.serialization.runtime.Source;
 import org.finos.legend.pure.runtime.java.compiled.compiler.Compile;
+import org.finos.legend.pure.runtime.java.compiled.compiler.JavaCompilationBuildCache;
 import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompileException;
 import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompiler;
 import org.finos.legend.pure.runtime.java.compiled.compiler.StringJavaSource;
@@ -43,6 +44,7 @@ import java.nio.file.Path;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.jar.JarOutputStream;
 
@@ -322,10 +324,20 @@ public class JavaStandaloneLibraryGenerator
         return compileOnly(javaSources.keyValuesView(), externalizableSources, addExternalAPI, log);
     }
 
+    public static PureJavaCompiler compileOnly(MapIterable<? extends String, ? extends Iterable<? extends StringJavaSource>> javaSources, ListIterable<? extends StringJavaSource> externalizableSources, boolean addExternalAPI, JavaCompilationBuildCache buildCache, Function<? super String, ? extends Iterable<? extends String>> groupDependencies, int parallelism, Log log) throws PureJavaCompileException
+    {
+        return compileOnly(javaSources.keyValuesView(), externalizableSources, addExternalAPI, buildCache, groupDependencies, parallelism, log);
+    }
+
     public static PureJavaCompiler compileOnly(Iterable<? extends Pair<? extends String, ? extends Iterable<? extends StringJavaSource>>> javaSources, ListIterable<? extends StringJavaSource> externalizableSources, boolean addExternalAPI, Log log) throws PureJavaCompileException
     {
-        Compile compile = new Compile(new PureJavaCompiler(new Message("")), VoidJavaCompilerEventObserver.VOID_JAVA_COMPILER_EVENT_OBSERVER);
-        compile.compileJavaCodeForSources(javaSources, log);
+        return compileOnly(javaSources, externalizableSources, addExternalAPI, null, null, 1, log);
+    }
+
+    public static PureJavaCompiler compileOnly(Iterable<? extends Pair<? extends String, ? extends Iterable<? extends StringJavaSource>>> javaSources, ListIterable<? extends StringJavaSource> externalizableSources, boolean addExternalAPI, JavaCompilationBuildCache buildCache, Function<? super String, ? extends Iterable<? extends String>> groupDependencies, int parallelism, Log log) throws PureJavaCompileException
+    {
+        Compile compile = new Compile(new PureJavaCompiler(new Message("")), VoidJavaCompilerEventObserver.VOID_JAVA_COMPILER_EVENT_OBSERVER, buildCache);
+        compile.compileJavaCodeForSources(javaSources, groupDependencies, parallelism, log);
         if (addExternalAPI)
         {
             compile.compileExternalizableAPI(externalizableSources);
@@ -34,11 +34,14 @@ import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
 import org.finos.legend.pure.m3.serialization.runtime.PureRuntimeBuilder;
 import org.finos.legend.pure.m3.serialization.runtime.cache.CacheState;
 import org.finos.legend.pure.m3.serialization.runtime.cache.ClassLoaderPureGraphCache;
+import org.finos.legend.pure.runtime.java.compiled.compiler.JavaCompilationBuildCache;
 import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompiler;
 import org.finos.legend.pure.runtime.java.compiled.extension.CompiledExtensionLoader;
 import org.finos.legend.pure.runtime.java.compiled.generation.Generate;
 import org.finos.legend.pure.runtime.java.compiled.generation.JavaPackageAndImportBuilder;
 import org.finos.legend.pure.runtime.java.compiled.generation.JavaStandaloneLibraryGenerator;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.BlockCompressionCodec;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.BlockCompressionCodecs;
 import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphSerializer;
 
 import java.io.File;
@@ -46,6 +49,7 @@ import java.net.URL;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Set;
+import java.util.function.Function;
 
 public class JavaCodeGeneration
 {
@@ -113,6 +117,28 @@ public class JavaCodeGeneration
                             File classesDirectory,
                             File targetDirectory,
                             Log log)
+    {
+        doIt(repositories, excludedRepositories, extraRepositories, generationType, skip, addExternalAPI, externalAPIPackage, generateMetadata, useSingleDir, generateSources, generateTest, preventJavaCompilation, false, 1, null, classesDirectory, targetDirectory, log);
+    }
+
+    public static void doIt(Set<String> repositories,
+                            Set<String> excludedRepositories,
+                            Set<String> extraRepositories,
+                            JavaCodeGeneration.GenerationType generationType,
+                            boolean skip,
+                            boolean addExternalAPI,
+                            String externalAPIPackage,
+                            boolean generateMetadata,
+                            boolean useSingleDir,
+                            boolean generateSources,
+                            boolean generateTest,
+                            boolean preventJavaCompilation,
+                            boolean useJavaCompilationCache,
+                            int javaCompilationParallelism,
+                            String metadataCompression,
+                            File classesDirectory,
+                            File targetDirectory,
+                            Log log)
     {
         // DO NOT DELETE - Needed to avoid circular calls later during static initialization
         SetIterable<String> res = JavaPackageAndImportBuilder.M3_CLASSES;
@@ -131,6 +157,8 @@ public class JavaCodeGeneration
         log.info("  Extra repositories: " + extraRepositories);
         log.info("  Generation type: " + generationType);
         log.info("  Generate External API: '" + addExternalAPI + "' in package '" + externalAPIPackage + "'");
+        log.info("  Java compilation parallelism: " + javaCompilationParallelism);
+        log.info("  Metadata compression: " + ((metadataCompression == null) ? "none" : metadataCompression));
 
         try
         {
@@ -141,6 +169,7 @@ public class JavaCodeGeneration
             MutableSet<String> selectedRepositories = getSelectedRepositories(allRepositories, repositories, excludedRepositories);
             log.info(selectedRepositories.makeString("  Selected repositories: ", ", ", ""));
 
+            BlockCompressionCodec metadataCompressionCodec = (metadataCompression == null) ? null : BlockCompressionCodecs.getCodec(metadataCompression);
             Path distributedMetadataDirectory;
             if (!generateMetadata)
             {
@@ -172,14 +201,24 @@ public class JavaCodeGeneration
             }
 
             // Generate metadata and Java sources
-            Generate generate = generate(System.nanoTime(), allRepositories, selectedRepositories, distributedMetadataDirectory, codegenDirectory, generateMetadata, addExternalAPI, externalAPIPackage, generationType, generateSources, log);
+            Generate generate = generate(System.nanoTime(), allRepositories, selectedRepositories, distributedMetadataDirectory, metadataCompressionCodec, codegenDirectory, generateMetadata, addExternalAPI, externalAPIPackage, generationType, generateSources, log);
 
             // Compile Java sources
             if (!preventJavaCompilation)
             {
                 long startCompilation = System.nanoTime();
                 log.info("  Start compiling Java classes");
-                PureJavaCompiler compiler = compileJavaSources(startCompilation, generate, addExternalAPI, log);
+                JavaCompilationBuildCache buildCache;
+                if (useJavaCompilationCache)
+                {
+                    buildCache = new JavaCompilationBuildCache(targetDirectory.toPath().resolve(generateTest ? "java-test-compilation-cache" : "java-compilation-cache"), classesDirectory.toPath());
+                    log.info("  Java compilation cache directory: " + buildCache.getDirectory());
+                }
+                else
+                {
+                    buildCache = null;
+                }
+                PureJavaCompiler compiler = compileJavaSources(startCompilation, generate, addExternalAPI, buildCache, getCompileGroupDependencies(allRepositories), javaCompilationParallelism, log);
                 writeJavaClassFiles(startCompilation, compiler, classesDirectory, log);
                 log.info(String.format("  Finished compiling Java classes (%.9fs)", durationSinceInSeconds(startCompilation)));
             }
@@ -271,7 +310,7 @@ public class JavaCodeGeneration
         return selected;
     }
 
-    private static Generate generate(long start, CodeRepositorySet allRepositories, SetIterable<String> selectedRepositories, Path distributedMetadataDirectory, Path codegenDirectory, boolean generateMetadata, boolean addExternalAPI, String externalAPIPackage, GenerationType generationType, boolean generateSources, Log log)
+    private static Generate generate(long start, CodeRepositorySet allRepositories, SetIterable<String> selectedRepositories, Path distributedMetadataDirectory, BlockCompressionCodec metadataCompressionCodec, Path codegenDirectory, boolean generateMetadata, boolean addExternalAPI, String externalAPIPackage, GenerationType generationType, boolean generateSources, Log log)
     {
         // Initialize runtime
         PureRuntime runtime = initializeRuntime(start, allRepositories, selectedRepositories, log);
@@ -283,12 +322,12 @@ public class JavaCodeGeneration
             {
                 case monolithic:
                 {
-                    generateMetadata(start, runtime, distributedMetadataDirectory, log);
+                    generateMetadata(start, runtime, distributedMetadataDirectory, metadataCompressionCodec, log);
                     break;
                 }
                 case modular:
                 {
-                    generateModularMetadata(start, runtime, selectedRepositories, distributedMetadataDirectory, log);
+                    generateModularMetadata(start, runtime, selectedRepositories, distributedMetadataDirectory, metadataCompressionCodec, log);
                     break;
                 }
                 default:
@@ -377,13 +416,13 @@ public class JavaCodeGeneration
         }
     }
 
-    private static void generateMetadata(long start, PureRuntime runtime, Path distributedMetadataDirectory, Log log)
+    private static void generateMetadata(long start, PureRuntime runtime, Path distributedMetadataDirectory, BlockCompressionCodec metadataCompressionCodec, Log log)
     {
         String writeMetadataStep = "writing distributed Pure metadata";
         long writeMetadataStart = startStep(writeMetadataStep, log);
         try
         {
-            DistributedBinaryGraphSerializer.newSerializer(runtime).serializeToDirectory(distributedMetadataDirectory);
+            DistributedBinaryGraphSerializer.newSerializer(runtime).serializeToDirectory(distributedMetadataDirectory, metadataCompressionCodec);
             completeStep(writeMetadataStep, writeMetadataStart, log);
         }
         catch (Exception e)
@@ -392,7 +431,7 @@ public class JavaCodeGeneration
         }
     }
 
-    private static void generateModularMetadata(long start, PureRuntime runtime, Iterable<String> repositoriesForMetadata, Path distributedMetadataDirectory, Log log)
+    private static void generateModularMetadata(long start, PureRuntime runtime, Iterable<String> repositoriesForMetadata, Path distributedMetadataDirectory, BlockCompressionCodec metadataCompressionCodec, Log log)
     {
         String writeMetadataStep = "writing distributed Pure metadata";
         long writeMetadataStart = startStep(writeMetadataStep, log);
@@ -400,7 +439,7 @@ public class JavaCodeGeneration
         {
             for (String repository : repositoriesForMetadata)
             {
-                generateModularMetadata(start, runtime, repository, distributedMetadataDirectory, log);
+                generateModularMetadata(start, runtime, repository, distributedMetadataDirectory, metadataCompressionCodec, log);
             }
             completeStep(writeMetadataStep, writeMetadataStart, log);
         }
@@ -410,13 +449,13 @@ public class JavaCodeGeneration
         }
     }
 
-    private static void generateModularMetadata(long start, PureRuntime runtime, String repository, Path distributedMetadataDirectory, Log log)
+    private static void generateModularMetadata(long start, PureRuntime runtime, String repository, Path distributedMetadataDirectory, BlockCompressionCodec metadataCompressionCodec, Log log)
     {
         String writeMetadataStep = "writing distributed Pure metadata for " + repository;
         long writeMetadataStart = startStep(writeMetadataStep, log);
         try
         {
-            DistributedBinaryGraphSerializer.newSerializer(runtime, repository).serializeToDirectory(distributedMetadataDirectory);
+            DistributedBinaryGraphSerializer.newSerializer(runtime, repository).serializeToDirectory(distributedMetadataDirectory, metadataCompressionCodec);
             completeStep(writeMetadataStep, writeMetadataStart, log);
         }
         catch (Exception e)
@@ -425,13 +464,29 @@ public class JavaCodeGeneration
         }
     }
 
-    private static PureJavaCompiler compileJavaSources(long start, Generate generate, boolean addExternalAPI, Log log)
+    private static Function<String, RichIterable<String>> getCompileGroupDependencies(CodeRepositorySet allRepositories)
+    {
+        // compile groups are repositories; anything else (e.g., sources outside a repository) depends on all repositories
+        return compileGroup ->
+        {
+            CodeRepository repository = (compileGroup == null) ? null : allRepositories.getOptionalRepository(compileGroup).orElse(null);
+            return (repository == null) ?
+                    allRepositories.getRepositoryNames() :
+                    allRepositories.getRepositories().select(r -> (r != repository) && repository.isVisible(r)).collect(CodeRepository::getName);
+        };
+    }
+
+    private static PureJavaCompiler compileJavaSources(long start, Generate generate, boolean addExternalAPI, JavaCompilationBuildCache buildCache, Function<String, RichIterable<String>> groupDependencies, int parallelism, Log log)
     {
         String compilationStep = "Pure compiled mode Java code compilation";
         long compilationStart = startStep(compilationStep, log);
         try
         {
-            PureJavaCompiler compiler = JavaStandaloneLibraryGenerator.compileOnly(generate.getJavaSourcesByGroup(), generate.getExternalizableSources(), addExternalAPI, log);
+            PureJavaCompiler compiler = JavaStandaloneLibraryGenerator.compileOnly(generate.getJavaSourcesByGroup(), generate.getExternalizableSources(), addExternalAPI, buildCache, groupDependencies, parallelism, log);
+            if (buildCache != null)
+            {
+                log.info("    Java compilation cache: " + buildCache.getHitCount() + " compile group(s) reused, " + buildCache.getMissCount() + " compiled");
+            }
             completeStep(compilationStep, compilationStart, log);
             return compiler;
         }
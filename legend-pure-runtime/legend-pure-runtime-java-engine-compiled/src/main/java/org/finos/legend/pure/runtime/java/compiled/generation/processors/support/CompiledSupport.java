@@ -52,11 +52,7 @@ import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.m4.coreinstance.compileState.CompileState;
 import org.finos.legend.pure.m4.coreinstance.primitive.date.PureDate;
 import org.finos.legend.pure.m4.exception.PureException;
-import org.finos.legend.pure.runtime.java.compiled.compiler.MemoryClassLoader;
-import org.finos.legend.pure.runtime.java.compiled.compiler.MemoryFileManager;
 import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompileException;
-import org.finos.legend.pure.runtime.java.compiled.compiler.PureJavaCompiler;
-import org.finos.legend.pure.runtime.java.compiled.compiler.StringJavaSource;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledExecutionSupport;
 import org.finos.legend.pure.runtime.java.compiled.execution.CompiledProcessorSupport;
 import org.finos.legend.pure.runtime.java.compiled.execution.ConsoleCompiled;
@@ -80,8 +76,6 @@ import org.json.simple.JSONValue;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import javax.tools.JavaCompiler;
-import javax.tools.ToolProvider;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -1582,25 +1576,18 @@ public class CompiledSupport
                 "}" +
                 "}";
 
-        MemoryFileManager fileManager = ((CompiledExecutionSupport) es).getMemoryFileManager();
-        MutableList<StringJavaSource> javaClasses = Lists.mutable.empty();
-        javaClasses.add(StringJavaSource.newStringJavaSource("temp", name, _class));
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        MemoryFileManager manager = new MemoryFileManager(compiler, fileManager, null);
-
+        Class<?> realClass;
         try
         {
-            PureJavaCompiler.compile(compiler, javaClasses, manager);
+            realClass = ((CompiledExecutionSupport) es).getDynamicJavaCompilationCache().getIfAbsentCompile("temp", name, _class, ((CompiledExecutionSupport) es).getMemoryFileManager(), globalClassLoader);
         }
-        catch (PureJavaCompileException e)
+        catch (PureJavaCompileException | ClassNotFoundException e)
         {
             throw new RuntimeException(e);
         }
 
-        ClassLoader cl = new MemoryClassLoader(manager, globalClassLoader);
         try
         {
-            Class<?> realClass = cl.loadClass("temp" + "." + name);
             return realClass.getMethod("build", MutableMap.class, IntObjectMap.class).invoke(null, processorContext.getObjectToPassToDynamicallyGeneratedCode(), processorContext.getLocalLambdas());
         }
         catch (Exception e)
@@ -1612,7 +1599,6 @@ public class CompiledSupport
 
     public static Object dynamicallyEvaluateValueSpecification(CoreInstance valueSpecification, PureMap lambdaOpenVariablesMap, ExecutionSupport es)
     {
-        MemoryFileManager fileManager = ((CompiledExecutionSupport) es).getMemoryFileManager();
         ClassLoader globalClassLoader = ((CompiledExecutionSupport) es).getClassLoader();
 
         CompiledProcessorSupport compiledSupport = new CompiledProcessorSupport(globalClassLoader, ((CompiledExecutionSupport) es).getMetadata(), ((CompiledExecutionSupport) es).getExtraSupportedTypes());
@@ -1670,13 +1656,21 @@ public class CompiledSupport
                 "}\n";
 
         String javaPackage = JavaPackageAndImportBuilder.buildPackageForPackageableElement(valueSpecification);
-        ListIterable<StringJavaSource> javaClasses = Lists.immutable.with(StringJavaSource.newStringJavaSource(javaPackage, name, _class));
-        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-        MemoryFileManager manager = new MemoryFileManager(compiler, fileManager, null);
-
+        Class<?> realClass;
         try
         {
-            PureJavaCompiler.compile(compiler, javaClasses, manager);
+            realClass = ((CompiledExecutionSupport) es).getDynamicJavaCompilationCache().getIfAbsentCompile(javaPackage, name, _class, ((CompiledExecutionSupport) es).getMemoryFileManager(), globalClassLoader);
+        }
+        catch (ClassNotFoundException e)
+        {
+            StringBuilder message = new StringBuilder("Error dynamically evaluating value specification");
+            SourceInformation valueSpecSourceInfo = valueSpecification.getSourceInformation();
+            if (valueSpecSourceInfo != null)
+            {
+                valueSpecSourceInfo.appendMessage(message.append(" (from ")).append(')');
+            }
+            message.append(": ").append(e.getMessage());
+            throw new RuntimeException(message.toString(), e);
         }
         catch (Exception e)
         {
@@ -1690,10 +1684,8 @@ public class CompiledSupport
             throw new RuntimeException(message.toString(), e);
         }
 
-        ClassLoader cl = new MemoryClassLoader(manager, globalClassLoader);
         try
         {
-            Class<?> realClass = cl.loadClass(javaPackage + "." + name);
             return realClass.getMethod("doProcess", MapIterable.class, MutableMap.class, IntObjectMap.class, ExecutionSupport.class).invoke(null, openVars, processorContext.getObjectToPassToDynamicallyGeneratedCode(), processorContext.getLocalLambdas(), es);
         }
         catch (Exception e)
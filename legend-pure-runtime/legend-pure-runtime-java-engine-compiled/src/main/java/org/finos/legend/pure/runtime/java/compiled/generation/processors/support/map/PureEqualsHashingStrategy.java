@@ -20,6 +20,7 @@ import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
 import org.eclipse.collections.impl.set.strategy.mutable.UnifiedSetWithHashingStrategy;
 import org.finos.legend.pure.runtime.java.compiled.generation.processors.support.CompiledSupport;
+import org.finos.legend.pure.runtime.java.shared.map.PersistentMutableMap;
 
 /**
  * PURE hashing strategy.
@@ -49,4 +50,9 @@ public class PureEqualsHashingStrategy implements HashingStrategy<Object>
     {
         return new UnifiedMapWithHashingStrategy<>(HASHING_STRATEGY);
     }
+
+    public static <K, V> PersistentMutableMap<K, V> newPersistentMutableMap()
+    {
+        return PersistentMutableMap.newMap(HASHING_STRATEGY);
+    }
 }
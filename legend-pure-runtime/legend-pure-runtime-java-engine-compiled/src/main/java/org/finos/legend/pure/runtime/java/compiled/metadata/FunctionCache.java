@@ -35,6 +35,7 @@ public class FunctionCache
 {
     private final ConcurrentMutableMap<Type, ConcurrentMutableMap<String, SharedPureFunction<?>>> classPropertyJavaFunction = ConcurrentHashMap.newMap();
     private final ConcurrentMutableMap<Function<?>, SharedPureFunction<?>> pureFunctionJavaFunction = ConcurrentHashMap.newMap();
+    private final ConcurrentMutableMap<Object, Object> extensionCaches = ConcurrentHashMap.newMap();
 
     @Deprecated
     public SharedPureFunction<?> getIfAbsentPutFunctionForClassProperty(CoreInstance srcType, CoreInstance propertyFunction, ClassLoader classLoader)
@@ -91,4 +92,19 @@ public class FunctionCache
     {
         return this.pureFunctionJavaFunction.getIfAbsentPut(pureFunction, sharedPureFunctionFunctionCreator);
     }
+
+    /**
+     * Get a cache belonging to an extension, creating it if it does not exist. Extension caches have the same lifecycle
+     * as this cache, so they are discarded whenever the compiled graph is (e.g., on recompilation).
+     *
+     * @param key          key identifying the cache
+     * @param cacheCreator creates the cache if it does not exist
+     * @param <T>          cache type
+     * @return extension cache
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getIfAbsentPutExtensionCache(Object key, Function0<? extends T> cacheCreator)
+    {
+        return (T) this.extensionCaches.getIfAbsentPut(key, cacheCreator);
+    }
 }
@@ -0,0 +1,62 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.metadata;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
+import org.finos.legend.pure.m3.tools.footprint.FootprintAnalyzer;
+import org.finos.legend.pure.m3.tools.footprint.FootprintReport;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphDeserializer;
+
+/**
+ * Heap footprint of compiled metadata. Analysing metadata loads all instances of the analysed
+ * classifiers, so for lazy metadata the footprint is that of fully loaded metadata.
+ */
+public class MetadataFootprint
+{
+    private MetadataFootprint()
+    {
+        // static utility class
+    }
+
+    public static FootprintReport analyze(MetadataLazy metadata)
+    {
+        return analyze(metadata, metadata.getClassifiers());
+    }
+
+    public static FootprintReport analyze(Metadata metadata, Iterable<String> classifiers)
+    {
+        // compiled instances do not know their classifier, so record it as the instances are loaded
+        MutableMap<CoreInstance, String> classifierPaths = UnifiedMapWithHashingStrategy.newMap(HashingStrategies.identityStrategy());
+        MutableList<CoreInstance> instances = Lists.mutable.empty();
+        for (String classifier : Lists.mutable.withAll(classifiers).sortThis())
+        {
+            metadata.getMetadata(classifier).forEachValue(instance ->
+            {
+                if (!classifierPaths.containsKey(instance))
+                {
+                    classifierPaths.put(instance, classifier);
+                    instances.add(instance);
+                }
+            });
+        }
+        FootprintAnalyzer analyzer = new FootprintAnalyzer(classifierPaths::get, o -> (o instanceof Metadata) || (o instanceof DistributedBinaryGraphDeserializer));
+        return analyzer.analyze(instances);
+    }
+}
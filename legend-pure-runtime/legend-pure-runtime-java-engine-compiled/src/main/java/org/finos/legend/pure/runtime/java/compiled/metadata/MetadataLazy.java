@@ -43,6 +43,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 public class MetadataLazy implements Metadata
 {
@@ -142,6 +144,61 @@ public class MetadataLazy implements Metadata
         return result;
     }
 
+    /**
+     * All classifiers with instances in the metadata.
+     *
+     * @return classifier paths
+     */
+    public RichIterable<String> getClassifiers()
+    {
+        return this.deserializer.getClassifiers();
+    }
+
+    /**
+     * Load all instances of all classifiers, in parallel, using the common fork join pool.
+     */
+    public void warmUp()
+    {
+        warmUp(this.deserializer.getClassifiers());
+    }
+
+    /**
+     * Load all instances of the given classifiers, in parallel, using the common fork join pool.
+     * Unknown classifiers are ignored.
+     *
+     * @param classifiers classifiers to load
+     */
+    public void warmUp(Iterable<String> classifiers)
+    {
+        warmUp(classifiers, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Load all instances of the given classifiers, in parallel, using the given fork join pool.
+     * Each task reads the instances of one classifier from one file, in file order. Unknown
+     * classifiers are ignored.
+     *
+     * @param classifiers classifiers to load
+     * @param pool        pool to run the tasks in
+     */
+    public void warmUp(Iterable<String> classifiers, ForkJoinPool pool)
+    {
+        Objects.requireNonNull(pool, "pool may not be null");
+        MutableList<ForkJoinTask<?>> tasks = Lists.mutable.empty();
+        classifiers.forEach(classifier ->
+        {
+            if (hasClassifier(classifier))
+            {
+                ConcurrentMutableMap<String, CoreInstance> classifierCache = getClassifierInstanceCache(classifier);
+                this.deserializer.getClassifierInstanceIdsByFile(classifier).forEach(ids -> tasks.add(ForkJoinTask.adapt(() -> loadInstances(classifier, ids, classifierCache))));
+            }
+        });
+        if (tasks.notEmpty())
+        {
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        }
+    }
+
     public Object valueToObject(RValue value)
     {
         return (value == null) ? null : value.visit(this.valueToObjectVisitor);
@@ -261,16 +318,21 @@ public class MetadataLazy implements Metadata
         ConcurrentMutableMap<String, CoreInstance> classifierCache = getClassifierInstanceCache(classifier);
         if (classifierCache.size() < instanceIds.size())
         {
-            MutableList<String> notLoadedIds = instanceIds.reject(classifierCache::containsKey, Lists.mutable.empty());
-            if (notLoadedIds.notEmpty())
-            {
-                ListIterable<Obj> objs = getInstances(classifier, notLoadedIds);
-                objs.forEach(obj -> classifierCache.getIfAbsentPut(obj.getIdentifier(), () -> newInstance(classifier, obj)));
-            }
+            loadInstances(classifier, instanceIds, classifierCache);
         }
         return classifierCache;
     }
 
+    private void loadInstances(String classifier, RichIterable<String> instanceIds, ConcurrentMutableMap<String, CoreInstance> classifierCache)
+    {
+        MutableList<String> notLoadedIds = instanceIds.reject(classifierCache::containsKey, Lists.mutable.empty());
+        if (notLoadedIds.notEmpty())
+        {
+            ListIterable<Obj> objs = getInstances(classifier, notLoadedIds);
+            objs.forEach(obj -> classifierCache.getIfAbsentPut(obj.getIdentifier(), () -> newInstance(classifier, obj)));
+        }
+    }
+
     private CoreInstance toJavaObject(String classifier, String id)
     {
         return getClassifierInstanceCache(classifier).getIfAbsentPut(id, () -> newInstance(classifier, id));
@@ -0,0 +1,51 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
+
+/**
+ * Codec for compressing the blocks of distributed metadata bin files. Each block is compressed
+ * independently, so that a single instance can be read by decompressing just the block that
+ * contains it. Implementations other than the built-in ones (see {@link BlockCompressionCodecs})
+ * can be registered with {@link java.util.ServiceLoader}. The name of the codec is recorded in
+ * the metadata, so it must be stable and unique.
+ */
+public interface BlockCompressionCodec
+{
+    /**
+     * Name of the codec, recorded in the metadata and used to look up the codec when reading.
+     *
+     * @return codec name
+     */
+    String getName();
+
+    /**
+     * Compress length bytes of the given array, starting at offset.
+     *
+     * @param bytes  uncompressed bytes
+     * @param offset offset of the first byte
+     * @param length number of bytes
+     * @return compressed bytes
+     */
+    byte[] compress(byte[] bytes, int offset, int length);
+
+    /**
+     * Decompress bytes produced by {@link #compress}.
+     *
+     * @param compressed         compressed bytes
+     * @param uncompressedLength number of uncompressed bytes
+     * @return uncompressed bytes
+     */
+    byte[] decompress(byte[] compressed, int uncompressedLength);
+}
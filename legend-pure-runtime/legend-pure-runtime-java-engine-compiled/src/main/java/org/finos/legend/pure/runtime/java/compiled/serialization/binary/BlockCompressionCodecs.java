@@ -0,0 +1,152 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
+
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+
+import java.util.ServiceLoader;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class BlockCompressionCodecs
+{
+    public static final String DEFLATE = "deflate";
+
+    private static final BlockCompressionCodec DEFLATE_CODEC = new DeflateCodec();
+    private static final ConcurrentMutableMap<String, BlockCompressionCodec> CODECS = ConcurrentHashMap.newMap();
+
+    private BlockCompressionCodecs()
+    {
+        // Utility class
+    }
+
+    /**
+     * Built-in codec using the JDK {@link Deflater}.
+     *
+     * @return deflate codec
+     */
+    public static BlockCompressionCodec deflate()
+    {
+        return DEFLATE_CODEC;
+    }
+
+    /**
+     * Get a codec by name. The built-in codecs are always available; others are found with
+     * {@link ServiceLoader}, using the context class loader.
+     *
+     * @param name codec name
+     * @return codec
+     * @throws IllegalArgumentException if there is no codec with the given name
+     */
+    public static BlockCompressionCodec getCodec(String name)
+    {
+        if (DEFLATE.equals(name))
+        {
+            return DEFLATE_CODEC;
+        }
+        BlockCompressionCodec codec = CODECS.get(name);
+        if (codec == null)
+        {
+            for (BlockCompressionCodec loaded : ServiceLoader.load(BlockCompressionCodec.class))
+            {
+                if (loaded.getName().equals(name))
+                {
+                    codec = CODECS.getIfAbsentPut(name, loaded);
+                    break;
+                }
+            }
+            if (codec == null)
+            {
+                throw new IllegalArgumentException("Unknown block compression codec: " + name);
+            }
+        }
+        return codec;
+    }
+
+    private static class DeflateCodec implements BlockCompressionCodec
+    {
+        @Override
+        public String getName()
+        {
+            return DEFLATE;
+        }
+
+        @Override
+        public byte[] compress(byte[] bytes, int offset, int length)
+        {
+            Deflater deflater = new Deflater();
+            try
+            {
+                deflater.setInput(bytes, offset, length);
+                deflater.finish();
+                byte[] buffer = new byte[Math.max(64, length + (length >> 3) + 64)];
+                int size = 0;
+                while (!deflater.finished())
+                {
+                    if (size == buffer.length)
+                    {
+                        byte[] newBuffer = new byte[buffer.length * 2];
+                        System.arraycopy(buffer, 0, newBuffer, 0, size);
+                        buffer = newBuffer;
+                    }
+                    size += deflater.deflate(buffer, size, buffer.length - size);
+                }
+                byte[] result = new byte[size];
+                System.arraycopy(buffer, 0, result, 0, size);
+                return result;
+            }
+            finally
+            {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public byte[] decompress(byte[] compressed, int uncompressedLength)
+        {
+            Inflater inflater = new Inflater();
+            try
+            {
+                inflater.setInput(compressed);
+                byte[] bytes = new byte[uncompressedLength];
+                int total = 0;
+                while (total < uncompressedLength)
+                {
+                    int inflated = inflater.inflate(bytes, total, uncompressedLength - total);
+                    if ((inflated == 0) && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+                    {
+                        break;
+                    }
+                    total += inflated;
+                }
+                if (total < uncompressedLength)
+                {
+                    throw new RuntimeException("Error decompressing block: expected " + uncompressedLength + " bytes, got " + total + " bytes");
+                }
+                return bytes;
+            }
+            catch (DataFormatException e)
+            {
+                throw new RuntimeException("Error decompressing block", e);
+            }
+            finally
+            {
+                inflater.end();
+            }
+        }
+    }
+}
@@ -15,16 +15,19 @@
 package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
 
 import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.list.primitive.ByteList;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.map.ImmutableMap;
 import org.eclipse.collections.api.map.MapIterable;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.eclipse.collections.impl.utility.ArrayIterate;
 import org.eclipse.collections.impl.utility.Iterate;
 import org.finos.legend.pure.m4.serialization.Reader;
@@ -33,6 +36,7 @@ import org.finos.legend.pure.runtime.java.compiled.serialization.model.Obj;
 
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -41,6 +45,12 @@ import java.util.zip.ZipFile;
 
 public abstract class DistributedBinaryGraphDeserializer
 {
+    /**
+     * Default number of decompressed blocks kept per metadata name when reading block compressed
+     * metadata (see {@link Builder#withDecompressedBlockCacheSize}).
+     */
+    public static final int DEFAULT_DECOMPRESSED_BLOCK_CACHE_SIZE = 16;
+
     private static SourceCoordinateMapProvider sourceCoordinateMapProvider = (instanceCount, classifier) -> Maps.mutable.withInitialCapacity(instanceCount);
 
     public abstract boolean hasClassifier(String classifierId);
@@ -51,6 +61,21 @@ public abstract class DistributedBinaryGraphDeserializer
 
     public abstract RichIterable<String> getClassifierInstanceIds(String classifierId);
 
+    /**
+     * Get the instance ids of a classifier, grouped by the file the instances are stored in and
+     * ordered by their offset in that file. Getting the instances for one group reads a single
+     * file once, sequentially, so groups can be read in parallel. By default, all the instance ids
+     * are returned in a single group.
+     *
+     * @param classifierId classifier id
+     * @return instance ids grouped by file
+     */
+    public ListIterable<? extends ListIterable<String>> getClassifierInstanceIdsByFile(String classifierId)
+    {
+        RichIterable<String> instanceIds = getClassifierInstanceIds(classifierId);
+        return instanceIds.isEmpty() ? Lists.immutable.empty() : Lists.immutable.with(Lists.immutable.withAll(instanceIds));
+    }
+
     public final Obj getInstance(String classifierId, String instanceId)
     {
         return getInstance(classifierId, instanceId, true);
@@ -196,6 +221,7 @@ public abstract class DistributedBinaryGraphDeserializer
     {
         private final FileReader fileReader;
         private boolean validateObjs = true;
+        private int decompressedBlockCacheSize = DEFAULT_DECOMPRESSED_BLOCK_CACHE_SIZE;
         private MutableSet<String> metadataNames = null;
 
         private Builder(FileReader fileReader)
@@ -219,6 +245,25 @@ public abstract class DistributedBinaryGraphDeserializer
             return withObjValidation(false);
         }
 
+        /**
+         * Set the number of decompressed blocks to keep when reading block compressed metadata. Getting
+         * a single instance decompresses the whole block containing it, so keeping recently used blocks
+         * avoids decompressing a block again for each of its instances, at the cost of holding up to
+         * this many blocks in memory (64KB each) per metadata name. Use 0 to disable the cache.
+         *
+         * @param decompressedBlockCacheSize maximum number of decompressed blocks to keep
+         * @return this builder
+         */
+        public Builder withDecompressedBlockCacheSize(int decompressedBlockCacheSize)
+        {
+            if (decompressedBlockCacheSize < 0)
+            {
+                throw new IllegalArgumentException("Invalid decompressed block cache size: " + decompressedBlockCacheSize);
+            }
+            this.decompressedBlockCacheSize = decompressedBlockCacheSize;
+            return this;
+        }
+
         public Builder withNoMetadataName()
         {
             this.metadataNames = null;
@@ -268,7 +313,7 @@ public abstract class DistributedBinaryGraphDeserializer
         {
             if (this.metadataNames == null)
             {
-                return new Single(this.fileReader, null, this.validateObjs);
+                return new Single(this.fileReader, null, this.validateObjs, this.decompressedBlockCacheSize);
             }
             switch (this.metadataNames.size())
             {
@@ -278,11 +323,11 @@ public abstract class DistributedBinaryGraphDeserializer
                 }
                 case 1:
                 {
-                    return new Single(this.fileReader, this.metadataNames.getAny(), this.validateObjs);
+                    return new Single(this.fileReader, this.metadataNames.getAny(), this.validateObjs, this.decompressedBlockCacheSize);
                 }
                 default:
                 {
-                    return new Many(this.fileReader, this.metadataNames, this.validateObjs);
+                    return new Many(this.fileReader, this.metadataNames, this.validateObjs, this.decompressedBlockCacheSize);
                 }
             }
         }
@@ -294,13 +339,32 @@ public abstract class DistributedBinaryGraphDeserializer
         private final String filePath;
         private final int offset;
         private final int length;
+        private final String compressionCodec;
+        private final int block;
 
-        private SourceCoordinates(String identifier, String filePath, int offset, int length)
+        private SourceCoordinates(String identifier, String filePath, int offset, int length, String compressionCodec, int block)
         {
             this.identifier = identifier;
             this.filePath = filePath;
             this.offset = offset;
             this.length = length;
+            this.compressionCodec = compressionCodec;
+            this.block = block;
+        }
+
+        private SourceCoordinates(String identifier, String filePath, int offset, int length)
+        {
+            this(identifier, filePath, offset, length, null, -1);
+        }
+
+        private boolean isBlockCompressed()
+        {
+            return this.compressionCodec != null;
+        }
+
+        private String getIdentifier()
+        {
+            return this.identifier;
         }
 
         private String getFilePath()
@@ -310,7 +374,10 @@ public abstract class DistributedBinaryGraphDeserializer
 
         private Obj getObj(FileReader fileReader, StringIndex stringIndex, String classifierId)
         {
-            return getObj(getBytes(fileReader), stringIndex, classifierId);
+            try (Reader reader = fileReader.getReader(this.filePath, this.offset, this.length))
+            {
+                return getDeserializer(stringIndex, classifierId).deserialize(reader);
+            }
         }
 
         private Obj getObj(Reader reader, long currentOffset, StringIndex stringIndex, String classifierId)
@@ -318,6 +385,15 @@ public abstract class DistributedBinaryGraphDeserializer
             return getObj(getBytes(reader, currentOffset), stringIndex, classifierId);
         }
 
+        private Obj getObjFromBlock(byte[] blockBytes, StringIndex stringIndex, String classifierId)
+        {
+            try (Reader reader = BinaryReaders.newBinaryReader(blockBytes))
+            {
+                reader.skipBytes(this.offset);
+                return getObj(reader.readBytes(this.length), stringIndex, classifierId);
+            }
+        }
+
         private Obj getObj(byte[] bytes, StringIndex stringIndex, String classifierId)
         {
             try (Reader reader = BinaryReaders.newBinaryReader(bytes))
@@ -331,15 +407,6 @@ public abstract class DistributedBinaryGraphDeserializer
             return new BinaryObjDeserializerWithStringIndexAndImplicitIdentifiers(stringIndex, this.identifier, classifierId);
         }
 
-        private byte[] getBytes(FileReader fileReader)
-        {
-            try (Reader reader = fileReader.getReader(this.filePath))
-            {
-                reader.skipBytes(this.offset);
-                return reader.readBytes(this.length);
-            }
-        }
-
         private byte[] getBytes(Reader reader, long currentOffset)
         {
             if (this.offset < currentOffset)
@@ -357,7 +424,8 @@ public abstract class DistributedBinaryGraphDeserializer
 
         private static int compareByOffset(SourceCoordinates one, SourceCoordinates another)
         {
-            return Integer.compare(one.offset, another.offset);
+            int cmp = Integer.compare(one.block, another.block);
+            return (cmp == 0) ? Integer.compare(one.offset, another.offset) : cmp;
         }
     }
 
@@ -414,9 +482,11 @@ public abstract class DistributedBinaryGraphDeserializer
         private final FileReader fileReader;
         private final LazyStringIndex stringIndex;
         private final ImmutableMap<String, ClassifierIndex> classifierIndexes;
+        private final ConcurrentMutableMap<String, BlockTable> blockTables = ConcurrentHashMap.newMap();
+        private final DecompressedBlockCache blockCache;
         private final boolean validateObjs;
 
-        private Single(FileReader fileReader, String metadataName, boolean validateObjs)
+        private Single(FileReader fileReader, String metadataName, boolean validateObjs, int decompressedBlockCacheSize)
         {
             this.metadataName = DistributedMetadataHelper.validateMetadataNameIfPresent(metadataName);
             this.fileReader = fileReader;
@@ -424,11 +494,12 @@ public abstract class DistributedBinaryGraphDeserializer
             RichIterable<String> classifierIds = this.stringIndex.getClassifierIds();
             this.classifierIndexes = classifierIds.toMap(id -> id, ClassifierIndex::new, Maps.mutable.withInitialCapacity(classifierIds.size())).toImmutable();
             this.validateObjs = validateObjs;
+            this.blockCache = new DecompressedBlockCache(decompressedBlockCacheSize);
         }
 
         private Single(FileReader fileReader, boolean validateObjs)
         {
-            this(fileReader, null, validateObjs);
+            this(fileReader, null, validateObjs, DEFAULT_DECOMPRESSED_BLOCK_CACHE_SIZE);
         }
 
         @Override
@@ -457,6 +528,22 @@ public abstract class DistributedBinaryGraphDeserializer
             return (classifierIndex == null) ? Lists.immutable.empty() : classifierIndex.getInstanceIds();
         }
 
+        @Override
+        public ListIterable<? extends ListIterable<String>> getClassifierInstanceIdsByFile(String classifierId)
+        {
+            ClassifierIndex classifierIndex = getClassifierIndex(classifierId);
+            if (classifierIndex == null)
+            {
+                return Lists.immutable.empty();
+            }
+
+            MutableMap<String, MutableList<SourceCoordinates>> sourceCoordinatesByFile = Maps.mutable.empty();
+            classifierIndex.getInstanceIndex().forEachValue(sourceCoordinates -> sourceCoordinatesByFile.getIfAbsentPut(sourceCoordinates.getFilePath(), Lists.mutable::empty).add(sourceCoordinates));
+            MutableList<ListIterable<String>> result = Lists.mutable.withInitialCapacity(sourceCoordinatesByFile.size());
+            sourceCoordinatesByFile.forEachValue(fileSourceCoordinates -> result.add(fileSourceCoordinates.sortThis(SourceCoordinates::compareByOffset).collect(SourceCoordinates::getIdentifier)));
+            return result;
+        }
+
         @Override
         protected Obj getInstance(String classifierId, String instanceId, boolean throwIfNotFound)
         {
@@ -478,7 +565,9 @@ public abstract class DistributedBinaryGraphDeserializer
                 }
                 return null;
             }
-            return possiblyValidate(sourceCoordinates.getObj(this.fileReader, this.stringIndex, classifierIndex.getClassifierId()));
+            return possiblyValidate(sourceCoordinates.isBlockCompressed() ?
+                    sourceCoordinates.getObjFromBlock(this.blockCache.getIfAbsentRead(sourceCoordinates.filePath, sourceCoordinates.block, () -> readBlock(sourceCoordinates)), this.stringIndex, classifierIndex.getClassifierId()) :
+                    sourceCoordinates.getObj(this.fileReader, this.stringIndex, classifierIndex.getClassifierId()));
         }
 
         @Override
@@ -518,6 +607,28 @@ public abstract class DistributedBinaryGraphDeserializer
             sourceCoordinatesByFile.forEachKeyValue((filePath, fileSourceCoordinates) ->
             {
                 fileSourceCoordinates.sortThis(SourceCoordinates::compareByOffset);
+                if (fileSourceCoordinates.get(0).isBlockCompressed())
+                {
+                    // decompress each block once
+                    int currentBlock = -1;
+                    byte[] blockBytes = null;
+                    for (SourceCoordinates sourceCoordinates : fileSourceCoordinates)
+                    {
+                        if (sourceCoordinates.block != currentBlock)
+                        {
+                            blockBytes = readBlock(sourceCoordinates);
+                            currentBlock = sourceCoordinates.block;
+                        }
+                        objs.add(possiblyValidate(sourceCoordinates.getObjFromBlock(blockBytes, this.stringIndex, classifierIndex.getClassifierId())));
+                    }
+                    return;
+                }
+                if (this.fileReader.isRandomAccess(filePath))
+                {
+                    // each instance can be read directly, without copying its bytes
+                    fileSourceCoordinates.forEach(sourceCoordinates -> objs.add(possiblyValidate(sourceCoordinates.getObj(this.fileReader, this.stringIndex, classifierIndex.getClassifierId()))));
+                    return;
+                }
                 try (Reader reader = this.fileReader.getReader(filePath))
                 {
                     int offset = 0;
@@ -543,6 +654,10 @@ public abstract class DistributedBinaryGraphDeserializer
             try (Reader reader = this.fileReader.getReader(indexFilePath))
             {
                 int instanceCount = reader.readInt();
+                if (instanceCount == DistributedBinaryGraphSerializer.BLOCK_COMPRESSED_INDEX_MARKER)
+                {
+                    return readBlockCompressedInstanceIndex(classifier, reader);
+                }
                 MutableMap<String, SourceCoordinates> index = sourceCoordinateMapProvider.getMap(instanceCount, classifier);
 
                 int instancePartition = reader.readInt();
@@ -570,6 +685,38 @@ public abstract class DistributedBinaryGraphDeserializer
             }
         }
 
+        private MapIterable<String, SourceCoordinates> readBlockCompressedInstanceIndex(String classifier, Reader reader)
+        {
+            String compressionCodec = reader.readString();
+            int instanceCount = reader.readInt();
+            MutableMap<String, SourceCoordinates> index = sourceCoordinateMapProvider.getMap(instanceCount, classifier);
+
+            int instancePartition = reader.readInt();
+            int instancesRead = 0;
+            while (instancesRead < instanceCount)
+            {
+                String filePath = DistributedMetadataHelper.getMetadataPartitionBinFilePath(this.metadataName, instancePartition);
+                int partitionInstanceCount = reader.readInt();
+                for (int i = 0; i < partitionInstanceCount; i++)
+                {
+                    String identifier = this.stringIndex.getString(reader.readInt());
+                    int block = reader.readInt();
+                    int blockOffset = reader.readInt();
+                    int length = reader.readInt();
+                    index.put(identifier, new SourceCoordinates(identifier, filePath, blockOffset, length, compressionCodec, block));
+                }
+                instancesRead += partitionInstanceCount;
+                instancePartition++;
+            }
+            return index;
+        }
+
+        private byte[] readBlock(SourceCoordinates sourceCoordinates)
+        {
+            BlockTable blockTable = this.blockTables.getIfAbsentPut(sourceCoordinates.filePath, () -> BlockTable.read(this.fileReader, sourceCoordinates.filePath));
+            return blockTable.readBlock(this.fileReader, sourceCoordinates.filePath, sourceCoordinates.block, BlockCompressionCodecs.getCodec(sourceCoordinates.compressionCodec));
+        }
+
         private Obj possiblyValidate(Obj obj)
         {
             if (this.validateObjs)
@@ -628,14 +775,150 @@ public abstract class DistributedBinaryGraphDeserializer
         }
     }
 
+    /**
+     * Table of the blocks of a block compressed bin file: the offset in the file, compressed
+     * length, and uncompressed length of each block.
+     */
+    private static class BlockTable
+    {
+        private final int[] offsets;
+        private final int[] compressedLengths;
+        private final int[] uncompressedLengths;
+
+        private BlockTable(int[] offsets, int[] compressedLengths, int[] uncompressedLengths)
+        {
+            this.offsets = offsets;
+            this.compressedLengths = compressedLengths;
+            this.uncompressedLengths = uncompressedLengths;
+        }
+
+        private byte[] readBlock(FileReader fileReader, String filePath, int block, BlockCompressionCodec compressionCodec)
+        {
+            if ((block < 0) || (block >= this.offsets.length))
+            {
+                throw new RuntimeException("Invalid block " + block + " of " + filePath + " (block count: " + this.offsets.length + ")");
+            }
+            byte[] compressed;
+            try (Reader reader = fileReader.getReader(filePath, this.offsets[block], this.compressedLengths[block]))
+            {
+                compressed = reader.readBytes(this.compressedLengths[block]);
+            }
+            return compressionCodec.decompress(compressed, this.uncompressedLengths[block]);
+        }
+
+        private static BlockTable read(FileReader fileReader, String filePath)
+        {
+            try (Reader reader = fileReader.getReader(filePath))
+            {
+                int blockCount = reader.readInt();
+                int[] offsets = new int[blockCount];
+                int[] compressedLengths = new int[blockCount];
+                int[] uncompressedLengths = new int[blockCount];
+                int offset = 4 + (8 * blockCount);
+                for (int i = 0; i < blockCount; i++)
+                {
+                    offsets[i] = offset;
+                    compressedLengths[i] = reader.readInt();
+                    uncompressedLengths[i] = reader.readInt();
+                    offset += compressedLengths[i];
+                }
+                return new BlockTable(offsets, compressedLengths, uncompressedLengths);
+            }
+        }
+    }
+
+    /**
+     * Bounded cache of decompressed blocks, keyed by file and block index, for reading single instances.
+     * Bulk reads already decompress each block once, so they do not go through the cache. The least
+     * recently used block is evicted when the cache is full.
+     */
+    private static class DecompressedBlockCache
+    {
+        private final int maxSize;
+        private final LinkedHashMap<BlockKey, byte[]> blocks;
+
+        private DecompressedBlockCache(int maxSize)
+        {
+            this.maxSize = maxSize;
+            this.blocks = new LinkedHashMap<BlockKey, byte[]>(16, 0.75f, true)
+            {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<BlockKey, byte[]> eldest)
+                {
+                    return size() > DecompressedBlockCache.this.maxSize;
+                }
+            };
+        }
+
+        private byte[] getIfAbsentRead(String filePath, int block, Function0<byte[]> reader)
+        {
+            if (this.maxSize == 0)
+            {
+                return reader.value();
+            }
+
+            BlockKey key = new BlockKey(filePath, block);
+            byte[] cached;
+            synchronized (this.blocks)
+            {
+                cached = this.blocks.get(key);
+            }
+            if (cached != null)
+            {
+                return cached;
+            }
+
+            // decompress outside the lock: concurrent readers of the same block may both decompress it
+            byte[] blockBytes = reader.value();
+            synchronized (this.blocks)
+            {
+                this.blocks.put(key, blockBytes);
+            }
+            return blockBytes;
+        }
+    }
+
+    private static class BlockKey
+    {
+        private final String filePath;
+        private final int block;
+
+        private BlockKey(String filePath, int block)
+        {
+            this.filePath = filePath;
+            this.block = block;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof BlockKey))
+            {
+                return false;
+            }
+            BlockKey that = (BlockKey) other;
+            return (this.block == that.block) && this.filePath.equals(that.filePath);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return (31 * this.filePath.hashCode()) + this.block;
+        }
+    }
+
     private static class Many extends DistributedBinaryGraphDeserializer
     {
         private final ListIterable<Single> deserializers;
         private final boolean validateObjs;
 
-        private Many(FileReader fileReader, Set<String> metadataNames, boolean validateObjs)
+        private Many(FileReader fileReader, Set<String> metadataNames, boolean validateObjs, int decompressedBlockCacheSize)
         {
-            this.deserializers = Iterate.collect(metadataNames, n -> new Single(fileReader, n, false), Lists.mutable.ofInitialCapacity(metadataNames.size()));
+            this.deserializers = Iterate.collect(metadataNames, n -> new Single(fileReader, n, false, decompressedBlockCacheSize), Lists.mutable.ofInitialCapacity(metadataNames.size()));
             this.validateObjs = validateObjs;
         }
 
@@ -663,6 +946,24 @@ public abstract class DistributedBinaryGraphDeserializer
             return this.deserializers.flatCollect(d -> d.getClassifierInstanceIds(classifierId), Sets.mutable.empty());
         }
 
+        @Override
+        public ListIterable<? extends ListIterable<String>> getClassifierInstanceIdsByFile(String classifierId)
+        {
+            // an instance may be stored in the files of several deserializers, but getInstances
+            // reads all of them, so each instance id only needs to be in one group
+            MutableSet<String> seen = Sets.mutable.empty();
+            MutableList<ListIterable<String>> result = Lists.mutable.empty();
+            this.deserializers.forEach(d -> d.getClassifierInstanceIdsByFile(classifierId).forEach(ids ->
+            {
+                MutableList<String> unseen = ids.select(seen::add, Lists.mutable.empty());
+                if (unseen.notEmpty())
+                {
+                    result.add(unseen);
+                }
+            }));
+            return result;
+        }
+
         @Override
         protected Obj getInstance(String classifierId, String instanceId, boolean throwIfNotFound)
         {
@@ -20,8 +20,11 @@ import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
 import org.finos.legend.pure.m3.navigation.M3Paths;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m3.serialization.filesystem.repository.CodeRepository;
@@ -42,6 +45,13 @@ import java.util.jar.JarOutputStream;
 public abstract class DistributedBinaryGraphSerializer
 {
     private static final int MAX_BIN_FILE_BYTES = 512 * 1024;
+    private static final int COMPRESSED_BLOCK_BYTES = 64 * 1024;
+
+    /**
+     * Marker at the start of a classifier index file for block compressed metadata. Uncompressed
+     * index files start with the (non-negative) instance count.
+     */
+    static final int BLOCK_COMPRESSED_INDEX_MARKER = -1;
 
     private final DistributedMetadataSpecification metadataSpecification;
     protected final PureRuntime runtime;
@@ -60,20 +70,49 @@ public abstract class DistributedBinaryGraphSerializer
 
     public void serializeToDirectory(Path directory)
     {
-        serialize(FileWriters.fromDirectory(directory));
+        serializeToDirectory(directory, null);
+    }
+
+    public void serializeToDirectory(Path directory, BlockCompressionCodec compressionCodec)
+    {
+        serialize(FileWriters.fromDirectory(directory), compressionCodec);
     }
 
     public void serializeToJar(JarOutputStream stream)
     {
-        serialize(FileWriters.fromJarOutputStream(stream));
+        serializeToJar(stream, null);
+    }
+
+    public void serializeToJar(JarOutputStream stream, BlockCompressionCodec compressionCodec)
+    {
+        serialize(FileWriters.fromJarOutputStream(stream), compressionCodec);
     }
 
     public void serializeToInMemoryByteArrays(Map<String, ? super byte[]> fileBytes)
     {
-        serialize(FileWriters.fromInMemoryByteArrayMap(fileBytes));
+        serializeToInMemoryByteArrays(fileBytes, null);
+    }
+
+    public void serializeToInMemoryByteArrays(Map<String, ? super byte[]> fileBytes, BlockCompressionCodec compressionCodec)
+    {
+        serialize(FileWriters.fromInMemoryByteArrayMap(fileBytes), compressionCodec);
     }
 
     public void serialize(FileWriter fileWriter)
+    {
+        serialize(fileWriter, null);
+    }
+
+    /**
+     * Serialize the metadata. If a compression codec is given, each bin file is split into blocks
+     * of objects which are compressed independently, and the classifier indexes record the block
+     * and the offset within the block of each object. Otherwise, bin files are written
+     * uncompressed.
+     *
+     * @param fileWriter       file writer
+     * @param compressionCodec block compression codec (may be null)
+     */
+    public void serialize(FileWriter fileWriter, BlockCompressionCodec compressionCodec)
     {
         // Possibly write metadata specification
         if (this.metadataSpecification != null)
@@ -95,6 +134,7 @@ public abstract class DistributedBinaryGraphSerializer
         // Write instances
         int partition = 0;
         int partitionTotalBytes = 0;
+        MutableIntList blockStarts = IntLists.mutable.with(0);
         WriterBufferOutputStream binByteStream = new WriterBufferOutputStream(MAX_BIN_FILE_BYTES);
         try (Writer binFileWriter = BinaryWriters.newBinaryWriter(binByteStream))
         {
@@ -106,9 +146,19 @@ public abstract class DistributedBinaryGraphSerializer
                     ListIterable<Obj> classifierObjs = getClassifierObjs(serializationCollector.instancesForSerialization.remove(classifierId), serializationCollector.objUpdates.remove(classifierId));
 
                     // Initial index information
-                    indexWriter.writeInt(classifierObjs.size()); // total obj count
-                    indexWriter.writeInt(partition); // initial partition
-                    indexWriter.writeInt(partitionTotalBytes); // initial byte offset in partition
+                    if (compressionCodec == null)
+                    {
+                        indexWriter.writeInt(classifierObjs.size()); // total obj count
+                        indexWriter.writeInt(partition); // initial partition
+                        indexWriter.writeInt(partitionTotalBytes); // initial byte offset in partition
+                    }
+                    else
+                    {
+                        indexWriter.writeInt(BLOCK_COMPRESSED_INDEX_MARKER);
+                        indexWriter.writeString(compressionCodec.getName());
+                        indexWriter.writeInt(classifierObjs.size()); // total obj count
+                        indexWriter.writeInt(partition); // initial partition
+                    }
 
                     MutableList<ObjIndexInfo> partitionObjIndexInfos = Lists.mutable.empty();
                     WriterBufferOutputStream objByteStream = new WriterBufferOutputStream();
@@ -124,7 +174,7 @@ public abstract class DistributedBinaryGraphSerializer
                                 // Write current partition
                                 try (Writer partitionWriter = fileWriter.getWriter(DistributedMetadataHelper.getMetadataPartitionBinFilePath(getMetadataName(), partition)))
                                 {
-                                    binByteStream.writeAndReset(partitionWriter);
+                                    writePartition(partitionWriter, binByteStream, blockStarts, compressionCodec);
                                 }
 
                                 // Write partition portion of classifier index
@@ -139,10 +189,23 @@ public abstract class DistributedBinaryGraphSerializer
                                 }
                                 partitionTotalBytes = 0;
                                 partitionObjIndexInfos.clear();
+                                blockStarts.clear();
+                                blockStarts.add(0);
+                            }
+
+                            // Possibly start a new block: objects are never split across blocks
+                            int blockStart = blockStarts.getLast();
+                            if ((compressionCodec != null) && (partitionTotalBytes > blockStart) && (partitionTotalBytes - blockStart + objByteCount > COMPRESSED_BLOCK_BYTES))
+                            {
+                                blockStarts.add(partitionTotalBytes);
+                                blockStart = partitionTotalBytes;
                             }
+
                             objByteStream.writeAndReset(binFileWriter);
+                            partitionObjIndexInfos.add((compressionCodec == null) ?
+                                    new ObjIndexInfo(obj.getIdentifier(), objByteCount) :
+                                    new BlockObjIndexInfo(obj.getIdentifier(), objByteCount, blockStarts.size() - 1, partitionTotalBytes - blockStart));
                             partitionTotalBytes += objByteCount;
-                            partitionObjIndexInfos.add(new ObjIndexInfo(obj.getIdentifier(), objByteCount));
                         }
                     }
 
@@ -167,11 +230,23 @@ public abstract class DistributedBinaryGraphSerializer
         {
             try (Writer partitionWriter = fileWriter.getWriter(DistributedMetadataHelper.getMetadataPartitionBinFilePath(getMetadataName(), partition)))
             {
-                binByteStream.write(partitionWriter);
+                writePartition(partitionWriter, binByteStream, blockStarts, compressionCodec);
             }
         }
     }
 
+    private static void writePartition(Writer writer, WriterBufferOutputStream binByteStream, IntList blockStarts, BlockCompressionCodec compressionCodec)
+    {
+        if (compressionCodec == null)
+        {
+            binByteStream.writeAndReset(writer);
+        }
+        else
+        {
+            binByteStream.writeBlocksAndReset(writer, blockStarts, compressionCodec);
+        }
+    }
+
     protected String getMetadataName()
     {
         return (this.metadataSpecification == null) ? null : this.metadataSpecification.getName();
@@ -314,8 +389,8 @@ public abstract class DistributedBinaryGraphSerializer
 
     private static class ObjIndexInfo
     {
-        private final String identifier;
-        private final int size;
+        protected final String identifier;
+        protected final int size;
 
         private ObjIndexInfo(String identifier, int size)
         {
@@ -323,13 +398,35 @@ public abstract class DistributedBinaryGraphSerializer
             this.size = size;
         }
 
-        private void write(Writer writer, StringCache stringCache)
+        void write(Writer writer, StringCache stringCache)
         {
             writer.writeInt(stringCache.getStringId(this.identifier));
             writer.writeInt(this.size);
         }
     }
 
+    private static class BlockObjIndexInfo extends ObjIndexInfo
+    {
+        private final int block;
+        private final int blockOffset;
+
+        private BlockObjIndexInfo(String identifier, int size, int block, int blockOffset)
+        {
+            super(identifier, size);
+            this.block = block;
+            this.blockOffset = blockOffset;
+        }
+
+        @Override
+        void write(Writer writer, StringCache stringCache)
+        {
+            writer.writeInt(stringCache.getStringId(this.identifier));
+            writer.writeInt(this.block);
+            writer.writeInt(this.blockOffset);
+            writer.writeInt(this.size);
+        }
+    }
+
     private static class WriterBufferOutputStream extends ByteArrayOutputStream
     {
         private WriterBufferOutputStream()
@@ -352,5 +449,30 @@ public abstract class DistributedBinaryGraphSerializer
             write(writer);
             reset();
         }
+
+        /**
+         * Write the buffer as independently compressed blocks, starting at the given offsets. The
+         * block count and the compressed and uncompressed length of each block are written first,
+         * followed by the compressed blocks.
+         */
+        private synchronized void writeBlocksAndReset(Writer writer, IntList blockStarts, BlockCompressionCodec compressionCodec)
+        {
+            int blockCount = blockStarts.size();
+            byte[][] compressedBlocks = new byte[blockCount][];
+            writer.writeInt(blockCount);
+            for (int i = 0; i < blockCount; i++)
+            {
+                int start = blockStarts.get(i);
+                int end = (i + 1 < blockCount) ? blockStarts.get(i + 1) : this.count;
+                compressedBlocks[i] = compressionCodec.compress(this.buf, start, end - start);
+                writer.writeInt(compressedBlocks[i].length);
+                writer.writeInt(end - start);
+            }
+            for (byte[] compressedBlock : compressedBlocks)
+            {
+                writer.writeBytes(compressedBlock);
+            }
+            reset();
+        }
     }
 }
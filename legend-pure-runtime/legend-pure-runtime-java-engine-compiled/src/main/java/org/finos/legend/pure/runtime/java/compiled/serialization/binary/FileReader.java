@@ -15,8 +15,43 @@
 package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
 
 import org.finos.legend.pure.m4.serialization.Reader;
+import org.finos.legend.pure.m4.serialization.binary.BinaryReaders;
 
 interface FileReader
 {
     Reader getReader(String path);
+
+    /**
+     * Get a reader for length bytes of the file at path, starting at offset. By default, the
+     * bytes are copied into a new array; readers backed by memory mapped files can instead
+     * read directly from the mapped file.
+     *
+     * @param path   file path
+     * @param offset offset of the first byte
+     * @param length number of bytes
+     * @return reader for the bytes
+     */
+    default Reader getReader(String path, int offset, int length)
+    {
+        byte[] bytes;
+        try (Reader reader = getReader(path))
+        {
+            reader.skipBytes(offset);
+            bytes = reader.readBytes(length);
+        }
+        return BinaryReaders.newBinaryReader(bytes);
+    }
+
+    /**
+     * Whether getReader(path, offset, length) is cheap for the file at path, with no copying and
+     * no need to read the file from the start. If so, there is no benefit to reading several
+     * regions of the file with a single sequential reader.
+     *
+     * @param path file path
+     * @return whether regions of the file can be read directly
+     */
+    default boolean isRandomAccess(String path)
+    {
+        return false;
+    }
 }
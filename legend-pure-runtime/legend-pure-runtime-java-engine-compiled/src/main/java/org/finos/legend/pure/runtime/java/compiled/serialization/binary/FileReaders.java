@@ -14,8 +14,11 @@
 
 package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
 
+import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.list.primitive.ByteList;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.finos.legend.pure.m4.serialization.Reader;
 import org.finos.legend.pure.m4.serialization.binary.BinaryReaders;
@@ -24,13 +27,20 @@ import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -67,11 +77,38 @@ public class FileReaders
         return new InMemoryBytesFileReader<>(fileBytes, BinaryReaders::newBinaryReader);
     }
 
+    /**
+     * Read files from a directory by memory mapping them. Each file is mapped once, the first
+     * time it is read, and objects are deserialized directly from the mapped file. Files too
+     * large to be mapped as a single buffer are read through a channel instead.
+     *
+     * @param directory root directory
+     * @return file reader
+     */
+    public static FileReader fromMappedDirectory(Path directory)
+    {
+        return new MappedFileSystemFileReader(directory);
+    }
+
     public static FileReader fromZipFile(ZipFile zipFile)
     {
         return new ZipFileReader(zipFile);
     }
 
+    /**
+     * Read files from a zip (or jar) file by memory mapping the zip file. Entries which are
+     * stored without compression are read directly from the mapped zip file; other entries are
+     * read through the zip file. If the zip file cannot be mapped (for example, if it is too
+     * large or is a zip64 file), all entries are read through the zip file.
+     *
+     * @param zipFile zip file
+     * @return file reader
+     */
+    public static FileReader fromMappedZipFile(ZipFile zipFile)
+    {
+        return new MappedZipFileReader(zipFile);
+    }
+
     private static class ClassLoaderFileReader implements FileReader
     {
         private final ClassLoader classLoader;
@@ -207,4 +244,224 @@ public class FileReaders
             }
         }
     }
+
+    private static ByteBuffer mapFile(Path path) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            return (size > Integer.MAX_VALUE) ? null : channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    // a reader over [offset, offset + length) of the buffer, which does not affect the buffer itself
+    private static Reader newSliceReader(ByteBuffer buffer, long offset, long length, String path)
+    {
+        if ((offset < 0) || (length < 0) || (offset + length > buffer.capacity()))
+        {
+            throw new RuntimeException("Cannot read " + length + " bytes at offset " + offset + " of file '" + path + "' of size " + buffer.capacity());
+        }
+        ByteBuffer slice = buffer.duplicate();
+        ((Buffer) slice).limit((int) (offset + length));
+        ((Buffer) slice).position((int) offset);
+        return BinaryReaders.newBinaryReader(slice.slice());
+    }
+
+    private static class MappedFileSystemFileReader implements FileReader
+    {
+        private final Path root;
+        private final ConcurrentMutableMap<String, Optional<ByteBuffer>> buffers = ConcurrentHashMap.newMap();
+
+        private MappedFileSystemFileReader(Path root)
+        {
+            this.root = root;
+        }
+
+        @Override
+        public Reader getReader(String path)
+        {
+            ByteBuffer buffer = getBuffer(path);
+            if (buffer == null)
+            {
+                // too large to map
+                try
+                {
+                    return BinaryReaders.newBinaryReader(Files.newByteChannel(this.root.resolve(path), Collections.emptySet()));
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException("Error accessing file '" + path + "'", e);
+                }
+            }
+            return newSliceReader(buffer, 0, buffer.capacity(), path);
+        }
+
+        @Override
+        public Reader getReader(String path, int offset, int length)
+        {
+            ByteBuffer buffer = getBuffer(path);
+            return (buffer == null) ? FileReader.super.getReader(path, offset, length) : newSliceReader(buffer, offset, length, path);
+        }
+
+        @Override
+        public boolean isRandomAccess(String path)
+        {
+            return getBuffer(path) != null;
+        }
+
+        private ByteBuffer getBuffer(String path)
+        {
+            return this.buffers.getIfAbsentPutWithKey(path, this::mapBuffer).orElse(null);
+        }
+
+        private Optional<ByteBuffer> mapBuffer(String path)
+        {
+            try
+            {
+                return Optional.ofNullable(mapFile(this.root.resolve(path)));
+            }
+            catch (IOException e)
+            {
+                throw new RuntimeException("Error accessing file '" + path + "'", e);
+            }
+        }
+    }
+
+    private static class MappedZipFileReader implements FileReader
+    {
+        private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+        private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+        private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+        private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+        private static final int MAX_ZIP_COMMENT_SIZE = 0xFFFF;
+
+        private final ZipFileReader zipFileReader;
+        private final ByteBuffer buffer;
+        private final MapIterable<String, StoredEntry> storedEntries;
+
+        private MappedZipFileReader(ZipFile zipFile)
+        {
+            this.zipFileReader = new ZipFileReader(zipFile);
+            ByteBuffer mapped;
+            try
+            {
+                mapped = mapFile(Paths.get(zipFile.getName()));
+            }
+            catch (IOException | InvalidPathException e)
+            {
+                mapped = null;
+            }
+            MapIterable<String, StoredEntry> entries = (mapped == null) ? null : readStoredEntries(mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+            this.buffer = (entries == null) ? null : mapped;
+            this.storedEntries = (entries == null) ? Maps.immutable.empty() : entries;
+        }
+
+        @Override
+        public Reader getReader(String path)
+        {
+            StoredEntry entry = this.storedEntries.get(path);
+            return (entry == null) ? this.zipFileReader.getReader(path) : newSliceReader(this.buffer, entry.dataOffset, entry.size, path);
+        }
+
+        @Override
+        public Reader getReader(String path, int offset, int length)
+        {
+            StoredEntry entry = this.storedEntries.get(path);
+            if (entry == null)
+            {
+                return FileReader.super.getReader(path, offset, length);
+            }
+            if ((offset < 0) || (length < 0) || ((long) offset + length > entry.size))
+            {
+                throw new RuntimeException("Cannot read " + length + " bytes at offset " + offset + " of file '" + path + "' of size " + entry.size);
+            }
+            return newSliceReader(this.buffer, entry.dataOffset + offset, length, path);
+        }
+
+        @Override
+        public boolean isRandomAccess(String path)
+        {
+            return this.storedEntries.containsKey(path);
+        }
+
+        // Returns null if the zip file cannot be read this way (e.g., zip64 files)
+        private static MapIterable<String, StoredEntry> readStoredEntries(ByteBuffer zip)
+        {
+            int endOfCentralDirectory = findEndOfCentralDirectory(zip);
+            if (endOfCentralDirectory < 0)
+            {
+                return null;
+            }
+            int entryCount = Short.toUnsignedInt(zip.getShort(endOfCentralDirectory + 10));
+            long centralDirectoryOffset = Integer.toUnsignedLong(zip.getInt(endOfCentralDirectory + 16));
+            if ((entryCount == 0xFFFF) || (centralDirectoryOffset >= endOfCentralDirectory))
+            {
+                return null;
+            }
+
+            MutableMap<String, StoredEntry> entries = Maps.mutable.empty();
+            int position = (int) centralDirectoryOffset;
+            for (int i = 0; i < entryCount; i++)
+            {
+                if ((position + 46 > zip.capacity()) || (zip.getInt(position) != CENTRAL_DIRECTORY_SIGNATURE))
+                {
+                    return null;
+                }
+                int method = Short.toUnsignedInt(zip.getShort(position + 10));
+                long compressedSize = Integer.toUnsignedLong(zip.getInt(position + 20));
+                long size = Integer.toUnsignedLong(zip.getInt(position + 24));
+                int nameLength = Short.toUnsignedInt(zip.getShort(position + 28));
+                int extraLength = Short.toUnsignedInt(zip.getShort(position + 30));
+                int commentLength = Short.toUnsignedInt(zip.getShort(position + 32));
+                long localHeaderOffset = Integer.toUnsignedLong(zip.getInt(position + 42));
+                if (position + 46 + nameLength > zip.capacity())
+                {
+                    return null;
+                }
+                byte[] nameBytes = new byte[nameLength];
+                ByteBuffer nameBuffer = zip.duplicate();
+                ((Buffer) nameBuffer).position(position + 46);
+                nameBuffer.get(nameBytes);
+
+                if ((method == ZipEntry.STORED) && (compressedSize == size) && (size != 0xFFFFFFFFL) && (localHeaderOffset + 30 <= zip.capacity()) && (zip.getInt((int) localHeaderOffset) == LOCAL_FILE_HEADER_SIGNATURE))
+                {
+                    int localNameLength = Short.toUnsignedInt(zip.getShort((int) localHeaderOffset + 26));
+                    int localExtraLength = Short.toUnsignedInt(zip.getShort((int) localHeaderOffset + 28));
+                    long dataOffset = localHeaderOffset + 30 + localNameLength + localExtraLength;
+                    if (dataOffset + size <= zip.capacity())
+                    {
+                        entries.put(new String(nameBytes, StandardCharsets.UTF_8), new StoredEntry(dataOffset, size));
+                    }
+                }
+                position += 46 + nameLength + extraLength + commentLength;
+            }
+            return entries;
+        }
+
+        private static int findEndOfCentralDirectory(ByteBuffer zip)
+        {
+            int last = zip.capacity() - END_OF_CENTRAL_DIRECTORY_SIZE;
+            int first = Math.max(0, last - MAX_ZIP_COMMENT_SIZE);
+            for (int i = last; i >= first; i--)
+            {
+                if (zip.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static class StoredEntry
+        {
+            private final long dataOffset;
+            private final long size;
+
+            private StoredEntry(long dataOffset, long size)
+            {
+                this.dataOffset = dataOffset;
+                this.size = size;
+            }
+        }
+    }
 }
@@ -0,0 +1,82 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.compiler;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestDynamicJavaCompilationCache
+{
+    private static final ClassLoader CLASS_LOADER = TestDynamicJavaCompilationCache.class.getClassLoader();
+
+    @Test
+    public void testHitAndMiss() throws Exception
+    {
+        DynamicJavaCompilationCache cache = new DynamicJavaCompilationCache();
+        Class<?> first = cache.getIfAbsentCompile("temp", "DynaClass", source(1), null, CLASS_LOADER);
+        Assert.assertEquals(1, first.getMethod("get").invoke(null));
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        Assert.assertSame(first, cache.getIfAbsentCompile("temp", "DynaClass", source(1), null, CLASS_LOADER));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        Class<?> second = cache.getIfAbsentCompile("temp", "DynaClass", source(2), null, CLASS_LOADER);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2, second.getMethod("get").invoke(null));
+        Assert.assertEquals(1, cache.getHitCount());
+        Assert.assertEquals(2, cache.getMissCount());
+        Assert.assertEquals(2, cache.size());
+        Assert.assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception
+    {
+        DynamicJavaCompilationCache cache = new DynamicJavaCompilationCache(1);
+        Class<?> first = cache.getIfAbsentCompile("temp", "DynaClass", source(1), null, CLASS_LOADER);
+        cache.getIfAbsentCompile("temp", "DynaClass", source(2), null, CLASS_LOADER);
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(1, cache.getEvictionCount());
+
+        Class<?> recompiled = cache.getIfAbsentCompile("temp", "DynaClass", source(1), null, CLASS_LOADER);
+        Assert.assertNotSame(first, recompiled);
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(3, cache.getMissCount());
+        Assert.assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    public void testCompilationError()
+    {
+        DynamicJavaCompilationCache cache = new DynamicJavaCompilationCache();
+        Assert.assertThrows(PureJavaCompileException.class, () -> cache.getIfAbsentCompile("temp", "DynaClass", "package temp; public class DynaClass { syntax error }", null, CLASS_LOADER));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(1, cache.getMissCount());
+    }
+
+    private static String source(int value)
+    {
+        return "package temp;\n" +
+                "public class DynaClass\n" +
+                "{\n" +
+                "    public static Integer get()\n" +
+                "    {\n" +
+                "        return " + value + ";\n" +
+                "    }\n" +
+                "}\n";
+    }
+}
@@ -0,0 +1,182 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.compiler;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.serialization.runtime.Message;
+import org.finos.legend.pure.runtime.java.compiled.generation.JavaPackageAndImportBuilder;
+import org.finos.legend.pure.runtime.java.compiled.generation.orchestrator.VoidLog;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.ToolProvider;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+public class TestJavaCompilationBuildCache
+{
+    @Rule
+    public final TemporaryFolder tmpFolder = new TemporaryFolder();
+
+    @Test
+    public void testReuseUnchangedGroups() throws Exception
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+
+        JavaCompilationBuildCache firstCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler first = compile(firstCache, 1, 2);
+        Assert.assertEquals(0, firstCache.getHitCount());
+        Assert.assertEquals(2, firstCache.getMissCount());
+        Assert.assertEquals(3, get(first, "cache_test.second.Second"));
+
+        JavaCompilationBuildCache secondCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler second = compile(secondCache, 1, 2);
+        Assert.assertEquals(2, secondCache.getHitCount());
+        Assert.assertEquals(0, secondCache.getMissCount());
+        Assert.assertEquals(3, get(second, "cache_test.second.Second"));
+    }
+
+    @Test
+    public void testChangeInvalidatesLaterGroups() throws Exception
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        compile(new JavaCompilationBuildCache(cacheDir), 1, 2);
+
+        // changing the second group only recompiles the second group
+        JavaCompilationBuildCache secondCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler second = compile(secondCache, 1, 5);
+        Assert.assertEquals(1, secondCache.getHitCount());
+        Assert.assertEquals(1, secondCache.getMissCount());
+        Assert.assertEquals(6, get(second, "cache_test.second.Second"));
+
+        // changing the first group recompiles both groups, as the second depends on the first
+        JavaCompilationBuildCache thirdCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler third = compile(thirdCache, 4, 5);
+        Assert.assertEquals(0, thirdCache.getHitCount());
+        Assert.assertEquals(2, thirdCache.getMissCount());
+        Assert.assertEquals(9, get(third, "cache_test.second.Second"));
+    }
+
+    @Test
+    public void testParallelReuse() throws Exception
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+
+        JavaCompilationBuildCache firstCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler first = compile(firstCache, 1, 2, 2);
+        Assert.assertEquals(0, firstCache.getHitCount());
+        Assert.assertEquals(2, firstCache.getMissCount());
+        Assert.assertEquals(3, get(first, "cache_test.second.Second"));
+
+        JavaCompilationBuildCache secondCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler second = compile(secondCache, 1, 2, 2);
+        Assert.assertEquals(2, secondCache.getHitCount());
+        Assert.assertEquals(0, secondCache.getMissCount());
+        Assert.assertEquals(3, get(second, "cache_test.second.Second"));
+
+        JavaCompilationBuildCache thirdCache = new JavaCompilationBuildCache(cacheDir);
+        PureJavaCompiler third = compile(thirdCache, 4, 2, 2);
+        Assert.assertEquals(0, thirdCache.getHitCount());
+        Assert.assertEquals(2, thirdCache.getMissCount());
+        Assert.assertEquals(6, get(third, "cache_test.second.Second"));
+    }
+
+    @Test
+    public void testClassPathDirectoryChangesSignature() throws Exception
+    {
+        Path dependencyDir = this.tmpFolder.newFolder().toPath();
+        Path outputDir = this.tmpFolder.newFolder().toPath();
+        Path dependencyClass = Files.createDirectories(dependencyDir.resolve("pkg")).resolve("Native.class");
+        Files.write(dependencyClass, new byte[]{1, 2, 3});
+        Path generatedClass = Files.createDirectories(outputDir.resolve(JavaPackageAndImportBuilder.platformJavaPackage().replace('.', File.separatorChar))).resolve("Generated.class");
+        Files.write(generatedClass, new byte[]{1});
+        ListIterable<String> options = Lists.immutable.with("-classpath", dependencyDir + File.pathSeparator + outputDir);
+
+        String signature = JavaCompilationBuildCache.computeCompilerSignature(options, outputDir);
+        Assert.assertEquals(signature, JavaCompilationBuildCache.computeCompilerSignature(options, outputDir));
+
+        // generated classes in the output directory are not part of the signature
+        Files.write(generatedClass, new byte[]{1, 2});
+        Assert.assertEquals(signature, JavaCompilationBuildCache.computeCompilerSignature(options, outputDir));
+
+        // other class files in the output directory are
+        Files.write(outputDir.resolve("Other.class"), new byte[]{1});
+        String withOther = JavaCompilationBuildCache.computeCompilerSignature(options, outputDir);
+        Assert.assertNotEquals(signature, withOther);
+
+        // as are class files in other classpath directories
+        Files.write(dependencyClass, new byte[]{1, 2, 3, 4});
+        String changedSize = JavaCompilationBuildCache.computeCompilerSignature(options, outputDir);
+        Assert.assertNotEquals(withOther, changedSize);
+
+        Files.setLastModifiedTime(dependencyClass, FileTime.fromMillis(Files.getLastModifiedTime(dependencyClass).toMillis() - 60_000));
+        Assert.assertNotEquals(changedSize, JavaCompilationBuildCache.computeCompilerSignature(options, outputDir));
+    }
+
+    @Test
+    public void testGroupsWithSameSanitisedName() throws Exception
+    {
+        Path cacheDir = this.tmpFolder.newFolder().toPath();
+        JavaCompilationBuildCache cache = new JavaCompilationBuildCache(cacheDir);
+        cache.storeClasses("a/b", "key1", Lists.immutable.empty());
+        cache.storeClasses("a_b", "key2", Lists.immutable.empty());
+
+        MemoryFileManager fileManager = new MemoryFileManager(ToolProvider.getSystemJavaCompiler());
+        Assert.assertTrue(cache.loadClasses("a/b", "key1", fileManager));
+        Assert.assertTrue(cache.loadClasses("a_b", "key2", fileManager));
+    }
+
+    private static PureJavaCompiler compile(JavaCompilationBuildCache cache, int firstValue, int secondValue) throws PureJavaCompileException
+    {
+        return compile(cache, firstValue, secondValue, 1);
+    }
+
+    private static PureJavaCompiler compile(JavaCompilationBuildCache cache, int firstValue, int secondValue, int parallelism) throws PureJavaCompileException
+    {
+        ListIterable<Pair<String, ListIterable<StringJavaSource>>> sourcesByGroup = Lists.immutable.with(
+                Tuples.pair("first", Lists.immutable.with(StringJavaSource.newStringJavaSource("cache_test.first", "First",
+                        "public class First\n" +
+                                "{\n" +
+                                "    public static int get()\n" +
+                                "    {\n" +
+                                "        return " + firstValue + ";\n" +
+                                "    }\n" +
+                                "}\n"))),
+                Tuples.pair("second", Lists.immutable.with(StringJavaSource.newStringJavaSource("cache_test.second", "Second",
+                        "public class Second\n" +
+                                "{\n" +
+                                "    public static int get()\n" +
+                                "    {\n" +
+                                "        return cache_test.first.First.get() + " + secondValue + ";\n" +
+                                "    }\n" +
+                                "}\n"))));
+        Compile compile = new Compile(new PureJavaCompiler(new Message("")), null, cache);
+        compile.compileJavaCodeForSources(sourcesByGroup, group -> "second".equals(group) ? Lists.immutable.with("first") : Lists.immutable.empty(), parallelism, new VoidLog());
+        return compile.getPureJavaCompiler();
+    }
+
+    private static Object get(PureJavaCompiler compiler, String className) throws Exception
+    {
+        return compiler.getClassLoader().loadClass(className).getMethod("get").invoke(null);
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.compiler;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.tuple.Tuples;
+import org.finos.legend.pure.m3.serialization.runtime.Message;
+import org.finos.legend.pure.runtime.java.compiled.generation.orchestrator.VoidLog;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestParallelCompile
+{
+    // d depends on b and c, which both depend on a
+    private static final MapIterable<String, ListIterable<String>> DEPENDENCIES = Maps.immutable.with(
+            "a", Lists.immutable.<String>empty(),
+            "b", Lists.immutable.with("a"),
+            "c", Lists.immutable.with("a"),
+            "d", Lists.immutable.with("b", "c"));
+
+    @Test
+    public void testParallelCompile() throws Exception
+    {
+        ListIterable<Pair<String, ListIterable<StringJavaSource>>> sources = Lists.immutable.with(
+                group("a", "return 1;"),
+                group("b", "return par_test.a.A.get() + 10;"),
+                group("c", "return par_test.a.A.get() + 100;"),
+                group("d", "return par_test.b.B.get() + par_test.c.C.get();"));
+
+        Compile compile = new Compile(new PureJavaCompiler(new Message("")));
+        compile.compileJavaCodeForSources(sources, DEPENDENCIES::get, 4, new VoidLog());
+        PureJavaCompiler compiler = compile.getPureJavaCompiler();
+        Assert.assertEquals(1, get(compiler, "par_test.a.A"));
+        Assert.assertEquals(11, get(compiler, "par_test.b.B"));
+        Assert.assertEquals(101, get(compiler, "par_test.c.C"));
+        Assert.assertEquals(112, get(compiler, "par_test.d.D"));
+    }
+
+    @Test
+    public void testGroupDoesNotSeeIndependentGroup()
+    {
+        // c does not depend on b, so it must not be able to see b's classes
+        ListIterable<Pair<String, ListIterable<StringJavaSource>>> sources = Lists.immutable.with(
+                group("a", "return 1;"),
+                group("b", "return 2;"),
+                group("c", "return par_test.b.B.get();"));
+
+        Compile compile = new Compile(new PureJavaCompiler(new Message("")));
+        PureJavaCompileException e = Assert.assertThrows(PureJavaCompileException.class, () -> compile.compileJavaCodeForSources(sources, DEPENDENCIES::get, 4, new VoidLog()));
+        Assert.assertTrue(e.getMessage(), e.getMessage().contains("par_test.b"));
+    }
+
+    @Test
+    public void testDependencyAfterGroup()
+    {
+        ListIterable<Pair<String, ListIterable<StringJavaSource>>> sources = Lists.immutable.with(
+                group("b", "return par_test.a.A.get();"),
+                group("a", "return 1;"));
+
+        Compile compile = new Compile(new PureJavaCompiler(new Message("")));
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> compile.compileJavaCodeForSources(sources, DEPENDENCIES::get, 4, new VoidLog()));
+        Assert.assertEquals("Compile group b depends on compile group a, which comes after it", e.getMessage());
+    }
+
+    private static Pair<String, ListIterable<StringJavaSource>> group(String group, String body)
+    {
+        String className = group.toUpperCase();
+        return Tuples.pair(group, Lists.immutable.with(StringJavaSource.newStringJavaSource("par_test." + group, className,
+                "public class " + className + "\n" +
+                        "{\n" +
+                        "    public static int get()\n" +
+                        "    {\n" +
+                        "        " + body + "\n" +
+                        "    }\n" +
+                        "}\n")));
+    }
+
+    private static Object get(PureJavaCompiler compiler, String className) throws Exception
+    {
+        return compiler.getClassLoader().loadClass(className).getMethod("get").invoke(null);
+    }
+}
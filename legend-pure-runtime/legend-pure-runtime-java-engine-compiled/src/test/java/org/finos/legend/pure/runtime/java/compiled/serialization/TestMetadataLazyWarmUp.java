@@ -0,0 +1,179 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiled;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.compiled.factory.JavaModelFactoryRegistryLoader;
+import org.finos.legend.pure.runtime.java.compiled.metadata.MetadataLazy;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphDeserializer;
+import org.finos.legend.pure.runtime.java.compiled.serialization.binary.DistributedBinaryGraphSerializer;
+import org.finos.legend.pure.runtime.java.compiled.serialization.model.Obj;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestMetadataLazyWarmUp extends AbstractPureTestWithCoreCompiled
+{
+    private static final ImmutableList<String> CLASSIFIERS = Lists.immutable.with(M3Paths.Class, M3Paths.Enumeration, M3Paths.PrimitiveType);
+
+    private DistributedBinaryGraphDeserializer deserializer;
+
+    @BeforeClass
+    public static void setUp()
+    {
+        setUpRuntime(getFunctionExecution(), JavaModelFactoryRegistryLoader.loader());
+    }
+
+    @Before
+    public void setUpDeserializer()
+    {
+        MutableMap<String, byte[]> fileBytes = Maps.mutable.empty();
+        DistributedBinaryGraphSerializer.newSerializer(runtime).serializeToInMemoryByteArrays(fileBytes);
+        this.deserializer = DistributedBinaryGraphDeserializer.newBuilder(fileBytes).build();
+    }
+
+    @Test
+    public void testWarmUpWithoutPool()
+    {
+        CountingDeserializer countingDeserializer = new CountingDeserializer(this.deserializer, true);
+        MetadataLazy metadata = MetadataLazy.newMetadata(Thread.currentThread().getContextClassLoader(), countingDeserializer);
+        metadata.warmUp(CLASSIFIERS.newWith("not::a::Classifier"));
+        assertWarmedUp(metadata, countingDeserializer);
+    }
+
+    @Test
+    public void testWarmUpWithPool()
+    {
+        CountingDeserializer countingDeserializer = new CountingDeserializer(this.deserializer, true);
+        MetadataLazy metadata = MetadataLazy.newMetadata(Thread.currentThread().getContextClassLoader(), countingDeserializer);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            metadata.warmUp(CLASSIFIERS, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        assertWarmedUp(metadata, countingDeserializer);
+    }
+
+    @Test
+    public void testWarmUpWithDefaultInstanceIdGrouping()
+    {
+        CountingDeserializer countingDeserializer = new CountingDeserializer(this.deserializer, false);
+        Assert.assertEquals(1, countingDeserializer.getClassifierInstanceIdsByFile(M3Paths.Class).size());
+        Assert.assertEquals(0, countingDeserializer.getClassifierInstanceIdsByFile("not::a::Classifier").size());
+
+        MetadataLazy metadata = MetadataLazy.newMetadata(Thread.currentThread().getContextClassLoader(), countingDeserializer);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            metadata.warmUp(CLASSIFIERS, pool);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        assertWarmedUp(metadata, countingDeserializer);
+    }
+
+    private void assertWarmedUp(MetadataLazy metadata, CountingDeserializer countingDeserializer)
+    {
+        int expectedCount = CLASSIFIERS.injectInto(0, (count, classifier) -> count + this.deserializer.getClassifierInstanceIds(classifier).size());
+        Assert.assertEquals(expectedCount, countingDeserializer.instancesRead.get());
+
+        // once warmed up, instances are served from the cache without reading from the deserializer
+        countingDeserializer.instancesRead.set(0);
+        CLASSIFIERS.forEach(classifier ->
+        {
+            MapIterable<String, CoreInstance> instances = metadata.getMetadata(classifier);
+            Assert.assertEquals(classifier, this.deserializer.getClassifierInstanceIds(classifier).toSet(), instances.keysView().toSet());
+            instances.forEachKeyValue((id, instance) -> Assert.assertSame(id, instance, metadata.getMetadata(classifier, id)));
+        });
+        Assert.assertEquals(0, countingDeserializer.instancesRead.get());
+    }
+
+    private static class CountingDeserializer extends DistributedBinaryGraphDeserializer
+    {
+        private final DistributedBinaryGraphDeserializer delegate;
+        private final boolean groupByFile;
+        private final AtomicInteger instancesRead = new AtomicInteger();
+
+        private CountingDeserializer(DistributedBinaryGraphDeserializer delegate, boolean groupByFile)
+        {
+            this.delegate = delegate;
+            this.groupByFile = groupByFile;
+        }
+
+        @Override
+        public boolean hasClassifier(String classifierId)
+        {
+            return this.delegate.hasClassifier(classifierId);
+        }
+
+        @Override
+        public RichIterable<String> getClassifiers()
+        {
+            return this.delegate.getClassifiers();
+        }
+
+        @Override
+        public boolean hasInstance(String classifierId, String instanceId)
+        {
+            return this.delegate.hasInstance(classifierId, instanceId);
+        }
+
+        @Override
+        public RichIterable<String> getClassifierInstanceIds(String classifierId)
+        {
+            return this.delegate.getClassifierInstanceIds(classifierId);
+        }
+
+        @Override
+        public ListIterable<? extends ListIterable<String>> getClassifierInstanceIdsByFile(String classifierId)
+        {
+            return this.groupByFile ? this.delegate.getClassifierInstanceIdsByFile(classifierId) : super.getClassifierInstanceIdsByFile(classifierId);
+        }
+
+        @Override
+        protected Obj getInstance(String classifierId, String instanceId, boolean throwIfNotFound)
+        {
+            this.instancesRead.incrementAndGet();
+            return throwIfNotFound ? this.delegate.getInstance(classifierId, instanceId) : this.delegate.getInstanceIfPresent(classifierId, instanceId);
+        }
+
+        @Override
+        protected ListIterable<Obj> getInstances(String classifierId, Iterable<String> instanceIds, boolean throwIfNotFound)
+        {
+            ListIterable<Obj> instances = throwIfNotFound ? this.delegate.getInstances(classifierId, instanceIds) : this.delegate.getInstancesIfPresent(classifierId, instanceIds);
+            this.instancesRead.addAndGet(instances.size());
+            return instances;
+        }
+    }
+}
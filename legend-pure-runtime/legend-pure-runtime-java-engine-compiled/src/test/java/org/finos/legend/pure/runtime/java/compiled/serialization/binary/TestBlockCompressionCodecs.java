@@ -0,0 +1,57 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class TestBlockCompressionCodecs
+{
+    @Test
+    public void testDeflateRoundTrip()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 1000; i++)
+        {
+            builder.append("meta::pure::metamodel::type::Class_").append(i % 17).append('\n');
+        }
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        BlockCompressionCodec codec = BlockCompressionCodecs.deflate();
+        Assert.assertEquals(BlockCompressionCodecs.DEFLATE, codec.getName());
+
+        byte[] compressed = codec.compress(bytes, 0, bytes.length);
+        Assert.assertTrue(compressed.length < bytes.length);
+        Assert.assertArrayEquals(bytes, codec.decompress(compressed, bytes.length));
+
+        // compress part of an array
+        byte[] partCompressed = codec.compress(bytes, 100, 500);
+        Assert.assertArrayEquals(Arrays.copyOfRange(bytes, 100, 600), codec.decompress(partCompressed, 500));
+
+        // empty block
+        Assert.assertArrayEquals(new byte[0], codec.decompress(codec.compress(bytes, 0, 0), 0));
+    }
+
+    @Test
+    public void testGetCodec()
+    {
+        Assert.assertSame(BlockCompressionCodecs.deflate(), BlockCompressionCodecs.getCodec(BlockCompressionCodecs.DEFLATE));
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> BlockCompressionCodecs.getCodec("no-such-codec"));
+        Assert.assertEquals("Unknown block compression codec: no-such-codec", e.getMessage());
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
+
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.MutableMap;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiled;
+import org.finos.legend.pure.m4.serialization.Reader;
+import org.finos.legend.pure.runtime.java.compiled.factory.JavaModelFactoryRegistryLoader;
+import org.finos.legend.pure.runtime.java.compiled.serialization.model.Obj;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestDecompressedBlockCache extends AbstractPureTestWithCoreCompiled
+{
+    private static final MutableMap<String, byte[]> FILE_BYTES = Maps.mutable.empty();
+
+    @BeforeClass
+    public static void setUp()
+    {
+        setUpRuntime(getFunctionExecution(), JavaModelFactoryRegistryLoader.loader());
+        DistributedBinaryGraphSerializer.newSerializer(runtime).serialize(FileWriters.fromInMemoryByteArrayMap(FILE_BYTES), BlockCompressionCodecs.deflate());
+    }
+
+    @Test
+    public void testBlockReadOnceWithCache()
+    {
+        CountingFileReader fileReader = new CountingFileReader();
+        DistributedBinaryGraphDeserializer deserializer = DistributedBinaryGraphDeserializer.newBuilder(fileReader).build();
+        String instanceId = deserializer.getClassifierInstanceIds(M3Paths.Class).getAny();
+
+        // the first read loads the block table and the block
+        Obj obj = deserializer.getInstance(M3Paths.Class, instanceId);
+        Assert.assertEquals(2, fileReader.binFileReads.get());
+
+        fileReader.binFileReads.set(0);
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(obj, deserializer.getInstance(M3Paths.Class, instanceId));
+        }
+        Assert.assertEquals(0, fileReader.binFileReads.get());
+    }
+
+    @Test
+    public void testBlockReadEachTimeWithoutCache()
+    {
+        CountingFileReader fileReader = new CountingFileReader();
+        DistributedBinaryGraphDeserializer deserializer = DistributedBinaryGraphDeserializer.newBuilder(fileReader).withDecompressedBlockCacheSize(0).build();
+        String instanceId = deserializer.getClassifierInstanceIds(M3Paths.Class).getAny();
+
+        Obj obj = deserializer.getInstance(M3Paths.Class, instanceId);
+        fileReader.binFileReads.set(0);
+        for (int i = 0; i < 10; i++)
+        {
+            Assert.assertEquals(obj, deserializer.getInstance(M3Paths.Class, instanceId));
+        }
+        Assert.assertEquals(10, fileReader.binFileReads.get());
+    }
+
+    @Test
+    public void testInvalidCacheSize()
+    {
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class, () -> DistributedBinaryGraphDeserializer.newBuilder(FILE_BYTES).withDecompressedBlockCacheSize(-1));
+        Assert.assertEquals("Invalid decompressed block cache size: -1", e.getMessage());
+    }
+
+    private static class CountingFileReader implements FileReader
+    {
+        private final FileReader delegate = FileReaders.fromInMemoryByteArrays(FILE_BYTES);
+        private final AtomicInteger binFileReads = new AtomicInteger();
+
+        @Override
+        public Reader getReader(String path)
+        {
+            if (path.endsWith(".bin"))
+            {
+                this.binFileReads.incrementAndGet();
+            }
+            return this.delegate.getReader(path);
+        }
+    }
+}
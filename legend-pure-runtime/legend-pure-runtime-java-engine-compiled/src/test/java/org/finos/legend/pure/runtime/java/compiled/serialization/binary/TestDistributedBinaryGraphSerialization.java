@@ -47,7 +47,14 @@ public abstract class TestDistributedBinaryGraphSerialization extends AbstractPu
     public void testFromRuntime() throws IOException
     {
         ListIterable<Obj> expectedObjs = getExpectedObjsFromRuntime();
-        testSerialization(DistributedBinaryGraphSerializer.newSerializer(runtime), expectedObjs);
+        testSerialization(DistributedBinaryGraphSerializer.newSerializer(runtime), null, expectedObjs);
+    }
+
+    @Test
+    public void testFromRuntimeWithBlockCompression() throws IOException
+    {
+        ListIterable<Obj> expectedObjs = getExpectedObjsFromRuntime();
+        testSerialization(DistributedBinaryGraphSerializer.newSerializer(runtime), BlockCompressionCodecs.deflate(), expectedObjs);
     }
 
     private ListIterable<Obj> getExpectedObjsFromRuntime()
@@ -61,10 +68,10 @@ public abstract class TestDistributedBinaryGraphSerialization extends AbstractPu
                 .collect(i -> GraphSerializer.buildObj(i, idBuilder, classifierCaches, processorSupport), Lists.mutable.empty());
     }
 
-    private void testSerialization(DistributedBinaryGraphSerializer serializer, ListIterable<Obj> expectedObjs, String... metadataNames) throws IOException
+    private void testSerialization(DistributedBinaryGraphSerializer serializer, BlockCompressionCodec compressionCodec, ListIterable<Obj> expectedObjs, String... metadataNames) throws IOException
     {
         // Serialize
-        serializer.serialize(getFileWriter());
+        serializer.serialize(getFileWriter(), compressionCodec);
 
         // Deserialize
         DistributedBinaryGraphDeserializer.Builder deserializerBuilder = DistributedBinaryGraphDeserializer.newBuilder(getFileReader());
@@ -90,6 +97,7 @@ public abstract class TestDistributedBinaryGraphSerialization extends AbstractPu
             MutableList<String> instanceIds = instances.collect(Obj::getIdentifier);
             Assert.assertEquals(classifierId, instanceIds.makeString("\n"), deserializer.getClassifierInstanceIds(classifierId).toSortedList().makeString("\n"));
             Assert.assertEquals(classifierId, instances, deserializer.getInstances(classifierId, instanceIds).toSortedListBy(Obj::getIdentifier));
+            Assert.assertEquals(classifierId, instanceIds.makeString("\n"), deserializer.getClassifierInstanceIdsByFile(classifierId).asLazy().flatCollect(ids -> ids).toSortedList().makeString("\n"));
         }
 
         // Validate all individual objs
@@ -0,0 +1,98 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.compiled.serialization.binary;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+public class TestMappedZipDistributedBinaryGraphSerialization extends TestDistributedBinaryGraphSerialization
+{
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+    private ZipFile zipFile;
+
+    @After
+    public void cleanUpZipFile() throws IOException
+    {
+        if (this.zipFile != null)
+        {
+            this.zipFile.close();
+        }
+    }
+
+    @Override
+    protected FileWriter getFileWriter() throws IOException
+    {
+        this.directory = this.temporaryFolder.newFolder("distMetadata").toPath();
+        return FileWriters.fromDirectory(this.directory);
+    }
+
+    @Override
+    protected FileReader getFileReader() throws IOException
+    {
+        // store the even numbered files and compress the others, to test both kinds of entry
+        Path zipPath = this.temporaryFolder.newFile("distMetadata.zip").toPath();
+        MutableList<Path> files;
+        try (Stream<Path> stream = Files.walk(this.directory))
+        {
+            files = Lists.mutable.withAll(stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+        }
+        try (ZipOutputStream zipStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(zipPath))))
+        {
+            files.forEachWithIndex((file, i) ->
+            {
+                try
+                {
+                    byte[] bytes = Files.readAllBytes(file);
+                    ZipEntry entry = new ZipEntry(this.directory.relativize(file).toString().replace('\\', '/'));
+                    if (i % 2 == 0)
+                    {
+                        CRC32 crc = new CRC32();
+                        crc.update(bytes);
+                        entry.setMethod(ZipEntry.STORED);
+                        entry.setSize(bytes.length);
+                        entry.setCompressedSize(bytes.length);
+                        entry.setCrc(crc.getValue());
+                    }
+                    zipStream.putNextEntry(entry);
+                    zipStream.write(bytes);
+                    zipStream.closeEntry();
+                }
+                catch (IOException e)
+                {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        this.zipFile = new ZipFile(zipPath.toFile());
+        return FileReaders.fromMappedZipFile(this.zipFile);
+    }
+}
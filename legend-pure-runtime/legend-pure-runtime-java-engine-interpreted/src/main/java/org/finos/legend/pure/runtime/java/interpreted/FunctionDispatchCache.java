@@ -0,0 +1,260 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.interpreted;
+
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.serialization.runtime.CompilerEventHandler;
+import org.finos.legend.pure.m3.serialization.runtime.Source;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.interpreted.extension.InterpretedExtension;
+import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
+
+import java.util.SortedMap;
+
+/**
+ * Side table recording how the interpreter should execute each function: its kind, its Java
+ * implementation if it is native, and the extensions which may override its execution. Entries
+ * are resolved on first execution and the whole table is dropped whenever the graph changes.
+ * Only persistent functions are recorded: functions created during execution are resolved on
+ * each call, so that the table does not keep them reachable.
+ */
+class FunctionDispatchCache implements CompilerEventHandler
+{
+    enum FunctionKind
+    {
+        NATIVE_FUNCTION,
+        PROPERTY,
+        FUNCTION_DEFINITION,
+        OTHER
+    }
+
+    static class FunctionDispatch
+    {
+        private final FunctionKind kind;
+        private final NativeFunction nativeFunction;
+        private final ListIterable<InterpretedExtension> extensions;
+        private volatile Boolean mayCaptureVariableContext;
+
+        private FunctionDispatch(FunctionKind kind, NativeFunction nativeFunction, ListIterable<InterpretedExtension> extensions)
+        {
+            this.kind = kind;
+            this.nativeFunction = nativeFunction;
+            this.extensions = extensions;
+        }
+
+        FunctionKind getKind()
+        {
+            return this.kind;
+        }
+
+        /**
+         * Java implementation of a native function, or null if the function is not native or
+         * has no implementation on this execution platform.
+         */
+        NativeFunction getNativeFunction()
+        {
+            return this.nativeFunction;
+        }
+
+        /**
+         * Extensions which may provide an execution for the function.
+         */
+        ListIterable<InterpretedExtension> getExtensions()
+        {
+            return this.extensions;
+        }
+
+        /**
+         * Whether evaluating the function may capture its variable context (see
+         * {@link FunctionDispatchCache#mayCaptureVariableContext}). This is computed on first use.
+         */
+        boolean mayCaptureVariableContext(CoreInstance function, ProcessorSupport processorSupport)
+        {
+            Boolean result = this.mayCaptureVariableContext;
+            if (result == null)
+            {
+                this.mayCaptureVariableContext = result = FunctionDispatchCache.mayCaptureVariableContext(function, processorSupport);
+            }
+            return result;
+        }
+    }
+
+    private final ConcurrentMutableMap<CoreInstance, FunctionDispatch> dispatches = ConcurrentHashMap.newMap();
+
+    FunctionDispatch getDispatch(Function<CoreInstance> function, MapIterable<String, NativeFunction> nativeFunctions, ListIterable<InterpretedExtension> extensions, ProcessorSupport processorSupport)
+    {
+        // Lambdas with context are created on each evaluation, so dispatch on the underlying lambda
+        CoreInstance key = (function instanceof LambdaWithContext) ? ((LambdaWithContext) function).getLambda() : function;
+        if (!key.isPersistent())
+        {
+            return resolveDispatch(function, nativeFunctions, extensions, processorSupport);
+        }
+        FunctionDispatch dispatch = this.dispatches.get(key);
+        if (dispatch == null)
+        {
+            dispatch = resolveDispatch(function, nativeFunctions, extensions, processorSupport);
+            FunctionDispatch old = this.dispatches.putIfAbsent(key, dispatch);
+            if (old != null)
+            {
+                dispatch = old;
+            }
+        }
+        return dispatch;
+    }
+
+    void clear()
+    {
+        this.dispatches.clear();
+    }
+
+    @Override
+    public void finishedCompilingCore(RichIterable<? extends Source> compiledSources)
+    {
+        clear();
+    }
+
+    @Override
+    public void compiled(SortedMap<String, RichIterable<? extends Source>> compiledSourcesByRepo, RichIterable<? extends CoreInstance> consolidatedCoreInstances)
+    {
+        clear();
+    }
+
+    @Override
+    public void invalidate(RichIterable<? extends CoreInstance> consolidatedCoreInstances)
+    {
+        clear();
+    }
+
+    @Override
+    public boolean isInitialized()
+    {
+        return true;
+    }
+
+    @Override
+    public void reset()
+    {
+        clear();
+    }
+
+    private static FunctionDispatch resolveDispatch(Function<CoreInstance> function, MapIterable<String, NativeFunction> nativeFunctions, ListIterable<InterpretedExtension> extensions, ProcessorSupport processorSupport)
+    {
+        ListIterable<InterpretedExtension> applicableExtensions = extensions.select(e -> e.hasExtraFunctionExecution(function, processorSupport));
+        if (Instance.instanceOf(function, M3Paths.NativeFunction, processorSupport))
+        {
+            return new FunctionDispatch(FunctionKind.NATIVE_FUNCTION, nativeFunctions.get(function.getName()), applicableExtensions);
+        }
+        if (Instance.instanceOf(function, M3Paths.Property, processorSupport))
+        {
+            return new FunctionDispatch(FunctionKind.PROPERTY, null, applicableExtensions);
+        }
+        if (Instance.instanceOf(function, M3Paths.FunctionDefinition, processorSupport))
+        {
+            return new FunctionDispatch(FunctionKind.FUNCTION_DEFINITION, null, applicableExtensions);
+        }
+        return new FunctionDispatch(FunctionKind.OTHER, null, applicableExtensions);
+    }
+
+    /**
+     * Whether evaluating the function may capture its variable context, which is the case if it
+     * contains a lambda with open variables (which is evaluated to a {@link LambdaWithContext}).
+     * Anything not understood, including instances which may hold a lambda, is assumed to capture it.
+     */
+    static boolean mayCaptureVariableContext(CoreInstance function, ProcessorSupport processorSupport)
+    {
+        for (CoreInstance expression : Instance.getValueForMetaPropertyToManyResolved(function, M3Properties.expressionSequence, processorSupport))
+        {
+            if (mayCaptureVariableContextInValueSpecification(expression, processorSupport))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean mayCaptureVariableContextInValueSpecification(CoreInstance valueSpecification, ProcessorSupport processorSupport)
+    {
+        if (processorSupport.instance_instanceOf(valueSpecification, M3Paths.VariableExpression))
+        {
+            return false;
+        }
+        if (processorSupport.instance_instanceOf(valueSpecification, M3Paths.FunctionExpression))
+        {
+            for (CoreInstance parameterValue : Instance.getValueForMetaPropertyToManyResolved(valueSpecification, M3Properties.parametersValues, processorSupport))
+            {
+                if (mayCaptureVariableContextInValueSpecification(parameterValue, processorSupport))
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (processorSupport.instance_instanceOf(valueSpecification, M3Paths.InstanceValue))
+        {
+            for (CoreInstance value : Instance.getValueForMetaPropertyToManyResolved(valueSpecification, M3Properties.values, processorSupport))
+            {
+                if (processorSupport.instance_instanceOf(value, M3Paths.ValueSpecification))
+                {
+                    if (mayCaptureVariableContextInValueSpecification(value, processorSupport))
+                    {
+                        return true;
+                    }
+                }
+                else if (processorSupport.instance_instanceOf(value, M3Paths.LambdaFunction))
+                {
+                    if (value.getValueForMetaPropertyToMany(M3Properties.openVariables).notEmpty() || mayCaptureVariableContext(value, processorSupport))
+                    {
+                        return true;
+                    }
+                }
+                else if (processorSupport.instance_instanceOf(value, M3Paths.KeyExpression))
+                {
+                    CoreInstance expression = Instance.getValueForMetaPropertyToOneResolved(value, M3Properties.expression, processorSupport);
+                    if ((expression != null) && mayCaptureVariableContextInValueSpecification(expression, processorSupport))
+                    {
+                        return true;
+                    }
+                }
+                else if (!cannotHoldFunction(value, processorSupport))
+                {
+                    // other instances (e.g., column specifications) may hold a lambda which captures the context
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether a value is known not to hold a function: primitive values, enum values and
+     * packageable elements (such as a reference to a named function).
+     */
+    private static boolean cannotHoldFunction(CoreInstance value, ProcessorSupport processorSupport)
+    {
+        return processorSupport.type_isPrimitiveType(processorSupport.getClassifier(value)) ||
+                processorSupport.instance_instanceOf(value, M3Paths.Enum) ||
+                processorSupport.instance_instanceOf(value, M3Paths.PackageableElement);
+    }
+}
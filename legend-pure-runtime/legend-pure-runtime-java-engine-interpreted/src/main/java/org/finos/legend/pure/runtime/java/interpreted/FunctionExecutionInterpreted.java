@@ -74,7 +74,6 @@ import org.finos.legend.pure.runtime.java.interpreted.profiler.VoidProfiler;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.List;
 import java.util.Stack;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -97,6 +96,7 @@ public class FunctionExecutionInterpreted implements FunctionExecution
     private MutableMap<String, NativeFunction> nativeFunctions;
     private final int maxSQLRows;
     private MutableList<InterpretedExtension> extensions;
+    private final FunctionDispatchCache functionDispatchCache = new FunctionDispatchCache();
 
     public FunctionExecutionInterpreted()
     {
@@ -124,7 +124,13 @@ public class FunctionExecutionInterpreted implements FunctionExecution
     @Override
     public void init(PureRuntime runtime, Message message)
     {
+        if (this.runtime != null)
+        {
+            this.runtime.getIncrementalCompiler().removeCompilerEventHandler(this.functionDispatchCache);
+        }
         this.runtime = runtime;
+        this.functionDispatchCache.clear();
+        this.runtime.getIncrementalCompiler().addCompilerEventHandler(this.functionDispatchCache);
 
         this.processorSupport = new M3ProcessorSupport(this.runtime.getContext(), this.runtime.getModelRepository());
 
@@ -309,6 +315,7 @@ public class FunctionExecutionInterpreted implements FunctionExecution
     public void addNativeFunction(String signature, NativeFunction function)
     {
         this.nativeFunctions.put(signature, function);
+        this.functionDispatchCache.clear();
     }
 
     @Override
@@ -349,6 +356,13 @@ public class FunctionExecutionInterpreted implements FunctionExecution
         }
     }
 
+    @Override
+    public boolean supportsConcurrentExecution()
+    {
+        // each execution has its own stacks, variable context and execution support
+        return true;
+    }
+
     @Override
     public Console getConsole()
     {
@@ -408,6 +422,18 @@ public class FunctionExecutionInterpreted implements FunctionExecution
         return this.executeFunction(false, LambdaFunctionCoreInstanceWrapper.toLambdaFunction(function), params, resolvedTypeParameters, resolvedMultiplicityParameters, context, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
     }
 
+    /**
+     * Bind a lambda for repeated invocation from a native function, for example once per element of
+     * a collection. The lambda signature is resolved once and, where it is safe to do so, the variable
+     * context and argument wrappers are reused between invocations.
+     */
+    public LambdaInvoker newLambdaInvoker(CoreInstance lambda, boolean executable, VariableContext variableContext, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport)
+    {
+        LambdaFunction<CoreInstance> lambdaFunction = LambdaFunctionCoreInstanceWrapper.toLambdaFunction(lambda);
+        VariableContext context = (lambdaFunction instanceof LambdaWithContext) ? ((LambdaWithContext) lambdaFunction).getVariableContext() : variableContext;
+        return new LambdaInvoker(this, lambdaFunction, executable, context, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+    }
+
     public void cancelExecution()
     {
         this.cancelExecution.set(true);
@@ -476,41 +502,56 @@ public class FunctionExecutionInterpreted implements FunctionExecution
             }
 
             // Execute
+            FunctionDispatchCache.FunctionDispatch dispatch = this.functionDispatchCache.getDispatch(function, this.nativeFunctions, this.extensions, processorSupport);
             CoreInstance result = null;
-            if (Instance.instanceOf(function, M3Paths.NativeFunction, processorSupport))
+            switch (dispatch.getKind())
             {
-                org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.NativeFunction function1 = NativeFunctionCoreInstanceWrapper.toNativeFunction(function);
-                NativeFunction nativeFunction = this.nativeFunctions.get(function1.getName());
-                if (nativeFunction == null)
+                case NATIVE_FUNCTION:
                 {
-                    throw new PureExecutionException(functionExpressionToUseInStack.getSourceInformation(), "The function '" + function1.getName() + "' is not supported by this execution platform");
+                    NativeFunction nativeFunction = dispatch.getNativeFunction();
+                    if (nativeFunction == null)
+                    {
+                        throw new PureExecutionException(functionExpressionToUseInStack.getSourceInformation(), "The function '" + function.getName() + "' is not supported by this execution platform");
+                    }
+                    result = nativeFunction.execute(params, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, this.runtime.getContext(), this.runtime.getProcessorSupport());
+                    break;
                 }
-                result = nativeFunction.execute(params, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, this.runtime.getContext(), this.runtime.getProcessorSupport());
-            }
-            else if (Instance.instanceOf(function, M3Paths.Property, processorSupport))
-            {
-                result = this.executeProperty(PropertyCoreInstanceWrapper.toProperty(function), true, resolvedTypeParameters, resolvedMultiplicityParameters, varContext, profiler, params, functionExpressionToUseInStack, instantiationContext, executionSupport);
-            }
-            //Qualified properties also go here
-            else if (Instance.instanceOf(function, M3Paths.FunctionDefinition, processorSupport))
-            {
-                RichIterable<? extends CoreInstance> expressions = FunctionDefinitionCoreInstanceWrapper.toFunctionDefinition(function)._expressionSequence();
+                case PROPERTY:
+                {
+                    result = this.executeProperty(PropertyCoreInstanceWrapper.toProperty(function), true, resolvedTypeParameters, resolvedMultiplicityParameters, varContext, profiler, params, functionExpressionToUseInStack, instantiationContext, executionSupport);
+                    break;
+                }
+                //Qualified properties also go here
+                case FUNCTION_DEFINITION:
+                {
+                    RichIterable<? extends CoreInstance> expressions = FunctionDefinitionCoreInstanceWrapper.toFunctionDefinition(function)._expressionSequence();
 
-                CoreInstance returnVal = null;
-                for (CoreInstance expression : expressions)
+                    CoreInstance returnVal = null;
+                    for (CoreInstance expression : expressions)
+                    {
+                        Executor executor = findValueSpecificationExecutor(expression, functionExpressionToUseInStack, processorSupport, this);
+                        returnVal = executor.execute(expression, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, variableContext, profiler, instantiationContext, executionSupport, this, processorSupport);
+                    }
+                    result = returnVal;
+                    break;
+                }
+                default:
                 {
-                    Executor executor = findValueSpecificationExecutor(expression, functionExpressionToUseInStack, processorSupport, this);
-                    returnVal = executor.execute(expression, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, variableContext, profiler, instantiationContext, executionSupport, this, processorSupport);
+                    // handled by extensions, if at all
                 }
-                result = returnVal;
             }
-            List<CoreInstance> instances = this.extensions.collect(x -> x.getExtraFunctionExecution(function, params, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, this)).select(x -> x != null);
 
-            if (instances.size() == 1)
+            ListIterable<InterpretedExtension> dispatchExtensions = dispatch.getExtensions();
+            if (dispatchExtensions.notEmpty())
             {
-                result = instances.get(0);
+                ListIterable<CoreInstance> instances = dispatchExtensions.collect(x -> x.getExtraFunctionExecution(function, params, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport, processorSupport, this)).select(x -> x != null);
+                if (instances.size() == 1)
+                {
+                    result = instances.get(0);
+                }
             }
-            else if (result == null)
+
+            if (result == null)
             {
                 throw new PureExecutionException("Unsupported function for execution " + function.getName());
             }
@@ -543,75 +584,116 @@ public class FunctionExecutionInterpreted implements FunctionExecution
             }
             return result;
         }
-        catch (PureAssertFailException e)
+        catch (RuntimeException e)
+        {
+            throw translateExecutionException(e, functionExpressionToUseInStack);
+        }
+    }
+
+    FunctionDispatchCache.FunctionDispatch getFunctionDispatch(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function<CoreInstance> function)
+    {
+        return this.functionDispatchCache.getDispatch(function, this.nativeFunctions, this.extensions, this.runtime.getProcessorSupport());
+    }
+
+    /**
+     * Execute the expression sequence of a function definition whose parameters have already been
+     * registered in variableContext.
+     */
+    CoreInstance executeExpressionSequence(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function<CoreInstance> function, ListIterable<? extends CoreInstance> expressions, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport)
+    {
+        try
+        {
+            if (this.cancelExecution.compareAndSet(true, false))
+            {
+                throw new PureExecutionException("Cancelled!");
+            }
+
+            ProcessorSupport processorSupport = this.runtime.getProcessorSupport();
+            CoreInstance result = null;
+            for (CoreInstance expression : expressions)
+            {
+                Executor executor = findValueSpecificationExecutor(expression, functionExpressionToUseInStack, processorSupport, this);
+                result = executor.execute(expression, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, variableContext, profiler, instantiationContext, executionSupport, this, processorSupport);
+            }
+            if (result == null)
+            {
+                throw new PureExecutionException("Unsupported function for execution " + function.getName());
+            }
+            return result;
+        }
+        catch (RuntimeException e)
+        {
+            throw translateExecutionException(e, functionExpressionToUseInStack);
+        }
+    }
+
+    private static RuntimeException translateExecutionException(RuntimeException e, CoreInstance functionExpressionToUseInStack)
+    {
+        if (e instanceof PureAssertFailException)
         {
+            PureAssertFailException assertFailException = (PureAssertFailException) e;
             org.finos.legend.pure.m4.coreinstance.SourceInformation sourceInfo = (functionExpressionToUseInStack == null ? null : functionExpressionToUseInStack.getSourceInformation());
-            if (sourceInfo != null && sourceInfo != e.getSourceInformation())
+            if (sourceInfo != null && sourceInfo != assertFailException.getSourceInformation())
             {
                 String testPurePlatformFileName = "/platform/pure/basics/tests/";
                 boolean allFromAssert = true;
-                for (org.finos.legend.pure.m4.coreinstance.SourceInformation si : e.getPureStackSourceInformation())
+                for (org.finos.legend.pure.m4.coreinstance.SourceInformation si : assertFailException.getPureStackSourceInformation())
                 {
                     allFromAssert = allFromAssert && si != null && si.getSourceId().startsWith(testPurePlatformFileName);
                 }
 
                 if (allFromAssert && !sourceInfo.getSourceId().startsWith(testPurePlatformFileName))
                 {
-                    throw new PureAssertFailException(sourceInfo, e.getInfo());
+                    return new PureAssertFailException(sourceInfo, assertFailException.getInfo());
                 }
                 else
                 {
-                    throw new PureAssertFailException(sourceInfo, e.getInfo(), e);
+                    return new PureAssertFailException(sourceInfo, assertFailException.getInfo(), assertFailException);
                 }
             }
-            else
-            {
-                throw e;
-            }
+            return e;
         }
-        catch (PureException e)
+        if (e instanceof PureException)
         {
             if (functionExpressionToUseInStack != null)
             {
+                PureException pureException = (PureException) e;
                 org.finos.legend.pure.m4.coreinstance.SourceInformation sourceInfo = functionExpressionToUseInStack.getSourceInformation();
-                if (sourceInfo != null && !sourceInfo.equals(e.getSourceInformation()))
+                if (sourceInfo != null && !sourceInfo.equals(pureException.getSourceInformation()))
                 {
-                    throw new PureExecutionException(sourceInfo, e.getInfo(), e);
+                    return new PureExecutionException(sourceInfo, pureException.getInfo(), pureException);
                 }
             }
-            throw e;
+            return e;
         }
-        catch (RuntimeException e)
+        if (functionExpressionToUseInStack != null)
         {
-            if (functionExpressionToUseInStack != null)
+            org.finos.legend.pure.m4.coreinstance.SourceInformation sourceInfo = functionExpressionToUseInStack.getSourceInformation();
+            PureException pureException = PureException.findPureException(e);
+            if (pureException == null)
             {
-                org.finos.legend.pure.m4.coreinstance.SourceInformation sourceInfo = functionExpressionToUseInStack.getSourceInformation();
-                PureException pureException = PureException.findPureException(e);
-                if (pureException == null)
+                if (sourceInfo != null)
                 {
-                    if (sourceInfo != null)
-                    {
-                        throw new PureExecutionException(sourceInfo, e.getMessage(), e);
-                    }
+                    return new PureExecutionException(sourceInfo, e.getMessage(), e);
                 }
-                else if (sourceInfo != null && sourceInfo != pureException.getSourceInformation())
+            }
+            else if (sourceInfo != null && sourceInfo != pureException.getSourceInformation())
+            {
+                if (pureException instanceof PureAssertFailException)
                 {
-                    if (pureException instanceof PureAssertFailException)
-                    {
-                        throw new PureAssertFailException(sourceInfo, pureException.getInfo(), (PureAssertFailException) pureException);
-                    }
-                    else
-                    {
-                        throw new PureExecutionException(sourceInfo, pureException.getInfo(), pureException);
-                    }
+                    return new PureAssertFailException(sourceInfo, pureException.getInfo(), (PureAssertFailException) pureException);
                 }
                 else
                 {
-                    throw pureException;
+                    return new PureExecutionException(sourceInfo, pureException.getInfo(), pureException);
                 }
             }
-            throw e;
+            else
+            {
+                return pureException;
+            }
         }
+        return e;
     }
 
     public CoreInstance executeProperty(Property property, boolean route, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, Profiler profiler, ListIterable<? extends CoreInstance> parameters, CoreInstance functionExpressionToUseInStack, InstantiationContext instantiationContext, ExecutionSupport executionSupport) throws PureExecutionException
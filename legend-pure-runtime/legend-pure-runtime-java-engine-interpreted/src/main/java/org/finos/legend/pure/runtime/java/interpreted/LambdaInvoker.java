@@ -0,0 +1,289 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.interpreted;
+
+import org.eclipse.collections.api.list.FixedSizeList;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunction;
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
+import org.finos.legend.pure.m3.navigation.generictype.GenericType;
+import org.finos.legend.pure.m3.navigation.measure.Measure;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.interpreted.VariableContext.VariableNameConflictException;
+import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
+import org.finos.legend.pure.runtime.java.interpreted.profiler.Profiler;
+
+import java.util.Stack;
+
+/**
+ * A lambda bound for repeated invocation by a native function (filter, map, fold, sort, ...).
+ * <p>
+ * The lambda signature and its execution dispatch are resolved once, when the invoker is created.
+ * Invocations then go straight to the expression sequence of the lambda. When the lambda cannot
+ * capture its variable context (i.e., it contains no nested lambda with open variables), a single
+ * variable context is reused across invocations, as is a single value specification wrapping each
+ * argument. Only the values of a reused wrapper are replaced, along with its generic type when the
+ * classifier of the value changes. A wrapper returned as the result of the lambda is not reused
+ * again, as the caller may keep it. Lambdas which
+ * are not eligible for this fast path are executed through
+ * {@link FunctionExecutionInterpreted#executeFunction}, exactly as before.
+ * <p>
+ * An invoker is not thread safe and should only be used for the duration of the native function
+ * execution which created it.
+ */
+public class LambdaInvoker
+{
+    private final FunctionExecutionInterpreted functionExecution;
+    private final LambdaFunction<CoreInstance> lambda;
+    private final boolean executable;
+    private final VariableContext variableContext;
+    private final Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters;
+    private final Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters;
+    private final CoreInstance functionExpressionToUseInStack;
+    private final Profiler profiler;
+    private final InstantiationContext instantiationContext;
+    private final ExecutionSupport executionSupport;
+    private final ProcessorSupport processorSupport;
+
+    private final FunctionDispatchCache.FunctionDispatch dispatch;
+    private final ListIterable<? extends CoreInstance> expressions;
+    private final String[] parameterNames;
+    private final CoreInstance[] argumentWrappers;
+    private final CoreInstance[] argumentWrapperClassifiers;
+
+    private int invocationCount = 0;
+    private boolean reuseFrame = false;
+    private VariableContext frame;
+
+    LambdaInvoker(FunctionExecutionInterpreted functionExecution, LambdaFunction<CoreInstance> lambda, boolean executable, VariableContext variableContext, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport)
+    {
+        this.functionExecution = functionExecution;
+        this.lambda = lambda;
+        this.executable = executable;
+        this.variableContext = variableContext;
+        this.resolvedTypeParameters = resolvedTypeParameters;
+        this.resolvedMultiplicityParameters = resolvedMultiplicityParameters;
+        this.functionExpressionToUseInStack = functionExpressionToUseInStack;
+        this.profiler = profiler;
+        this.instantiationContext = instantiationContext;
+        this.executionSupport = executionSupport;
+        this.processorSupport = functionExecution.getRuntime().getProcessorSupport();
+
+        this.dispatch = functionExecution.getFunctionDispatch(lambda);
+        if ((this.dispatch.getKind() == FunctionDispatchCache.FunctionKind.FUNCTION_DEFINITION) && this.dispatch.getExtensions().isEmpty())
+        {
+            this.expressions = this.lambda._expressionSequence().toList();
+            this.parameterNames = getParameterNames(lambda, this.processorSupport);
+            this.argumentWrappers = new CoreInstance[this.parameterNames.length];
+            this.argumentWrapperClassifiers = new CoreInstance[this.parameterNames.length];
+        }
+        else
+        {
+            this.expressions = null;
+            this.parameterNames = null;
+            this.argumentWrappers = null;
+            this.argumentWrapperClassifiers = null;
+        }
+    }
+
+    /**
+     * Invoke the lambda with a single argument.
+     *
+     * @param value argument value (not wrapped in a value specification)
+     * @return lambda result
+     */
+    public CoreInstance invoke(CoreInstance value)
+    {
+        if (!isBound(1))
+        {
+            return execute(Lists.fixedSize.with(wrap(value)));
+        }
+
+        prepareInvocation();
+        registerArgument(0, wrapArgument(0, value));
+        return execute();
+    }
+
+    /**
+     * Invoke the lambda with two arguments.
+     *
+     * @param value1 first argument value (not wrapped in a value specification)
+     * @param value2 second argument value (not wrapped in a value specification)
+     * @return lambda result
+     */
+    public CoreInstance invoke(CoreInstance value1, CoreInstance value2)
+    {
+        if (!isBound(2))
+        {
+            return execute(Lists.fixedSize.with(wrap(value1), wrap(value2)));
+        }
+
+        prepareInvocation();
+        registerArgument(0, wrapArgument(0, value1));
+        registerArgument(1, wrapArgument(1, value2));
+        return execute();
+    }
+
+    /**
+     * Invoke the lambda with a value and an argument which is already a value specification, such
+     * as the accumulator of a fold.
+     *
+     * @param value              first argument value (not wrapped in a value specification)
+     * @param valueSpecification second argument, as a value specification
+     * @return lambda result
+     */
+    public CoreInstance invokeWithValueSpecification(CoreInstance value, CoreInstance valueSpecification)
+    {
+        if (!isBound(2))
+        {
+            return execute(Lists.fixedSize.with(wrap(value), valueSpecification));
+        }
+
+        prepareInvocation();
+        registerArgument(0, wrapArgument(0, value));
+        registerArgument(1, valueSpecification);
+        return execute();
+    }
+
+    private boolean isBound(int argumentCount)
+    {
+        return (this.parameterNames != null) && (this.parameterNames.length == argumentCount);
+    }
+
+    private CoreInstance execute(FixedSizeList<CoreInstance> arguments)
+    {
+        return this.functionExecution.executeFunction(false, this.lambda, arguments, this.resolvedTypeParameters, this.resolvedMultiplicityParameters, this.variableContext, this.functionExpressionToUseInStack, this.profiler, this.instantiationContext, this.executionSupport);
+    }
+
+    private CoreInstance execute()
+    {
+        CoreInstance result = this.functionExecution.executeExpressionSequence(this.lambda, this.expressions, this.resolvedTypeParameters, this.resolvedMultiplicityParameters, this.frame, this.functionExpressionToUseInStack, this.profiler, this.instantiationContext, this.executionSupport);
+        for (int i = 0; i < this.argumentWrappers.length; i++)
+        {
+            if (this.argumentWrappers[i] == result)
+            {
+                // the wrapper has escaped to the caller, so it must not be modified again
+                this.argumentWrappers[i] = null;
+                this.argumentWrapperClassifiers[i] = null;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Prepare the variable context for an invocation. Whether the lambda can capture its context is
+     * only checked on the second invocation, so that single invocations don't pay for it. The answer
+     * is then kept with the function dispatch.
+     */
+    private void prepareInvocation()
+    {
+        if (++this.invocationCount == 2)
+        {
+            this.reuseFrame = !this.dispatch.mayCaptureVariableContext(this.lambda, this.processorSupport);
+        }
+
+        if (this.reuseFrame)
+        {
+            this.frame.clearLocalValues();
+        }
+        else
+        {
+            this.frame = VariableContext.newVariableContext(this.variableContext);
+        }
+    }
+
+    private void registerArgument(int index, CoreInstance argument)
+    {
+        try
+        {
+            this.frame.registerValue(this.parameterNames[index], argument);
+        }
+        catch (VariableNameConflictException e)
+        {
+            throw new PureExecutionException(this.functionExpressionToUseInStack.getSourceInformation(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Wrap an argument value, reusing the wrapper from the previous invocation when the variable
+     * context is reused. Otherwise the wrapper could still be reachable from a captured context.
+     */
+    private CoreInstance wrapArgument(int index, CoreInstance value)
+    {
+        if (!this.reuseFrame || !canReuseWrapper(value))
+        {
+            return wrap(value);
+        }
+
+        CoreInstance classifier = getClassifierForWrapperGenericType(value);
+        CoreInstance wrapper = this.argumentWrappers[index];
+        if (wrapper == null)
+        {
+            wrapper = wrap(value);
+            this.argumentWrappers[index] = wrapper;
+        }
+        else
+        {
+            Instance.setValueForProperty(wrapper, M3Properties.values, value, this.processorSupport);
+            if ((classifier == null) || (classifier != this.argumentWrapperClassifiers[index]))
+            {
+                Instance.setValueForProperty(wrapper, M3Properties.genericType, GenericType.copyGenericType(Instance.extractGenericTypeFromInstance(value, this.processorSupport), this.processorSupport), this.processorSupport);
+            }
+        }
+        this.argumentWrapperClassifiers[index] = classifier;
+        return wrapper;
+    }
+
+    private boolean canReuseWrapper(CoreInstance value)
+    {
+        // values which wrapValueSpecification does not wrap in a new instance value
+        return (value != null) &&
+                !this.processorSupport.instance_instanceOf(value, M3Paths.ValueSpecification) &&
+                !Measure.isUnitOrMeasureInstance(value, this.processorSupport);
+    }
+
+    /**
+     * The classifier which determines the generic type of the wrapper, or null if the value has its
+     * own classifier generic type, in which case the generic type is not shared between values.
+     */
+    private CoreInstance getClassifierForWrapperGenericType(CoreInstance value)
+    {
+        return (Instance.getValueForMetaPropertyToOneResolved(value, M3Properties.classifierGenericType, this.processorSupport) == null) ? this.processorSupport.getClassifier(value) : null;
+    }
+
+    private CoreInstance wrap(CoreInstance value)
+    {
+        return ValueSpecificationBootstrap.wrapValueSpecification(value, this.executable, this.processorSupport);
+    }
+
+    private static String[] getParameterNames(CoreInstance function, ProcessorSupport processorSupport)
+    {
+        ListIterable<? extends CoreInstance> signatureVars = Instance.getValueForMetaPropertyToManyResolved(processorSupport.function_getFunctionType(function), M3Properties.parameters, processorSupport);
+        String[] names = new String[signatureVars.size()];
+        for (int i = 0; i < names.length; i++)
+        {
+            CoreInstance varName = Instance.getValueForMetaPropertyToOneResolved(signatureVars.get(i), M3Properties.name, processorSupport);
+            names[i] = (varName == null) ? "Unknown" : varName.getName();
+        }
+        return names;
+    }
+}
@@ -53,6 +53,11 @@ public class LambdaWithContext implements LambdaFunction<CoreInstance>
         return this.variableContext;
     }
 
+    LambdaFunction getLambda()
+    {
+        return this.lambda;
+    }
+
     @Override
     public ModelRepository getRepository()
     {
@@ -97,6 +97,19 @@ public class VariableContext
         }
     }
 
+    /**
+     * Remove all local values, leaving parent contexts
+     * untouched. This allows a context to be reused for
+     * repeated invocations of the same function.
+     */
+    void clearLocalValues()
+    {
+        if (this.mapping != null)
+        {
+            this.mapping.clear();
+        }
+    }
+
     /**
      * Get the parent context, if present.  Returns null
      * if there is no parent context.
@@ -35,10 +35,22 @@ import java.util.Stack;
 public class BaseInterpretedExtension implements InterpretedExtension
 {
     private final MutableList<Pair<String, Function2<FunctionExecutionInterpreted, ModelRepository, NativeFunction>>> extraNatives;
+    private final boolean hasExtraFunctionExecutions;
 
     public BaseInterpretedExtension(MutableList<Pair<String, Function2<FunctionExecutionInterpreted, ModelRepository, NativeFunction>>> extraNatives)
+    {
+        this(extraNatives, true);
+    }
+
+    /**
+     * @param extraNatives               extra native functions
+     * @param hasExtraFunctionExecutions false if the extension only contributes natives, and so never provides an
+     *                                   execution through {@link #getExtraFunctionExecution}
+     */
+    protected BaseInterpretedExtension(MutableList<Pair<String, Function2<FunctionExecutionInterpreted, ModelRepository, NativeFunction>>> extraNatives, boolean hasExtraFunctionExecutions)
     {
         this.extraNatives = extraNatives;
+        this.hasExtraFunctionExecutions = hasExtraFunctionExecutions;
     }
 
     @Override
@@ -47,6 +59,12 @@ public class BaseInterpretedExtension implements InterpretedExtension
         return this.extraNatives;
     }
 
+    @Override
+    public boolean hasExtraFunctionExecution(Function<CoreInstance> function, ProcessorSupport processorSupport)
+    {
+        return this.hasExtraFunctionExecutions;
+    }
+
     @Override
     public CoreInstance getExtraFunctionExecution(Function<CoreInstance> function, ListIterable<? extends CoreInstance> params, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, InstantiationContext instantiationContext, ExecutionSupport executionSupport, ProcessorSupport processorSupport, FunctionExecutionInterpreted interpreted)
     {
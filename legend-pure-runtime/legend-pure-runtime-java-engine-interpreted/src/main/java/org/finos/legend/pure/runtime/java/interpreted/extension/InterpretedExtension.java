@@ -35,5 +35,19 @@ public interface InterpretedExtension
 {
     MutableList<Pair<String, Function2<FunctionExecutionInterpreted, ModelRepository, NativeFunction>>> getExtraNatives();
 
+    /**
+     * Whether this extension may provide an execution for the given function through
+     * {@link #getExtraFunctionExecution}. The interpreter resolves this once per function
+     * and skips the extension for functions where it returns false.
+     *
+     * @param function         function to be executed
+     * @param processorSupport processor support
+     * @return whether getExtraFunctionExecution may return a non-null result for function
+     */
+    default boolean hasExtraFunctionExecution(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function<CoreInstance> function, ProcessorSupport processorSupport)
+    {
+        return true;
+    }
+
     CoreInstance getExtraFunctionExecution(org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function<CoreInstance> function, ListIterable<? extends CoreInstance> params, final Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, final Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, final VariableContext variableContext, final CoreInstance functionExpressionToUseInStack, final Profiler profiler, final InstantiationContext instantiationContext, final ExecutionSupport executionSupport, ProcessorSupport processorSupport, FunctionExecutionInterpreted interpreted);
 }
@@ -16,7 +16,6 @@ package org.finos.legend.pure.runtime.java.interpreted.natives;
 
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.impl.map.strategy.mutable.UnifiedMapWithHashingStrategy;
 import org.finos.legend.pure.m3.navigation.Instance;
 import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
@@ -25,6 +24,7 @@ import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.m4.coreinstance.SourceInformation;
 import org.finos.legend.pure.m4.coreinstance.simple.SimpleCoreInstance;
 import org.finos.legend.pure.runtime.java.interpreted.EqualityUtilities;
+import org.finos.legend.pure.runtime.java.shared.map.PersistentMutableMap;
 import org.finos.legend.pure.runtime.java.shared.map.PureMapStats;
 
 public class MapCoreInstance extends SimpleCoreInstance
@@ -35,7 +35,7 @@ public class MapCoreInstance extends SimpleCoreInstance
     public MapCoreInstance(ListIterable<? extends CoreInstance> params, String name, SourceInformation sourceInformation, CoreInstance classifier, int internalSyntheticId, ModelRepository repository, boolean persistent, ProcessorSupport processorSupport)
     {
         super(name, sourceInformation, classifier, internalSyntheticId, repository, persistent);
-        this.map = UnifiedMapWithHashingStrategy.newMap(EqualityUtilities.newCoreInstanceHashingStrategy(params, processorSupport));
+        this.map = PersistentMutableMap.newMap(EqualityUtilities.newCoreInstanceHashingStrategy(params, processorSupport));
         this.stats = new PureMapStats();
     }
 
@@ -43,6 +43,7 @@ public class MapCoreInstance extends SimpleCoreInstance
     {
         super(map.getName(), null, processorSupport.getClassifier(map), -1, map.getRepository(), false);
         Instance.addValueToProperty(this, M3Properties.classifierGenericType, map.getValueForMetaPropertyToOne(M3Properties.classifierGenericType), processorSupport);
+        // the map is persistent, so copying shares structure rather than copying entries
         this.map = copyData ? map.map.clone() : map.map.newEmpty();
         this.stats = copyData ? new PureMapStats(map.getStats()) : new PureMapStats();
     }
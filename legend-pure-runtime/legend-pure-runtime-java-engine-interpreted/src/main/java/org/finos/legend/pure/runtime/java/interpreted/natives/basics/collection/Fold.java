@@ -16,18 +16,16 @@ package org.finos.legend.pure.runtime.java.interpreted.natives.basics.collection
 
 import org.eclipse.collections.api.list.ListIterable;
 import org.eclipse.collections.api.map.MutableMap;
-import org.eclipse.collections.impl.factory.Lists;
 import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.compiler.Context;
 import org.finos.legend.pure.m3.navigation.Instance;
-import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
 import org.finos.legend.pure.m3.navigation.valuespecification.ValueSpecification;
-import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunctionCoreInstanceWrapper;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.finos.legend.pure.runtime.java.interpreted.LambdaInvoker;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
@@ -50,11 +48,10 @@ public class Fold extends NativeFunction
         CoreInstance lambda = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
         CoreInstance accumulator = params.get(2);
         boolean isExecutable = ValueSpecification.isExecutable(params.get(0), processorSupport);
-        VariableContext evalVarContext = this.getParentOrEmptyVariableContextForLambda(variableContext, lambda);
+        LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(lambda, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
         for (CoreInstance coreInstance : Instance.getValueForMetaPropertyToManyResolved(params.get(0), M3Properties.values, processorSupport))
         {
-            accumulator = this.functionExecution.executeFunction(false, LambdaFunctionCoreInstanceWrapper.toLambdaFunction(lambda), Lists.mutable.with(ValueSpecificationBootstrap.wrapValueSpecification(coreInstance, isExecutable, processorSupport), accumulator),
-                    resolvedTypeParameters, resolvedMultiplicityParameters, evalVarContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+            accumulator = invoker.invokeWithValueSpecification(coreInstance, accumulator);
         }
         return accumulator;
     }
@@ -31,6 +31,7 @@ import org.finos.legend.pure.m3.navigation.valuespecification.ValueSpecification
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.finos.legend.pure.runtime.java.interpreted.LambdaInvoker;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
@@ -62,30 +63,33 @@ public class Sort extends NativeFunction
 
     private <T extends CoreInstance> MutableList<T> sort(ListIterable<T> collection, CoreInstance key, CoreInstance comparison, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, ProcessorSupport processorSupport, InstantiationContext instantiationContext, ExecutionSupport executionSupport)
     {
-        Comparator<CoreInstance> comparator = (comparison == null) ?
-                (left, right) -> Compare.compare(left, right, processorSupport) :
-                (left, right) ->
+        Comparator<CoreInstance> comparator;
+        if (comparison == null)
+        {
+            comparator = (left, right) -> Compare.compare(left, right, processorSupport);
+        }
+        else
+        {
+            LambdaInvoker comparisonInvoker = this.functionExecution.newLambdaInvoker(comparison, true, variableContext, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+            comparator = (left, right) ->
+            {
+                if (left == right)
                 {
-                    if (left == right)
-                    {
-                        return 0;
-                    }
+                    return 0;
+                }
 
-                    return PrimitiveUtilities.getIntegerValue(Instance.getValueForMetaPropertyToOneResolved(this.functionExecution.executeLambdaFromNative(comparison, Lists.immutable.with(ValueSpecificationBootstrap.wrapValueSpecification(left, true, processorSupport), ValueSpecificationBootstrap.wrapValueSpecification(right, true, processorSupport)), resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport), M3Properties.values, processorSupport)).intValue();
-                };
+                return PrimitiveUtilities.getIntegerValue(Instance.getValueForMetaPropertyToOneResolved(comparisonInvoker.invoke(left, right), M3Properties.values, processorSupport)).intValue();
+            };
+        }
 
         if (key == null)
         {
             return collection.toSortedList(comparator);
         }
 
-        return collection.collect(e -> Tuples.pair(executeKey(key, e, resolvedTypeParameters, resolvedMultiplicityParameters, getParentOrEmptyVariableContext(variableContext), functionExpressionToUseInStack, profiler, processorSupport, instantiationContext, executionSupport), e), Lists.mutable.empty())
+        LambdaInvoker keyInvoker = this.functionExecution.newLambdaInvoker(key, true, variableContext, resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+        return collection.collect(e -> Tuples.pair(Instance.getValueForMetaPropertyToOneResolved(keyInvoker.invoke(e), M3Properties.values, processorSupport), e), Lists.mutable.empty())
                 .sortThis((left, right) -> comparator.compare(left.getOne(), right.getOne()))
                 .collect(Pair::getTwo);
     }
-
-    private CoreInstance executeKey(CoreInstance key, CoreInstance instance, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, ProcessorSupport processorSupport, InstantiationContext instantiationContext, ExecutionSupport executionSupport)
-    {
-        return Instance.getValueForMetaPropertyToOneResolved(this.functionExecution.executeLambdaFromNative(key, Lists.immutable.with(ValueSpecificationBootstrap.wrapValueSpecification(instance, true, processorSupport)), resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport), M3Properties.values, processorSupport);
-    }
 }
@@ -24,12 +24,12 @@ import org.finos.legend.pure.m3.compiler.Context;
 import org.finos.legend.pure.m3.navigation.Instance;
 import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
 import org.finos.legend.pure.m3.navigation.valuespecification.ValueSpecification;
-import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.LambdaFunctionCoreInstanceWrapper;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m3.navigation.PrimitiveUtilities;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.interpreted.ExecutionSupport;
 import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.finos.legend.pure.runtime.java.interpreted.LambdaInvoker;
 import org.finos.legend.pure.runtime.java.interpreted.VariableContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.InstantiationContext;
 import org.finos.legend.pure.runtime.java.interpreted.natives.NativeFunction;
@@ -62,8 +62,8 @@ public class Filter extends NativeFunction
             {
                 CoreInstance predicate = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
                 CoreInstance instance = collection.get(0);
-                VariableContext evalVariableContext = getParentOrEmptyVariableContextForLambda(variableContext, predicate);
-                if (accept(predicate, instance, isExecutable, resolvedTypeParameters, resolvedMultiplicityParameters, evalVariableContext, functionExpressionToUseInStack, profiler, processorSupport, instantiationContext, executionSupport))
+                LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(predicate, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+                if (accept(invoker, instance, processorSupport))
                 {
                     return collectionParam;
                 }
@@ -76,11 +76,11 @@ public class Filter extends NativeFunction
             {
                 MutableList<CoreInstance> results = Lists.mutable.with();
                 CoreInstance predicate = Instance.getValueForMetaPropertyToOneResolved(params.get(1), M3Properties.values, processorSupport);
-                VariableContext evalVariableContext = getParentOrEmptyVariableContextForLambda(variableContext, predicate);
+                LambdaInvoker invoker = this.functionExecution.newLambdaInvoker(predicate, isExecutable, getParentOrEmptyVariableContext(variableContext), resolvedTypeParameters, resolvedMultiplicityParameters, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
                 boolean filtered = false;
                 for (CoreInstance instance : collection)
                 {
-                    if (accept(predicate, instance, isExecutable, resolvedTypeParameters, resolvedMultiplicityParameters, evalVariableContext, functionExpressionToUseInStack, profiler, processorSupport, instantiationContext, executionSupport))
+                    if (accept(invoker, instance, processorSupport))
                     {
                         results.add(instance);
                     }
@@ -94,11 +94,9 @@ public class Filter extends NativeFunction
         }
     }
 
-    private boolean accept(CoreInstance predicate, CoreInstance instance, boolean isExecutable, Stack<MutableMap<String, CoreInstance>> resolvedTypeParameters, Stack<MutableMap<String, CoreInstance>> resolvedMultiplicityParameters, VariableContext variableContext, CoreInstance functionExpressionToUseInStack, Profiler profiler, ProcessorSupport processorSupport, InstantiationContext instantiationContext, ExecutionSupport executionSupport) throws PureExecutionException
+    private static boolean accept(LambdaInvoker predicate, CoreInstance instance, ProcessorSupport processorSupport) throws PureExecutionException
     {
-        ListIterable<CoreInstance> args = Lists.immutable.with(ValueSpecificationBootstrap.wrapValueSpecification(instance, isExecutable, processorSupport));
-        CoreInstance result = this.functionExecution.executeFunction(false, LambdaFunctionCoreInstanceWrapper.toLambdaFunction(predicate),
-                args, resolvedTypeParameters, resolvedMultiplicityParameters, variableContext, functionExpressionToUseInStack, profiler, instantiationContext, executionSupport);
+        CoreInstance result = predicate.invoke(instance);
         return PrimitiveUtilities.getBooleanValue(Instance.getValueForMetaPropertyToOneResolved(result, M3Properties.values, processorSupport));
     }
 }
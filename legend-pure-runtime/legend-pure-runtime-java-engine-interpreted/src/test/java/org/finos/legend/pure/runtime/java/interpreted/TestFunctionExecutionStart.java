@@ -15,8 +15,14 @@
 package org.finos.legend.pure.runtime.java.interpreted;
 
 import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Maps;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.Function;
+import org.finos.legend.pure.m3.coreinstance.meta.pure.metamodel.function.FunctionCoreInstanceWrapper;
 import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiled;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.m3.navigation.Instance;
+import org.finos.legend.pure.m3.navigation.M3Paths;
+import org.finos.legend.pure.m3.navigation.M3Properties;
 import org.finos.legend.pure.m3.navigation.ValueSpecificationBootstrap;
 import org.finos.legend.pure.m3.execution.FunctionExecution;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
@@ -102,6 +108,101 @@ public class TestFunctionExecutionStart extends AbstractPureTestWithCoreCompiled
         }
     }
 
+    @Test
+    public void testStartAfterRecompile()
+    {
+        compileTestSource("fromString.pure", "function testFn():String[1] { ['the', 'quick', 'fox']->map(s | $s + 's')->joinStrings(' ') }");
+        CoreInstance func = runtime.getFunction("testFn():String[1]");
+        Assert.assertNotNull(func);
+        Assert.assertEquals("thes quicks foxs", functionExecution.start(func, Lists.immutable.empty()).getValueForMetaPropertyToOne(M3Properties.values).getName());
+
+        runtime.modify("fromString.pure", "function testFn():String[1] { ['the', 'lazy', 'dog']->filter(s | $s != 'the')->joinStrings(' ') }");
+        runtime.compile();
+        CoreInstance recompiledFunc = runtime.getFunction("testFn():String[1]");
+        Assert.assertNotNull(recompiledFunc);
+        Assert.assertEquals("lazy dog", functionExecution.start(recompiledFunc, Lists.immutable.empty()).getValueForMetaPropertyToOne(M3Properties.values).getName());
+    }
+
+    @Test
+    public void testRepeatedLambdaInvocationWithLocalVariablesAndClosures()
+    {
+        compileTestSource("fromString.pure",
+                "function testFn():String[1]\n" +
+                        "{\n" +
+                        "  let closures = ['a', 'b', 'c']->map({s | {| $s + '!'}});\n" +
+                        "  let locals = ['x', 'y', 'z']->map({s | let t = $s + $s; $t;});\n" +
+                        "  $closures->map(f | $f->eval())->concatenate($locals)->fold({s, acc | $acc + $s}, '');\n" +
+                        "}");
+        CoreInstance func = runtime.getFunction("testFn():String[1]");
+        Assert.assertNotNull(func);
+        Assert.assertEquals("a!b!c!xxyyzz", functionExecution.start(func, Lists.immutable.empty()).getValueForMetaPropertyToOne(M3Properties.values).getName());
+    }
+
+    @Test
+    public void testRepeatedLambdaInvocationWithArgumentsOfDifferentTypes()
+    {
+        compileTestSource("fromString.pure",
+                "function testFn():String[1]\n" +
+                        "{\n" +
+                        "  let values = [1, 'a', 2.5, 'b', 3];\n" +
+                        "  let identity = $values->map(v | $v);\n" +
+                        "  let closures = $values->map(v | {| $v});\n" +
+                        "  let strings = $values->map(v | $v->instanceOf(String));\n" +
+                        "  let last = $values->fold({v, acc | $v}, $values->at(0));\n" +
+                        "  [$identity->map(v | $v->toString())->joinStrings(','),\n" +
+                        "   $closures->map(f | $f->eval()->toString())->joinStrings(','),\n" +
+                        "   $strings->map(b | $b->toString())->joinStrings(','),\n" +
+                        "   $last->toString()]->joinStrings('|');\n" +
+                        "}");
+        CoreInstance func = runtime.getFunction("testFn():String[1]");
+        Assert.assertNotNull(func);
+        Assert.assertEquals("1,a,2.5,b,3|1,a,2.5,b,3|false,true,false,true,false|3", functionExecution.start(func, Lists.immutable.empty()).getValueForMetaPropertyToOne(M3Properties.values).getName());
+    }
+
+    @Test
+    public void testDispatchCachedForPersistentFunctionsOnly()
+    {
+        compileTestSource("fromString.pure", "function testFn():String[1] { 'the quick fox' }");
+        FunctionDispatchCache cache = new FunctionDispatchCache();
+
+        Function<CoreInstance> func = FunctionCoreInstanceWrapper.toFunction(runtime.getFunction("testFn():String[1]"));
+        Assert.assertTrue(func.isPersistent());
+        Assert.assertSame(cache.getDispatch(func, Maps.immutable.empty(), Lists.immutable.empty(), processorSupport), cache.getDispatch(func, Maps.immutable.empty(), Lists.immutable.empty(), processorSupport));
+
+        // functions created during execution are not kept by the cache
+        Function<CoreInstance> ephemeral = FunctionCoreInstanceWrapper.toFunction(processorSupport.newEphemeralAnonymousCoreInstance(M3Paths.LambdaFunction));
+        Assert.assertFalse(ephemeral.isPersistent());
+        Assert.assertNotSame(cache.getDispatch(ephemeral, Maps.immutable.empty(), Lists.immutable.empty(), processorSupport), cache.getDispatch(ephemeral, Maps.immutable.empty(), Lists.immutable.empty(), processorSupport));
+    }
+
+    @Test
+    public void testMayCaptureVariableContext()
+    {
+        compileTestSource("fromString.pure",
+                "Class test::Holder\n" +
+                        "{\n" +
+                        "  f : Function<Any>[0..1];\n" +
+                        "}\n" +
+                        "function test::noClosure(s:String[1]):String[1] { $s + 'a' }\n" +
+                        "function test::closure(s:String[1]):Any[1] { {| $s} }\n");
+        Assert.assertFalse(FunctionDispatchCache.mayCaptureVariableContext(runtime.getFunction("test::noClosure(String[1]):String[1]"), processorSupport));
+        Assert.assertTrue(FunctionDispatchCache.mayCaptureVariableContext(runtime.getFunction("test::closure(String[1]):Any[1]"), processorSupport));
+
+        // an instance value holding an instance which may hold a lambda (such as a column specification)
+        Assert.assertTrue(FunctionDispatchCache.mayCaptureVariableContext(newLambdaReturning(processorSupport.newEphemeralAnonymousCoreInstance("test::Holder")), processorSupport));
+        // an instance value holding a packageable element
+        Assert.assertFalse(FunctionDispatchCache.mayCaptureVariableContext(newLambdaReturning(runtime.getCoreInstance("test::Holder")), processorSupport));
+    }
+
+    private static CoreInstance newLambdaReturning(CoreInstance value)
+    {
+        CoreInstance instanceValue = processorSupport.newEphemeralAnonymousCoreInstance(M3Paths.InstanceValue);
+        Instance.addValueToProperty(instanceValue, M3Properties.values, value, processorSupport);
+        CoreInstance lambda = processorSupport.newEphemeralAnonymousCoreInstance(M3Paths.LambdaFunction);
+        Instance.addValueToProperty(lambda, M3Properties.expressionSequence, instanceValue, processorSupport);
+        return lambda;
+    }
+
     protected static FunctionExecution getFunctionExecution()
     {
         return functionExecution;
@@ -0,0 +1,501 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.interpreted.runner;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.factory.Sets;
+import org.eclipse.collections.api.list.ListIterable;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.test.Verify;
+import org.finos.legend.pure.m3.execution.Console;
+import org.finos.legend.pure.m3.execution.FunctionExecution;
+import org.finos.legend.pure.m3.execution.OutputWriter;
+import org.finos.legend.pure.m3.execution.test.AssertFailTestStatus;
+import org.finos.legend.pure.m3.execution.test.ErrorTestStatus;
+import org.finos.legend.pure.m3.execution.test.SuccessTestStatus;
+import org.finos.legend.pure.m3.execution.test.TestCallBack;
+import org.finos.legend.pure.m3.execution.test.TestCollection;
+import org.finos.legend.pure.m3.execution.test.TestRunner;
+import org.finos.legend.pure.m3.execution.test.TestStatus;
+import org.finos.legend.pure.m3.navigation.PackageableElement.PackageableElement;
+import org.finos.legend.pure.m3.navigation.ProcessorSupport;
+import org.finos.legend.pure.m3.serialization.runtime.Message;
+import org.finos.legend.pure.m3.serialization.runtime.PureRuntime;
+import org.finos.legend.pure.m3.tests.AbstractPureTestWithCoreCompiled;
+import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.interpreted.FunctionExecutionInterpreted;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+public class TestParallelTestRunner extends AbstractPureTestWithCoreCompiled
+{
+    @BeforeClass
+    public static void setUp()
+    {
+        setUpRuntime(getFunctionExecution());
+    }
+
+    @After
+    public void cleanRuntime()
+    {
+        runtime.delete("fromString.pure");
+    }
+
+    @Test
+    public void testParallelRun()
+    {
+        StringBuilder code = new StringBuilder("function <<test.BeforePackage>> a::setUp():Nil[0]\n" +
+                "{\n" +
+                "   print('setup A', 1);\n" +
+                "}\n");
+        for (int i = 0; i < 8; i++)
+        {
+            code.append("function <<test.Test>> a::p").append(i).append("::pass():Boolean[1]\n")
+                    .append("{\n")
+                    .append("   print('pass ").append(i).append("', 1);\n")
+                    .append("   assert(true, |'');\n")
+                    .append("}\n")
+                    .append("function <<test.Test>> a::p").append(i).append("::fail():Boolean[1]\n")
+                    .append("{\n")
+                    .append("   print('fail ").append(i).append("', 1);\n")
+                    .append("   assert(false, |'');\n")
+                    .append("}\n")
+                    .append("function <<test.Test>> a::p").append(i).append("::error():Nil[0]\n")
+                    .append("{\n")
+                    .append("   print('error ").append(i).append("', 1);\n")
+                    .append("   print([1, 2, 3, 4]->at(5), 1);\n")
+                    .append("}\n");
+        }
+        compileTestSource("fromString.pure", code.toString());
+
+        TestCollection collection = TestCollection.collectTests("a", processorSupport, functionExecution.getClass());
+        Assert.assertTrue(collection.isThreadSafe());
+        UnitTestTestCallBack callback = run(collection, 4);
+
+        MutableList<CallBackGroup> groups = callback.getGroups();
+        Assert.assertEquals(24, groups.size());
+        Assert.assertEquals(24, callback.getTests().size());
+        for (CallBackGroup group : groups)
+        {
+            // each test's console output is captured separately
+            String path = PackageableElement.getUserPathForPackageableElement(group.getFunction());
+            String i = path.substring("a::p".length(), path.indexOf("::", "a::p".length()));
+            if (path.endsWith("::pass__Boolean_1_"))
+            {
+                Assert.assertEquals(path, "pass " + i, group.getMessage().trim());
+                Verify.assertInstanceOf(SuccessTestStatus.class, group.getStatus());
+            }
+            else if (path.endsWith("::fail__Boolean_1_"))
+            {
+                Assert.assertEquals(path, "fail " + i, group.getMessage().trim());
+                Verify.assertInstanceOf(AssertFailTestStatus.class, group.getStatus());
+            }
+            else
+            {
+                Assert.assertEquals(path, "error " + i, group.getMessage().trim());
+                Verify.assertInstanceOf(ErrorTestStatus.class, group.getStatus());
+            }
+        }
+    }
+
+    @Test
+    public void testParallelRunWithFailingSetUp()
+    {
+        compileTestSource("fromString.pure", "function <<test.BeforePackage>> a::b::setUp():Nil[0]\n" +
+                "{\n" +
+                "   print([1, 2, 3, 4]->at(5), 1);\n" +
+                "}\n" +
+                "function <<test.Test>> a::b::test():Boolean[1]\n" +
+                "{\n" +
+                "   assert(true, |'');\n" +
+                "}\n" +
+                "function <<test.Test>> a::b::c::test():Boolean[1]\n" +
+                "{\n" +
+                "   assert(true, |'');\n" +
+                "}\n" +
+                "function <<test.Test>> a::d::test():Boolean[1]\n" +
+                "{\n" +
+                "   assert(true, |'');\n" +
+                "}\n");
+
+        UnitTestTestCallBack callback = run(TestCollection.collectTests("a", processorSupport, functionExecution.getClass()), 4);
+
+        MutableList<CallBackGroup> groups = callback.getGroups().sortThisBy(g -> PackageableElement.getUserPathForPackageableElement(g.getFunction()));
+        Assert.assertEquals(3, groups.size());
+        Assert.assertEquals("a::b::c::test__Boolean_1_", PackageableElement.getUserPathForPackageableElement(groups.get(0).getFunction()));
+        Verify.assertInstanceOf(ErrorTestStatus.class, groups.get(0).getStatus());
+        Assert.assertEquals("a::b::test__Boolean_1_", PackageableElement.getUserPathForPackageableElement(groups.get(1).getFunction()));
+        Verify.assertInstanceOf(ErrorTestStatus.class, groups.get(1).getStatus());
+        Assert.assertEquals("a::d::test__Boolean_1_", PackageableElement.getUserPathForPackageableElement(groups.get(2).getFunction()));
+        Verify.assertInstanceOf(SuccessTestStatus.class, groups.get(2).getStatus());
+    }
+
+    @Test
+    public void testFailingTearDownReported()
+    {
+        compileTestSource("fromString.pure", "function <<test.AfterPackage>> a::b::tearDown():Nil[0]\n" +
+                "{\n" +
+                "   print([1, 2, 3, 4]->at(5), 1);\n" +
+                "}\n" +
+                "function <<test.Test>> a::b::test():Boolean[1]\n" +
+                "{\n" +
+                "   assert(true, |'');\n" +
+                "}\n" +
+                "function <<test.Test>> a::c::test():Boolean[1]\n" +
+                "{\n" +
+                "   assert(true, |'');\n" +
+                "}\n");
+
+        // the serial and parallel paths report the failure in the same way
+        for (int parallelism : new int[]{1, 4})
+        {
+            UnitTestTestCallBack callback = run(TestCollection.collectTests("a", processorSupport, functionExecution.getClass()), parallelism);
+            Assert.assertEquals(2, callback.getGroups().size());
+            callback.getGroups().forEach(g -> Verify.assertInstanceOf(SuccessTestStatus.class, g.getStatus()));
+            Assert.assertEquals(Lists.mutable.with("a::b::tearDown__Nil_0_"), callback.getFailedAfterFunctions().collect(PackageableElement::getUserPathForPackageableElement));
+        }
+    }
+
+    @Test
+    public void testParallelRunNotThreadSafe()
+    {
+        compileTestSource("fromString.pure", "function <<test.Test>> a::b::test():Boolean[1]\n" +
+                "{\n" +
+                "   print('1', 1);\n" +
+                "   assert(true, |'');\n" +
+                "}\n" +
+                "function <<test.Test, test.NotThreadSafe>> a::c::test():Boolean[1]\n" +
+                "{\n" +
+                "   print('2', 1);\n" +
+                "   assert(true, |'');\n" +
+                "}\n");
+
+        TestCollection collection = TestCollection.collectTests("a", processorSupport, functionExecution.getClass());
+        Assert.assertTrue(collection.isThreadSafe());
+        Assert.assertEquals(Sets.mutable.with("a::b", "a::c"), collection.getSubCollections().collect(c -> PackageableElement.getUserPathForPackageableElement(c.getPackage()), Sets.mutable.empty()));
+        Assert.assertTrue(collection.getSubCollections().detect(c -> "b".equals(c.getPackage().getName())).isThreadSafe());
+        Assert.assertFalse(collection.getSubCollections().detect(c -> "c".equals(c.getPackage().getName())).isThreadSafe());
+
+        UnitTestTestCallBack callback = run(collection, 2);
+
+        MutableList<CallBackGroup> groups = callback.getGroups().sortThisBy(g -> PackageableElement.getUserPathForPackageableElement(g.getFunction()));
+        Assert.assertEquals(2, groups.size());
+        Assert.assertEquals("1", groups.get(0).getMessage().trim());
+        Verify.assertInstanceOf(SuccessTestStatus.class, groups.get(0).getStatus());
+        Assert.assertEquals("2", groups.get(1).getMessage().trim());
+        Verify.assertInstanceOf(SuccessTestStatus.class, groups.get(1).getStatus());
+    }
+
+    @Test
+    public void testSupportsParallelRun()
+    {
+        Assert.assertTrue(functionExecution.supportsConcurrentExecution());
+        Assert.assertTrue(functionExecution.getConsole().supportsCurrentThreadPrintStream());
+    }
+
+    @Test
+    public void testSerialRunWithoutConcurrentExecution()
+    {
+        compileManyPackages();
+        SerialOnlyFunctionExecution serialOnly = new SerialOnlyFunctionExecution(false, functionExecution.getConsole());
+        assertSerialRun(run(TestCollection.collectTests("a", processorSupport, functionExecution.getClass()), serialOnly, 4), serialOnly);
+    }
+
+    @Test
+    public void testSerialRunWithoutCurrentThreadPrintStream()
+    {
+        compileManyPackages();
+        Console console = functionExecution.getConsole();
+        Console serialConsole = new Console()
+        {
+            @Override
+            public String getLine(int lineNb)
+            {
+                return console.getLine(lineNb);
+            }
+
+            @Override
+            public void print(Object content)
+            {
+                console.print(content);
+            }
+
+            @Override
+            public void setPrintStream(PrintStream printStream)
+            {
+                console.setPrintStream(printStream);
+            }
+
+            @Override
+            public boolean isConsole()
+            {
+                return console.isConsole();
+            }
+
+            @Override
+            public void setConsole(boolean b)
+            {
+                console.setConsole(b);
+            }
+
+            @Override
+            public void clear()
+            {
+                console.clear();
+            }
+
+            @Override
+            public boolean isEnabled()
+            {
+                return console.isEnabled();
+            }
+
+            @Override
+            public void enable()
+            {
+                console.enable();
+            }
+
+            @Override
+            public void disable()
+            {
+                console.disable();
+            }
+
+            @Override
+            public void enableBufferLines()
+            {
+                console.enableBufferLines();
+            }
+        };
+        SerialOnlyFunctionExecution serialOnly = new SerialOnlyFunctionExecution(true, serialConsole);
+        assertSerialRun(run(TestCollection.collectTests("a", processorSupport, functionExecution.getClass()), serialOnly, 4), serialOnly);
+    }
+
+    private void compileManyPackages()
+    {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < 8; i++)
+        {
+            code.append("function <<test.Test>> a::p").append(i).append("::test():Boolean[1]\n")
+                    .append("{\n")
+                    .append("   print('test ").append(i).append("', 1);\n")
+                    .append("   assert(true, |'');\n")
+                    .append("}\n");
+        }
+        compileTestSource("fromString.pure", code.toString());
+    }
+
+    private static void assertSerialRun(UnitTestTestCallBack callback, SerialOnlyFunctionExecution execution)
+    {
+        // all tests run in the calling thread
+        Assert.assertEquals(Sets.mutable.with(Thread.currentThread()), execution.getThreads());
+
+        MutableList<CallBackGroup> groups = callback.getGroups();
+        Assert.assertEquals(8, groups.size());
+        for (CallBackGroup group : groups)
+        {
+            String path = PackageableElement.getUserPathForPackageableElement(group.getFunction());
+            String i = path.substring("a::p".length(), path.indexOf("::", "a::p".length()));
+            Assert.assertEquals(path, "test " + i, group.getMessage().trim());
+            Verify.assertInstanceOf(SuccessTestStatus.class, group.getStatus());
+        }
+    }
+
+    private static UnitTestTestCallBack run(TestCollection collection, int parallelism)
+    {
+        return run(collection, functionExecution, parallelism);
+    }
+
+    private static UnitTestTestCallBack run(TestCollection collection, FunctionExecution execution, int parallelism)
+    {
+        UnitTestTestCallBack callback = new UnitTestTestCallBack();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try
+        {
+            new TestRunner(collection, false, execution, callback, false, pool).run();
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+        return callback;
+    }
+
+    protected static FunctionExecution getFunctionExecution()
+    {
+        return new FunctionExecutionInterpreted();
+    }
+
+    /**
+     * Function execution delegating to the test function execution, which records the threads functions are started
+     * from.
+     */
+    private static class SerialOnlyFunctionExecution implements FunctionExecution
+    {
+        private final boolean supportsConcurrentExecution;
+        private final Console console;
+        private final MutableSet<Thread> threads = Sets.mutable.<Thread>empty().asSynchronized();
+
+        private SerialOnlyFunctionExecution(boolean supportsConcurrentExecution, Console console)
+        {
+            this.supportsConcurrentExecution = supportsConcurrentExecution;
+            this.console = console;
+        }
+
+        @Override
+        public void init(PureRuntime runtime, Message message)
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CoreInstance start(CoreInstance func, ListIterable<? extends CoreInstance> arguments)
+        {
+            this.threads.add(Thread.currentThread());
+            return functionExecution.start(func, arguments);
+        }
+
+        @Override
+        public void start(CoreInstance func, ListIterable<? extends CoreInstance> arguments, OutputStream outputStream, OutputWriter writer)
+        {
+            this.threads.add(Thread.currentThread());
+            functionExecution.start(func, arguments, outputStream, writer);
+        }
+
+        @Override
+        public boolean supportsConcurrentExecution()
+        {
+            return this.supportsConcurrentExecution;
+        }
+
+        @Override
+        public Console getConsole()
+        {
+            return this.console;
+        }
+
+        @Override
+        public boolean isFullyInitializedForExecution()
+        {
+            return functionExecution.isFullyInitializedForExecution();
+        }
+
+        @Override
+        public void resetEventHandlers()
+        {
+            functionExecution.resetEventHandlers();
+        }
+
+        @Override
+        public ProcessorSupport getProcessorSupport()
+        {
+            return functionExecution.getProcessorSupport();
+        }
+
+        @Override
+        public PureRuntime getRuntime()
+        {
+            return functionExecution.getRuntime();
+        }
+
+        @Override
+        public OutputWriter newOutputWriter()
+        {
+            return functionExecution.newOutputWriter();
+        }
+
+        MutableSet<Thread> getThreads()
+        {
+            return this.threads;
+        }
+    }
+
+    private static class UnitTestTestCallBack implements TestCallBack
+    {
+        private final MutableList<CoreInstance> tests = Lists.mutable.empty();
+        private final MutableList<CallBackGroup> groups = Lists.mutable.empty();
+        private final MutableList<CoreInstance> failedAfterFunctions = Lists.mutable.empty();
+
+        @Override
+        public void foundTests(Iterable<? extends CoreInstance> tests)
+        {
+            this.tests.addAllIterable(tests);
+        }
+
+        @Override
+        public void executedTest(CoreInstance function, String testParameterizationId, String console, TestStatus status)
+        {
+            this.groups.add(new CallBackGroup(function, console, status));
+        }
+
+        @Override
+        public void failedAfterFunction(CoreInstance function, String testParameterizationId, Throwable error)
+        {
+            this.failedAfterFunctions.add(function);
+        }
+
+        MutableList<CallBackGroup> getGroups()
+        {
+            return this.groups;
+        }
+
+        MutableList<CoreInstance> getTests()
+        {
+            return this.tests;
+        }
+
+        MutableList<CoreInstance> getFailedAfterFunctions()
+        {
+            return this.failedAfterFunctions;
+        }
+    }
+
+    private static class CallBackGroup
+    {
+        private final CoreInstance function;
+        private final String message;
+        private final TestStatus status;
+
+        private CallBackGroup(CoreInstance function, String message, TestStatus status)
+        {
+            this.function = function;
+            this.message = message;
+            this.status = status;
+        }
+
+        CoreInstance getFunction()
+        {
+            return this.function;
+        }
+
+        String getMessage()
+        {
+            return this.message;
+        }
+
+        TestStatus getStatus()
+        {
+            return this.status;
+        }
+    }
+}
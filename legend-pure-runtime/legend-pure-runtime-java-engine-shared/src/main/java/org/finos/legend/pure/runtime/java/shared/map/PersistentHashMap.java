@@ -0,0 +1,507 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.shared.map;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable hash map implemented as a hash array mapped trie. Keys are hashed and compared using a
+ * {@link HashingStrategy}. Updates return a new map which shares all unchanged nodes with the
+ * original, so {@link #newWithKeyValue} and {@link #newWithoutKey} copy at most one node per level
+ * of the trie (O(log n)) rather than the whole map.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>>
+{
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Marks an array slot whose paired value is a sub-node rather than a value
+    private static final Object SUB_NODE = new Object();
+    private static final Object NOT_FOUND = new Object();
+
+    private static final BitmapNode EMPTY_NODE = new BitmapNode(0, new Object[0]);
+
+    private final HashingStrategy<Object> hashingStrategy;
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(HashingStrategy<Object> hashingStrategy, Node root, int size)
+    {
+        this.hashingStrategy = hashingStrategy;
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty(HashingStrategy<? super K> hashingStrategy)
+    {
+        if (hashingStrategy == null)
+        {
+            throw new IllegalArgumentException("hashingStrategy may not be null");
+        }
+        return new PersistentHashMap<>((HashingStrategy<Object>) hashingStrategy, EMPTY_NODE, 0);
+    }
+
+    public HashingStrategy<? super K> getHashingStrategy()
+    {
+        return this.hashingStrategy;
+    }
+
+    public int size()
+    {
+        return this.size;
+    }
+
+    public boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key)
+    {
+        Object value = this.root.get(key, hash(key), 0, this.hashingStrategy);
+        return (value == NOT_FOUND) ? null : (V) value;
+    }
+
+    public boolean containsKey(Object key)
+    {
+        return this.root.get(key, hash(key), 0, this.hashingStrategy) != NOT_FOUND;
+    }
+
+    public PersistentHashMap<K, V> newWithKeyValue(K key, V value)
+    {
+        Change change = new Change();
+        Node newRoot = this.root.put(key, value, hash(key), 0, this.hashingStrategy, change);
+        return (newRoot == this.root) ? this : new PersistentHashMap<>(this.hashingStrategy, newRoot, change.sizeChanged ? (this.size + 1) : this.size);
+    }
+
+    public PersistentHashMap<K, V> newWithAllKeyValues(Map<? extends K, ? extends V> map)
+    {
+        if (map instanceof PersistentMutableMap)
+        {
+            return newWithAll(((PersistentMutableMap<? extends K, ? extends V>) map).toPersistentMap());
+        }
+        PersistentHashMap<K, V> result = this;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet())
+        {
+            result = result.newWithKeyValue(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    public PersistentHashMap<K, V> newWithAll(PersistentHashMap<? extends K, ? extends V> other)
+    {
+        if (other.isEmpty())
+        {
+            return this;
+        }
+        if (isEmpty() && this.hashingStrategy.equals(other.hashingStrategy))
+        {
+            // share the other trie outright
+            return new PersistentHashMap<>(this.hashingStrategy, other.root, other.size);
+        }
+        PersistentHashMap<K, V>[] result = new PersistentHashMap[]{this};
+        other.forEachKeyValue((k, v) -> result[0] = result[0].newWithKeyValue(k, v));
+        return result[0];
+    }
+
+    public PersistentHashMap<K, V> newWithoutKey(Object key)
+    {
+        Change change = new Change();
+        Node newRoot = this.root.remove(key, hash(key), 0, this.hashingStrategy, change);
+        if (!change.sizeChanged)
+        {
+            return this;
+        }
+        return new PersistentHashMap<>(this.hashingStrategy, (newRoot == null) ? EMPTY_NODE : newRoot, this.size - 1);
+    }
+
+    public PersistentHashMap<K, V> newEmpty()
+    {
+        return isEmpty() ? this : new PersistentHashMap<>(this.hashingStrategy, EMPTY_NODE, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        this.root.forEachKeyValue((Procedure2<Object, Object>) procedure);
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator()
+    {
+        return new EntryIterator<>(this.root);
+    }
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder("{");
+        forEachKeyValue((k, v) -> ((builder.length() == 1) ? builder : builder.append(", ")).append(k).append('=').append(v));
+        return builder.append('}').toString();
+    }
+
+    private int hash(Object key)
+    {
+        int h = this.hashingStrategy.computeHashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    private static int index(int hash, int shift)
+    {
+        return (hash >>> shift) & MASK;
+    }
+
+    private static Node newNode(int shift, Object key1, Object value1, int hash1, Object key2, Object value2, int hash2)
+    {
+        if (hash1 == hash2)
+        {
+            return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+        }
+        int index1 = index(hash1, shift);
+        int index2 = index(hash2, shift);
+        if (index1 == index2)
+        {
+            return new BitmapNode(1 << index1, new Object[]{SUB_NODE, newNode(shift + BITS, key1, value1, hash1, key2, value2, hash2)});
+        }
+        return new BitmapNode((1 << index1) | (1 << index2), (index1 < index2) ? new Object[]{key1, value1, key2, value2} : new Object[]{key2, value2, key1, value1});
+    }
+
+    private static class Change
+    {
+        private boolean sizeChanged;
+    }
+
+    /**
+     * Trie node. The array holds key/value pairs; a key of {@link #SUB_NODE} marks a pair whose
+     * value is a child node.
+     */
+    private abstract static class Node
+    {
+        final Object[] array;
+
+        Node(Object[] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object get(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy);
+
+        abstract Node put(Object key, Object value, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change);
+
+        abstract Node remove(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change);
+
+        void forEachKeyValue(Procedure2<Object, Object> procedure)
+        {
+            for (int i = 0; i < this.array.length; i += 2)
+            {
+                Object key = this.array[i];
+                if (key == SUB_NODE)
+                {
+                    ((Node) this.array[i + 1]).forEachKeyValue(procedure);
+                }
+                else
+                {
+                    procedure.value(key, this.array[i + 1]);
+                }
+            }
+        }
+
+        boolean isSingleEntry()
+        {
+            return (this.array.length == 2) && (this.array[0] != SUB_NODE);
+        }
+    }
+
+    private static class BitmapNode extends Node
+    {
+        private final int bitmap;
+
+        private BitmapNode(int bitmap, Object[] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy)
+        {
+            int bit = 1 << index(hash, shift);
+            if ((this.bitmap & bit) == 0)
+            {
+                return NOT_FOUND;
+            }
+            int i = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            Object existingKey = this.array[i];
+            if (existingKey == SUB_NODE)
+            {
+                return ((Node) this.array[i + 1]).get(key, hash, shift + BITS, hashingStrategy);
+            }
+            return hashingStrategy.equals(existingKey, key) ? this.array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change)
+        {
+            int bit = 1 << index(hash, shift);
+            int i = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            if ((this.bitmap & bit) == 0)
+            {
+                Object[] newArray = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, newArray, 0, i);
+                newArray[i] = key;
+                newArray[i + 1] = value;
+                System.arraycopy(this.array, i, newArray, i + 2, this.array.length - i);
+                change.sizeChanged = true;
+                return new BitmapNode(this.bitmap | bit, newArray);
+            }
+
+            Object existingKey = this.array[i];
+            Object existingValue = this.array[i + 1];
+            if (existingKey == SUB_NODE)
+            {
+                Node subNode = (Node) existingValue;
+                Node newSubNode = subNode.put(key, value, hash, shift + BITS, hashingStrategy, change);
+                return (newSubNode == subNode) ? this : withPair(i, SUB_NODE, newSubNode);
+            }
+            if (hashingStrategy.equals(existingKey, key))
+            {
+                return (existingValue == value) ? this : withPair(i, existingKey, value);
+            }
+            change.sizeChanged = true;
+            int existingHash = hashingStrategy.computeHashCode(existingKey);
+            existingHash ^= existingHash >>> 16;
+            return withPair(i, SUB_NODE, newNode(shift + BITS, existingKey, existingValue, existingHash, key, value, hash));
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change)
+        {
+            int bit = 1 << index(hash, shift);
+            if ((this.bitmap & bit) == 0)
+            {
+                return this;
+            }
+            int i = 2 * Integer.bitCount(this.bitmap & (bit - 1));
+            Object existingKey = this.array[i];
+            if (existingKey == SUB_NODE)
+            {
+                Node subNode = (Node) this.array[i + 1];
+                Node newSubNode = subNode.remove(key, hash, shift + BITS, hashingStrategy, change);
+                if (newSubNode == subNode)
+                {
+                    return this;
+                }
+                if (newSubNode == null)
+                {
+                    return withoutPair(i, bit);
+                }
+                // pull single entries back up so the trie stays as shallow as possible
+                return newSubNode.isSingleEntry() ? withPair(i, newSubNode.array[0], newSubNode.array[1]) : withPair(i, SUB_NODE, newSubNode);
+            }
+            if (!hashingStrategy.equals(existingKey, key))
+            {
+                return this;
+            }
+            change.sizeChanged = true;
+            return withoutPair(i, bit);
+        }
+
+        private BitmapNode withPair(int i, Object key, Object value)
+        {
+            Object[] newArray = this.array.clone();
+            newArray[i] = key;
+            newArray[i + 1] = value;
+            return new BitmapNode(this.bitmap, newArray);
+        }
+
+        private BitmapNode withoutPair(int i, int bit)
+        {
+            if (this.bitmap == bit)
+            {
+                return null;
+            }
+            Object[] newArray = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, newArray, 0, i);
+            System.arraycopy(this.array, i + 2, newArray, i, newArray.length - i);
+            return new BitmapNode(this.bitmap & ~bit, newArray);
+        }
+    }
+
+    /**
+     * Node for keys whose (spread) hash codes are identical.
+     */
+    private static class CollisionNode extends Node
+    {
+        private final int hash;
+
+        private CollisionNode(int hash, Object[] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object get(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy)
+        {
+            if (hash == this.hash)
+            {
+                int i = indexOf(key, hashingStrategy);
+                if (i != -1)
+                {
+                    return this.array[i + 1];
+                }
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object key, Object value, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change)
+        {
+            if (hash != this.hash)
+            {
+                // nest this node one level down so the new key can be placed beside it
+                return new BitmapNode(1 << index(this.hash, shift), new Object[]{SUB_NODE, this}).put(key, value, hash, shift, hashingStrategy, change);
+            }
+            int i = indexOf(key, hashingStrategy);
+            if (i == -1)
+            {
+                Object[] newArray = Arrays.copyOf(this.array, this.array.length + 2);
+                newArray[this.array.length] = key;
+                newArray[this.array.length + 1] = value;
+                change.sizeChanged = true;
+                return new CollisionNode(this.hash, newArray);
+            }
+            if (this.array[i + 1] == value)
+            {
+                return this;
+            }
+            Object[] newArray = this.array.clone();
+            newArray[i + 1] = value;
+            return new CollisionNode(this.hash, newArray);
+        }
+
+        @Override
+        Node remove(Object key, int hash, int shift, HashingStrategy<Object> hashingStrategy, Change change)
+        {
+            if (hash != this.hash)
+            {
+                return this;
+            }
+            int i = indexOf(key, hashingStrategy);
+            if (i == -1)
+            {
+                return this;
+            }
+            change.sizeChanged = true;
+            if (this.array.length == 2)
+            {
+                return null;
+            }
+            Object[] newArray = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, newArray, 0, i);
+            System.arraycopy(this.array, i + 2, newArray, i, newArray.length - i);
+            return new CollisionNode(this.hash, newArray);
+        }
+
+        private int indexOf(Object key, HashingStrategy<Object> hashingStrategy)
+        {
+            for (int i = 0; i < this.array.length; i += 2)
+            {
+                if (hashingStrategy.equals(this.array[i], key))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>>
+    {
+        // the trie is at most 7 levels deep, plus one for a collision node
+        private final Object[][] arrays = new Object[8][];
+        private final int[] positions = new int[8];
+        private int depth = 0;
+        private Map.Entry<K, V> next;
+
+        private EntryIterator(Node root)
+        {
+            this.arrays[0] = root.array;
+            this.next = computeNext();
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return this.next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next()
+        {
+            Map.Entry<K, V> result = this.next;
+            if (result == null)
+            {
+                throw new NoSuchElementException();
+            }
+            this.next = computeNext();
+            return result;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map.Entry<K, V> computeNext()
+        {
+            while (this.depth >= 0)
+            {
+                Object[] array = this.arrays[this.depth];
+                int position = this.positions[this.depth];
+                if (position >= array.length)
+                {
+                    this.arrays[this.depth] = null;
+                    this.positions[this.depth] = 0;
+                    this.depth--;
+                }
+                else
+                {
+                    this.positions[this.depth] = position + 2;
+                    Object key = array[position];
+                    if (key == SUB_NODE)
+                    {
+                        this.depth++;
+                        this.arrays[this.depth] = ((Node) array[position + 1]).array;
+                    }
+                    else
+                    {
+                        return new AbstractMap.SimpleImmutableEntry<>((K) key, (V) array[position + 1]);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.shared.map;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.block.procedure.Procedure2;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.map.mutable.MapAdapter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link MutableMap} backed by a {@link PersistentHashMap}. Each update replaces the underlying
+ * trie, so {@link #clone()} is constant time and a clone shares all of its structure with the
+ * original until one of them is modified. This makes the copy-then-put pattern used to implement
+ * Pure's immutable map functions O(log n) per update rather than O(n).
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class PersistentMutableMap<K, V> extends MapAdapter<K, V>
+{
+    private PersistentMutableMap(PersistentHashMap<K, V> map)
+    {
+        super(new TrieMap<>(map));
+    }
+
+    public static <K, V> PersistentMutableMap<K, V> newMap(HashingStrategy<? super K> hashingStrategy)
+    {
+        return new PersistentMutableMap<>(PersistentHashMap.empty(hashingStrategy));
+    }
+
+    public static <K, V> PersistentMutableMap<K, V> newMap(HashingStrategy<? super K> hashingStrategy, Map<? extends K, ? extends V> map)
+    {
+        return new PersistentMutableMap<>(PersistentHashMap.<K, V>empty(hashingStrategy).newWithAllKeyValues(map));
+    }
+
+    public static <K, V> PersistentMutableMap<K, V> newMap(PersistentHashMap<K, V> map)
+    {
+        return new PersistentMutableMap<>(map);
+    }
+
+    /**
+     * Current state of the map. The result is immutable and is not affected by later changes to
+     * this map.
+     *
+     * @return persistent map
+     */
+    public PersistentHashMap<K, V> toPersistentMap()
+    {
+        return trieMap().map;
+    }
+
+    @Override
+    public PersistentMutableMap<K, V> clone()
+    {
+        return new PersistentMutableMap<>(trieMap().map);
+    }
+
+    @Override
+    public PersistentMutableMap<K, V> newEmpty()
+    {
+        return new PersistentMutableMap<>(trieMap().map.newEmpty());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K1, V1> MutableMap<K1, V1> newEmpty(int capacity)
+    {
+        return newMap((HashingStrategy<? super K1>) trieMap().map.getHashingStrategy());
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map)
+    {
+        TrieMap<K, V> trieMap = trieMap();
+        trieMap.map = trieMap.map.newWithAllKeyValues(map);
+    }
+
+    @Override
+    public void forEachKeyValue(Procedure2<? super K, ? super V> procedure)
+    {
+        trieMap().map.forEachKeyValue(procedure);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TrieMap<K, V> trieMap()
+    {
+        return (TrieMap<K, V>) this.delegate;
+    }
+
+    private static class TrieMap<K, V> extends AbstractMap<K, V>
+    {
+        private PersistentHashMap<K, V> map;
+
+        private TrieMap(PersistentHashMap<K, V> map)
+        {
+            this.map = map;
+        }
+
+        @Override
+        public int size()
+        {
+            return this.map.size();
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return this.map.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key)
+        {
+            return this.map.containsKey(key);
+        }
+
+        @Override
+        public V get(Object key)
+        {
+            return this.map.get(key);
+        }
+
+        @Override
+        public V put(K key, V value)
+        {
+            V old = this.map.get(key);
+            this.map = this.map.newWithKeyValue(key, value);
+            return old;
+        }
+
+        @Override
+        public V remove(Object key)
+        {
+            V old = this.map.get(key);
+            this.map = this.map.newWithoutKey(key);
+            return old;
+        }
+
+        @Override
+        public void clear()
+        {
+            this.map = this.map.newEmpty();
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet()
+        {
+            return new AbstractSet<Entry<K, V>>()
+            {
+                @Override
+                public Iterator<Entry<K, V>> iterator()
+                {
+                    // iterates over a snapshot, so removal through the iterator is safe
+                    Iterator<Entry<K, V>> iterator = TrieMap.this.map.iterator();
+                    return new Iterator<Entry<K, V>>()
+                    {
+                        private Entry<K, V> last;
+
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Entry<K, V> next()
+                        {
+                            return this.last = iterator.next();
+                        }
+
+                        @Override
+                        public void remove()
+                        {
+                            if (this.last == null)
+                            {
+                                throw new IllegalStateException();
+                            }
+                            TrieMap.this.map = TrieMap.this.map.newWithoutKey(this.last.getKey());
+                            this.last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size()
+                {
+                    return TrieMap.this.map.size();
+                }
+            };
+        }
+    }
+}
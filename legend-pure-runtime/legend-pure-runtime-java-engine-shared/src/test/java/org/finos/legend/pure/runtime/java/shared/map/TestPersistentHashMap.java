@@ -0,0 +1,169 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.shared.map;
+
+import org.eclipse.collections.api.block.HashingStrategy;
+import org.eclipse.collections.api.factory.Maps;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.block.factory.HashingStrategies;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Random;
+
+public class TestPersistentHashMap
+{
+    // case-insensitive strategy with a deliberately poor hash to force collisions and deep tries
+    private static final HashingStrategy<String> COLLIDING_STRATEGY = new HashingStrategy<String>()
+    {
+        @Override
+        public int computeHashCode(String string)
+        {
+            return string.toLowerCase().hashCode() & 0x80000707;
+        }
+
+        @Override
+        public boolean equals(String string1, String string2)
+        {
+            return string1.equalsIgnoreCase(string2);
+        }
+    };
+
+    @Test
+    public void testPutGetRemove()
+    {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty(HashingStrategies.defaultStrategy());
+        Assert.assertTrue(empty.isEmpty());
+        Assert.assertNull(empty.get("a"));
+        Assert.assertFalse(empty.containsKey("a"));
+
+        PersistentHashMap<String, Integer> map = empty.newWithKeyValue("a", 1).newWithKeyValue("b", 2).newWithKeyValue("c", null);
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals(Integer.valueOf(1), map.get("a"));
+        Assert.assertEquals(Integer.valueOf(2), map.get("b"));
+        Assert.assertNull(map.get("c"));
+        Assert.assertTrue(map.containsKey("c"));
+        Assert.assertFalse(map.containsKey("d"));
+
+        PersistentHashMap<String, Integer> updated = map.newWithKeyValue("a", 10);
+        Assert.assertEquals(3, updated.size());
+        Assert.assertEquals(Integer.valueOf(10), updated.get("a"));
+        Assert.assertEquals(Integer.valueOf(1), map.get("a"));
+
+        PersistentHashMap<String, Integer> removed = updated.newWithoutKey("b");
+        Assert.assertEquals(2, removed.size());
+        Assert.assertFalse(removed.containsKey("b"));
+        Assert.assertTrue(updated.containsKey("b"));
+        Assert.assertSame(removed, removed.newWithoutKey("b"));
+        Assert.assertTrue(removed.newWithoutKey("a").newWithoutKey("c").isEmpty());
+    }
+
+    @Test
+    public void testHashingStrategyIsHonoured()
+    {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty(COLLIDING_STRATEGY).newWithKeyValue("Key", 1).newWithKeyValue("KEY", 2);
+        Assert.assertEquals(1, map.size());
+        Assert.assertEquals(Integer.valueOf(2), map.get("key"));
+        Assert.assertTrue(map.newWithoutKey("kEy").isEmpty());
+    }
+
+    @Test
+    public void testRandomOperationsAgainstUnifiedMap()
+    {
+        assertRandomOperations(HashingStrategies.defaultStrategy(), 1L);
+        assertRandomOperations(COLLIDING_STRATEGY, 2L);
+    }
+
+    @Test
+    public void testMutableMapSharesStructureOnClone()
+    {
+        PersistentMutableMap<String, Integer> map = PersistentMutableMap.newMap(COLLIDING_STRATEGY);
+        for (int i = 0; i < 1000; i++)
+        {
+            map.put("key" + i, i);
+        }
+        PersistentHashMap<String, Integer> snapshot = map.toPersistentMap();
+
+        PersistentMutableMap<String, Integer> clone = map.clone();
+        Assert.assertSame(snapshot, clone.toPersistentMap());
+        clone.put("KEY1", -1);
+        clone.remove("key2");
+        clone.putAll(Maps.mutable.with("new", 1000));
+
+        Assert.assertEquals(1000, map.size());
+        Assert.assertEquals(Integer.valueOf(1), map.get("key1"));
+        Assert.assertTrue(map.containsKey("key2"));
+        Assert.assertSame(snapshot, map.toPersistentMap());
+
+        Assert.assertEquals(1000, clone.size());
+        Assert.assertEquals(Integer.valueOf(-1), clone.get("key1"));
+        Assert.assertFalse(clone.containsKey("key2"));
+        Assert.assertEquals(Integer.valueOf(1000), clone.get("NEW"));
+
+        MutableMap<String, Integer> empty = map.newEmpty();
+        empty.put("KEY1", 1);
+        Assert.assertTrue(empty.containsKey("key1"));
+    }
+
+    @Test
+    public void testMutableMapIteration()
+    {
+        PersistentMutableMap<String, Integer> map = PersistentMutableMap.newMap(HashingStrategies.defaultStrategy(), Maps.mutable.with("a", 1, "b", 2, "c", 3));
+        Assert.assertEquals(Maps.mutable.with("a", 1, "b", 2, "c", 3), map);
+        Assert.assertEquals(6L, map.valuesView().sumOfInt(Integer::intValue));
+        Assert.assertEquals(3, map.keysView().size());
+
+        map.entrySet().removeIf(e -> e.getValue() == 2);
+        Assert.assertEquals(Maps.mutable.with("a", 1, "c", 3), map);
+        Assert.assertEquals(Maps.mutable.with("a", 1), map.reject((k, v) -> v == 3));
+    }
+
+    private static void assertRandomOperations(HashingStrategy<? super String> hashingStrategy, long seed)
+    {
+        Random random = new Random(seed);
+        MutableMap<String, Integer> expected = Maps.mutable.empty();
+        PersistentHashMap<String, Integer> actual = PersistentHashMap.empty(hashingStrategy);
+        for (int i = 0; i < 20_000; i++)
+        {
+            String key = "key" + random.nextInt(5_000);
+            if (random.nextInt(4) == 0)
+            {
+                expected.remove(key);
+                actual = actual.newWithoutKey(key);
+            }
+            else
+            {
+                expected.put(key, i);
+                actual = actual.newWithKeyValue(key, i);
+            }
+        }
+        Assert.assertEquals(expected.size(), actual.size());
+        MutableMap<String, Integer> iterated = Maps.mutable.empty();
+        for (Map.Entry<String, Integer> entry : actual)
+        {
+            Assert.assertNull(entry.getKey(), iterated.put(entry.getKey(), entry.getValue()));
+        }
+        Assert.assertEquals(expected, iterated);
+        PersistentHashMap<String, Integer> finalActual = actual;
+        expected.forEachKeyValue((k, v) -> Assert.assertEquals(k, v, finalActual.get(k)));
+        for (String key : expected.keySet())
+        {
+            actual = actual.newWithoutKey(key);
+        }
+        Assert.assertTrue(actual.isEmpty());
+        Assert.assertFalse(actual.iterator().hasNext());
+    }
+}
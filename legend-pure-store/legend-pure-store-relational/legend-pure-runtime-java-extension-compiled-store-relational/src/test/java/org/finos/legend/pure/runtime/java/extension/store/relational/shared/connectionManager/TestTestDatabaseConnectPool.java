@@ -0,0 +1,85 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
+
+import org.finos.legend.pure.m3.exception.PureExecutionException;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionPoolMetrics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class TestTestDatabaseConnectPool
+{
+    @Test
+    public void testPerThreadConnections() throws SQLException
+    {
+        TestDatabaseConnect connect = new TestDatabaseConnect();
+        Connection first = connect.getConnectionWithDataSourceInfo("user1").getConnection();
+        Connection second = connect.getConnectionWithDataSourceInfo("user1").getConnection();
+        Assert.assertSame(first, second);
+        second.close();
+        Assert.assertFalse(first.isClosed());
+        first.close();
+
+        ConnectionPoolMetrics metrics = connect.getConnectionPoolMetrics().getOnly();
+        Assert.assertEquals("user1", metrics.getUser());
+        Assert.assertEquals(1, metrics.getBorrowCount());
+        Assert.assertEquals(0, metrics.getActive());
+        Assert.assertEquals(1, metrics.getIdle());
+    }
+
+    @Test
+    public void testPooledConnections() throws SQLException
+    {
+        ConnectionPoolConfig config = ConnectionPoolConfig.newBuilder()
+                .withMaxTotal(2)
+                .withMaxIdle(2)
+                .withMaxWaitMillis(100)
+                .withPerThreadConnections(false)
+                .build();
+        TestDatabaseConnect connect = new TestDatabaseConnect(config);
+
+        Connection first = connect.getConnectionWithDataSourceInfo("user2").getConnection();
+        Connection second = connect.getConnectionWithDataSourceInfo("user2").getConnection();
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(2, connect.getConnectionPoolMetrics().getOnly().getActive());
+
+        // the pool is exhausted, so borrowing times out
+        PureExecutionException e = Assert.assertThrows(PureExecutionException.class, () -> connect.getConnectionWithDataSourceInfo("user2"));
+        Assert.assertEquals("Unable to create TestDatabaseConnection for user: user2", e.getInfo());
+
+        first.close();
+        Connection third = connect.getConnectionWithDataSourceInfo("user2").getConnection();
+        ConnectionPoolMetrics metrics = connect.getConnectionPoolMetrics().getOnly();
+        Assert.assertEquals(2, metrics.getActive());
+        Assert.assertEquals(0, metrics.getIdle());
+        Assert.assertEquals(2, metrics.getMaxTotal());
+        Assert.assertEquals(4, metrics.getBorrowCount());
+        Assert.assertTrue(metrics.getMaxWaitNanos() >= 100_000_000L);
+
+        second.close();
+        third.close();
+        Assert.assertEquals(0, connect.getConnectionPoolMetrics().getOnly().getActive());
+    }
+
+    @Test
+    public void testInvalidConfig()
+    {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ConnectionPoolConfig.newBuilder().withMaxTotal(0).build());
+        Assert.assertThrows(IllegalArgumentException.class, () -> ConnectionPoolConfig.newBuilder().withMaxTotal(1).withMinIdle(2).build());
+    }
+}
@@ -49,7 +49,7 @@ public class RelationalExtensionInterpreted extends BaseInterpretedExtension
                 Tuples.pair("fetchDbPrimaryKeysMetaData_DatabaseConnection_1__String_$0_1$__String_1__ResultSet_1_", (e, r) -> new FetchDbPrimaryKeysMetaData(r, e.getMessage(), e.getMaxSQLRows())),
                 Tuples.pair("fetchDbImportedKeysMetaData_DatabaseConnection_1__String_$0_1$__String_1__ResultSet_1_", (e, r) -> new FetchDbImportedKeysMetaData(r, e.getMessage(), e.getMaxSQLRows())),
                 Tuples.pair("logActivities_Activity_MANY__Nil_0_", (e, r) -> new LogActivities(e.getExecutionActivityListener()))
-        ));
+        ), false);
     }
 
     public static InterpretedExtension extension()
@@ -0,0 +1,124 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
+
+/**
+ * Snapshot of the state of a connection pool: the gauges of active and idle connections, and the
+ * time spent waiting to borrow connections.
+ */
+public class ConnectionPoolMetrics
+{
+    private final String user;
+    private final DataSource dataSource;
+    private final int active;
+    private final int idle;
+    private final int maxTotal;
+    private final long borrowCount;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+
+    public ConnectionPoolMetrics(String user, DataSource dataSource, int active, int idle, int maxTotal, long borrowCount, long totalWaitNanos, long maxWaitNanos)
+    {
+        this.user = user;
+        this.dataSource = dataSource;
+        this.active = active;
+        this.idle = idle;
+        this.maxTotal = maxTotal;
+        this.borrowCount = borrowCount;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+    }
+
+    public String getUser()
+    {
+        return this.user;
+    }
+
+    public DataSource getDataSource()
+    {
+        return this.dataSource;
+    }
+
+    /**
+     * Number of connections currently borrowed from the pool.
+     */
+    public int getActive()
+    {
+        return this.active;
+    }
+
+    /**
+     * Number of connections currently idle in the pool.
+     */
+    public int getIdle()
+    {
+        return this.idle;
+    }
+
+    /**
+     * Maximum number of connections in the pool; negative if there is no limit.
+     */
+    public int getMaxTotal()
+    {
+        return this.maxTotal;
+    }
+
+    /**
+     * Number of connections borrowed from the pool so far.
+     */
+    public long getBorrowCount()
+    {
+        return this.borrowCount;
+    }
+
+    /**
+     * Total time spent waiting to borrow connections from the pool, in nanoseconds.
+     */
+    public long getTotalWaitNanos()
+    {
+        return this.totalWaitNanos;
+    }
+
+    /**
+     * Longest time spent waiting to borrow a connection from the pool, in nanoseconds.
+     */
+    public long getMaxWaitNanos()
+    {
+        return this.maxWaitNanos;
+    }
+
+    /**
+     * Mean time spent waiting to borrow a connection from the pool, in nanoseconds.
+     */
+    public long getMeanWaitNanos()
+    {
+        return (this.borrowCount == 0) ? 0L : (this.totalWaitNanos / this.borrowCount);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConnectionPoolMetrics{" +
+                "user='" + this.user + '\'' +
+                ", dataSource=" + this.dataSource +
+                ", active=" + this.active +
+                ", idle=" + this.idle +
+                ", maxTotal=" + this.maxTotal +
+                ", borrowCount=" + this.borrowCount +
+                ", meanWaitNanos=" + getMeanWaitNanos() +
+                ", maxWaitNanos=" + this.maxWaitNanos +
+                '}';
+    }
+}
@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared;
 
+import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.list.ImmutableList;
 import org.eclipse.collections.impl.factory.Lists;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
@@ -49,6 +50,16 @@ public interface IConnectionManagerHandler
 
     void unregisterStatement(final Statement statement);
 
+    /**
+     * Get the current state of the connection pools managed by this handler, if any.
+     *
+     * @return connection pool metrics
+     */
+    default RichIterable<ConnectionPoolMetrics> getConnectionPoolMetrics()
+    {
+        return Lists.immutable.empty();
+    }
+
     void addPotentialDebug(CoreInstance connectionInformation, Statement statement);
 
     String getPotentialDebug(CoreInstance connectionInformation, Connection connection);
@@ -14,6 +14,7 @@
 
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
 
+import org.eclipse.collections.api.RichIterable;
 import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.block.predicate.Predicate2;
 import org.eclipse.collections.api.block.procedure.Procedure;
@@ -24,6 +25,7 @@ import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
 import org.finos.legend.pure.runtime.java.shared.identity.IdentityManager;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionPoolMetrics;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
 
 import java.sql.SQLException;
@@ -84,6 +86,11 @@ public class ConnectionManager
         throw new RuntimeException(connectionInformation + " is not supported for execution!!");
     }
 
+    public static RichIterable<ConnectionPoolMetrics> getConnectionPoolMetrics()
+    {
+        return testDatabaseConnect.getConnectionPoolMetrics();
+    }
+
     public static void closeConnections(String userId)
     {
         cancelStatements(userId);
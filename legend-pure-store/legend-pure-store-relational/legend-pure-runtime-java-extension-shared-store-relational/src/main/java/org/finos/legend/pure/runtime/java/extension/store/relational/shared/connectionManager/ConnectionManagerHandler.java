@@ -14,8 +14,10 @@
 
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
 
+import org.eclipse.collections.api.RichIterable;
 import org.finos.legend.pure.m3.navigation.ProcessorSupport;
 import org.finos.legend.pure.m4.coreinstance.CoreInstance;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionPoolMetrics;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.IConnectionManagerHandler;
 
@@ -42,6 +44,12 @@ public class ConnectionManagerHandler implements IConnectionManagerHandler
         ConnectionManager.unregisterStatement(statement);
     }
 
+    @Override
+    public RichIterable<ConnectionPoolMetrics> getConnectionPoolMetrics()
+    {
+        return ConnectionManager.getConnectionPoolMetrics();
+    }
+
     @Override
     public void addPotentialDebug(CoreInstance connectionInformation, Statement statement)
     {
@@ -0,0 +1,254 @@
+// Copyright 2024 Goldman Sachs
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
+
+import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+
+/**
+ * Sizing, eviction and validation settings for a pool of database connections.
+ * <p>
+ * The defaults keep one connection for each user, shared by all borrows from the same thread.
+ * This is required for an unnamed in-memory H2 database, where each connection has its own
+ * database. Larger pools should only be used with a database shared between connections (e.g.,
+ * an H2 server, using the legend.test.h2.port property).
+ * <p>
+ * If perThreadConnections is false, connections are not kept in thread locals: each borrow takes
+ * a connection from the pool, which is returned when it is closed. This is appropriate for
+ * virtual threads, or for callers which borrow on one thread and close on another. Nested
+ * borrows from the same thread then need their own connections, so maxTotal (or maxWaitMillis)
+ * should be set accordingly.
+ */
+public final class ConnectionPoolConfig
+{
+    private static final String PROPERTY_PREFIX = "legend.test.h2.pool.";
+
+    private final int minIdle;
+    private final int maxIdle;
+    private final int maxTotal;
+    private final long maxWaitMillis;
+    private final long minEvictableIdleTimeMillis;
+    private final long timeBetweenEvictionRunsMillis;
+    private final boolean testOnBorrow;
+    private final int validationTimeoutSeconds;
+    private final boolean perThreadConnections;
+
+    private ConnectionPoolConfig(Builder builder)
+    {
+        this.minIdle = builder.minIdle;
+        this.maxIdle = builder.maxIdle;
+        this.maxTotal = builder.maxTotal;
+        this.maxWaitMillis = builder.maxWaitMillis;
+        this.minEvictableIdleTimeMillis = builder.minEvictableIdleTimeMillis;
+        this.timeBetweenEvictionRunsMillis = builder.timeBetweenEvictionRunsMillis;
+        this.testOnBorrow = builder.testOnBorrow;
+        this.validationTimeoutSeconds = builder.validationTimeoutSeconds;
+        this.perThreadConnections = builder.perThreadConnections;
+    }
+
+    public int getMinIdle()
+    {
+        return this.minIdle;
+    }
+
+    public int getMaxIdle()
+    {
+        return this.maxIdle;
+    }
+
+    public int getMaxTotal()
+    {
+        return this.maxTotal;
+    }
+
+    public long getMaxWaitMillis()
+    {
+        return this.maxWaitMillis;
+    }
+
+    public long getMinEvictableIdleTimeMillis()
+    {
+        return this.minEvictableIdleTimeMillis;
+    }
+
+    public long getTimeBetweenEvictionRunsMillis()
+    {
+        return this.timeBetweenEvictionRunsMillis;
+    }
+
+    public boolean isTestOnBorrow()
+    {
+        return this.testOnBorrow;
+    }
+
+    public int getValidationTimeoutSeconds()
+    {
+        return this.validationTimeoutSeconds;
+    }
+
+    public boolean isPerThreadConnections()
+    {
+        return this.perThreadConnections;
+    }
+
+    void configure(BasicDataSource dataSource)
+    {
+        dataSource.setMinIdle(this.minIdle);
+        dataSource.setMaxIdle(this.maxIdle);
+        dataSource.setMaxTotal(this.maxTotal);
+        dataSource.setMaxWaitMillis(this.maxWaitMillis);
+        dataSource.setMinEvictableIdleTimeMillis(this.minEvictableIdleTimeMillis);
+        dataSource.setTimeBetweenEvictionRunsMillis(this.timeBetweenEvictionRunsMillis);
+        dataSource.setTestOnBorrow(this.testOnBorrow);
+        dataSource.setValidationQueryTimeout(this.validationTimeoutSeconds);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ConnectionPoolConfig{" +
+                "minIdle=" + this.minIdle +
+                ", maxIdle=" + this.maxIdle +
+                ", maxTotal=" + this.maxTotal +
+                ", maxWaitMillis=" + this.maxWaitMillis +
+                ", minEvictableIdleTimeMillis=" + this.minEvictableIdleTimeMillis +
+                ", timeBetweenEvictionRunsMillis=" + this.timeBetweenEvictionRunsMillis +
+                ", testOnBorrow=" + this.testOnBorrow +
+                ", validationTimeoutSeconds=" + this.validationTimeoutSeconds +
+                ", perThreadConnections=" + this.perThreadConnections +
+                '}';
+    }
+
+    public static Builder newBuilder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Get the configuration from the legend.test.h2.pool.* system properties (minIdle, maxIdle,
+     * maxTotal, maxWaitMillis, minEvictableIdleTimeMillis, timeBetweenEvictionRunsMillis,
+     * testOnBorrow, validationTimeoutSeconds and perThreadConnections). Properties which are not
+     * set take their default values.
+     *
+     * @return pool configuration
+     */
+    public static ConnectionPoolConfig fromSystemProperties()
+    {
+        Builder builder = newBuilder();
+        return builder
+                .withMinIdle(Integer.getInteger(PROPERTY_PREFIX + "minIdle", builder.minIdle))
+                .withMaxIdle(Integer.getInteger(PROPERTY_PREFIX + "maxIdle", builder.maxIdle))
+                .withMaxTotal(Integer.getInteger(PROPERTY_PREFIX + "maxTotal", builder.maxTotal))
+                .withMaxWaitMillis(Long.getLong(PROPERTY_PREFIX + "maxWaitMillis", builder.maxWaitMillis))
+                .withMinEvictableIdleTimeMillis(Long.getLong(PROPERTY_PREFIX + "minEvictableIdleTimeMillis", builder.minEvictableIdleTimeMillis))
+                .withTimeBetweenEvictionRunsMillis(Long.getLong(PROPERTY_PREFIX + "timeBetweenEvictionRunsMillis", builder.timeBetweenEvictionRunsMillis))
+                .withTestOnBorrow(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "testOnBorrow", Boolean.toString(builder.testOnBorrow))))
+                .withValidationTimeoutSeconds(Integer.getInteger(PROPERTY_PREFIX + "validationTimeoutSeconds", builder.validationTimeoutSeconds))
+                .withPerThreadConnections(Boolean.parseBoolean(System.getProperty(PROPERTY_PREFIX + "perThreadConnections", Boolean.toString(builder.perThreadConnections))))
+                .build();
+    }
+
+    public static class Builder
+    {
+        private int minIdle = 0;
+        private int maxIdle = 1;
+        private int maxTotal = 1;
+        private long maxWaitMillis = -1L;
+        private long minEvictableIdleTimeMillis = 30L * 60L * 1000L;
+        private long timeBetweenEvictionRunsMillis = -1L;
+        private boolean testOnBorrow = true;
+        private int validationTimeoutSeconds = -1;
+        private boolean perThreadConnections = true;
+
+        private Builder()
+        {
+        }
+
+        public Builder withMinIdle(int minIdle)
+        {
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        public Builder withMaxIdle(int maxIdle)
+        {
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * Maximum number of connections for each user; negative for no limit.
+         */
+        public Builder withMaxTotal(int maxTotal)
+        {
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * Maximum time to wait to borrow a connection when the pool is exhausted; negative to wait
+         * indefinitely.
+         */
+        public Builder withMaxWaitMillis(long maxWaitMillis)
+        {
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        public Builder withMinEvictableIdleTimeMillis(long minEvictableIdleTimeMillis)
+        {
+            this.minEvictableIdleTimeMillis = minEvictableIdleTimeMillis;
+            return this;
+        }
+
+        /**
+         * Time between runs of the idle connection evictor; non-positive for no eviction.
+         */
+        public Builder withTimeBetweenEvictionRunsMillis(long timeBetweenEvictionRunsMillis)
+        {
+            this.timeBetweenEvictionRunsMillis = timeBetweenEvictionRunsMillis;
+            return this;
+        }
+
+        public Builder withTestOnBorrow(boolean testOnBorrow)
+        {
+            this.testOnBorrow = testOnBorrow;
+            return this;
+        }
+
+        /**
+         * Timeout for validating a connection; non-positive for no timeout.
+         */
+        public Builder withValidationTimeoutSeconds(int validationTimeoutSeconds)
+        {
+            this.validationTimeoutSeconds = validationTimeoutSeconds;
+            return this;
+        }
+
+        public Builder withPerThreadConnections(boolean perThreadConnections)
+        {
+            this.perThreadConnections = perThreadConnections;
+            return this;
+        }
+
+        public ConnectionPoolConfig build()
+        {
+            if ((this.maxTotal == 0) || ((this.maxTotal > 0) && (this.minIdle > this.maxTotal)))
+            {
+                throw new IllegalArgumentException("Invalid connection pool size: minIdle=" + this.minIdle + ", maxTotal=" + this.maxTotal);
+            }
+            return new ConnectionPoolConfig(this);
+        }
+    }
+}
@@ -15,13 +15,23 @@
 package org.finos.legend.pure.runtime.java.extension.store.relational.shared.connectionManager;
 
 import org.apache.tomcat.dbcp.dbcp2.BasicDataSource;
+import org.eclipse.collections.api.RichIterable;
+import org.eclipse.collections.api.factory.Lists;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionPoolMetrics;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.DataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
 
 public abstract class PerThreadPoolableConnectionProvider
 {
     protected final ConcurrentMutableMap<String, Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource>> connectionPoolByUser = ConcurrentHashMap.newMap();
+    private final ConcurrentMutableMap<String, BorrowStatistics> borrowStatisticsByUser = ConcurrentHashMap.newMap();
 
     void removePerThreadConnections(String user)
     {
@@ -32,4 +42,47 @@ public abstract class PerThreadPoolableConnectionProvider
             tlConnectionWrapper.remove();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Borrow a connection from a user's pool, recording the time spent waiting for it.
+     */
+    protected Connection borrowConnection(String user, BasicDataSource dataSource) throws SQLException
+    {
+        long start = System.nanoTime();
+        try
+        {
+            return dataSource.getConnection();
+        }
+        finally
+        {
+            this.borrowStatisticsByUser.getIfAbsentPut(user, BorrowStatistics::new).record(System.nanoTime() - start);
+        }
+    }
+
+    protected RichIterable<ConnectionPoolMetrics> collectConnectionPoolMetrics(DataSource dataSource)
+    {
+        return this.connectionPoolByUser.keyValuesView().collect(userPool ->
+        {
+            String user = userPool.getOne();
+            BasicDataSource pool = userPool.getTwo().getTwo();
+            BorrowStatistics statistics = this.borrowStatisticsByUser.get(user);
+            return (statistics == null) ?
+                    new ConnectionPoolMetrics(user, dataSource, pool.getNumActive(), pool.getNumIdle(), pool.getMaxTotal(), 0L, 0L, 0L) :
+                    new ConnectionPoolMetrics(user, dataSource, pool.getNumActive(), pool.getNumIdle(), pool.getMaxTotal(), statistics.count.get(), statistics.totalWaitNanos.get(), statistics.maxWaitNanos.get());
+        }, Lists.mutable.empty());
+    }
+
+    private static class BorrowStatistics
+    {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long waitNanos)
+        {
+            this.count.incrementAndGet();
+            this.totalWaitNanos.addAndGet(waitNanos);
+            this.maxWaitNanos.accumulate(waitNanos);
+        }
+    }
+}
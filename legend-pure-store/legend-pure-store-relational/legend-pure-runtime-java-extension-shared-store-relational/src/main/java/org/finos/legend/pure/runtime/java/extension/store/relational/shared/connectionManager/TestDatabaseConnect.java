@@ -22,6 +22,7 @@ import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.finos.legend.pure.m3.exception.PureExecutionException;
 import org.finos.legend.pure.m3.tools.locks.KeyLockManager;
+import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionPoolMetrics;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.ConnectionWithDataSourceInfo;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.DataSource;
 import org.finos.legend.pure.runtime.java.extension.store.relational.shared.DataSourceConnectionDisplayInfo;
@@ -35,9 +36,16 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
     private static final String TEST_DB_NAME = "pure-h2-test-Db";
     private static final DataSource TEST_DATA_SOURCE = new DataSource(TEST_DB_HOST_NAME, -1, TEST_DB_NAME, null);
     private final KeyLockManager<String> userLocks = KeyLockManager.newManager();
+    private final ConnectionPoolConfig poolConfig;
 
     public TestDatabaseConnect()
     {
+        this(ConnectionPoolConfig.fromSystemProperties());
+    }
+
+    public TestDatabaseConnect(ConnectionPoolConfig poolConfig)
+    {
+        this.poolConfig = poolConfig;
         try
         {
             Class.forName("org.h2.Driver");
@@ -54,15 +62,28 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
         Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> cs;
         synchronized (this.userLocks.getLock(user))
         {
-            cs = this.connectionPoolByUser.getIfAbsentPut(user, TestDatabaseConnect::newTestDataSourcePair);
+            cs = this.connectionPoolByUser.getIfAbsentPut(user, this::newTestDataSourcePair);
         }
+        if (!this.poolConfig.isPerThreadConnections())
+        {
+            // the connection is returned to the pool when it is closed
+            try
+            {
+                return new ConnectionWithDataSourceInfo(borrowConnection(user, cs.getTwo()), TEST_DATA_SOURCE, "TestDatabaseConnect");
+            }
+            catch (SQLException ex)
+            {
+                throw new PureExecutionException("Unable to create TestDatabaseConnection for user: " + user, ex);
+            }
+        }
+
         ThreadLocal<PerThreadPoolableConnectionWrapper> tl = cs.getOne();
         PerThreadPoolableConnectionWrapper pcw = tl.get();
         try
         {
             if (pcw == null || pcw.isClosed())
             {
-                Connection connection = cs.getTwo().getConnection();
+                Connection connection = borrowConnection(user, cs.getTwo());
                 pcw = new PerThreadPoolableConnectionWrapper(connection, user, this);
                 tl.set(pcw);
             }
@@ -82,6 +103,11 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
         this.connectionPoolByUser.forEachKey(user -> addUserConnection(user, connectionsByUser));
     }
 
+    public RichIterable<ConnectionPoolMetrics> getConnectionPoolMetrics()
+    {
+        return collectConnectionPoolMetrics(TEST_DATA_SOURCE);
+    }
+
     public RichIterable<String> getUsersWithConnections()
     {
         return this.connectionPoolByUser.keysView();
@@ -124,14 +150,13 @@ public class TestDatabaseConnect extends PerThreadPoolableConnectionProvider
                 + defaultH2Properties;
     }
 
-    private static Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> newTestDataSourcePair()
+    private Pair<ThreadLocal<PerThreadPoolableConnectionWrapper>, BasicDataSource> newTestDataSourcePair()
     {
         BasicDataSource ds = new BasicDataSource();
         ds.setUrl(getConnectionURL());
         ds.setUsername("sa");
         ds.setPassword("");
-        ds.setMaxTotal(1);
-        ds.setMaxIdle(1);
+        this.poolConfig.configure(ds);
         ThreadLocal<PerThreadPoolableConnectionWrapper> connTL = new ThreadLocal<>();
         return Tuples.pair(connTL, ds);
     }